@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.PolygonSplitter;
+import com.github.malapert.jsplitpolygon.SplitOutcome;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the batch split of the test corpus replicated, by parallelism.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    /**
+     * Number of copies of the test corpus.
+     */
+    @Param({"500"})
+    public int copies;
+
+    /**
+     * Parallelism of the pool.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    /**
+     * Polygons of the batch.
+     */
+    private List<double[]> polygons;
+
+    /**
+     * Pool of the splitter.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Splitter.
+     */
+    private PolygonSplitter splitter;
+
+    /**
+     * Replicates the test corpus.
+     *
+     * @throws IOException when the corpus cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        final List<double[]> corpus = new ArrayList<>();
+        for (int i = 0; i <= 19; i++) {
+            corpus.add(Shapes.readSeed("test" + i + ".data"));
+        }
+        this.polygons = new ArrayList<>(this.copies * corpus.size());
+        for (int copy = 0; copy < this.copies; copy++) {
+            this.polygons.addAll(corpus);
+        }
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.splitter = new PolygonSplitter(this.pool);
+    }
+
+    /**
+     * Shuts the pool down.
+     */
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Split of the batch.
+     *
+     * @return the outcomes
+     */
+    @Benchmark
+    public List<SplitOutcome> splitAll() {
+        return this.splitter.splitAll(this.polygons);
+    }
+
+}
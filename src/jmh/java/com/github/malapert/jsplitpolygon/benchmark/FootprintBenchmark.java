@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.PackedPolygons;
+import com.github.malapert.jsplitpolygon.PackedSplitter;
+import com.github.malapert.jsplitpolygon.Polygon;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the split of a batch of small footprints, one polygon object per footprint or
+ * packed in a structure of arrays.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FootprintBenchmark {
+
+    /**
+     * Number of footprints.
+     */
+    @Param({"100000"})
+    public int footprints;
+
+    /**
+     * Number of vertices of a footprint.
+     */
+    @Param({"5", "50"})
+    public int vertices;
+
+    /**
+     * Interleaved longitudes and latitudes of the footprints.
+     */
+    private double[] coordinates;
+
+    /**
+     * Offsets, in points, of the footprints.
+     */
+    private int[] ringOffsets;
+
+    /**
+     * Splitter of the packed footprints.
+     */
+    private final PackedSplitter splitter = new PackedSplitter();
+
+    /**
+     * Creates the footprints, one out of ten crossing the anti-meridian.
+     */
+    @Setup
+    public void setUp() {
+        Configurator.setRootLevel(Level.OFF);
+        this.coordinates = new double[2 * this.vertices * this.footprints];
+        this.ringOffsets = new int[this.footprints + 1];
+        for (int footprint = 0; footprint < this.footprints; footprint++) {
+            final double longitude = footprint % 10 == 0 ? 180 : (footprint % 340) - 170;
+            final double latitude = (footprint % 160) - 80;
+            for (int i = 0; i < this.vertices; i++) {
+                final double angle = 2 * Math.PI * i / this.vertices;
+                double point = longitude + 0.5 * Math.cos(angle);
+                if (point > 180) {
+                    point -= 360;
+                }
+                final int index = 2 * (footprint * this.vertices + i);
+                this.coordinates[index] = point;
+                this.coordinates[index + 1] = latitude + 0.5 * Math.sin(angle);
+            }
+            this.ringOffsets[footprint + 1] = (footprint + 1) * this.vertices;
+        }
+    }
+
+    /**
+     * Split of each footprint by a {@link Polygon}.
+     *
+     * @return the number of fragments
+     */
+    @Benchmark
+    public int splitPolygons() {
+        int nbFragments = 0;
+        for (int footprint = 0; footprint < this.footprints; footprint++) {
+            final Polygon polygon = new Polygon(Arrays.copyOfRange(this.coordinates,
+                    2 * this.ringOffsets[footprint], 2 * this.ringOffsets[footprint + 1]));
+            nbFragments += polygon.split() ? polygon.getPolygons().size() : 1;
+        }
+        return nbFragments;
+    }
+
+    /**
+     * Split of the packed footprints.
+     *
+     * @return the fragments
+     */
+    @Benchmark
+    public PackedPolygons splitPacked() {
+        return this.splitter.split(this.coordinates, this.ringOffsets);
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.MultiPolygons;
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.SplitSerializer;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the GeoJSon and WKB serializations.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoJsonBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    /**
+     * Number of crossings with the anti-meridian.
+     */
+    @Param({"2", "64"})
+    public int crossings;
+
+    /**
+     * Polygon before the split.
+     */
+    private Polygon polygon;
+
+    /**
+     * Fragments of the polygon.
+     */
+    private MultiPolygons multiPolygons;
+
+    /**
+     * Coordinates of the shape.
+     */
+    private double[] coordinates;
+
+    /**
+     * Reused WKB writer.
+     */
+    private final WkbWriter wkb = new WkbWriter();
+
+    /**
+     * Creates and splits the shape.
+     *
+     * @throws IOException when the seed cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        this.coordinates = Shapes.create(this.vertices, this.crossings);
+        this.polygon = new Polygon(this.coordinates);
+        final Polygon split = new Polygon(this.polygon);
+        split.split();
+        this.multiPolygons = new MultiPolygons(split.getPolygons());
+    }
+
+    /**
+     * GeoJSon of a polygon.
+     *
+     * @return the GeoJSon
+     */
+    @Benchmark
+    public String polygonToGeoJson() {
+        return this.polygon.toGeoJson();
+    }
+
+    /**
+     * GeoJSon of the fragments.
+     *
+     * @return the GeoJSon
+     */
+    @Benchmark
+    public String multiPolygonsToGeoJson() {
+        return this.multiPolygons.toGeoJson();
+    }
+
+    /**
+     * WKB of the fragments in a reused buffer.
+     *
+     * @return the number of bytes
+     */
+    @Benchmark
+    public int multiPolygonsToWkb() {
+        this.wkb.clear();
+        this.multiPolygons.writeWkb(this.wkb);
+        return this.wkb.size();
+    }
+
+    /**
+     * Split of the shape followed by the GeoJSon of the fragments.
+     *
+     * @return the GeoJSon
+     */
+    @Benchmark
+    public String splitThenGeoJson() {
+        final Polygon split = new Polygon(this.coordinates);
+        return split.split() ? new MultiPolygons(split.getPolygons()).toGeoJson()
+                : split.toGeoJson();
+    }
+
+    /**
+     * GeoJSon written while the shape is split, without fragment.
+     *
+     * @return the GeoJSon
+     */
+    @Benchmark
+    public String splitSerializerToGeoJson() {
+        return new SplitSerializer(this.coordinates).toGeoJson();
+    }
+
+    /**
+     * WKB written while the shape is split, in a reused buffer.
+     *
+     * @return the number of bytes
+     */
+    @Benchmark
+    public int splitSerializerToWkb() {
+        this.wkb.clear();
+        new SplitSerializer(this.coordinates).writeWkb(this.wkb);
+        return this.wkb.size();
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Coordinate;
+import com.github.malapert.jsplitpolygon.jts.JtsSplitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the split of a JTS polygon by {@link JtsSplitter} and by the conversion to a
+ * {@link com.github.malapert.jsplitpolygon.Polygon}, its split and the conversion back to JTS.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JtsBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    /**
+     * Number of crossings with the anti-meridian.
+     */
+    @Param({"2", "64"})
+    public int crossings;
+
+    /**
+     * Factory of the JTS geometries.
+     */
+    private final GeometryFactory factory = new GeometryFactory();
+
+    /**
+     * Splitter of the JTS geometries.
+     */
+    private final JtsSplitter splitter = new JtsSplitter();
+
+    /**
+     * JTS polygon of the shape.
+     */
+    private Polygon polygon;
+
+    /**
+     * Creates the JTS polygon of the shape.
+     *
+     * @throws IOException when the seed cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        final double[] shape = Shapes.create(this.vertices, this.crossings);
+        final org.locationtech.jts.geom.Coordinate[] points
+                = new org.locationtech.jts.geom.Coordinate[shape.length / 2 + 1];
+        for (int i = 0; i < shape.length / 2; i++) {
+            points[i] = new org.locationtech.jts.geom.Coordinate(shape[2 * i], shape[2 * i + 1]);
+        }
+        points[points.length - 1] = points[0];
+        this.polygon = this.factory.createPolygon(points);
+    }
+
+    /**
+     * Split by {@link JtsSplitter}.
+     *
+     * @return the fragments
+     */
+    @Benchmark
+    public Geometry splitJts() {
+        return this.splitter.split(this.polygon);
+    }
+
+    /**
+     * Conversion to a polygon, split and conversion of the fragments to JTS.
+     *
+     * @return the fragments
+     */
+    @Benchmark
+    public Geometry convertSplitConvert() {
+        final org.locationtech.jts.geom.Coordinate[] shell = this.polygon.getCoordinates();
+        final List<Coordinate> coordinates = new ArrayList<>(shell.length - 1);
+        for (int i = 0; i < shell.length - 1; i++) {
+            coordinates.add(new Coordinate(shell[i].x, shell[i].y));
+        }
+        final com.github.malapert.jsplitpolygon.Polygon source
+                = new com.github.malapert.jsplitpolygon.Polygon(coordinates);
+        if (!source.split()) {
+            return this.polygon;
+        }
+        final List<com.github.malapert.jsplitpolygon.Polygon> fragments = source.getPolygons();
+        final Polygon[] parts = new Polygon[fragments.size()];
+        for (int fragment = 0; fragment < parts.length; fragment++) {
+            final List<Coordinate> points = fragments.get(fragment).getCoordinates();
+            final org.locationtech.jts.geom.Coordinate[] ring
+                    = new org.locationtech.jts.geom.Coordinate[points.size()];
+            for (int i = 0; i < ring.length; i++) {
+                ring[i] = new org.locationtech.jts.geom.Coordinate(points.get(i).getLongitude(),
+                        points.get(i).getLatitude());
+            }
+            parts[fragment] = this.factory.createPolygon(ring);
+        }
+        return this.factory.createMultiPolygon(parts);
+    }
+
+}
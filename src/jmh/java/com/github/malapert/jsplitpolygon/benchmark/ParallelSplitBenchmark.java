@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.SplitBuffers;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the split of very large polygons, processed in parallel above the threshold
+ * {@link com.github.malapert.jsplitpolygon.SplitKernel#DEFAULT_PARALLEL_THRESHOLD}.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelSplitBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"1000000", "4000000"})
+    public int vertices;
+
+    /**
+     * Number of crossings of the anti-meridian.
+     */
+    @Param({"2", "64"})
+    public int crossings;
+
+    /**
+     * Polygon.
+     */
+    private double[] shape;
+
+    /**
+     * Buffers of the split engine.
+     */
+    private SplitBuffers buffers;
+
+    /**
+     * Creates the polygon.
+     *
+     * @throws IOException when the shape cannot be created
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        this.shape = Shapes.create(this.vertices, this.crossings);
+        this.buffers = new SplitBuffers(this.vertices);
+    }
+
+    /**
+     * Scan and split of the polygon.
+     *
+     * @return the fragments
+     */
+    @Benchmark
+    public Object split() {
+        final Polygon polygon = new Polygon(this.shape);
+        polygon.split(this.buffers);
+        return polygon.getPolygons();
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Coordinate;
+import com.github.malapert.jsplitpolygon.DataRecordReader;
+import com.github.malapert.jsplitpolygon.JSplitPolygon;
+import com.github.malapert.jsplitpolygon.io.MappedDataReader;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the parsing of the data format by the CLI, by the {@link java.io.Reader} based
+ * reader and by the memory-mapped reader.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    /**
+     * Input file.
+     */
+    protected File file;
+
+    /**
+     * Writes the input file.
+     *
+     * @throws IOException when the file cannot be written
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        final double[] shape = Shapes.create(this.vertices, 2);
+        this.file = File.createTempFile("jsplitpolygon", ".data");
+        try (BufferedWriter writer = Files.newBufferedWriter(this.file.toPath(),
+                Charset.defaultCharset())) {
+            for (int i = 0; i < shape.length; i += 2) {
+                writer.write(shape[i] + " " + shape[i + 1]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Deletes the input file.
+     */
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Parsing of the input file by the CLI.
+     *
+     * @return the coordinates
+     * @throws IOException when the file cannot be read
+     */
+    @Benchmark
+    public List<Coordinate> readCoordinates() throws IOException {
+        return JSplitPolygon.readCoordinates(this.file);
+    }
+
+    /**
+     * Parsing of the input file by {@link DataRecordReader}.
+     *
+     * @return the coordinates
+     * @throws IOException when the file cannot be read
+     */
+    @Benchmark
+    public double[] readRecords() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(this.file.toPath(),
+                Charset.defaultCharset());
+                DataRecordReader records = new DataRecordReader(reader)) {
+            return records.next();
+        }
+    }
+
+    /**
+     * Parsing of the input file by {@link MappedDataReader}.
+     *
+     * @return the coordinates
+     * @throws IOException when the file cannot be read
+     */
+    @Benchmark
+    public double[] readMapped() throws IOException {
+        return MappedDataReader.readPolygon(this.file.toPath());
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.SplitBuffers;
+import com.github.malapert.jsplitpolygon.SplitKernel;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the construction and the split of a polygon.
+ *
+ * <p>
+ * With many crossings, the split includes the sort of the crossings along the anti-meridian and
+ * the assembly of the nested fragments.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"1000", "100000"})
+    public int vertices;
+
+    /**
+     * Number of crossings with the anti-meridian.
+     */
+    @Param({"0", "2", "64", "1024"})
+    public int crossings;
+
+    /**
+     * Shape as interleaved longitudes and latitudes.
+     */
+    private double[] shape;
+
+    /**
+     * Polygon of the shape.
+     */
+    private Polygon polygon;
+
+    /**
+     * Reused buffers of the split engine.
+     */
+    private SplitBuffers buffers;
+
+    /**
+     * Creates the shape.
+     *
+     * @throws IOException when the seed cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        this.shape = Shapes.create(this.vertices, this.crossings);
+        this.polygon = new Polygon(this.shape);
+        this.buffers = new SplitBuffers(this.shape.length / 2);
+    }
+
+    /**
+     * Construction of a polygon: orientation and bbox.
+     *
+     * @return the polygon
+     */
+    @Benchmark
+    public Polygon construct() {
+        return new Polygon(this.shape);
+    }
+
+    /**
+     * Split of a polygon.
+     *
+     * @return True when the polygon is split
+     */
+    @Benchmark
+    public boolean split() {
+        return this.polygon.split();
+    }
+
+    /**
+     * Split with the kernel and reused buffers.
+     *
+     * @return the number of fragments
+     */
+    @Benchmark
+    public int splitKernel() {
+        return SplitKernel.split(this.shape, 0, this.shape.length / 2, this.buffers);
+    }
+
+}
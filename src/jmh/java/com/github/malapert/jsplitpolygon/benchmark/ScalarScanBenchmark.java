@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.SplitKernel;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Benchmarks of {@link ScanBenchmark} with the scalar scan, given by the system property
+ * {@link SplitKernel#VECTOR_PROPERTY}.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@Fork(value = 1, jvmArgsPrepend = "-D" + SplitKernel.VECTOR_PROPERTY + "=false")
+public class ScalarScanBenchmark extends ScanBenchmark {
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Polygon;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the scan of large polygons (orientation, bbox and crossings) done by the
+ * construction of a polygon.
+ *
+ * <p>
+ * On Java 17 and later, the benchmark profile runs with the jdk.incubator.vector module, so the
+ * scan uses the vector API; {@link ScalarScanBenchmark} is the same benchmark with the scalar
+ * scan.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+    /**
+     * Number of vertices.
+     */
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    /**
+     * Number of crossings with the anti-meridian.
+     */
+    @Param({"0", "2", "64"})
+    public int crossings;
+
+    /**
+     * Shape as interleaved longitudes and latitudes.
+     */
+    private double[] shape;
+
+    /**
+     * Creates the shape.
+     *
+     * @throws IOException when the seed cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Configurator.setRootLevel(Level.OFF);
+        this.shape = Shapes.create(this.vertices, this.crossings);
+    }
+
+    /**
+     * Construction of a polygon: copy and scan.
+     *
+     * @return the polygon
+     */
+    @Benchmark
+    public Polygon scan() {
+        return new Polygon(this.shape);
+    }
+
+}
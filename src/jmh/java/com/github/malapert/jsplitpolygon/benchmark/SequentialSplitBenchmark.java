@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.SplitKernel;
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * Benchmarks of {@link ParallelSplitBenchmark} in the calling thread only, given by the system
+ * property {@link SplitKernel#PARALLEL_THRESHOLD_PROPERTY}.
+ *
+ * @author Jean-Christophe Malapert
+ */
+@Fork(value = 1, jvmArgsPrepend = "-D" + SplitKernel.PARALLEL_THRESHOLD_PROPERTY + "="
+        + Integer.MAX_VALUE)
+public class SequentialSplitBenchmark extends ParallelSplitBenchmark {
+
+}
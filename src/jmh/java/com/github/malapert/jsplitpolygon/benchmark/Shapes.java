@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.benchmark;
+
+import com.github.malapert.jsplitpolygon.Coordinate;
+import com.github.malapert.jsplitpolygon.JSplitPolygon;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Shapes of the benchmarks, built from the test corpus.
+ *
+ * <p>
+ * A shape is given by its number of vertices and its number of crossings with the
+ * anti-meridian. The shapes with 0 and 2 crossings are the seeds test5.data and test0.data
+ * densified to the number of vertices. The shapes with more crossings are combs whose teeth cross
+ * the anti-meridian, densified the same way. The directory of the seeds is given by the system
+ * property jsplitpolygon.seeds (src/test/resources by default).
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class Shapes {
+
+    /**
+     * System property giving the directory of the seeds.
+     */
+    public static final String SEEDS_PROPERTY = "jsplitpolygon.seeds";
+
+    /**
+     * Utility class.
+     */
+    private Shapes() {
+    }
+
+    /**
+     * Creates a shape as interleaved longitudes and latitudes.
+     *
+     * @param vertices number of vertices (at least the number of vertices of the seed)
+     * @param crossings number of crossings with the anti-meridian: 0, 2 or an even number
+     * @return the shape
+     * @throws IOException when the seed cannot be read
+     */
+    public static double[] create(final int vertices, final int crossings) throws IOException {
+        final double[] seed;
+        switch (crossings) {
+            case 0:
+                seed = readSeed("test5.data");
+                break;
+            case 2:
+                seed = readSeed("test0.data");
+                break;
+            default:
+                if (crossings % 4 != 0) {
+                    throw new IllegalArgumentException("crossings must be 0, 2 or a multiple of 4");
+                }
+                seed = comb(crossings / 2);
+                break;
+        }
+        return densify(seed, vertices);
+    }
+
+    /**
+     * Reads a seed of the test corpus.
+     *
+     * @param name file name
+     * @return the seed
+     * @throws IOException when the seed cannot be read
+     */
+    public static double[] readSeed(final String name) throws IOException {
+        final File file = new File(System.getProperty(SEEDS_PROPERTY, "src/test/resources"), name);
+        final List<Coordinate> coordinates = JSplitPolygon.readCoordinates(file);
+        final double[] seed = new double[2 * coordinates.size()];
+        for (int i = 0; i < coordinates.size(); i++) {
+            seed[2 * i] = coordinates.get(i).getLongitude();
+            seed[2 * i + 1] = coordinates.get(i).getLatitude();
+        }
+        return seed;
+    }
+
+    /**
+     * Creates a closed comb whose spine is west of the anti-meridian and whose teeth cross it.
+     *
+     * @param teeth number of teeth, each tooth crosses the anti-meridian twice
+     * @return the comb
+     */
+    public static double[] comb(final int teeth) {
+        final double[] comb = new double[2 * (4 * teeth + 3)];
+        final double height = 120.0 / (2 * teeth);
+        int i = 0;
+        comb[i++] = 160;
+        comb[i++] = -60;
+        for (int tooth = 0; tooth < teeth; tooth++) {
+            final double bottom = -60 + (2 * tooth + 0.5) * height;
+            final double top = bottom + height;
+            comb[i++] = 170;
+            comb[i++] = bottom;
+            comb[i++] = -170;
+            comb[i++] = bottom;
+            comb[i++] = -170;
+            comb[i++] = top;
+            comb[i++] = 170;
+            comb[i++] = top;
+        }
+        comb[i++] = 160;
+        comb[i++] = 60;
+        comb[i++] = 160;
+        comb[i] = -60;
+        return comb;
+    }
+
+    /**
+     * Inserts points along the edges until the shape has the requested number of vertices. The
+     * points of an edge crossing the anti-meridian are inserted on the shortest path so that
+     * the edge still crosses it once.
+     *
+     * @param shape closed shape
+     * @param vertices requested number of vertices
+     * @return the densified shape
+     */
+    public static double[] densify(final double[] shape, final int vertices) {
+        final int nbPoints = shape.length / 2;
+        if (vertices <= nbPoints) {
+            return shape.clone();
+        }
+        final int nbEdges = nbPoints - 1;
+        final int extra = vertices - nbPoints;
+        final double[] result = new double[2 * vertices];
+        int index = 0;
+        for (int edge = 0; edge < nbEdges; edge++) {
+            final int inserted = extra / nbEdges + (edge < extra % nbEdges ? 1 : 0);
+            final double lon1 = shape[2 * edge];
+            final double lat1 = shape[2 * edge + 1];
+            double lon2 = shape[2 * edge + 2];
+            final double lat2 = shape[2 * edge + 3];
+            if (lon2 - lon1 > 180) {
+                lon2 -= 360;
+            } else if (lon1 - lon2 > 180) {
+                lon2 += 360;
+            }
+            result[index++] = lon1;
+            result[index++] = lat1;
+            for (int k = 1; k <= inserted; k++) {
+                final double t = (double) k / (inserted + 1);
+                double longitude = lon1 + t * (lon2 - lon1);
+                if (longitude > 180) {
+                    longitude -= 360;
+                } else if (longitude < -180) {
+                    longitude += 360;
+                }
+                result[index++] = longitude;
+                result[index++] = lat1 + t * (lat2 - lat1);
+            }
+        }
+        result[index++] = shape[2 * nbEdges];
+        result[index] = shape[2 * nbEdges + 1];
+        return result;
+    }
+
+}
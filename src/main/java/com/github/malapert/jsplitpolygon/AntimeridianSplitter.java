@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stateless splitter of polygons along the anti-meridian.
+ *
+ * <p>
+ * Unlike {@link Polygon#split()}, which stores the fragments in the polygon, the splitter copies
+ * the input and returns an immutable {@link SplitResult}. A splitter holds no state: the buffers
+ * of the split engine are per thread, so one instance can be called concurrently by any number
+ * of threads without locking.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * private static final AntimeridianSplitter SPLITTER = new AntimeridianSplitter();
+ * ...
+ * final SplitResult result = SPLITTER.split(coordinates);
+ * if (result.wasSplit()) {
+ *   final String json = result.toGeoJson();
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class AntimeridianSplitter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(AntimeridianSplitter.class.getName());
+
+    /**
+     * Buffers of the split engine of each thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = ThreadLocal.withInitial(
+            SplitBuffers::new);
+
+    /**
+     * Creates a splitter.
+     */
+    public AntimeridianSplitter() {
+    }
+
+    /**
+     * Splits a polygon. The coordinates are copied and never modified.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @return the result
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public SplitResult split(final double[] coordinates) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        return split(new Polygon(coordinates));
+    }
+
+    /**
+     * Splits a polygon. The coordinates are copied.
+     *
+     * @param coordinates points
+     * @return the result
+     * @throws IllegalArgumentException when the coordinates are null
+     */
+    public SplitResult split(final List<Coordinate> coordinates) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        return split(new Polygon(coordinates));
+    }
+
+    /**
+     * Splits a polygon owned by the splitter.
+     *
+     * @param polygon polygon, counter-clockwise copy of the input
+     * @return the result
+     */
+    private static SplitResult split(final Polygon polygon) {
+        final SplitBuffers buffers = BUFFERS.get();
+        final boolean isSplit = polygon.split(buffers);
+        final List<Polygon> polygons = isSplit ? polygon.getPolygons()
+                : Collections.singletonList(polygon);
+        final RingView[] fragments = new RingView[polygons.size()];
+        final double[] bboxes = new double[4 * fragments.length];
+        for (int fragment = 0; fragment < fragments.length; fragment++) {
+            final Polygon poly = polygons.get(fragment);
+            fragments[fragment] = poly.view();
+            System.arraycopy(poly.bbox(), 0, bboxes, 4 * fragment, 4);
+        }
+        return new SplitResult(fragments, bboxes, buffers.getCrossingCount(), isSplit);
+    }
+
+}
@@ -0,0 +1,482 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.io.BinaryBatchFormat;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchReader;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchWriter;
+import com.github.malapert.jsplitpolygon.io.MappedDataReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Splits all the polygons of many data or binary files in one process.
+ *
+ * <p>
+ * The records are read, in order, by the calling thread from the memory-mapped data files or the
+ * {@link BinaryBatchFormat binary} files. They are split, and serialized to GeoJson, by a pool of
+ * worker threads. The calling thread writes the results in the order of the records, whatever
+ * the number of threads: one GeoJson per line or one binary record per record. At most
+ * {@code maxInFlight} records are read but not yet written, which bounds the memory. A record
+ * that cannot be split is logged and written as {@code null} or as an empty binary record, so
+ * that the result N is always the one of the record N of the input.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final BatchProcessor processor = new BatchProcessor(4);
+ * final List&lt;Path&gt; inputs = BatchProcessor.resolveInputs("data/*.data");
+ * final long nbRecords = processor.process(inputs, DataRecordReader.DEFAULT_SEPARATOR, writer);
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class BatchProcessor {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(BatchProcessor.class.getName());
+
+    /**
+     * Number of in-flight records per thread by default.
+     */
+    public static final int DEFAULT_IN_FLIGHT_PER_THREAD = 4;
+
+    /**
+     * Extension of the data files.
+     */
+    private static final String DATA_EXTENSION = ".data";
+
+    /**
+     * Output of a record that cannot be split.
+     */
+    private static final String FAILURE = "null";
+
+    /**
+     * Buffers of the split engine by worker thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = new ThreadLocal<SplitBuffers>() {
+        @Override
+        protected SplitBuffers initialValue() {
+            return new SplitBuffers();
+        }
+    };
+
+    /**
+     * Number of worker threads.
+     */
+    private final int nbThreads;
+
+    /**
+     * Maximum number of records read but not yet written.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Number of records that cannot be split during the last process.
+     */
+    private long failureCount;
+
+    /**
+     * Creates a processor with {@link #DEFAULT_IN_FLIGHT_PER_THREAD} in-flight records per
+     * thread.
+     *
+     * @param nbThreads number of worker threads
+     * @throws IllegalArgumentException when the number of threads is not positive
+     */
+    public BatchProcessor(final int nbThreads) {
+        this(nbThreads, DEFAULT_IN_FLIGHT_PER_THREAD * Math.max(1, nbThreads));
+    }
+
+    /**
+     * Creates a processor.
+     *
+     * @param nbThreads number of worker threads
+     * @param maxInFlight maximum number of records read but not yet written
+     * @throws IllegalArgumentException when a parameter is not positive
+     */
+    public BatchProcessor(final int nbThreads, final int maxInFlight) {
+        if (nbThreads < 1) {
+            throw new IllegalArgumentException("number of threads must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("number of in-flight records must be positive");
+        }
+        this.nbThreads = nbThreads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Resolves the input files of a batch, sorted by name.
+     *
+     * <p>
+     * The input is either a directory, whose {@value #DATA_EXTENSION} and
+     * {@value BinaryBatchFormat#EXTENSION} files are taken, a glob on the file names of a
+     * directory (for instance {@code data/*.data}) or a file.
+     * </p>
+     *
+     * @param input directory, glob or file
+     * @return the input files sorted by name
+     * @throws IOException when the input does not exist or the directory cannot be read
+     */
+    public static List<Path> resolveInputs(final String input) throws IOException {
+        final List<Path> inputs = new ArrayList<>();
+        final Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path file : stream) {
+                    final String name = file.getFileName().toString();
+                    if (Files.isRegularFile(file) && (name.endsWith(DATA_EXTENSION)
+                            || name.endsWith(BinaryBatchFormat.EXTENSION))) {
+                        inputs.add(file);
+                    }
+                }
+            }
+        } else if (Files.isRegularFile(path)) {
+            inputs.add(path);
+        } else {
+            final Path parent = path.getParent() == null ? Paths.get(".") : path.getParent();
+            if (!Files.isDirectory(parent)) {
+                throw new IOException("Cannot read " + input);
+            }
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(parent,
+                    path.getFileName().toString())) {
+                for (Path file : stream) {
+                    if (Files.isRegularFile(file)) {
+                        inputs.add(file);
+                    }
+                }
+            }
+            if (inputs.isEmpty()) {
+                throw new IOException("No file matches " + input);
+            }
+        }
+        Collections.sort(inputs);
+        return inputs;
+    }
+
+    /**
+     * Splits all the records of the inputs and writes one GeoJson per line.
+     *
+     * @param inputs data or binary files
+     * @param separator line separating the records in a data file
+     * @param out output, not closed
+     * @return the number of records
+     * @throws IOException when an input cannot be read or the output cannot be written
+     */
+    public long process(final List<Path> inputs, final String separator, final Writer out)
+            throws IOException {
+        final long nbRecords = run(inputs, separator, new Stage<String>() {
+            @Override
+            public String split(final int index, final double[] coordinates) {
+                return toGeoJson(index, coordinates);
+            }
+
+            @Override
+            public void write(final String geojson) throws IOException {
+                if (geojson == null) {
+                    failureCount++;
+                    out.write(FAILURE);
+                } else {
+                    out.write(geojson);
+                }
+                out.write('\n');
+            }
+        });
+        out.flush();
+        return nbRecords;
+    }
+
+    /**
+     * Splits all the records of the inputs and writes one binary record per input record, made
+     * of one ring per polygon of the result and without ring when the record cannot be split.
+     *
+     * <p>
+     * The coordinates are not formatted as text; when the inputs are binary files, they are not
+     * parsed either.
+     * </p>
+     *
+     * @param inputs data or binary files
+     * @param separator line separating the records in a data file
+     * @param out output, not closed
+     * @return the number of records
+     * @throws IOException when an input cannot be read or the output cannot be written
+     */
+    public long process(final List<Path> inputs, final String separator,
+            final BinaryBatchWriter out) throws IOException {
+        return run(inputs, separator, new Stage<SplitOutcome>() {
+            @Override
+            public SplitOutcome split(final int index, final double[] coordinates) {
+                final SplitOutcome outcome = PolygonSplitter.split(index, coordinates,
+                        BUFFERS.get());
+                if (!outcome.isSuccess()) {
+                    LOG.error("record {} cannot be split: {}", index,
+                            outcome.getError().getMessage());
+                }
+                return outcome;
+            }
+
+            /**
+             * Points of the fragment being written, reused between the fragments.
+             */
+            private double[] ring = new double[0];
+
+            @Override
+            public void write(final SplitOutcome outcome) throws IOException {
+                if (outcome.isSuccess()) {
+                    for (Polygon polygon : outcome.getPolygons()) {
+                        if (this.ring.length < 2 * polygon.size()) {
+                            this.ring = new double[2 * polygon.size()];
+                        }
+                        polygon.copyTo(this.ring, 0);
+                        out.writeRing(this.ring, 0, polygon.size());
+                    }
+                } else {
+                    failureCount++;
+                }
+                out.endRecord();
+            }
+        });
+    }
+
+    /**
+     * Reads the records of the inputs, splits them on the worker threads and writes the results
+     * in the order of the records.
+     *
+     * @param <T> result of a record
+     * @param inputs data or binary files
+     * @param separator line separating the records in a data file
+     * @param stage split and write of a record
+     * @return the number of records
+     * @throws IOException when an input cannot be read or the output cannot be written
+     */
+    private <T> long run(final List<Path> inputs, final String separator, final Stage<T> stage)
+            throws IOException {
+        this.failureCount = 0;
+        final ExecutorService executor = Executors.newFixedThreadPool(this.nbThreads,
+                new WorkerFactory());
+        final Deque<Future<T>> inFlight = new ArrayDeque<>(this.maxInFlight);
+        long nbRecords = 0;
+        try {
+            for (Path input : inputs) {
+                LOG.info("Processing file {}", input);
+                try (RecordSource records = open(input, separator)) {
+                    double[] coordinates;
+                    while ((coordinates = records.next()) != null) {
+                        if (inFlight.size() == this.maxInFlight) {
+                            stage.write(await(inFlight.poll()));
+                        }
+                        final double[] polygon = coordinates;
+                        final int index = (int) nbRecords;
+                        inFlight.add(executor.submit(() -> stage.split(index, polygon)));
+                        nbRecords++;
+                    }
+                } catch (IOException ex) {
+                    LOG.error("Batch stopped while processing {}", input);
+                    throw ex;
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                stage.write(await(inFlight.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return nbRecords;
+    }
+
+    /**
+     * Opens the records of an input, a binary file when its name ends with
+     * {@value BinaryBatchFormat#EXTENSION} otherwise a data file.
+     *
+     * <p>
+     * The polygon of a binary record is its first ring.
+     * </p>
+     *
+     * @param input data or binary file
+     * @param separator line separating the records in a data file
+     * @return the records
+     * @throws IOException when the input cannot be opened
+     */
+    private static RecordSource open(final Path input, final String separator)
+            throws IOException {
+        if (input.getFileName().toString().endsWith(BinaryBatchFormat.EXTENSION)) {
+            final BinaryBatchReader reader = BinaryBatchReader.open(input);
+            return new RecordSource() {
+                private long record;
+
+                @Override
+                public double[] next() throws IOException {
+                    if (this.record == reader.getRecordCount()) {
+                        return null;
+                    }
+                    final int nbRings = reader.read(this.record++);
+                    return nbRings == 0 ? new double[0] : reader.copyRing(0);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    reader.close();
+                }
+            };
+        }
+        final MappedDataReader reader = new MappedDataReader(input, separator,
+                MappedDataReader.DEFAULT_WINDOW_SIZE);
+        return new RecordSource() {
+            @Override
+            public double[] next() throws IOException {
+                final int nbPoints = reader.next();
+                return nbPoints == 0 ? null : Arrays.copyOf(reader.getCoordinates(), 2 * nbPoints);
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of records that could not be split during the last process.
+     *
+     * @return the number of failures
+     */
+    public long getFailureCount() {
+        return this.failureCount;
+    }
+
+    /**
+     * Splits a record and serializes it.
+     *
+     * @param index record index
+     * @param coordinates interleaved longitudes and latitudes
+     * @return the GeoJson or null when the record cannot be split
+     */
+    private static String toGeoJson(final int index, final double[] coordinates) {
+        final SplitOutcome outcome = PolygonSplitter.split(index, coordinates, BUFFERS.get());
+        if (!outcome.isSuccess()) {
+            LOG.error("record {} cannot be split: {}", index, outcome.getError().getMessage());
+            return null;
+        }
+        try {
+            return outcome.getGeoJson().toGeoJson();
+        } catch (RuntimeException ex) {
+            LOG.error("record {} cannot be serialized: {}", index, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits for the result of a record.
+     *
+     * @param <T> result of a record
+     * @param result result of a record
+     * @return the result
+     * @throws IOException when the thread is interrupted
+     */
+    private static <T> T await(final Future<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException(ex.getCause());
+        }
+    }
+
+    /**
+     * Split, on a worker thread, and write, on the calling thread, of a record.
+     *
+     * @param <T> result of a record
+     */
+    private interface Stage<T> {
+
+        /**
+         * Splits a record.
+         *
+         * @param index record index
+         * @param coordinates interleaved longitudes and latitudes
+         * @return the result
+         */
+        T split(int index, double[] coordinates);
+
+        /**
+         * Writes the result of a record.
+         *
+         * @param result result
+         * @throws IOException when the output cannot be written
+         */
+        void write(T result) throws IOException;
+    }
+
+    /**
+     * Records of an input.
+     */
+    private interface RecordSource extends Closeable {
+
+        /**
+         * Reads the next record.
+         *
+         * @return the interleaved longitudes and latitudes or null at the end of the input
+         * @throws IOException when the input cannot be read
+         */
+        double[] next() throws IOException;
+    }
+
+    /**
+     * Factory of daemon worker threads.
+     */
+    private static final class WorkerFactory implements ThreadFactory {
+
+        /**
+         * Number of created threads.
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable,
+                    "jsplitpolygon-worker-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
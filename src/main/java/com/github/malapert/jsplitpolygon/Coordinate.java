@@ -17,20 +17,12 @@
  */
 package com.github.malapert.jsplitpolygon;
 
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
 /**
  * This class handles Earth coordinates.
  * @author Jean-Christophe Malapert
  */
 public class Coordinate {
 
-    /**
-     * logger.
-     */
-    private static final Logger LOG = LogManager.getLogger(Coordinate.class.getName());
-
     /**
      * longitude in decimal degree.
      */
@@ -46,7 +38,6 @@ public class Coordinate {
      * @param latitude  latitude in decimal degree
      */
     public Coordinate(double longitude, double latitude) {
-        LOG.traceEntry("Constructor - longitude : {}, latitude : {}", longitude, latitude);
         this.longitude = longitude;
         this.latitude = latitude;
     }
@@ -56,8 +47,7 @@ public class Coordinate {
      * @return the longitude in decimal degree
      */
     public double getLongitude() {
-        LOG.traceEntry();
-        return LOG.traceExit(longitude);
+        return longitude;
     }
 
     /**
@@ -65,8 +55,30 @@ public class Coordinate {
      * @return the latitude in decimal degree.
      */
     public double getLatitude() {
-        LOG.traceEntry();
-        return LOG.traceExit(latitude);
+        return latitude;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Coordinate)) {
+            return false;
+        }
+        final Coordinate other = (Coordinate) obj;
+        return Double.compare(this.longitude, other.longitude) == 0
+                && Double.compare(this.latitude, other.latitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        final long bitsLongitude = Double.doubleToLongBits(this.longitude);
+        final long bitsLatitude = Double.doubleToLongBits(this.latitude);
+        int hash = 7;
+        hash = 31 * hash + (int) (bitsLongitude ^ (bitsLongitude >>> 32));
+        hash = 31 * hash + (int) (bitsLatitude ^ (bitsLatitude >>> 32));
+        return hash;
     }
 
     /**
@@ -75,8 +87,7 @@ public class Coordinate {
      */
     @Override
     public String toString() {
-        LOG.traceEntry();
-        return LOG.traceExit("[" + this.longitude + ", " + this.latitude + "]");
+        return "[" + this.longitude + ", " + this.latitude + "]";
     }
 
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+/**
+ * Read access to the points of a polygon held in a structure of the caller.
+ *
+ * <p>
+ * An accessor lets {@link SplitPlan} read the points without converting them to
+ * {@link Coordinate}.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface CoordinateAccessor {
+
+    /**
+     * Returns the number of points.
+     *
+     * @return the number of points
+     */
+    int size();
+
+    /**
+     * Returns the longitude of a point.
+     *
+     * @param index point index
+     * @return the longitude in decimal degree
+     */
+    double getLongitude(int index);
+
+    /**
+     * Returns the latitude of a point.
+     *
+     * @param index point index
+     * @return the latitude in decimal degree
+     */
+    double getLatitude(int index);
+
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of {@link Coordinate} backed by interleaved longitudes and latitudes or by a
+ * {@link RingView}.
+ *
+ * <p>
+ * No coordinate is stored: each call to {@link #get(int)} creates a new coordinate from the
+ * interleaved array or the view.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+class CoordinateListView extends AbstractList<Coordinate> implements RandomAccess {
+
+    /**
+     * Interleaved longitudes and latitudes.
+     */
+    private final double[] coordinates;
+
+    /**
+     * View of a fragment, null when the list is backed by an array.
+     */
+    private final RingView ring;
+
+    /**
+     * Creates a view on interleaved coordinates.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     */
+    CoordinateListView(final double[] coordinates) {
+        this.coordinates = coordinates;
+        this.ring = null;
+    }
+
+    /**
+     * Creates a view on a fragment.
+     *
+     * @param ring view of the fragment
+     */
+    CoordinateListView(final RingView ring) {
+        this.coordinates = null;
+        this.ring = ring;
+    }
+
+    @Override
+    public Coordinate get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (this.ring != null) {
+            return new Coordinate(this.ring.getLongitude(index), this.ring.getLatitude(index));
+        }
+        return new Coordinate(this.coordinates[2 * index], this.coordinates[2 * index + 1]);
+    }
+
+    @Override
+    public int size() {
+        return this.ring == null ? this.coordinates.length / 2 : this.ring.size();
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads the polygons of a data file having one "longitude latitude" point per line.
+ *
+ * <p>
+ * A file may contain several polygons (records) separated by a separator line. By default, the
+ * separator is an empty line; with another separator, the empty lines are ignored. Consecutive
+ * separators do not create empty records.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (DataRecordReader reader = new DataRecordReader(new FileReader(file), "")) {
+ *   double[] coordinates;
+ *   while ((coordinates = reader.next()) != null) {
+ *     // interleaved longitudes and latitudes of one polygon
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class DataRecordReader implements Closeable {
+
+    /**
+     * Default separator of the records: an empty line.
+     */
+    public static final String DEFAULT_SEPARATOR = "";
+
+    /**
+     * Source.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Separator of the records, compared to the trimmed lines.
+     */
+    private final String separator;
+
+    /**
+     * Values of the record being read.
+     */
+    private double[] values = new double[64];
+
+    /**
+     * Number of the line being read, starting at 1.
+     */
+    private long lineNumber;
+
+    /**
+     * Creates a reader of records separated by empty lines.
+     *
+     * @param reader source
+     */
+    public DataRecordReader(final Reader reader) {
+        this(reader, DEFAULT_SEPARATOR);
+    }
+
+    /**
+     * Creates a reader of records.
+     *
+     * @param reader source
+     * @param separator line separating the records
+     */
+    public DataRecordReader(final Reader reader, final String separator) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader
+                : new BufferedReader(reader);
+        this.separator = separator.trim();
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the interleaved longitudes and latitudes of the next polygon or null at the end of
+     * the source
+     * @throws IOException when the source cannot be read or a line is not a point
+     */
+    public double[] next() throws IOException {
+        int size = 0;
+        String line;
+        while ((line = this.reader.readLine()) != null) {
+            this.lineNumber++;
+            final String trimmed = line.trim();
+            if (trimmed.equals(this.separator) || trimmed.isEmpty()) {
+                if (size > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (size + 2 > this.values.length) {
+                this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+            }
+            parsePoint(trimmed, size);
+            size += 2;
+        }
+        return size == 0 ? null : Arrays.copyOf(this.values, size);
+    }
+
+    /**
+     * Parses a "longitude latitude" line.
+     *
+     * @param line trimmed line
+     * @param position index where the longitude is stored
+     * @throws IOException when the line is not a point
+     */
+    private void parsePoint(final String line, final int position) throws IOException {
+        final String[] tokens = line.split("\\s+");
+        if (tokens.length < 2) {
+            throw new IOException("line " + this.lineNumber + ": longitude and latitude expected");
+        }
+        try {
+            this.values[position] = Double.parseDouble(tokens[0]);
+            this.values[position + 1] = Double.parseDouble(tokens[1]);
+        } catch (NumberFormatException ex) {
+            throw new IOException("line " + this.lineNumber + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the number of lines read.
+     *
+     * @return the number of lines read
+     */
+    public long getLineNumber() {
+        return this.lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+}
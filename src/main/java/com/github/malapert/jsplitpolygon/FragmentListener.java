@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+/**
+ * Listener receiving the fragments of a polygon from a {@link SplitSink}.
+ *
+ * <p>
+ * The listener is called by the thread closing the sink, once the polygon is complete.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+@FunctionalInterface
+public interface FragmentListener {
+
+    /**
+     * Notifies a fragment.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the counter-clockwise fragment,
+     * closed on its first point, owned by the listener
+     */
+    void fragmentCompleted(double[] coordinates);
+
+}
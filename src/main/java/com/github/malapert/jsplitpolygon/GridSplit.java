@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable result of the split of a polygon by {@link GridSplitter}.
+ *
+ * <p>
+ * The fragments are packed in a single array of interleaved longitudes and latitudes; each
+ * fragment is a closed counter-clockwise ring, its last point repeating its first one. The
+ * column of a fragment is the index of the strip between two meridians, from 0 west of the
+ * first meridian; the row is the index of the strip between two parallels, from 0 south of the
+ * first parallel.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GridSplit {
+
+    /**
+     * Interleaved longitudes and latitudes of the fragments.
+     */
+    private final double[] coordinates;
+
+    /**
+     * Index of the first point of each fragment, followed by the number of points.
+     */
+    private final int[] offsets;
+
+    /**
+     * Column of each fragment.
+     */
+    private final int[] columns;
+
+    /**
+     * Row of each fragment.
+     */
+    private final int[] rows;
+
+    /**
+     * Creates a result.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the fragments, not copied
+     * @param offsets index of the first point of each fragment, followed by the number of points,
+     * not copied
+     * @param columns column of each fragment, not copied
+     * @param rows row of each fragment, not copied
+     */
+    GridSplit(final double[] coordinates, final int[] offsets, final int[] columns,
+            final int[] rows) {
+        this.coordinates = coordinates;
+        this.offsets = offsets;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the number of fragments.
+     *
+     * @return the number of fragments
+     */
+    public int getFragmentCount() {
+        return this.columns.length;
+    }
+
+    /**
+     * Returns the column of a fragment.
+     *
+     * @param fragment index of the fragment
+     * @return the index of the strip between two meridians
+     */
+    public int getColumn(final int fragment) {
+        return this.columns[fragment];
+    }
+
+    /**
+     * Returns the row of a fragment.
+     *
+     * @param fragment index of the fragment
+     * @return the index of the strip between two parallels, 0 without parallel
+     */
+    public int getRow(final int fragment) {
+        return this.rows[fragment];
+    }
+
+    /**
+     * Returns the number of points of a fragment, the closing point included.
+     *
+     * @param fragment index of the fragment
+     * @return the number of points
+     */
+    public int getFragmentSize(final int fragment) {
+        return this.offsets[fragment + 1] - this.offsets[fragment];
+    }
+
+    /**
+     * Returns a copy of the points of a fragment, the closing point included.
+     *
+     * @param fragment index of the fragment
+     * @return the interleaved longitudes and latitudes
+     */
+    public double[] getFragment(final int fragment) {
+        return Arrays.copyOfRange(this.coordinates, 2 * this.offsets[fragment],
+                2 * this.offsets[fragment + 1]);
+    }
+
+    /**
+     * Returns the fragments as polygons.
+     *
+     * @return new polygons, without closing point
+     */
+    public List<Polygon> toPolygons() {
+        final List<Polygon> polygons = new ArrayList<>(getFragmentCount());
+        for (int fragment = 0; fragment < getFragmentCount(); fragment++) {
+            polygons.add(new Polygon(Arrays.copyOfRange(this.coordinates,
+                    2 * this.offsets[fragment], 2 * this.offsets[fragment + 1] - 2)));
+        }
+        return polygons;
+    }
+
+}
@@ -0,0 +1,635 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Splits polygons along a set of meridians, and optionally of parallels, in addition to the
+ * anti-meridian.
+ *
+ * <p>
+ * The polygon is first split along the anti-meridian by the split engine. Each fragment is then
+ * cut along all the meridians in one traversal: the strip of each point is followed from the
+ * strip of the previous point, so a point costs O(1) plus the number of meridians crossed by its
+ * edge. The crossings are sorted by meridian and latitude, and those of each meridian are joined
+ * two by two, ranks 2i and 2i + 1, as the intervals of the meridian inside the polygon; the pieces
+ * of the polygon between two crossings are then joined in closed rings by following these
+ * intervals, as for the anti-meridian. The cost is O(n + k log k) for n points and k crossings,
+ * whatever the number of meridians. The parallels are cut in the same way, in one traversal of
+ * each strip fragment.
+ * </p>
+ *
+ * <p>
+ * A point on a cut line belongs to the strip east (north) of the line, as if it were moved there
+ * by an infinitesimal distance: it is the crossing point of its edges coming from the other
+ * strip, two crossings at the same point are ordered along the line by the slopes of their edges,
+ * and an edge running along a line belongs to the east (north) strip only, its trace of null
+ * width in the ring of this strip being removed. The fragments are counter-clockwise and closed;
+ * the degenerate fragments, with less than 3 distinct points, are dropped. A splitter is
+ * immutable and can be shared between threads.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final GridSplitter splitter = GridSplitter.ofSteps(30, 0);
+ * final GridSplit split = splitter.split(coordinates);
+ * for (int fragment = 0; fragment &lt; split.getFragmentCount(); fragment++) {
+ *   final int column = split.getColumn(fragment);
+ *   final double[] points = split.getFragment(fragment);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GridSplitter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(GridSplitter.class.getName());
+
+    /**
+     * Axis of the longitudes, cut by the meridians.
+     */
+    private static final int LONGITUDE = 0;
+
+    /**
+     * Axis of the latitudes, cut by the parallels.
+     */
+    private static final int LATITUDE = 1;
+
+    /**
+     * Sorted longitudes of the meridians.
+     */
+    private final double[] meridians;
+
+    /**
+     * Sorted latitudes of the parallels.
+     */
+    private final double[] parallels;
+
+    /**
+     * Splitter along the anti-meridian.
+     */
+    private final AntimeridianSplitter splitter = new AntimeridianSplitter();
+
+    /**
+     * Creates a splitter along meridians.
+     *
+     * @param meridians longitudes of the meridians, in ]-180, 180[
+     * @throws IllegalArgumentException when a longitude is out of range
+     */
+    public GridSplitter(final double[] meridians) {
+        this(meridians, new double[0]);
+    }
+
+    /**
+     * Creates a splitter along meridians and parallels.
+     *
+     * @param meridians longitudes of the meridians, in ]-180, 180[
+     * @param parallels latitudes of the parallels, in ]-90, 90[
+     * @throws IllegalArgumentException when a longitude or a latitude is out of range
+     */
+    public GridSplitter(final double[] meridians, final double[] parallels) {
+        this.meridians = sortLines(meridians, 180, "meridians");
+        this.parallels = sortLines(parallels, 90, "parallels");
+    }
+
+    /**
+     * Creates a splitter along regularly spaced meridians and parallels.
+     *
+     * @param longitudeStep step between the meridians from -180, 0 for no meridian
+     * @param latitudeStep step between the parallels from -90, 0 for no parallel
+     * @return the splitter
+     * @throws IllegalArgumentException when a step is negative
+     */
+    public static GridSplitter ofSteps(final double longitudeStep, final double latitudeStep) {
+        return new GridSplitter(regularLines(longitudeStep, 180), regularLines(latitudeStep, 90));
+    }
+
+    /**
+     * Creates regularly spaced lines.
+     *
+     * @param step step between the lines
+     * @param max half range of the lines
+     * @return the values of the lines in ]-max, max[
+     */
+    private static double[] regularLines(final double step, final double max) {
+        if (step < 0 || Double.isNaN(step)) {
+            throw LOG.throwing(new IllegalArgumentException("step must be >= 0"));
+        }
+        if (step == 0) {
+            return new double[0];
+        }
+        final int nbLines = (int) Math.ceil(2 * max / step) - 1;
+        final double[] lines = new double[Math.max(0, nbLines)];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = -max + (i + 1) * step;
+        }
+        return lines;
+    }
+
+    /**
+     * Checks and sorts the values of lines, removing the duplicates.
+     *
+     * @param values values of the lines
+     * @param max half range of the values
+     * @param name name of the lines
+     * @return the sorted values
+     */
+    private static double[] sortLines(final double[] values, final double max, final String name) {
+        if (values == null) {
+            throw LOG.throwing(new IllegalArgumentException(name + " cannot be null"));
+        }
+        final double[] lines = values.clone();
+        Arrays.sort(lines);
+        int nbLines = 0;
+        for (final double line : lines) {
+            if (!(line > -max && line < max)) {
+                throw LOG.throwing(new IllegalArgumentException(name + " must be in ]-" + max
+                        + ", " + max + "[: " + line));
+            }
+            if (nbLines == 0 || lines[nbLines - 1] != line) {
+                lines[nbLines++] = line;
+            }
+        }
+        return Arrays.copyOf(lines, nbLines);
+    }
+
+    /**
+     * Splits a polygon.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not modified
+     * @return the fragments with their cell
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public GridSplit split(final double[] coordinates) {
+        final SplitResult result = this.splitter.split(coordinates);
+        final Rings strips = new Rings();
+        for (final RingView fragment : result.getFragments()) {
+            final double[] ring = fragment.toArray();
+            cut(ring, 0, ring.length / 2, LONGITUDE, this.meridians, strips);
+        }
+        final Rings cells;
+        if (this.parallels.length == 0) {
+            cells = strips;
+            cells.rows = new int[strips.count];
+        } else {
+            cells = new Rings();
+            for (int strip = 0; strip < strips.count; strip++) {
+                final int start = cells.count;
+                final int offset = strips.offsets[strip];
+                cut(strips.coordinates, offset, (strips.offsets[strip + 1] - offset) / 2,
+                        LATITUDE, this.parallels, cells);
+                for (int cell = start; cell < cells.count; cell++) {
+                    cells.rows[cell] = cells.cells[cell];
+                    cells.cells[cell] = strips.cells[strip];
+                }
+            }
+        }
+        return new GridSplit(Arrays.copyOf(cells.coordinates, cells.size),
+                toPointOffsets(cells), Arrays.copyOf(cells.cells, cells.count),
+                Arrays.copyOf(cells.rows, cells.count));
+    }
+
+    /**
+     * Returns the offsets of the rings in points.
+     *
+     * @param rings rings
+     * @return the index of the first point of each ring, followed by the number of points
+     */
+    private static int[] toPointOffsets(final Rings rings) {
+        final int[] offsets = new int[rings.count + 1];
+        for (int ring = 0; ring <= rings.count; ring++) {
+            offsets[ring] = rings.offsets[ring] / 2;
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the strip of a value: the number of lines lower than or equal to it.
+     *
+     * @param value value on the axis
+     * @param lines sorted values of the lines
+     * @return the strip index, from 0 to the number of lines
+     */
+    private static int stripOf(final double value, final double[] lines) {
+        int low = 0;
+        int high = lines.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (lines[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Cuts a ring along lines orthogonal to an axis, in one traversal.
+     *
+     * <p>
+     * The crossing c is on the edge from the point edges[c]; the chain c goes from the
+     * crossing c to the crossing c + 1 and lies in the strip entered at the crossing c. The
+     * crossings of a line are joined two by two by increasing value along the line; following a
+     * chain, then the interval of the line to the partner of its last crossing, which starts a
+     * chain of the same strip, closes a ring of this strip.
+     * </p>
+     *
+     * @param ring interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points, the closing point being ignored
+     * @param axis {@link #LONGITUDE} to cut along meridians, {@link #LATITUDE} along parallels
+     * @param lines sorted values of the lines
+     * @param out rings receiving the fragments, with the strip as cell
+     */
+    private static void cut(final double[] ring, final int offset, final int nbPoints,
+            final int axis, final double[] lines, final Rings out) {
+        int n = nbPoints;
+        if (n > 1 && ring[offset] == ring[offset + 2 * n - 2]
+                && ring[offset + 1] == ring[offset + 2 * n - 1]) {
+            n--;
+        }
+        if (n < 3) {
+            return;
+        }
+        final int other = 1 - axis;
+        final Crossings crossings = new Crossings();
+        final int firstStrip = stripOf(ring[offset + axis], lines);
+        int strip = firstStrip;
+        for (int i = 0; i < n; i++) {
+            final int from = offset + 2 * i;
+            final int to = offset + 2 * ((i + 1) % n);
+            final double x1 = ring[from + axis];
+            final double x2 = ring[to + axis];
+            // each step to the next strip is a crossing
+            final double y1 = ring[from + other];
+            final double y2 = ring[to + other];
+            while (strip < lines.length && x2 >= lines[strip]) {
+                // a last point on the line is the crossing point
+                crossings.add(i, strip, valueAt(lines[strip], x1, y1, x2, y2),
+                        x2 == lines[strip] ? (y1 - y2) / (x2 - x1) : 0, strip + 1);
+                strip++;
+            }
+            while (strip > 0 && x2 < lines[strip - 1]) {
+                // a first point on the line is the crossing point
+                crossings.add(i, strip - 1, valueAt(lines[strip - 1], x1, y1, x2, y2),
+                        x1 == lines[strip - 1] ? (y2 - y1) / (x1 - x2) : 0, strip - 1);
+                strip--;
+            }
+        }
+        if (crossings.count == 0) {
+            out.begin(firstStrip);
+            for (int i = 0; i < n; i++) {
+                out.add(ring[offset + 2 * i], ring[offset + 2 * i + 1]);
+            }
+            out.end();
+            return;
+        }
+        final int[] partners = crossings.pair();
+        final boolean[] isUsed = new boolean[crossings.count];
+        final double[] point = new double[2];
+        for (int first = 0; first < crossings.count; first++) {
+            if (isUsed[first]) {
+                continue;
+            }
+            out.begin(crossings.strips[first]);
+            int chain = first;
+            do {
+                isUsed[chain] = true;
+                point[axis] = lines[crossings.lines[chain]];
+                point[other] = crossings.values[chain];
+                out.add(point[0], point[1]);
+                final int next = chain + 1 == crossings.count ? 0 : chain + 1;
+                int nbChainPoints = crossings.edges[next] - crossings.edges[chain];
+                if (nbChainPoints < 0 || next == 0 && nbChainPoints == 0) {
+                    nbChainPoints += n;
+                }
+                for (int i = 1; i <= nbChainPoints; i++) {
+                    final int index = offset + 2 * ((crossings.edges[chain] + i) % n);
+                    out.add(ring[index], ring[index + 1]);
+                }
+                point[axis] = lines[crossings.lines[next]];
+                point[other] = crossings.values[next];
+                out.add(point[0], point[1]);
+                chain = partners[next];
+            } while (chain != first);
+            out.end();
+        }
+    }
+
+    /**
+     * Computes the value, along a line, of the intersection of an edge with the line.
+     *
+     * @param line value of the line on the cut axis
+     * @param x1 value of the first point on the cut axis
+     * @param y1 value of the first point along the line
+     * @param x2 value of the second point on the cut axis
+     * @param y2 value of the second point along the line
+     * @return the value along the line
+     */
+    private static double valueAt(final double line, final double x1, final double y1,
+            final double x2, final double y2) {
+        if (line == x1) {
+            return y1;
+        }
+        if (line == x2) {
+            return y2;
+        }
+        return y1 + (y2 - y1) * (line - x1) / (x2 - x1);
+    }
+
+    /**
+     * Crossings of a ring with the lines, in the order of the ring.
+     */
+    private static final class Crossings {
+
+        /**
+         * Index of the first point of the crossing edge.
+         */
+        private int[] edges = new int[16];
+
+        /**
+         * Index of the crossed line.
+         */
+        private int[] lines = new int[16];
+
+        /**
+         * Strip entered by the ring.
+         */
+        private int[] strips = new int[16];
+
+        /**
+         * Values of the intersections along the lines.
+         */
+        private double[] values = new double[16];
+
+        /**
+         * Offsets along the lines of the intersections, per infinitesimal distance of a point on
+         * a line moved to the east (north), 0 when the intersection is not such a point.
+         */
+        private double[] slopes = new double[16];
+
+        /**
+         * Number of crossings.
+         */
+        private int count;
+
+        /**
+         * Adds a crossing.
+         *
+         * @param edge index of the first point of the crossing edge
+         * @param line index of the crossed line
+         * @param value value of the intersection along the line
+         * @param slope offset of the intersection along the line, per distance of its point
+         * moved off the line
+         * @param strip strip entered by the ring
+         */
+        void add(final int edge, final int line, final double value, final double slope,
+                final int strip) {
+            if (this.count == this.edges.length) {
+                this.edges = Arrays.copyOf(this.edges, 2 * this.count);
+                this.lines = Arrays.copyOf(this.lines, 2 * this.count);
+                this.strips = Arrays.copyOf(this.strips, 2 * this.count);
+                this.values = Arrays.copyOf(this.values, 2 * this.count);
+                this.slopes = Arrays.copyOf(this.slopes, 2 * this.count);
+            }
+            this.edges[this.count] = edge;
+            this.lines[this.count] = line;
+            this.strips[this.count] = strip;
+            this.values[this.count] = value;
+            this.slopes[this.count++] = slope;
+        }
+
+        /**
+         * Compares two crossings by line, then by value along the line.
+         *
+         * @param crossing1 first crossing
+         * @param crossing2 second crossing
+         * @return a negative number, 0 or a positive number when the first crossing is before,
+         * at the same place or after the second one
+         */
+        private int compare(final int crossing1, final int crossing2) {
+            int compare = Integer.compare(this.lines[crossing1], this.lines[crossing2]);
+            if (compare == 0) {
+                compare = Double.compare(this.values[crossing1], this.values[crossing2]);
+            }
+            if (compare == 0) {
+                compare = Double.compare(this.slopes[crossing1], this.slopes[crossing2]);
+            }
+            return compare;
+        }
+
+        /**
+         * Sorts the crossings by line, then by value along the line, with a merge sort.
+         *
+         * @return the crossings in order
+         */
+        private int[] sort() {
+            int[] src = new int[this.count];
+            int[] dest = new int[this.count];
+            for (int c = 0; c < this.count; c++) {
+                src[c] = c;
+            }
+            for (int width = 1; width < this.count; width *= 2) {
+                for (int low = 0; low < this.count; low += 2 * width) {
+                    final int middle = Math.min(low + width, this.count);
+                    final int high = Math.min(low + 2 * width, this.count);
+                    int i = low;
+                    int j = middle;
+                    for (int k = low; k < high; k++) {
+                        if (i < middle && (j >= high || compare(src[i], src[j]) <= 0)) {
+                            dest[k] = src[i++];
+                        } else {
+                            dest[k] = src[j++];
+                        }
+                    }
+                }
+                final int[] swap = src;
+                src = dest;
+                dest = swap;
+            }
+            return src;
+        }
+
+        /**
+         * Joins the crossings of each line two by two by increasing value along the line.
+         *
+         * @return the partner of each crossing
+         */
+        int[] pair() {
+            final int[] order = sort();
+            final int[] partners = new int[this.count];
+            int start = 0;
+            while (start < this.count) {
+                // run of the crossings of a line
+                final int line = this.lines[order[start]];
+                int end = start + 1;
+                while (end < this.count && this.lines[order[end]] == line) {
+                    end++;
+                }
+                for (int rank = start; rank + 1 < end; rank += 2) {
+                    partners[order[rank]] = order[rank + 1];
+                    partners[order[rank + 1]] = order[rank];
+                }
+                start = end;
+            }
+            return partners;
+        }
+    }
+
+    /**
+     * Growable packed rings with a cell index per ring.
+     */
+    private static final class Rings {
+
+        /**
+         * Interleaved longitudes and latitudes of the rings.
+         */
+        private double[] coordinates = new double[64];
+
+        /**
+         * Number of values.
+         */
+        private int size;
+
+        /**
+         * Index, in values, of the first longitude of each ring, followed by the size.
+         */
+        private int[] offsets = new int[8];
+
+        /**
+         * Cell of each ring along the cut axis.
+         */
+        private int[] cells = new int[8];
+
+        /**
+         * Cell of each ring along the parallels.
+         */
+        private int[] rows = new int[8];
+
+        /**
+         * Number of rings.
+         */
+        private int count;
+
+        /**
+         * Starts a ring.
+         *
+         * @param cell cell of the ring
+         */
+        void begin(final int cell) {
+            if (this.count + 2 > this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, 2 * this.offsets.length);
+                this.cells = Arrays.copyOf(this.cells, 2 * this.cells.length);
+                this.rows = Arrays.copyOf(this.rows, 2 * this.rows.length);
+            }
+            this.offsets[this.count] = this.size;
+            this.cells[this.count] = cell;
+        }
+
+        /**
+         * Adds a point to the current ring, unless it repeats the previous point. The previous
+         * points going back along a line of longitude or latitude are removed.
+         *
+         * @param longitude longitude
+         * @param latitude latitude
+         */
+        void add(final double longitude, final double latitude) {
+            final int start = this.offsets[this.count];
+            while (this.size - start >= 4
+                    && isBacktrack(this.size - 4, this.size - 2, longitude, latitude)) {
+                this.size -= 2;
+            }
+            if (this.size > start && this.coordinates[this.size - 2] == longitude
+                    && this.coordinates[this.size - 1] == latitude) {
+                return;
+            }
+            if (this.size + 2 > this.coordinates.length) {
+                this.coordinates = Arrays.copyOf(this.coordinates, 2 * this.coordinates.length);
+            }
+            this.coordinates[this.size++] = longitude;
+            this.coordinates[this.size++] = latitude;
+        }
+
+        /**
+         * Tells whether the ring goes back on its way at a point, along a line of longitude or
+         * latitude.
+         *
+         * @param previous index, in values, of the previous point
+         * @param point index, in values, of the point
+         * @param longitude longitude of the next point
+         * @param latitude latitude of the next point
+         * @return True when the three points are on a line of longitude or latitude, and the
+         * point is not between the two other ones
+         */
+        private boolean isBacktrack(final int previous, final int point, final double longitude,
+                final double latitude) {
+            final double[] values = this.coordinates;
+            if (values[previous] == values[point] && values[point] == longitude) {
+                return (values[point + 1] - values[previous + 1])
+                        * (latitude - values[point + 1]) < 0;
+            }
+            if (values[previous + 1] == values[point + 1] && values[point + 1] == latitude) {
+                return (values[point] - values[previous]) * (longitude - values[point]) < 0;
+            }
+            return false;
+        }
+
+        /**
+         * Closes the current ring on its first point, or drops it when it has less than 3
+         * distinct points. The points going back on their way around the first point are
+         * removed.
+         */
+        void end() {
+            final int start = this.offsets[this.count];
+            boolean isChanged = true;
+            while (isChanged && this.size - start >= 4) {
+                if (this.coordinates[this.size - 2] == this.coordinates[start]
+                        && this.coordinates[this.size - 1] == this.coordinates[start + 1]) {
+                    this.size -= 2;
+                } else if (this.size - start >= 6 && isBacktrack(this.size - 4, this.size - 2,
+                        this.coordinates[start], this.coordinates[start + 1])) {
+                    this.size -= 2;
+                } else if (this.size - start >= 6 && isBacktrack(this.size - 2, start,
+                        this.coordinates[start + 2], this.coordinates[start + 3])) {
+                    System.arraycopy(this.coordinates, start + 2, this.coordinates, start,
+                            this.size - start - 2);
+                    this.size -= 2;
+                } else {
+                    isChanged = false;
+                }
+            }
+            if (this.size - start < 6) {
+                this.size = start;
+                return;
+            }
+            add(this.coordinates[start], this.coordinates[start + 1]);
+            this.count++;
+            this.offsets[this.count] = this.size;
+        }
+    }
+
+}
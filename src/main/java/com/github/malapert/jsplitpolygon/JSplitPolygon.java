@@ -17,21 +17,24 @@
  */
 package com.github.malapert.jsplitpolygon;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchFormat;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchWriter;
+import com.github.malapert.jsplitpolygon.io.MappedDataReader;
 import gnu.getopt.Getopt;
 import gnu.getopt.LongOpt;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -67,12 +70,17 @@ public class JSplitPolygon {
         help.append("------------ Help for JSplitPolygon -----------\n");
         help.append("\n");
         help.append("Usage: java -jar ").append(APP_NAME).append(".jar -i <fileInput> [OPTIONS]\n");
+        help.append("       java -jar ").append(APP_NAME).append(".jar -b <dir|glob|file> [OPTIONS]\n");
         help.append("\n\n");
         help.append("with OPTIONS:\n");
         help.append("  -h|--help                    : This output\n");
         help.append("  -i|--input <filepath>        : input file\n");
         help.append("  -o|--output <filepath>       : Loads the configuation file\n");
         help.append("  -l|--level <level>           : debug level : OFF, INFO, DEBUG, TRACE\n");
+        help.append("  -b|--batch <dir|glob|file>   : batch of data or .jspb files, one GeoJson per polygon and per line\n");
+        help.append("                                 or, when the output ends with .jspb, one binary record per polygon\n");
+        help.append("  -s|--separator <line>        : line separating the polygons of a data file (default: empty line)\n");
+        help.append("  -t|--threads <N>             : number of threads of the batch (default: number of CPUs)\n");
         help.append("  -v|--version                 : version\n");
         help.append("\n");
         help.append("\n");
@@ -80,6 +88,59 @@ public class JSplitPolygon {
         System.exit(1);
     }
 
+    /**
+     * Reads the coordinates of a file having one "longitude latitude" point per line.
+     *
+     * <p>
+     * The file is memory-mapped and parsed by {@link MappedDataReader}.
+     * </p>
+     *
+     * @param ficIn input file
+     * @return the coordinates
+     * @throws IOException when the file cannot be read or a line is not a point
+     */
+    public static List<Coordinate> readCoordinates(final File ficIn) throws IOException {
+        return new CoordinateListView(MappedDataReader.readPolygon(ficIn.toPath()));
+    }
+
+    /**
+     * Splits all the polygons of a batch and writes one GeoJson per line or, when the output
+     * file is a {@value BinaryBatchFormat#EXTENSION} file, one binary record per polygon.
+     *
+     * @param batch directory, glob or data file
+     * @param separator line separating the polygons of a data file
+     * @param nbThreads number of threads
+     * @param ficOut output file or null for the standard output
+     */
+    private static void processBatch(final String batch, final String separator,
+            final int nbThreads, final File ficOut) {
+        final BatchProcessor processor = new BatchProcessor(nbThreads);
+        try {
+            final List<Path> inputs = BatchProcessor.resolveInputs(batch);
+            final long nbRecords;
+            if (ficOut != null && ficOut.getName().endsWith(BinaryBatchFormat.EXTENSION)) {
+                try (BinaryBatchWriter out = BinaryBatchWriter.open(ficOut.toPath())) {
+                    nbRecords = processor.process(inputs, separator, out);
+                }
+                LOG.info("result wrote in {}", ficOut.toString());
+            } else if (ficOut == null) {
+                final Writer out = new BufferedWriter(new OutputStreamWriter(System.out,
+                        StandardCharsets.UTF_8));
+                nbRecords = processor.process(inputs, separator, out);
+            } else {
+                try (Writer out = Files.newBufferedWriter(ficOut.toPath(),
+                        StandardCharsets.UTF_8)) {
+                    nbRecords = processor.process(inputs, separator, out);
+                }
+                LOG.info("result wrote in {}", ficOut.toString());
+            }
+            LOG.info("{} polygons processed from {} files, {} failed", nbRecords, inputs.size(),
+                    processor.getFailureCount());
+        } catch (IOException ex) {
+            LOG.error(ex);
+        }
+    }
+
     /**
      * Main
      *
@@ -89,6 +150,9 @@ public class JSplitPolygon {
 
         File ficIn = null;
         File ficOut = null;
+        String batch = null;
+        String separator = DataRecordReader.DEFAULT_SEPARATOR;
+        int nbThreads = Runtime.getRuntime().availableProcessors();
         Level level = Level.INFO;
 
         int c;
@@ -101,9 +165,12 @@ public class JSplitPolygon {
         longopts[2] = new LongOpt("input", LongOpt.REQUIRED_ARGUMENT, null, 'i');
         longopts[3] = new LongOpt("output", LongOpt.REQUIRED_ARGUMENT, null, 'o');
         longopts[4] = new LongOpt("level", LongOpt.REQUIRED_ARGUMENT, null, 'l');
+        longopts[5] = new LongOpt("batch", LongOpt.REQUIRED_ARGUMENT, null, 'b');
+        longopts[6] = new LongOpt("separator", LongOpt.REQUIRED_ARGUMENT, null, 's');
+        longopts[7] = new LongOpt("threads", LongOpt.REQUIRED_ARGUMENT, null, 't');
 
         //
-        Getopt g = new Getopt("JSplitPolygon", argv, "hvi:o:l:", longopts);
+        Getopt g = new Getopt("JSplitPolygon", argv, "hvi:o:l:b:s:t:", longopts);
 
         while ((c = g.getopt()) != -1) {
             switch (c) {
@@ -134,6 +201,21 @@ public class JSplitPolygon {
                         throw new IllegalArgumentException("Level "+g.getOptarg()+" is not supported");
                     }
                     break;
+                case 'b':
+                    LOG.debug("b is selected");
+                    batch = g.getOptarg();
+                    break;
+                case 's':
+                    LOG.debug("s is selected");
+                    separator = g.getOptarg();
+                    break;
+                case 't':
+                    LOG.debug("t is selected");
+                    nbThreads = Integer.parseInt(g.getOptarg());
+                    if (nbThreads < 1) {
+                        throw new IllegalArgumentException("Number of threads must be positive");
+                    }
+                    break;
                 case '?':
                     break; // getopt() already printed an error
                 //
@@ -146,47 +228,29 @@ public class JSplitPolygon {
             System.out.println("Non option argv element: "+argv[i]+"\n");
         }
 
-        if (argv.length == 0 || ficIn == null) {
+        if (argv.length == 0 || ficIn == null && batch == null) {
             displayHelp();
         }
 
+        if (batch != null) {
+            Configurator.setRootLevel(level);
+            processBatch(batch, separator, nbThreads, ficOut);
+            return;
+        }
+
         try {
             Configurator.setRootLevel(level);
             LOG.info("Processing file {}", ficIn.toString());
-            List<Coordinate> coordinates = new ArrayList<>();            
-            FileInputStream fis = new FileInputStream(ficIn);
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(fis, Charset.
-                    defaultCharset()))) {
-                String line = null;
-                while ((line = br.readLine()) != null) {
-                    String[] values = line.split(" ");
-                    LOG.debug("Split values in long:{0}lat:{1}",
-                            new Object[]{values[0], values[1]});
-                    coordinates.add(new Coordinate(Double.parseDouble(values[0]),
-                            Double.parseDouble(values[1])));
-                }
-            }
-
-            Polygon polygon = new Polygon(coordinates);
-            final boolean isSplitted = polygon.split();
-            final GeoJson geojson;
-            if (isSplitted) {
-                List<Polygon> polygons = polygon.getPolygons();
-                geojson = new MultiPolygons(polygons);
-            } else {
-                geojson = polygon;
-            }
-
-            String result = geojson.toGeoJson();
+            // the fragments are written while the polygon is split, without creating them
+            final GeoJson geojson = new SplitSerializer(
+                    MappedDataReader.readPolygon(ficIn.toPath()));
 
-            LOG.debug("result: {}", result);
             if (ficOut == null) {
-                System.out.println(result);
+                geojson.writeUtf8(System.out);
+                System.out.println();
             } else {
-                FileOutputStream fout = new FileOutputStream(ficOut);
-                try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(fout, Charset.
-                        defaultCharset()))) {
-                    bw.write(result);
+                try (OutputStream fout = new FileOutputStream(ficOut)) {
+                    geojson.writeUtf8(fout);
                 }
                 LOG.info("result wrote in {}", ficOut.toString());
             }
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+/**
+ * Handler receiving the parts of a line string split by a {@link LineStringSplitter}.
+ *
+ * <p>
+ * The handler is called by the thread pushing the points: each part is received as
+ * {@link #beginLine()}, its points, then {@link #endLine()}.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface LineStringHandler {
+
+    /**
+     * Notifies the beginning of a part.
+     */
+    void beginLine();
+
+    /**
+     * Notifies a point of the current part.
+     *
+     * @param longitude longitude
+     * @param latitude latitude
+     */
+    void point(double longitude, double latitude);
+
+    /**
+     * Notifies the end of the current part.
+     */
+    void endLine();
+
+}
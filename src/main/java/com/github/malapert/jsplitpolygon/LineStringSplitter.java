@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Splits line strings, such as ship or aircraft tracks, along the anti-meridian.
+ *
+ * <p>
+ * An edge crosses the anti-meridian when the difference of longitude of its points is greater
+ * than 180, as for the polygons; the latitude of the intersection is computed by the split engine,
+ * see {@link SplitKernel#computeLatitudeAntiMeridian}. The current part ends on the anti-meridian,
+ * on the side of its last point, and the next part starts there on the other side.
+ * </p>
+ *
+ * <p>
+ * A line string is split either in bulk, from packed coordinates to a {@link MultiLineString},
+ * or in streaming: the points are pushed one by one and the parts are sent point by point to a
+ * {@link LineStringHandler}, in constant memory whatever the length of the line string. A
+ * splitter is not thread-safe; the bulk methods are.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (LineStringSplitter splitter = new LineStringSplitter(handler)) {
+ *   while (track.hasNext()) {
+ *     splitter.push(track.longitude(), track.latitude());
+ *   }
+ * }
+ * final MultiLineString lines = LineStringSplitter.split(coordinates);
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class LineStringSplitter implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(LineStringSplitter.class.getName());
+
+    /**
+     * Half longitude of the sphere.
+     */
+    private static final double HALF_LONGITUDE = 180;
+
+    /**
+     * Handler receiving the parts.
+     */
+    private final LineStringHandler handler;
+
+    /**
+     * Last point.
+     */
+    private double lastLongitude;
+
+    /**
+     * Last point.
+     */
+    private double lastLatitude;
+
+    /**
+     * Number of points.
+     */
+    private long nbPoints;
+
+    /**
+     * Number of crossings.
+     */
+    private long nbCrossings;
+
+    /**
+     * True when the line string is ended.
+     */
+    private boolean isClosed;
+
+    /**
+     * Creates a splitter sending the parts to a handler.
+     *
+     * @param handler handler receiving the parts
+     * @throws IllegalArgumentException when handler is null
+     */
+    public LineStringSplitter(final LineStringHandler handler) {
+        if (handler == null) {
+            throw LOG.throwing(new IllegalArgumentException("handler cannot be null"));
+        }
+        this.handler = handler;
+    }
+
+    /**
+     * Adds the next point of the line string.
+     *
+     * @param longitude longitude
+     * @param latitude latitude
+     * @throws IllegalStateException when the splitter is closed
+     */
+    public void push(final double longitude, final double latitude) {
+        if (this.isClosed) {
+            throw LOG.throwing(new IllegalStateException("splitter is closed"));
+        }
+        if (this.nbPoints == 0) {
+            this.handler.beginLine();
+        } else if (Math.abs(longitude - this.lastLongitude) > HALF_LONGITUDE) {
+            final double latitudeAntiMeridian = SplitKernel.computeLatitudeAntiMeridian(
+                    this.lastLongitude, this.lastLatitude, longitude, latitude);
+            this.handler.point(SplitKernel.getRightSide(this.lastLongitude),
+                    latitudeAntiMeridian);
+            this.handler.endLine();
+            this.handler.beginLine();
+            this.handler.point(SplitKernel.getRightSide(longitude), latitudeAntiMeridian);
+            this.nbCrossings++;
+        }
+        this.handler.point(longitude, latitude);
+        this.lastLongitude = longitude;
+        this.lastLatitude = latitude;
+        this.nbPoints++;
+    }
+
+    /**
+     * Ends the line string: the last part is ended.
+     */
+    @Override
+    public void close() {
+        if (!this.isClosed) {
+            this.isClosed = true;
+            if (this.nbPoints > 0) {
+                this.handler.endLine();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of points received.
+     *
+     * @return the number of points
+     */
+    public long getPointCount() {
+        return this.nbPoints;
+    }
+
+    /**
+     * Returns the number of crossings of the anti-meridian.
+     *
+     * @return the number of crossings
+     */
+    public long getCrossingCount() {
+        return this.nbCrossings;
+    }
+
+    /**
+     * Splits a line string.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not modified
+     * @return the parts
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public static MultiLineString split(final double[] coordinates) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("line string cannot be null"));
+        }
+        if (coordinates.length % 2 != 0) {
+            throw LOG.throwing(new IllegalArgumentException(
+                    "coordinates must contain pairs of longitude, latitude"));
+        }
+        return split(coordinates, 0, coordinates.length / 2);
+    }
+
+    /**
+     * Splits a line string of packed coordinates.
+     *
+     * <p>
+     * The crossings are counted first, so the parts are written in one array of the exact size;
+     * the points between two crossings are copied in one block.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes, not modified
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @return the parts
+     * @throws IllegalArgumentException when the range is out of the coordinates
+     */
+    public static MultiLineString split(final double[] coordinates, final int offset,
+            final int nbPoints) {
+        if (coordinates == null || offset < 0 || nbPoints < 0
+                || offset + 2L * nbPoints > coordinates.length) {
+            throw LOG.throwing(new IllegalArgumentException("invalid range of coordinates"));
+        }
+        final int end = offset + 2 * nbPoints;
+        int nbCrossings = 0;
+        for (int i = offset + 2; i < end; i += 2) {
+            if (Math.abs(coordinates[i] - coordinates[i - 2]) > HALF_LONGITUDE) {
+                nbCrossings++;
+            }
+        }
+        final double[] points = new double[2 * (nbPoints + 2 * nbCrossings)];
+        final int[] offsets = new int[nbPoints == 0 ? 1 : nbCrossings + 2];
+        int position = 0;
+        int part = 0;
+        int start = offset;
+        for (int i = offset + 2; i < end; i += 2) {
+            final double longitude1 = coordinates[i - 2];
+            final double longitude2 = coordinates[i];
+            if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+                final double latitude = SplitKernel.computeLatitudeAntiMeridian(longitude1,
+                        coordinates[i - 1], longitude2, coordinates[i + 1]);
+                System.arraycopy(coordinates, start, points, position, i - start);
+                position += i - start;
+                points[position++] = SplitKernel.getRightSide(longitude1);
+                points[position++] = latitude;
+                offsets[++part] = position / 2;
+                points[position++] = SplitKernel.getRightSide(longitude2);
+                points[position++] = latitude;
+                start = i;
+            }
+        }
+        System.arraycopy(coordinates, start, points, position, end - start);
+        if (nbPoints > 0) {
+            offsets[++part] = points.length / 2;
+        }
+        LOG.debug("line string of {} points crosses the antimeridian {} times", nbPoints,
+                nbCrossings);
+        return new MultiLineString(points, Arrays.copyOf(offsets, part + 1), nbCrossings);
+    }
+
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Immutable parts of a line string split by {@link LineStringSplitter}.
+ *
+ * <p>
+ * The parts are packed in a single array of interleaved longitudes and latitudes. A line string
+ * that does not cross the anti-meridian has a single part.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class MultiLineString implements GeoJson, Wkb {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(MultiLineString.class.getName());
+
+    /**
+     * Interleaved longitudes and latitudes of the parts.
+     */
+    private final double[] coordinates;
+
+    /**
+     * Index of the first point of each part, followed by the number of points.
+     */
+    private final int[] offsets;
+
+    /**
+     * Number of crossings of the anti-meridian.
+     */
+    private final int crossingCount;
+
+    /**
+     * Creates the parts.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the parts, not copied
+     * @param offsets index of the first point of each part, followed by the number of points,
+     * not copied
+     * @param crossingCount number of crossings of the anti-meridian
+     */
+    MultiLineString(final double[] coordinates, final int[] offsets, final int crossingCount) {
+        this.coordinates = coordinates;
+        this.offsets = offsets;
+        this.crossingCount = crossingCount;
+    }
+
+    /**
+     * Returns the number of parts.
+     *
+     * @return the number of parts
+     */
+    public int getLineCount() {
+        return this.offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of points of a part.
+     *
+     * @param line index of the part
+     * @return the number of points
+     */
+    public int getLineSize(final int line) {
+        return this.offsets[line + 1] - this.offsets[line];
+    }
+
+    /**
+     * Returns a copy of the points of a part.
+     *
+     * @param line index of the part
+     * @return the interleaved longitudes and latitudes
+     */
+    public double[] getLine(final int line) {
+        return Arrays.copyOfRange(this.coordinates, 2 * this.offsets[line],
+                2 * this.offsets[line + 1]);
+    }
+
+    /**
+     * Returns the number of crossings of the anti-meridian.
+     *
+     * @return the number of crossings
+     */
+    public int getCrossingCount() {
+        return this.crossingCount;
+    }
+
+    /**
+     * Tests if the line string is split.
+     *
+     * @return True when the line string crosses the anti-meridian
+     */
+    public boolean wasSplit() {
+        return this.crossingCount > 0;
+    }
+
+    @Override
+    public String toGeoJson() {
+        final StringBuilder json = new StringBuilder(32 + 24 * this.coordinates.length / 2);
+        try {
+            writeTo(json);
+        } catch (IOException | JSONException ex) {
+            LOG.error(ex);
+            throw LOG.throwing(new RuntimeException(ex));
+        }
+        return json.toString();
+    }
+
+    @Override
+    public String toGeoJson(final int indent) {
+        try {
+            final JSONArray lines = new JSONArray();
+            for (int line = 0; line < getLineCount(); line++) {
+                final JSONArray points = new JSONArray();
+                for (int i = 2 * this.offsets[line]; i < 2 * this.offsets[line + 1]; i += 2) {
+                    final JSONArray point = new JSONArray();
+                    point.put(this.coordinates[i]);
+                    point.put(this.coordinates[i + 1]);
+                    points.put(point);
+                }
+                lines.put(points);
+            }
+            final JSONObject json = new JSONObject();
+            json.put("type", "MultiLineString");
+            json.put("coordinates", lines);
+            return json.toString(indent);
+        } catch (JSONException ex) {
+            LOG.error(ex);
+            throw LOG.throwing(new RuntimeException(ex));
+        }
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        final GeoJsonWriter writer = new GeoJsonWriter(out);
+        writer.beginGeometry();
+        for (int line = 0; line < getLineCount(); line++) {
+            writer.beginArray();
+            writer.points(this.coordinates, 2 * this.offsets[line], getLineSize(line));
+            writer.endArray();
+        }
+        writer.endGeometry("MultiLineString");
+    }
+
+    @Override
+    public void writeWkb(final WkbWriter writer) {
+        writer.beginMultiLineString(getLineCount());
+        for (int line = 0; line < getLineCount(); line++) {
+            writer.writeLineString(this.coordinates, 2 * this.offsets[line], getLineSize(line));
+        }
+    }
+
+}
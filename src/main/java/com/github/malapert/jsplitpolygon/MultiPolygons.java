@@ -17,18 +17,22 @@
  */
 package com.github.malapert.jsplitpolygon;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
 import java.util.Arrays;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONException;
 
-public class MultiPolygons implements GeoJson {
+public class MultiPolygons implements GeoJson, Wkb {
 
     /**
      * Logger.
@@ -61,16 +65,14 @@ public class MultiPolygons implements GeoJson {
      * @throws JSONException when a problem happens
      */
     private JSONObject buildGeoJson() throws JSONException {
-        LOG.traceEntry();
         JSONArray coords = new JSONArray();
         for (Polygon poly : polygons) {
             JSONArray polygon = new JSONArray();
             JSONArray noHole = new JSONArray();
-            List<Coordinate> coordsPoly = poly.getCoordinates();
-            for (Coordinate coord : coordsPoly) {
+            for (int i = 0; i < poly.size(); i++) {
                 JSONArray point = new JSONArray();
-                point.put(coord.getLongitude());
-                point.put(coord.getLatitude());
+                point.put(poly.getLongitude(i));
+                point.put(poly.getLatitude(i));
                 noHole.put(point);
             }
 
@@ -82,25 +84,53 @@ public class MultiPolygons implements GeoJson {
         JSONObject json = new JSONObject();
         json.put("type", "MultiPolygon");
         json.put("coordinates", coords);
-        return LOG.traceExit(json);
+        return json;
     }
 
     @Override
     public String toGeoJson() {
-        LOG.traceEntry();
+        int nbPoints = 0;
+        for (Polygon poly : polygons) {
+            nbPoints += poly.size() + 1;
+        }
+        final StringBuilder json = new StringBuilder(32 + 24 * nbPoints);
         try {
-            return LOG.traceExit(buildGeoJson().toString());
-        } catch (JSONException ex) {
+            writeTo(json);
+        } catch (IOException | JSONException ex) {
             LOG.error(ex);
             throw LOG.throwing(new RuntimeException(ex));
         }
+        return json.toString();
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        final GeoJsonWriter writer = new GeoJsonWriter(out);
+        writer.beginGeometry();
+        for (Polygon poly : polygons) {
+            writer.beginArray();
+            writer.beginArray();
+            poly.writePoints(writer);
+            // the ring is closed again on its first point
+            writer.point(poly.getLongitude(0), poly.getLatitude(0));
+            writer.endArray();
+            writer.endArray();
+        }
+        writer.endGeometry("MultiPolygon");
+    }
+
+    @Override
+    public void writeWkb(final WkbWriter writer) {
+        writer.beginMultiPolygon(this.polygons.length);
+        for (Polygon poly : polygons) {
+            poly.writeWkb(writer);
+        }
     }
 
     @Override
     public String toGeoJson(int indent) {
-        LOG.traceEntry("Parameter - indent: {}", indent);
         try {
-            return LOG.traceExit(buildGeoJson().toString(indent));
+            return buildGeoJson().toString(indent);
         } catch (JSONException ex) {
             LOG.error(ex);
             throw LOG.throwing(new RuntimeException(ex));
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.io.BinaryBatchWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable batch of polygons stored as a structure of arrays.
+ *
+ * <p>
+ * The points of all the rings are packed in one array of interleaved longitudes and latitudes;
+ * the arrays are not trimmed, so they may be larger than the number of points and rings.
+ * The ring r is made of the points ringOffsets[r] (inclusive) to ringOffsets[r + 1]
+ * (exclusive) and the part p, the result of the polygon p of the input, of the rings
+ * partOffsets[p] (inclusive) to partOffsets[p + 1] (exclusive), as in the
+ * {@link com.github.malapert.jsplitpolygon.io.BinaryBatchFormat binary batch format}.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class PackedPolygons {
+
+    /**
+     * Interleaved longitudes and latitudes of the rings.
+     */
+    private final double[] coordinates;
+
+    /**
+     * Number of points.
+     */
+    private final int pointCount;
+
+    /**
+     * Ring offsets, in points.
+     */
+    private final int[] ringOffsets;
+
+    /**
+     * Number of rings.
+     */
+    private final int ringCount;
+
+    /**
+     * Part offsets, in rings.
+     */
+    private final int[] partOffsets;
+
+    /**
+     * Creates a batch.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the rings, not copied
+     * @param pointCount number of points, the coordinates may be larger
+     * @param ringOffsets ring offsets in points, not copied
+     * @param ringCount number of rings, the ring offsets may be larger
+     * @param partOffsets part offsets in rings, not copied
+     */
+    PackedPolygons(final double[] coordinates, final int pointCount, final int[] ringOffsets,
+            final int ringCount, final int[] partOffsets) {
+        this.coordinates = coordinates;
+        this.pointCount = pointCount;
+        this.ringOffsets = ringOffsets;
+        this.ringCount = ringCount;
+        this.partOffsets = partOffsets;
+    }
+
+    /**
+     * Returns the number of parts, one per polygon of the input.
+     *
+     * @return the number of parts
+     */
+    public int getPartCount() {
+        return this.partOffsets.length - 1;
+    }
+
+    /**
+     * Returns the number of rings.
+     *
+     * @return the number of rings
+     */
+    public int getRingCount() {
+        return this.ringCount;
+    }
+
+    /**
+     * Returns the number of points of all the rings.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Tests if a polygon of the input is split.
+     *
+     * @param part index of the polygon in the input
+     * @return True when the polygon crosses the anti-meridian and is split
+     */
+    public boolean wasSplit(final int part) {
+        // a split polygon has at least one fragment on each side of the anti-meridian
+        return this.partOffsets[part + 1] - this.partOffsets[part] > 1;
+    }
+
+    /**
+     * Returns the interleaved longitudes and latitudes of the rings, valid up to
+     * 2 * {@link #getPointCount()}.
+     *
+     * @return the coordinates, not copied: they must not be modified
+     */
+    public double[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the offsets, in points, of the rings, followed by the number of points, valid up to
+     * {@link #getRingCount()} + 1.
+     *
+     * @return the ring offsets, not copied: they must not be modified
+     */
+    public int[] getRingOffsets() {
+        return this.ringOffsets;
+    }
+
+    /**
+     * Returns the offsets, in rings, of the parts, followed by the number of rings.
+     *
+     * @return the part offsets, not copied: they must not be modified
+     */
+    public int[] getPartOffsets() {
+        return this.partOffsets;
+    }
+
+    /**
+     * Returns the number of points of a ring.
+     *
+     * @param ring ring index
+     * @return the number of points
+     */
+    public int getRingSize(final int ring) {
+        return this.ringOffsets[ring + 1] - this.ringOffsets[ring];
+    }
+
+    /**
+     * Returns a copy of a ring.
+     *
+     * @param ring ring index
+     * @return the interleaved longitudes and latitudes of the ring
+     */
+    public double[] copyRing(final int ring) {
+        return Arrays.copyOfRange(this.coordinates, 2 * this.ringOffsets[ring],
+                2 * this.ringOffsets[ring + 1]);
+    }
+
+    /**
+     * Writes one binary record per part.
+     *
+     * @param out binary batch, not closed
+     * @throws IOException when the output cannot be written
+     */
+    public void writeTo(final BinaryBatchWriter out) throws IOException {
+        for (int part = 0; part < getPartCount(); part++) {
+            for (int ring = this.partOffsets[part]; ring < this.partOffsets[part + 1]; ring++) {
+                out.writeRing(this.coordinates, 2 * this.ringOffsets[ring], getRingSize(ring));
+            }
+            out.endRecord();
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stateless splitter of batches of polygons stored as a structure of arrays.
+ *
+ * <p>
+ * The polygons are packed in one array of interleaved longitudes and latitudes with an array of
+ * ring offsets, in points: the polygon i is made of the points ringOffsets[i] (inclusive) to
+ * ringOffsets[i + 1] (exclusive). The result is returned in the same form as
+ * {@link PackedPolygons}: the fragments of a split polygon, or the polygon itself when it is not
+ * split, form its part. As with {@link Polygon}, the rings are counter-clockwise.
+ * </p>
+ *
+ * <p>
+ * No object is created per polygon: the polygons are split by the engine in the buffers of the
+ * thread and copied in the output arrays, which grow when needed and are not trimmed, so a
+ * batch of small polygons, such as tile footprints, is split with a handful of allocations. The batch is split by the calling thread;
+ * the buffers are per thread, so one instance can be called concurrently, for instance on
+ * ranges of a large batch.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final PackedPolygons result = new PackedSplitter().split(coordinates, ringOffsets);
+ * for (int part = 0; part &lt; result.getPartCount(); part++) {
+ *   ...
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class PackedSplitter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(PackedSplitter.class.getName());
+
+    /**
+     * Buffers of the split engine of each thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = ThreadLocal.withInitial(
+            SplitBuffers::new);
+
+    /**
+     * Creates a splitter.
+     */
+    public PackedSplitter() {
+    }
+
+    /**
+     * Splits a batch of polygons. The coordinates are never modified.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygons
+     * @param ringOffsets offsets, in points, of the polygons, followed by the end of the last
+     * polygon
+     * @return the fragments, one part per polygon
+     * @throws IllegalArgumentException when the arrays are null or the offsets are decreasing or
+     * out of the coordinates
+     */
+    public PackedPolygons split(final double[] coordinates, final int[] ringOffsets) {
+        if (coordinates == null || ringOffsets == null || ringOffsets.length == 0) {
+            throw LOG.throwing(new IllegalArgumentException("batch cannot be null or empty"));
+        }
+        final int nbPolygons = ringOffsets.length - 1;
+        if (ringOffsets[0] < 0 || 2L * ringOffsets[nbPolygons] > coordinates.length) {
+            throw LOG.throwing(new IllegalArgumentException(
+                    "ring offsets are out of the coordinates"));
+        }
+        for (int i = 0; i < nbPolygons; i++) {
+            if (ringOffsets[i + 1] < ringOffsets[i]) {
+                throw LOG.throwing(new IllegalArgumentException(
+                        "ring offsets must not decrease, polygon " + i));
+            }
+        }
+        final SplitBuffers buffers = BUFFERS.get();
+        final int nbInputPoints = ringOffsets[nbPolygons] - ringOffsets[0];
+        // a crossing adds 2 points on the anti-meridian and a fragment its closing point: the
+        // arrays grow when the estimate is exceeded and are not trimmed
+        double[] points = new double[2 * (nbInputPoints + nbInputPoints / 16 + 64)];
+        int[] rings = new int[nbPolygons + nbPolygons / 8 + 2];
+        final int[] parts = new int[nbPolygons + 1];
+        int position = 0;
+        int nbRings = 0;
+        int nbSplit = 0;
+        for (int polygon = 0; polygon < nbPolygons; polygon++) {
+            final int offset = 2 * ringOffsets[polygon];
+            final int nbPoints = ringOffsets[polygon + 1] - ringOffsets[polygon];
+            final int nbFragments = SplitKernel.split(coordinates, offset, nbPoints, buffers);
+            final int nbValues = nbFragments == 0 ? 2 * nbPoints
+                    : 2 * buffers.ringOffsets[nbFragments];
+            if (position + nbValues > points.length) {
+                points = Arrays.copyOf(points, Math.max(position + nbValues,
+                        points.length + points.length / 2));
+            }
+            if (nbRings + Math.max(nbFragments, 1) + 1 > rings.length) {
+                rings = Arrays.copyOf(rings, Math.max(nbRings + nbFragments + 2,
+                        rings.length + rings.length / 2));
+            }
+            if (nbFragments == 0) {
+                copyCounterClockwise(coordinates, offset, nbPoints, buffers, points, position);
+                position += nbValues;
+                rings[++nbRings] = position / 2;
+            } else {
+                System.arraycopy(buffers.coordinates, 0, points, position, nbValues);
+                for (int fragment = 1; fragment <= nbFragments; fragment++) {
+                    rings[++nbRings] = position / 2 + buffers.ringOffsets[fragment];
+                }
+                position += nbValues;
+                nbSplit++;
+            }
+            parts[polygon + 1] = nbRings;
+        }
+        LOG.debug("{} polygons split out of {}", nbSplit, nbPolygons);
+        return new PackedPolygons(points, position / 2, rings, nbRings, parts);
+    }
+
+    /**
+     * Copies a polygon which is not split, in reverse order when it is clockwise.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers of the last split of the polygon
+     * @param dest array receiving the points
+     * @param destOffset index, in values, of the first longitude in dest
+     */
+    private static void copyCounterClockwise(final double[] coordinates, final int offset,
+            final int nbPoints, final SplitBuffers buffers, final double[] dest,
+            final int destOffset) {
+        if (nbPoints >= 2 && buffers.scanArea > 0.0) {
+            int position = destOffset;
+            for (int i = offset + 2 * nbPoints - 2; i >= offset; i -= 2) {
+                dest[position++] = coordinates[i];
+                dest[position++] = coordinates[i + 1];
+            }
+        } else {
+            System.arraycopy(coordinates, offset, dest, destOffset, 2 * nbPoints);
+        }
+    }
+
+}
@@ -0,0 +1,441 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Fork-join versions of the linear phases of {@link SplitKernel} for very large polygons.
+ *
+ * <p>
+ * The points are divided in chunks of {@link #CHUNK_SIZE} points processed by the common
+ * {@link ForkJoinPool}: each chunk of the polygon is scanned for its crossings, its partial
+ * orientation sum and its bbox, and the partial results are merged in the order of the points;
+ * the orientation, the bbox and the points of the fragments are computed in the same way over
+ * chunks of their spans. The crossings and their latitudes are those of the sequential scan; the
+ * orientation sums are added in another order, so only their sign is the one of the sequential
+ * scan.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+final class ParallelKernel {
+
+    /**
+     * Number of points processed by a task.
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * No instance.
+     */
+    private ParallelKernel() {
+    }
+
+    /**
+     * Runs an action for each index of a range on the common pool and waits for the end.
+     *
+     * @param count number of indexes, from 0
+     * @param action action run for each index
+     */
+    private static void forEach(final int count, final IntConsumer action) {
+        if (count == 1) {
+            action.accept(0);
+        } else if (count > 1) {
+            ForkJoinPool.commonPool().invoke(new ForEachTask(action, 0, count));
+        }
+    }
+
+    /**
+     * Scans a polygon in parallel, see {@link SplitKernel#scan}.
+     *
+     * <p>
+     * The chunk c holds the edges ending at the points c * CHUNK_SIZE + 1 to (c + 1) *
+     * CHUNK_SIZE; the closing edge is added after the merge.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points, at least 2
+     * @param buffers buffers receiving the scan
+     */
+    static void scan(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        final int nbChunks = (nbPoints - 2) / CHUNK_SIZE + 1;
+        final SplitBuffers[] partials = new SplitBuffers[nbChunks];
+        forEach(nbChunks, chunk -> {
+            final int first = chunk * CHUNK_SIZE;
+            final int last = Math.min(first + CHUNK_SIZE, nbPoints - 1);
+            final SplitBuffers partial = new SplitBuffers(0);
+            SplitKernel.scanSequential(coordinates, offset + 2 * first, last - first + 1,
+                    partial);
+            // the chunk is scanned as a ring: its closing edge is removed
+            final int firstIndex = offset + 2 * first;
+            final int lastIndex = offset + 2 * last;
+            partial.scanArea -= (coordinates[firstIndex] - coordinates[lastIndex])
+                    * (coordinates[firstIndex + 1] + coordinates[lastIndex + 1]);
+            if (partial.crossingCount > 0
+                    && partial.crossings[partial.crossingCount - 1] == last - first + 1) {
+                partial.crossingCount--;
+            }
+            partials[chunk] = partial;
+        });
+
+        buffers.crossingCount = 0;
+        final double[] bbox = buffers.scanBbox;
+        double sum = 0.0;
+        bbox[0] = 181;
+        bbox[1] = -181;
+        bbox[2] = 91;
+        bbox[3] = -91;
+        for (int chunk = 0; chunk < nbChunks; chunk++) {
+            final SplitBuffers partial = partials[chunk];
+            sum += partial.scanArea;
+            bbox[0] = Math.min(bbox[0], partial.scanBbox[0]);
+            bbox[1] = Math.max(bbox[1], partial.scanBbox[1]);
+            bbox[2] = Math.min(bbox[2], partial.scanBbox[2]);
+            bbox[3] = Math.max(bbox[3], partial.scanBbox[3]);
+            for (int i = 0; i < partial.crossingCount; i++) {
+                buffers.addCrossing(chunk * CHUNK_SIZE + partial.crossings[i],
+                        partial.latitudes[i]);
+            }
+        }
+        final int lastIndex = offset + 2 * (nbPoints - 1);
+        final double longitude1 = coordinates[lastIndex];
+        final double latitude1 = coordinates[lastIndex + 1];
+        final double longitude2 = coordinates[offset];
+        final double latitude2 = coordinates[offset + 1];
+        sum += (longitude2 - longitude1) * (latitude2 + latitude1);
+        if (Math.abs(longitude2 - longitude1) > 180) {
+            buffers.addCrossing(nbPoints, SplitKernel.computeLatitudeAntiMeridian(
+                    longitude1, latitude1, longitude2, latitude2));
+        }
+        buffers.scanArea = sum;
+    }
+
+    /**
+     * Copies points in reverse order in parallel.
+     *
+     * @param src source interleaved coordinates
+     * @param srcOffset index, in values, of the first source longitude
+     * @param nbPoints number of points
+     * @param dest destination interleaved coordinates, distinct from the source
+     * @param destOffset index, in values, of the first destination longitude
+     */
+    static void copyReverse(final double[] src, final int srcOffset, final int nbPoints,
+            final double[] dest, final int destOffset) {
+        forEach((nbPoints + CHUNK_SIZE - 1) / CHUNK_SIZE, chunk -> {
+            final int end = Math.min(chunk * CHUNK_SIZE + CHUNK_SIZE, nbPoints);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                final int from = srcOffset + 2 * (nbPoints - 1 - i);
+                dest[destOffset + 2 * i] = src[from];
+                dest[destOffset + 2 * i + 1] = src[from + 1];
+            }
+        });
+    }
+
+    /**
+     * Reverses in place the order of points in parallel.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     */
+    static void reverse(final double[] coordinates, final int offset, final int nbPoints) {
+        final int nbSwaps = nbPoints / 2;
+        forEach((nbSwaps + CHUNK_SIZE - 1) / CHUNK_SIZE, chunk -> {
+            final int end = Math.min(chunk * CHUNK_SIZE + CHUNK_SIZE, nbSwaps);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                final int index1 = offset + 2 * i;
+                final int index2 = offset + 2 * (nbPoints - 1 - i);
+                final double longitude = coordinates[index1];
+                final double latitude = coordinates[index1 + 1];
+                coordinates[index1] = coordinates[index2];
+                coordinates[index1 + 1] = coordinates[index2 + 1];
+                coordinates[index2] = longitude;
+                coordinates[index2 + 1] = latitude;
+            }
+        });
+    }
+
+    /**
+     * Computes in parallel the orientation and the bbox of a fragment from its spans, see
+     * {@link SplitKernel#scanRing}.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the spans of the fragment, receiving the orientation sum in
+     * {@link SplitBuffers#ringArea}
+     * @param firstSpan first span of the fragment
+     * @param bbox array receiving the bbox as [minLong, maxLong, minLat, maxLat]
+     * @param bboxOffset index of minLong in bbox
+     * @return the number of points of the fragment
+     */
+    static int scanRing(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers, final int firstSpan, final double[] bbox,
+            final int bboxOffset) {
+        final Pieces pieces = new Pieces(buffers.spans, firstSpan, buffers.spanCount);
+        final double[] sums = new double[pieces.count];
+        final double[] bboxes = new double[4 * pieces.count];
+        forEach(pieces.count, piece -> {
+            final double[] values = pieces.values(piece, coordinates, buffers.meridians,
+                    nbPoints);
+            int index = pieces.index(piece, offset, nbPoints);
+            final int step = 2 * pieces.steps[piece];
+            double minLongitude = 181;
+            double maxLongitude = -181;
+            double minLatitude = 91;
+            double maxLatitude = -91;
+            double sum = 0.0;
+            double previousLongitude = values[index];
+            double previousLatitude = values[index + 1];
+            for (int i = 0; i < pieces.counts[piece]; i++, index += step) {
+                final double longitude = values[index];
+                final double latitude = values[index + 1];
+                sum += (longitude - previousLongitude) * (latitude + previousLatitude);
+                previousLongitude = longitude;
+                previousLatitude = latitude;
+                minLongitude = Math.min(minLongitude, longitude);
+                maxLongitude = Math.max(maxLongitude, longitude);
+                minLatitude = Math.min(minLatitude, latitude);
+                maxLatitude = Math.max(maxLatitude, latitude);
+            }
+            sums[piece] = sum;
+            bboxes[4 * piece] = minLongitude;
+            bboxes[4 * piece + 1] = maxLongitude;
+            bboxes[4 * piece + 2] = minLatitude;
+            bboxes[4 * piece + 3] = maxLatitude;
+        });
+
+        double sum = 0.0;
+        bbox[bboxOffset] = 181;
+        bbox[bboxOffset + 1] = -181;
+        bbox[bboxOffset + 2] = 91;
+        bbox[bboxOffset + 3] = -91;
+        int size = 0;
+        for (int piece = 0; piece < pieces.count; piece++) {
+            // edge from the last point of the previous piece to the first point of this one
+            final int next = piece + 1 == pieces.count ? 0 : piece + 1;
+            final double[] lastValues = pieces.values(piece, coordinates, buffers.meridians,
+                    nbPoints);
+            final int last = pieces.index(piece, offset, nbPoints)
+                    + 2 * (pieces.counts[piece] - 1) * pieces.steps[piece];
+            final double[] firstValues = pieces.values(next, coordinates, buffers.meridians,
+                    nbPoints);
+            final int first = pieces.index(next, offset, nbPoints);
+            sum += sums[piece] + (firstValues[first] - lastValues[last])
+                    * (firstValues[first + 1] + lastValues[last + 1]);
+            bbox[bboxOffset] = Math.min(bbox[bboxOffset], bboxes[4 * piece]);
+            bbox[bboxOffset + 1] = Math.max(bbox[bboxOffset + 1], bboxes[4 * piece + 1]);
+            bbox[bboxOffset + 2] = Math.min(bbox[bboxOffset + 2], bboxes[4 * piece + 2]);
+            bbox[bboxOffset + 3] = Math.max(bbox[bboxOffset + 3], bboxes[4 * piece + 3]);
+            size += pieces.counts[piece];
+        }
+        buffers.ringArea = sum;
+        return size;
+    }
+
+    /**
+     * Copies in parallel the points of the fragments in the buffer coordinates following their
+     * spans, see {@link SplitKernel#copyRings}.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the layout of the fragments, receiving their points
+     */
+    static void copyRings(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        final Pieces pieces = new Pieces(buffers.spans, 0, buffers.spanCount);
+        final double[] ring = buffers.coordinates;
+        forEach(pieces.count, piece -> {
+            final double[] values = pieces.values(piece, coordinates, buffers.meridians,
+                    nbPoints);
+            final int index = pieces.index(piece, offset, nbPoints);
+            final int count = pieces.counts[piece];
+            int position = 2 * pieces.positions[piece];
+            if (pieces.steps[piece] > 0) {
+                System.arraycopy(values, index, ring, position, 2 * count);
+            } else {
+                for (int i = 0, from = index; i < count; i++, from -= 2) {
+                    ring[position++] = values[from];
+                    ring[position++] = values[from + 1];
+                }
+            }
+        });
+    }
+
+    /**
+     * Spans cut in pieces of at most {@link #CHUNK_SIZE} points.
+     */
+    private static final class Pieces {
+
+        /**
+         * First point of each piece, with the numbering of the spans.
+         */
+        private int[] starts;
+
+        /**
+         * Number of points of each piece.
+         */
+        private int[] counts;
+
+        /**
+         * Step of each piece, 1 or -1.
+         */
+        private int[] steps;
+
+        /**
+         * Number of points before each piece.
+         */
+        private int[] positions;
+
+        /**
+         * Number of pieces.
+         */
+        private int count;
+
+        /**
+         * Cuts a range of spans in pieces.
+         *
+         * @param spans spans as (start, count, step)
+         * @param firstSpan first span (inclusive)
+         * @param endSpan last span (exclusive)
+         */
+        Pieces(final int[] spans, final int firstSpan, final int endSpan) {
+            final int capacity = endSpan - firstSpan + 1;
+            this.starts = new int[capacity];
+            this.counts = new int[capacity];
+            this.steps = new int[capacity];
+            this.positions = new int[capacity];
+            int position = 0;
+            for (int span = firstSpan; span < endSpan; span++) {
+                final int step = spans[3 * span + 2];
+                int start = spans[3 * span];
+                int remaining = spans[3 * span + 1];
+                while (remaining > 0) {
+                    final int size = Math.min(remaining, CHUNK_SIZE);
+                    add(start, size, step, position);
+                    start += size * step;
+                    position += size;
+                    remaining -= size;
+                }
+            }
+        }
+
+        /**
+         * Adds a piece.
+         *
+         * @param start first point
+         * @param size number of points
+         * @param step step, 1 or -1
+         * @param position number of points before the piece
+         */
+        private void add(final int start, final int size, final int step, final int position) {
+            if (this.count == this.starts.length) {
+                this.starts = Arrays.copyOf(this.starts, 2 * this.count);
+                this.counts = Arrays.copyOf(this.counts, 2 * this.count);
+                this.steps = Arrays.copyOf(this.steps, 2 * this.count);
+                this.positions = Arrays.copyOf(this.positions, 2 * this.count);
+            }
+            this.starts[this.count] = start;
+            this.counts[this.count] = size;
+            this.steps[this.count] = step;
+            this.positions[this.count++] = position;
+        }
+
+        /**
+         * Returns the array holding the points of a piece.
+         *
+         * @param piece piece
+         * @param coordinates interleaved longitudes and latitudes of the polygon
+         * @param meridians points on the anti-meridian
+         * @param nbPoints number of points of the polygon
+         * @return the coordinates of the polygon or the points on the anti-meridian
+         */
+        double[] values(final int piece, final double[] coordinates, final double[] meridians,
+                final int nbPoints) {
+            return this.starts[piece] < nbPoints ? coordinates : meridians;
+        }
+
+        /**
+         * Returns the index, in values, of the first longitude of a piece.
+         *
+         * @param piece piece
+         * @param offset index, in values, of the first longitude of the polygon
+         * @param nbPoints number of points of the polygon
+         * @return the index in the array returned by {@link #values}
+         */
+        int index(final int piece, final int offset, final int nbPoints) {
+            final int start = this.starts[piece];
+            return start < nbPoints ? offset + 2 * start : 2 * (start - nbPoints);
+        }
+    }
+
+    /**
+     * Task running an action on a range of indexes.
+     */
+    private static final class ForEachTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Action run for each index.
+         */
+        private final transient IntConsumer action;
+
+        /**
+         * First index (inclusive) of the range.
+         */
+        private final int start;
+
+        /**
+         * Last index (exclusive) of the range.
+         */
+        private final int end;
+
+        /**
+         * Creates a task.
+         *
+         * @param action action run for each index
+         * @param start first index (inclusive) of the range
+         * @param end last index (exclusive) of the range
+         */
+        ForEachTask(final IntConsumer action, final int start, final int end) {
+            this.action = action;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start == 1) {
+                this.action.accept(this.start);
+            } else {
+                final int middle = (this.start + this.end) >>> 1;
+                invokeAll(new ForEachTask(this.action, this.start, middle),
+                        new ForEachTask(this.action, middle, this.end));
+            }
+        }
+    }
+
+}
@@ -17,8 +17,10 @@
  */
 package com.github.malapert.jsplitpolygon;
 
+import java.io.IOException;
+import java.nio.DoubleBuffer;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,15 +29,28 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
 import org.json.JSONException;
 
 /**
  *
- * This class handles a Polygon
+ * This class handles a Polygon.
+ *
+ * <p>
+ * The points are stored in one interleaved array (lon, lat, lon, lat, ...). The list of
+ * {@link Coordinate} returned by {@link #getCoordinates()} is a lazy view over this array.
+ * </p>
+ *
+ * <p>
+ * The fragments created by {@link #split()} do not copy the points: they are {@link RingView}
+ * over the points of the split polygon. Their points are only copied by {@link #toArray()}.
+ * </p>
  *
  * @author Jean-Christophe Malapert
  */
-public class Polygon implements GeoJson {
+public class Polygon implements GeoJson, Wkb {
 
     /**
      * Logger.
@@ -43,20 +58,51 @@ public class Polygon implements GeoJson {
     private static final Logger LOG = LogManager.getLogger(Polygon.class.getName());
 
     /**
-     * Half longitude of the sphere.
+     * Buffers of the scan done when a polygon is created.
+     */
+    private static final ThreadLocal<SplitBuffers> SCAN_BUFFERS = ThreadLocal.withInitial(
+            () -> new SplitBuffers(0));
+
+    /**
+     * Crossings of a polygon that does not cross the anti-meridian.
      */
-    private static final double HALF_LONGITUDE = 180;
+    private static final int[] NO_CROSSING = new int[0];
 
     /**
-     * points in firstPolygon.
+     * Latitudes of a polygon that does not cross the anti-meridian.
      */
-    private final List<Coordinate> coordinates;
-    
+    private static final double[] NO_LATITUDE = new double[0];
+
+    /**
+     * points in firstPolygon as interleaved longitude, latitude, null for a fragment.
+     */
+    private double[] coordinates;
+
+    /**
+     * Points of a fragment over the points of the split polygon, null otherwise.
+     */
+    private RingView ring;
+
     /**
      * Bounding box of the polygon.
      */
     private final double[] bbox;
 
+    /**
+     * Crossing indexes found when the polygon is created, null when they are unknown.
+     */
+    private int[] crossings;
+
+    /**
+     * Latitudes of the intersections with the anti-meridian of the crossings.
+     */
+    private double[] latitudes;
+
+    /**
+     * Lazy view of the points as a list of coordinates.
+     */
+    private List<Coordinate> coordinatesView;
+
     /**
      * Created polygons from a polygon.
      */
@@ -68,7 +114,7 @@ public class Polygon implements GeoJson {
      * @param polygon firstPolygon
      */
     public Polygon(final Polygon polygon) {
-        this(polygon.getCoordinates());
+        this(polygon.toArray(), false);
     }
 
     /**
@@ -77,333 +123,228 @@ public class Polygon implements GeoJson {
      * @param coordinates points
      */
     public Polygon(final List<Coordinate> coordinates) {
-        LOG.info("Creates a polygon of {} points", coordinates.size());
-        final List<Coordinate> coords = new ArrayList<Coordinate>(coordinates);
-        if (Polygon.isClockwisedPolygon(coords)) {
-            LOG.info("polygon is clockwised, reverses the points");
-            Collections.reverse(coords);
-        }
-        this.coordinates = coords;
-        this.bbox = this.computeBbox(coords);
+        this(pack(coordinates), false);
     }
 
     /**
-     * Test whether the firstPolygon is clockwise.
+     * Creates a polygon based on interleaved points (lon, lat, lon, lat, ...).
      *
-     * @param vertices vertices
-     * @return True when the firstPolygon is clockwise other False
+     * @param coordinates interleaved longitudes and latitudes in decimal degree
+     * @throws IllegalArgumentException when the number of values is odd
      */
-    public static boolean isClockwisedPolygon(final List<Coordinate> vertices) {
-        LOG.traceEntry("Parameters - vertices : {}", vertices);
-        double sum = 0.0;
-        for (int i = 0; i < vertices.size(); i++) {
-            Coordinate v1 = vertices.get(i);
-            Coordinate v2 = vertices.get((i + 1) % vertices.size());
-            sum += (v2.getLongitude() - v1.getLongitude()) * (v2.getLatitude() + v1.getLatitude());
-        }
-        LOG.debug("Polygon is clockwised : {0}", sum > 0.0);
-        return LOG.traceExit(sum > 0.0);
+    public Polygon(final double[] coordinates) {
+        this(Arrays.copyOf(coordinates, coordinates.length), true);
     }
-    
-    /**
-     * Compute bbox.
-     * @param coordinates coordinates
-     * @return bbox as [minLong, maxLong, minLat, maxLat]
-     */
-    private double[] computeBbox(final List<Coordinate> coordinates) {
-        LOG.traceEntry("Parameters - coordinates: {}", coordinates);
-        double minLongitude = 181;
-        double maxLongitude = -181;
-        double minLatitude = 91;
-        double maxLatitude = -91;
-        for (Coordinate coord : coordinates) {
-            double longitude = coord.getLongitude();
-            double latitude = coord.getLatitude();
-            minLongitude = Math.min(minLongitude, longitude);
-            maxLongitude = Math.max(maxLongitude, longitude);
-            minLatitude = Math.min(minLatitude, latitude);
-            maxLatitude = Math.max(maxLatitude, latitude);            
-        }
-        LOG.debug("bbox: [{}, {}, {}, {}]", minLongitude, maxLongitude, minLatitude, maxLatitude);
-        return LOG.traceExit(new double[]{minLongitude, maxLongitude, minLatitude, maxLatitude});
-    }
-    
+
     /**
-     * Returns the bounding box.
-     * @return the bounding box as [minLong, maxLong, minLat, maxLat]
+     * Creates a polygon based on the remaining interleaved points (lon, lat, lon, lat, ...) of a
+     * buffer. The position of the buffer is not modified.
+     *
+     * @param coordinates interleaved longitudes and latitudes in decimal degree
+     * @throws IllegalArgumentException when the number of values is odd
      */
-    public double[] bbox() {
-        LOG.traceEntry();
-        return LOG.traceExit(this.bbox);
+    public Polygon(final DoubleBuffer coordinates) {
+        this(read(coordinates), true);
     }
 
     /**
-     * Split the polygon.
-     * @return 
+     * Creates a polygon that owns the interleaved points.
+     *
+     * <p>
+     * The orientation, the bbox and the crossings of the anti-meridian are found by one scan
+     * of the points; the crossings are kept for {@link #split(SplitBuffers)}.
+     * </p>
+     *
+     * @param coordinates interleaved points, not copied
+     * @param isChecked true when the number of values must be checked
+     * @throws IllegalArgumentException when the number of values is odd
      */
-    public boolean split() {
-        LOG.traceEntry();
-        boolean isSplitted = false;
-        List<Integer> indexAntiMeridian = new ArrayList<Integer>();
-        if (isPassAntiMeridian(indexAntiMeridian)) {
-            LOG.debug("polygon crosses the antimeridian");
-            LOG.debug("indexAntiMeridian from coord : {}", indexAntiMeridian);
-            List<Coordinate> ptsAntiMeridian = cut(indexAntiMeridian);
-            LOG.debug("Computed antiMeridian pts : {}", ptsAntiMeridian);
-            this.polygons = createPolygons(indexAntiMeridian, ptsAntiMeridian);
-            isSplitted = true;
+    private Polygon(final double[] coordinates, final boolean isChecked) {
+        if (isChecked && coordinates.length % 2 != 0) {
+            throw LOG.throwing(new IllegalArgumentException(
+                    "coordinates must contain pairs of longitude, latitude"));
         }
-
-        return LOG.traceExit(isSplitted);
-    }
-
-    /**
-     * Creates the polygons from one polygon.
-     * @param indexAntiMeridian antimeridian index from coordinates
-     * @param ptsAntiMeridian points on the antimeridian at each antimeridian index
-     * @return the created polygons
-     */
-    private List<Polygon> createPolygons(final List<Integer> indexAntiMeridian,
-            final List<Coordinate> ptsAntiMeridian) {
-        LOG.traceEntry("Parameters - indexAntiMeridian: {}   ptsAntiMeridian: {}",
-                        indexAntiMeridian, ptsAntiMeridian);
-        final List<Polygon> polygons = new ArrayList<>();
-        final List<Coordinate> polygon = new ArrayList<Coordinate>();
-        Coordinate meridian1;
-        Coordinate meridian2;
-
-        // save the first points until the last point before the meridian
-        //firstPolygon.addAll(this.coordinates.subList(0, indexAntiMeridian.get(0)));
-        // iter on indexes from coordinates. The index is just after the meridian.
-        for (int i = 0; i < indexAntiMeridian.size() - 1; i++) {
-            polygon.clear();
-            meridian1 = getRightSide(
-                    ptsAntiMeridian.get(i), this.coordinates.get(indexAntiMeridian.get(i))
-            );
-            meridian2 = getRightSide(
-                    ptsAntiMeridian.get(i + 1), this.coordinates.get(indexAntiMeridian.get(i))
-            );
-            LOG.debug("Creating polygon");
-            polygon.add(meridian1);
-            polygon.addAll(
-                    this.coordinates.subList(indexAntiMeridian.get(i), indexAntiMeridian.get(i + 1))
-            );
-            polygon.add(meridian2);
-            polygon.add(meridian1);
-            LOG.debug("Finished polygon");
-            polygons.add(new Polygon(polygon));
+        final int nbPoints = coordinates.length / 2;
+        final SplitBuffers buffers = SCAN_BUFFERS.get();
+        SplitKernel.scan(coordinates, 0, nbPoints, buffers);
+        if (buffers.scanArea > 0.0) {
+            LOG.debug("polygon is clockwised, reverses the points");
+            reverse(coordinates);
+            SplitKernel.reverseCrossings(coordinates, 0, nbPoints, buffers);
         }
-        meridian1 = getRightSide(ptsAntiMeridian.get(ptsAntiMeridian.size() - 1), this.coordinates.get(indexAntiMeridian.get(indexAntiMeridian.size() - 1)));
-        meridian2 = getRightSide(ptsAntiMeridian.get(0), this.coordinates.get(indexAntiMeridian.get(0)-1));
-        LOG.debug("Creating polygon");
-        polygon.clear();        
-        polygon.add(meridian1);
-        polygon.addAll(
-            this.coordinates.subList(
-                    indexAntiMeridian.get(indexAntiMeridian.size()-1), this.coordinates.size()
-            )
-        );
-        polygon.addAll(this.coordinates.subList(0, indexAntiMeridian.get(0)));  
-        polygon.add(meridian2);
-        polygon.add(meridian1);        
-        polygons.add(new Polygon(polygon));
-        LOG.debug("Finished polygon");
-        
-        boolean isIncluded = false;
-        for (int i=0; i<polygons.size(); i++) {
-            Polygon poly1 = polygons.get(i);                
-            for (Polygon poly2:polygons) {
-                String includedShape="NONE";
-                if(!poly1.equals(poly2) && isIncluded(poly1.bbox(), poly2.bbox(), includedShape)) {
-                    if(includedShape.equals("BBOX1")) {
-                        LOG.debug("poly1 is included in poly2");
-                        poly2.remove(poly1);
-                        LOG.debug("poly1 is removed from poly2");
-                        polygons.remove(poly1);
-                        LOG.debug("poly1 is removed from polygons");
-                    } else {
-                        //BBOX2
-                        LOG.debug("poly2 is included in poly1");
-                        poly1.remove(poly2);
-                        LOG.debug("poly2 is removed from poly1");
-                        polygons.remove(poly2);
-                        LOG.debug("poly2 is removed from polygons");
-                    }
-                    isIncluded = true;
-                    break;
-                }
-            }
-            if(isIncluded) {
-                break;
-            }
-        }
-
-        return LOG.traceExit(polygons);
-    }
-    
-    /**
-     * Checks if bbox1 is included in bbox2 or bbox2 is included in bbox1.
-     * @param bbox1 bounding box from the first polygon
-     * @param bbox2 bounding box from the second polygon
-     * @param includedShape Updated value indicating which bbox is included in the other one.
-     * Possible values could be NONE, BBOX1, BBOX2
-     * @return True when bbox1 intersects bbox2 otherwise False
-     */
-    private boolean isIncluded(final double[] bbox1, final double[] bbox2, String includedShape) {
-        LOG.traceEntry("Parameters - bbox1: {}  bbox2: {}  includedShape: {}", bbox1, bbox2, includedShape);
-        boolean isIncluded = false;
-        if (bbox2[0] <= bbox1[0] && bbox1[0] <= bbox2[1] 
-           && bbox2[0] <= bbox1[1] && bbox1[1] <= bbox2[1]
-           && bbox2[2] <= bbox1[2] && bbox1[2] <= bbox2[3]
-           && bbox2[2] <= bbox1[3] && bbox1[3] <= bbox2[3]) {
-            isIncluded = true;
-            includedShape = "BBOX1";
-        } else if (bbox1[0] <= bbox2[0] && bbox2[0] <= bbox1[1] 
-           && bbox1[0] <= bbox2[1] && bbox2[1] <= bbox1[1]
-           && bbox1[2] <= bbox2[2] && bbox2[2] <= bbox1[3]
-           && bbox1[2] <= bbox2[3] && bbox2[3] <= bbox1[3]) {
-            isIncluded = true;
-            includedShape = "BBOX2";            
+        this.coordinates = coordinates;
+        this.bbox = Arrays.copyOf(buffers.scanBbox, 4);
+        if (buffers.crossingCount == 0) {
+            this.crossings = NO_CROSSING;
+            this.latitudes = NO_LATITUDE;
         } else {
-            isIncluded = false;
-            includedShape = "NONE";
+            this.crossings = Arrays.copyOf(buffers.crossings, buffers.crossingCount);
+            this.latitudes = Arrays.copyOf(buffers.latitudes, buffers.crossingCount);
         }
-        return LOG.traceExit(isIncluded);
     }
 
     /**
-     * Returns the meridian either longitude = 180 or longitude = -180
-     * @param meridian meridian
-     * @param pt point before the first intersection with the meridian
-     * @return the meridian
+     * Creates a polygon from a fragment already set counter-clockwise by the split engine.
+     *
+     * @param ring view of the fragment
+     * @param bbox bounding box of the points
      */
-    private Coordinate getRightSide(final Coordinate meridian, final Coordinate pt) {
-        LOG.traceEntry("Parameters - meridian: {}  pt: {}", meridian, pt);
-        return LOG.traceExit(new Coordinate(Math.abs(meridian.getLongitude()) * Math.signum(pt.getLongitude()),
-                meridian.getLatitude()));
+    Polygon(final RingView ring, final double[] bbox) {
+        this.ring = ring;
+        this.bbox = bbox;
     }
 
     /**
-     * Tests if the firstPolygon crosses the anti-meridian.
+     * Packs a list of points in an interleaved array.
      *
-     * @param indexAntiMeridian indexes for which the firstPolygon crosses the anti-meridian
-     * @return
-     */
-    private boolean isPassAntiMeridian(final List<Integer> indexAntiMeridian) {
-        LOG.traceEntry("Parameters - indedexAntiMeridian : {}", indexAntiMeridian);
-        boolean isPassAntiMeridian = false;
-        Coordinate c1 = this.coordinates.get(0);
-        for (int i = 1; i < this.coordinates.size(); i++) {
-            Coordinate c2 = this.coordinates.get(i);
-            if (Math.abs(c2.getLongitude() - c1.getLongitude()) > HALF_LONGITUDE) {
-                isPassAntiMeridian = true;
-                indexAntiMeridian.add(i);
-            }
-            c1 = c2;
-        }
-        if (Math.abs(this.coordinates.get(0).getLongitude() - this.coordinates.get(this.coordinates.
-                size() - 1).getLongitude()) > HALF_LONGITUDE) {
-            indexAntiMeridian.add(0);
+     * @param coordinates points
+     * @return interleaved longitudes and latitudes
+     */
+    private static double[] pack(final List<Coordinate> coordinates) {
+        final double[] packed = new double[coordinates.size() * 2];
+        int i = 0;
+        for (Coordinate coord : coordinates) {
+            packed[i++] = coord.getLongitude();
+            packed[i++] = coord.getLatitude();
         }
+        return packed;
+    }
+
+    /**
+     * Reads the remaining values of a buffer without moving its position.
+     *
+     * @param buffer buffer
+     * @return the remaining values
+     */
+    private static double[] read(final DoubleBuffer buffer) {
+        final double[] values = new double[buffer.remaining()];
+        buffer.duplicate().get(values);
+        return values;
+    }
 
-        if (indexAntiMeridian.size() == 1) {
-            isPassAntiMeridian = false;
-            LOG.warn("The meridian is crossed only once instead of two !!! "
-                    + "Does not cross the meridian. The source polygon is returned");
+    /**
+     * Reverses in place the order of the points of interleaved coordinates.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     */
+    private static void reverse(final double[] coordinates) {
+        if (SplitKernel.isParallel(coordinates.length / 2)) {
+            ParallelKernel.reverse(coordinates, 0, coordinates.length / 2);
+            return;
+        }
+        for (int i = 0, j = coordinates.length - 2; i < j; i += 2, j -= 2) {
+            final double longitude = coordinates[i];
+            final double latitude = coordinates[i + 1];
+            coordinates[i] = coordinates[j];
+            coordinates[i + 1] = coordinates[j + 1];
+            coordinates[j] = longitude;
+            coordinates[j + 1] = latitude;
         }
+    }
 
-        return LOG.traceExit(isPassAntiMeridian);
+    /**
+     * Test whether the firstPolygon is clockwise.
+     *
+     * @param vertices vertices
+     * @return True when the firstPolygon is clockwise other False
+     */
+    public static boolean isClockwisedPolygon(final List<Coordinate> vertices) {
+        return isClockwisedPolygon(pack(vertices));
     }
 
     /**
-     * Computes firstPolygon from the anti-meridian indexes
+     * Test whether the firstPolygon is clockwise.
      *
-     * @param indexAntiMeridian anti-meridian idexes
-     * @return firstPolygon represented by a list of points
-     */
-    private List<Coordinate> cut(List<Integer> indexAntiMeridian) {
-        LOG.traceEntry("Parameter - indexAntiMeridian : {}", indexAntiMeridian);
-        List<Coordinate> ptsAntiMeridian = new ArrayList<Coordinate>();
-        for (Integer index : indexAntiMeridian) {
-            Coordinate[] antiMeridian = extractCoordinateForAntiMeridian(index);
-            Double[] equation = computeLinearRegression(antiMeridian[0], antiMeridian[1]);
-            Coordinate coordinateAntiMeridian = computePointAntiMeridian(equation);
-            ptsAntiMeridian.add(coordinateAntiMeridian);
+     * @param coordinates interleaved longitudes and latitudes of the vertices
+     * @return True when the firstPolygon is clockwise other False
+     */
+    public static boolean isClockwisedPolygon(final double[] coordinates) {
+        final int length = coordinates.length;
+        double sum = 0.0;
+        for (int i = 0; i < length; i += 2) {
+            final int next = (i + 2) % length;
+            sum += (coordinates[next] - coordinates[i])
+                    * (coordinates[next + 1] + coordinates[i + 1]);
         }
-        return LOG.traceExit(ptsAntiMeridian);
+        return sum > 0.0;
     }
-    
+
     /**
-     * Removes poly from polygon
-     * @param poly polygon
+     * Returns the bounding box.
+     * @return the bounding box as [minLong, maxLong, minLat, maxLat]
      */
-    public void remove(final Polygon poly) {
-        LOG.traceEntry("Parameter - poly: {}", poly);
-        List<Coordinate> polyCoords = poly.getCoordinates();
-        Collections.reverse(polyCoords);
-        polyCoords.remove(polyCoords.get(polyCoords.size()-1));
-        double longitude = polyCoords.get(0).getLongitude();
-        int index = -1;
-        for (Coordinate coord : this.coordinates) {
-            index++;            
-            if(Math.abs(coord.getLongitude()-longitude) < 1e-10) {
-                break;
-            }
-        }
-        LOG.debug("Adds poly in polygon at {}", index+1);
-        this.coordinates.addAll(index+1, polyCoords);
-        LOG.traceExit();
+    public double[] bbox() {
+        return this.bbox;
     }
 
     /**
-     * Computes intersection between firstPolygon and anti-meridian.
-     *
-     * @param equation coefficient of the linear equation between the two points that cross the
-     * anti-meridian
-     * @return the intersection coordinate
+     * Split the polygon.
+     * @return True when the polygon crosses the anti-meridian and is split
      */
-    private Coordinate computePointAntiMeridian(Double[] equation) {
-        LOG.traceEntry("Parameter - a: {}, b: {}, firstPt: {}", equation[0], equation[1],
-                equation[2]);
-        double a = equation[0];
-        double b = equation[1];
-        double longitude = HALF_LONGITUDE;
-        double latitude = a * longitude + b;
-        return LOG.traceExit(new Coordinate(longitude * (equation[2] > 0 ? 1 : -1), latitude));
+    public boolean split() {
+        return split(new SplitBuffers(this.size()));
     }
 
     /**
-     * Extracts coordinate from an indexPolygon.
-     *
-     * @param index indexPolygon to extract
-     * @return coordinate
-     */
-    private Coordinate[] extractCoordinateForAntiMeridian(int index) {
-        LOG.traceEntry("Paramaeter - index: {}", index);
-        Coordinate c2 = this.coordinates.get(index);
-        Coordinate c1;
-        if (index == 0) {
-            c1 = this.coordinates.get(this.coordinates.size() - 1);
-        } else {
-            c1 = this.coordinates.get(index - 1);
+     * Split the polygon using reusable buffers.
+     * @param buffers buffers of the split engine, reused between calls
+     * @return True when the polygon crosses the anti-meridian and is split
+     */
+    public boolean split(final SplitBuffers buffers) {
+        boolean isSplitted = false;
+        final double[] points = packedCoordinates();
+        final int nbPoints = this.size();
+        final int nbRings = this.crossings == null
+                ? SplitKernel.layout(points, 0, nbPoints, buffers)
+                : SplitKernel.layout(points, 0, nbPoints, this.crossings, this.latitudes,
+                        buffers);
+        if (nbRings > 0) {
+            LOG.debug("polygon crosses the antimeridian {} times", buffers.getCrossingCount());
+            final List<Polygon> fragments = new ArrayList<>(nbRings);
+            for (int fragment = 0; fragment < nbRings; fragment++) {
+                final double[] bboxRing = Arrays.copyOfRange(buffers.bboxes, 4 * fragment,
+                        4 * fragment + 4);
+                fragments.add(new Polygon(RingView.of(points, 0, nbPoints, buffers, fragment),
+                        bboxRing));
+            }
+            this.polygons = fragments;
+            isSplitted = true;
         }
-        return LOG.traceExit(new Coordinate[]{c1, c2});
+
+        return isSplitted;
     }
 
     /**
-     * Returns a and b from y = ax + b and the first longitude.
-     *
-     * @param c1 coordinate 1
-     * @param c2 coordinate 2
-     * @return the coefficients of the equation
+     * Removes poly from polygon
+     * @param poly polygon
      */
-    private Double[] computeLinearRegression(Coordinate c1, Coordinate c2) {
-        LOG.traceEntry("Parameters - c1: {}, c2: {}", c1, c2);
-        double long1 = c1.getLongitude() > 0 ? c1.getLongitude() : c1.getLongitude() + 360;
-        double long2 = c2.getLongitude() > 0 ? c2.getLongitude() : c2.getLongitude() + 360;
-        double a = (c2.getLatitude() - c1.getLatitude()) / (long2 - long1);
-        double b = c1.getLatitude() - a * long1;
-        return LOG.traceExit(new Double[]{a, b, c1.getLongitude()});
+    public void remove(final Polygon poly) {
+        final double[] polyCoords = poly.packedCoordinates();
+        final double[] current = packedCoordinates();
+        // poly is closed: it is inserted in reverse order without its duplicated last point
+        final int length = polyCoords.length - 2;
+        final double longitude = polyCoords[length - 2];
+        int index = -1;
+        for (int i = 0; i < current.length; i += 2) {
+            index++;
+            if (Math.abs(current[i] - longitude) < 1e-10) {
+                break;
+            }
+        }
+        LOG.debug("Adds poly in polygon at {}", index+1);
+        final int insert = 2 * (index + 1);
+        final double[] merged = new double[current.length + length];
+        System.arraycopy(current, 0, merged, 0, insert);
+        for (int i = 0; i < length; i += 2) {
+            merged[insert + i] = polyCoords[length - 2 - i];
+            merged[insert + i + 1] = polyCoords[length - 1 - i];
+        }
+        System.arraycopy(current, insert, merged, insert + length, current.length - insert);
+        this.coordinates = merged;
+        this.ring = null;
+        this.crossings = null;
+        this.latitudes = null;
+        this.coordinatesView = null;
     }
 
     /**
@@ -413,21 +354,19 @@ public class Polygon implements GeoJson {
      * @throws JSONException when a problem happens
      */
     private JSONObject buildGeoJson() throws JSONException {
-        LOG.traceEntry();
         JSONArray coords = new JSONArray();
         JSONArray polygon = new JSONArray();
-        List<Coordinate> coordsPoly = this.getCoordinates();
-        for (Coordinate coord : coordsPoly) {
+        for (int i = 0; i < this.size(); i++) {
             JSONArray point = new JSONArray();
-            point.put(coord.getLongitude());
-            point.put(coord.getLatitude());
+            point.put(this.getLongitude(i));
+            point.put(this.getLatitude(i));
             polygon.put(point);
         }
         coords.put(polygon);
         JSONObject json = new JSONObject();
         json.put("type", "Polygon");
         json.put("coordinates", coords);
-        return LOG.traceExit(json);
+        return json;
     }
 
     /**
@@ -436,8 +375,7 @@ public class Polygon implements GeoJson {
      * @return True when the firstPolygon is cut otherwise False
      */
     public boolean isCut() {
-        LOG.traceEntry();
-        return LOG.traceExit(this.polygons.size() > 1);
+        return this.polygons.size() > 1;
     }
 
     /**
@@ -446,47 +384,168 @@ public class Polygon implements GeoJson {
      * @return the firstPolygon(s)
      */
     public List<Polygon> getPolygons() {
-        LOG.traceEntry();
-        return LOG.traceExit(this.polygons);
+        return this.polygons;
     }
 
     /**
      * Returns the coordinates of the firstPolygon to cut.
      *
+     * <p>
+     * The list is an unmodifiable view created on the first call; the {@link Coordinate} are
+     * created on access.
+     * </p>
+     *
      * @return the coordinates of the firstPolygon to cut
      */
     public List<Coordinate> getCoordinates() {
-        LOG.traceEntry();
-        return LOG.traceExit(this.coordinates);
+        if (this.coordinatesView == null) {
+            this.coordinatesView = this.ring == null ? new CoordinateListView(this.coordinates)
+                    : new CoordinateListView(this.ring);
+        }
+        return this.coordinatesView;
+    }
+
+    /**
+     * Returns the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return this.ring == null ? this.coordinates.length / 2 : this.ring.size();
+    }
+
+    /**
+     * Returns the longitude of a point.
+     *
+     * @param index point index
+     * @return the longitude in decimal degree
+     */
+    public double getLongitude(final int index) {
+        return this.ring == null ? this.coordinates[2 * index] : this.ring.getLongitude(index);
+    }
+
+    /**
+     * Returns the latitude of a point.
+     *
+     * @param index point index
+     * @return the latitude in decimal degree
+     */
+    public double getLatitude(final int index) {
+        return this.ring == null ? this.coordinates[2 * index + 1]
+                : this.ring.getLatitude(index);
+    }
+
+    /**
+     * Returns a copy of the points as interleaved longitude, latitude.
+     *
+     * @return the interleaved longitudes and latitudes in decimal degree
+     */
+    public double[] toArray() {
+        return this.ring == null ? Arrays.copyOf(this.coordinates, this.coordinates.length)
+                : this.ring.toArray();
+    }
+
+    /**
+     * Copies the points.
+     *
+     * @param dest array receiving the interleaved longitudes and latitudes
+     * @param destOffset index, in values, of the first longitude in dest
+     */
+    void copyTo(final double[] dest, final int destOffset) {
+        if (this.ring == null) {
+            System.arraycopy(this.coordinates, 0, dest, destOffset, this.coordinates.length);
+        } else {
+            this.ring.copyTo(dest, destOffset);
+        }
+    }
+
+    /**
+     * Returns the interleaved points, without copy unless the polygon is a fragment.
+     *
+     * @return the interleaved longitudes and latitudes
+     */
+    double[] packedCoordinates() {
+        return this.ring == null ? this.coordinates : this.ring.toArray();
+    }
+
+    /**
+     * Returns the points as a view: the fragment itself or one span over the points of the
+     * polygon.
+     *
+     * <p>
+     * The points of a polygon are never modified after its construction, so the view remains
+     * valid when the polygon is modified by {@link #remove(Polygon)}.
+     * </p>
+     *
+     * @return the view of the points
+     */
+    RingView view() {
+        return this.ring != null ? this.ring : new RingView(this.coordinates, 0, this.size(),
+                new double[0], new int[]{0, this.size(), 1});
+    }
+
+    /**
+     * Writes the points as GeoJSon positions.
+     *
+     * @param writer GeoJSon writer
+     * @throws IOException when the output cannot be written
+     */
+    void writePoints(final GeoJsonWriter writer) throws IOException {
+        if (this.ring == null) {
+            writer.points(this.coordinates, 0, this.size());
+        } else {
+            this.ring.writePoints(writer);
+        }
     }
 
     @Override
     public String toString() {
-        LOG.traceEntry();
         StringBuilder toJson = new StringBuilder();
-        for (int i = 0; i < this.coordinates.size() - 1; i++) {
-            toJson.append(this.coordinates.get(i).toString()).append(",");
+        for (int i = 0; i < this.size(); i++) {
+            if (i > 0) {
+                toJson.append(",");
+            }
+            toJson.append("[").append(this.getLongitude(i)).append(", ")
+                    .append(this.getLatitude(i)).append("]");
         }
-        toJson.append(this.coordinates.get(this.coordinates.size() - 1));
-        return LOG.traceExit(toJson.toString());
+        return toJson.toString();
     }
 
     @Override
     public String toGeoJson() {
-        LOG.traceEntry();
+        final StringBuilder json = new StringBuilder(32 + 24 * this.size());
         try {
-            return LOG.traceExit(buildGeoJson().toString(0));
-        } catch (JSONException ex) {
+            writeTo(json);
+        } catch (IOException | JSONException ex) {
             LOG.error(ex);
             throw LOG.throwing(new RuntimeException(ex));
         }
+        return json.toString();
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        final GeoJsonWriter writer = new GeoJsonWriter(out);
+        writer.beginGeometry();
+        writer.beginArray();
+        writePoints(writer);
+        writer.endArray();
+        writer.endGeometry("Polygon");
+    }
+
+    @Override
+    public void writeWkb(final WkbWriter writer) {
+        if (this.ring == null) {
+            writer.writePolygon(this.coordinates, 0, this.size());
+        } else {
+            this.ring.writeWkb(writer);
+        }
     }
 
     @Override
     public String toGeoJson(int indent) {
-        LOG.traceEntry("Parameter - indent: {}", indent);
         try {
-            return LOG.traceExit(buildGeoJson().toString(indent));
+            return buildGeoJson().toString(indent);
         } catch (JSONException ex) {
             LOG.error((ex));
             throw LOG.throwing(new RuntimeException(ex));
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+/**
+ * Scan of a polygon in one pass: orientation, bbox, crossings of the anti-meridian and
+ * latitudes of the intersections.
+ *
+ * <p>
+ * The scalar scan is {@link SplitKernel#scanScalar}. On Java 17 and later, the multi-release jar
+ * also contains a scan using the vector API (jdk.incubator.vector), which is selected by
+ * {@link SplitKernel} when the module is resolved (--add-modules jdk.incubator.vector).
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+interface PolygonScanner {
+
+    /**
+     * Scans a polygon.
+     *
+     * <p>
+     * The orientation sum is stored in {@link SplitBuffers#scanArea}, the bbox in
+     * {@link SplitBuffers#scanBbox} and the crossings with their latitudes, in the order of the
+     * points, in {@link SplitBuffers#crossings} and {@link SplitBuffers#latitudes}.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers receiving the scan
+     */
+    void scan(double[] coordinates, int offset, int nbPoints, SplitBuffers buffers);
+
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Splits batches of polygons in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>
+ * The polygons are given as interleaved longitudes and latitudes. The batch is divided in chunks
+ * processed by the pool; each chunk reuses one {@link SplitBuffers}. The outcomes are returned in
+ * the order of the input and the failure of one polygon does not abort the batch: it is reported
+ * in its {@link SplitOutcome}. A splitter holds no mutable state and can be shared between
+ * threads.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final PolygonSplitter splitter = new PolygonSplitter(new ForkJoinPool(8));
+ * for (SplitOutcome outcome : splitter.splitAll(polygons)) {
+ *   if (outcome.isSuccess()) {
+ *     final String result = outcome.getGeoJson().toGeoJson();
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class PolygonSplitter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(PolygonSplitter.class.getName());
+
+    /**
+     * Default number of polygons processed by a task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    /**
+     * Pool running the split.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Number of polygons processed by a task.
+     */
+    private final int chunkSize;
+
+    /**
+     * Creates a splitter running on the common pool.
+     */
+    public PolygonSplitter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a splitter running on a pool.
+     *
+     * @param pool pool running the split
+     */
+    public PolygonSplitter(final ForkJoinPool pool) {
+        this(pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a splitter running on a pool.
+     *
+     * @param pool pool running the split
+     * @param chunkSize number of polygons processed by a task
+     * @throws IllegalArgumentException when chunkSize is not strictly positive
+     */
+    public PolygonSplitter(final ForkJoinPool pool, final int chunkSize) {
+        if (pool == null) {
+            throw LOG.throwing(new IllegalArgumentException("pool cannot be null"));
+        }
+        if (chunkSize < 1) {
+            throw LOG.throwing(new IllegalArgumentException("chunkSize must be > 0"));
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Splits a batch of polygons and waits for the result.
+     *
+     * @param polygons polygons as interleaved longitudes and latitudes
+     * @return the outcomes in the order of the polygons
+     */
+    public List<SplitOutcome> splitAll(final List<double[]> polygons) {
+        return splitAll(polygons.toArray(new double[polygons.size()][]));
+    }
+
+    /**
+     * Splits a batch of polygons and waits for the result.
+     *
+     * @param polygons polygons as interleaved longitudes and latitudes
+     * @return the outcomes in the order of the polygons
+     */
+    private List<SplitOutcome> splitAll(final double[][] polygons) {
+        final SplitOutcome[] outcomes = new SplitOutcome[polygons.length];
+        this.pool.invoke(new SplitTask(polygons, outcomes, 0, outcomes.length));
+        return Collections.unmodifiableList(Arrays.asList(outcomes));
+    }
+
+    /**
+     * Splits a batch of polygons asynchronously.
+     *
+     * @param polygons polygons as interleaved longitudes and latitudes
+     * @return the future outcomes in the order of the polygons
+     */
+    public CompletableFuture<List<SplitOutcome>> splitAllAsync(final List<double[]> polygons) {
+        final double[][] batch = polygons.toArray(new double[polygons.size()][]);
+        return CompletableFuture.supplyAsync(() -> splitAll(batch), this.pool);
+    }
+
+    /**
+     * Splits one polygon of a batch.
+     *
+     * @param index index of the polygon in the batch
+     * @param coordinates interleaved longitudes and latitudes
+     * @param buffers buffers of the split engine
+     * @return the outcome
+     */
+    static SplitOutcome split(final int index, final double[] coordinates,
+            final SplitBuffers buffers) {
+        try {
+            if (coordinates == null) {
+                throw new IllegalArgumentException("polygon cannot be null");
+            }
+            if (coordinates.length % 2 != 0) {
+                throw new IllegalArgumentException(
+                        "coordinates must contain pairs of longitude, latitude");
+            }
+            // the fragments are views over the counter-clockwise copy made by the polygon
+            final Polygon polygon = new Polygon(coordinates);
+            final boolean isSplit = polygon.split(buffers);
+            final List<Polygon> polygons = isSplit ? polygon.getPolygons()
+                    : Collections.singletonList(polygon);
+            return SplitOutcome.success(index, polygons, isSplit);
+        } catch (RuntimeException ex) {
+            LOG.debug("polygon {} has failed: {}", index, ex.getMessage());
+            return SplitOutcome.failure(index, ex);
+        }
+    }
+
+    /**
+     * Task splitting a range of polygons of a batch.
+     */
+    private final class SplitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Polygons of the batch.
+         */
+        private final double[][] polygons;
+
+        /**
+         * Outcomes of the batch.
+         */
+        private final SplitOutcome[] outcomes;
+
+        /**
+         * First index (inclusive) of the range.
+         */
+        private final int start;
+
+        /**
+         * Last index (exclusive) of the range.
+         */
+        private final int end;
+
+        /**
+         * Creates a task.
+         *
+         * @param polygons polygons of the batch
+         * @param outcomes outcomes of the batch
+         * @param start first index (inclusive) of the range
+         * @param end last index (exclusive) of the range
+         */
+        SplitTask(final double[][] polygons, final SplitOutcome[] outcomes,
+                final int start, final int end) {
+            this.polygons = polygons;
+            this.outcomes = outcomes;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= chunkSize) {
+                final SplitBuffers buffers = new SplitBuffers();
+                for (int i = this.start; i < this.end; i++) {
+                    this.outcomes[i] = split(i, this.polygons[i], buffers);
+                }
+            } else {
+                final int middle = (this.start + this.end) >>> 1;
+                invokeAll(new SplitTask(this.polygons, this.outcomes, this.start, middle),
+                        new SplitTask(this.polygons, this.outcomes, middle, this.end));
+            }
+        }
+    }
+
+}
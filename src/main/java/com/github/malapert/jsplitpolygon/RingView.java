@@ -0,0 +1,257 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Fragment of a split polygon seen through the points of the polygon.
+ *
+ * <p>
+ * A view holds no copy of the points of the polygon: it is made of spans, ranges of indexes
+ * over the points of the polygon read forwards or backwards, and of the few synthetic points
+ * on the anti-meridian. A fragment coming from one chain of the polygon is made of one or two
+ * ranges, when it wraps around the end of the polygon, between its two points on the
+ * anti-meridian. The points are only copied by {@link #toArray()} or
+ * {@link #copyTo(double[], int)}.
+ * </p>
+ *
+ * <p>
+ * The points of the polygon must not be modified while the view is used.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class RingView {
+
+    /**
+     * Interleaved longitudes and latitudes of the polygon.
+     */
+    private final double[] parent;
+
+    /**
+     * Index, in values, of the first longitude of the polygon.
+     */
+    private final int parentOffset;
+
+    /**
+     * Number of points of the polygon.
+     */
+    private final int nbParentPoints;
+
+    /**
+     * Points on the anti-meridian as interleaved longitudes and latitudes.
+     */
+    private final double[] meridians;
+
+    /**
+     * Spans as (start, count, step): the index nbParentPoints + i is the point i of meridians.
+     */
+    private final int[] spans;
+
+    /**
+     * Index, in points, after the end of each span.
+     */
+    private final int[] spanEnds;
+
+    /**
+     * Creates a view.
+     *
+     * @param parent interleaved longitudes and latitudes of the polygon, not copied
+     * @param parentOffset index, in values, of the first longitude of the polygon
+     * @param nbParentPoints number of points of the polygon
+     * @param meridians points on the anti-meridian, not copied
+     * @param spans spans as (start, count, step), not copied
+     */
+    RingView(final double[] parent, final int parentOffset, final int nbParentPoints,
+            final double[] meridians, final int[] spans) {
+        this.parent = parent;
+        this.parentOffset = parentOffset;
+        this.nbParentPoints = nbParentPoints;
+        this.meridians = meridians;
+        this.spans = spans;
+        this.spanEnds = new int[spans.length / 3];
+        int size = 0;
+        for (int span = 0; span < this.spanEnds.length; span++) {
+            size += spans[3 * span + 1];
+            this.spanEnds[span] = size;
+        }
+    }
+
+    /**
+     * Creates the view of a fragment computed by {@link SplitKernel#layout}.
+     *
+     * <p>
+     * Only the spans of the fragment and its points on the anti-meridian are copied from the
+     * buffers, so the buffers can be reused afterwards.
+     * </p>
+     *
+     * @param parent interleaved longitudes and latitudes of the polygon given to the kernel
+     * @param parentOffset index, in values, of the first longitude of the polygon
+     * @param nbParentPoints number of points of the polygon
+     * @param buffers buffers with the layout of the fragments
+     * @param ring fragment index
+     * @return the view of the fragment
+     */
+    static RingView of(final double[] parent, final int parentOffset, final int nbParentPoints,
+            final SplitBuffers buffers, final int ring) {
+        final int firstSpan = buffers.spanOffsets[ring];
+        final int nbSpans = buffers.spanOffsets[ring + 1] - firstSpan;
+        final int[] spans = Arrays.copyOfRange(buffers.spans, 3 * firstSpan,
+                3 * (firstSpan + nbSpans));
+        int nbMeridians = 0;
+        for (int span = 0; span < nbSpans; span++) {
+            if (spans[3 * span] >= nbParentPoints) {
+                nbMeridians++;
+            }
+        }
+        final double[] meridians = new double[2 * nbMeridians];
+        int point = 0;
+        for (int span = 0; span < nbSpans; span++) {
+            final int start = spans[3 * span];
+            if (start >= nbParentPoints) {
+                meridians[2 * point] = buffers.meridians[2 * (start - nbParentPoints)];
+                meridians[2 * point + 1] = buffers.meridians[2 * (start - nbParentPoints) + 1];
+                spans[3 * span] = nbParentPoints + point;
+                spans[3 * span + 2] = 1;
+                point++;
+            }
+        }
+        return new RingView(parent, parentOffset, nbParentPoints, meridians, spans);
+    }
+
+    /**
+     * Returns the number of points.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        return this.spanEnds.length == 0 ? 0 : this.spanEnds[this.spanEnds.length - 1];
+    }
+
+    /**
+     * Returns the number of spans.
+     *
+     * @return the number of spans
+     */
+    public int getSpanCount() {
+        return this.spanEnds.length;
+    }
+
+    /**
+     * Returns a value of a point.
+     *
+     * @param index point index
+     * @param component 0 for the longitude, 1 for the latitude
+     * @return the value
+     * @throws IndexOutOfBoundsException when the index is out of the view
+     */
+    private double value(final int index, final int component) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int span = Arrays.binarySearch(this.spanEnds, index);
+        span = span < 0 ? -span - 1 : span + 1;
+        final int first = span == 0 ? 0 : this.spanEnds[span - 1];
+        final int point = this.spans[3 * span] + (index - first) * this.spans[3 * span + 2];
+        return point < this.nbParentPoints
+                ? this.parent[this.parentOffset + 2 * point + component]
+                : this.meridians[2 * (point - this.nbParentPoints) + component];
+    }
+
+    /**
+     * Returns the longitude of a point.
+     *
+     * @param index point index
+     * @return the longitude in decimal degree
+     * @throws IndexOutOfBoundsException when the index is out of the view
+     */
+    public double getLongitude(final int index) {
+        return value(index, 0);
+    }
+
+    /**
+     * Returns the latitude of a point.
+     *
+     * @param index point index
+     * @return the latitude in decimal degree
+     * @throws IndexOutOfBoundsException when the index is out of the view
+     */
+    public double getLatitude(final int index) {
+        return value(index, 1);
+    }
+
+    /**
+     * Gives the points to a visitor.
+     *
+     * @param <E> exception thrown by the visitor
+     * @param visitor receiver of the points
+     * @throws E when the visitor fails
+     */
+    private <E extends Exception> void walk(final SpanVisitor<E> visitor) throws E {
+        SpanVisitor.walk(this.parent, this.parentOffset, this.nbParentPoints, this.meridians,
+                this.spans, 0, this.spanEnds.length, visitor);
+    }
+
+    /**
+     * Copies the points.
+     *
+     * @param dest array receiving the interleaved longitudes and latitudes
+     * @param destOffset index, in values, of the first longitude in dest
+     * @throws IndexOutOfBoundsException when dest is too small
+     */
+    public void copyTo(final double[] dest, final int destOffset) {
+        walk(new SpanVisitor.Copy().to(dest, destOffset));
+    }
+
+    /**
+     * Returns a detached copy of the points.
+     *
+     * @return the interleaved longitudes and latitudes
+     */
+    public double[] toArray() {
+        final double[] copy = new double[2 * size()];
+        copyTo(copy, 0);
+        return copy;
+    }
+
+    /**
+     * Writes the points as GeoJSon positions.
+     *
+     * @param writer GeoJSon writer
+     * @throws IOException when the output cannot be written
+     */
+    public void writePoints(final GeoJsonWriter writer) throws IOException {
+        walk(SpanVisitor.of(writer));
+    }
+
+    /**
+     * Writes the fragment as a WKB polygon.
+     *
+     * @param writer WKB writer
+     */
+    public void writeWkb(final WkbWriter writer) {
+        writer.beginPolygon(size());
+        walk(SpanVisitor.of(writer));
+        writer.endPolygon();
+    }
+
+}
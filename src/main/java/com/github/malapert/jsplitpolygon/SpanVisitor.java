@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+
+/**
+ * Receiver of the points of a fragment, in the order of its spans.
+ *
+ * <p>
+ * The spans are walked by {@link #walk}, the only place where a span is turned into points, so
+ * the fragment copies, the fragment views and the serializers read the layout of the fragments
+ * the same way.
+ * </p>
+ *
+ * @param <E> exception thrown by the receiver
+ * @author Jean-Christophe Malapert
+ */
+interface SpanVisitor<E extends Exception> {
+
+    /**
+     * Receives a point.
+     *
+     * @param longitude longitude in decimal degree
+     * @param latitude latitude in decimal degree
+     * @throws E when the point cannot be received
+     */
+    void point(double longitude, double latitude) throws E;
+
+    /**
+     * Receives consecutive points of the polygon read forwards.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws E when the points cannot be received
+     */
+    default void points(final double[] coordinates, final int offset, final int nbPoints)
+            throws E {
+        for (int i = offset; i < offset + 2 * nbPoints; i += 2) {
+            point(coordinates[i], coordinates[i + 1]);
+        }
+    }
+
+    /**
+     * Walks a range of spans.
+     *
+     * <p>
+     * A span read forwards over the polygon is given at once to
+     * {@link #points(double[], int, int)}, the other spans point by point.
+     * </p>
+     *
+     * @param <E> exception thrown by the visitor
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param meridians points on the anti-meridian, the index nbPoints + i of a span being the
+     * point i
+     * @param spans spans as (start, count, step)
+     * @param firstSpan first span (inclusive)
+     * @param endSpan last span (exclusive)
+     * @param visitor receiver of the points
+     * @throws E when the visitor fails
+     */
+    static <E extends Exception> void walk(final double[] coordinates, final int offset,
+            final int nbPoints, final double[] meridians, final int[] spans,
+            final int firstSpan, final int endSpan, final SpanVisitor<E> visitor) throws E {
+        for (int span = firstSpan; span < endSpan; span++) {
+            final int start = spans[3 * span];
+            final int count = spans[3 * span + 1];
+            final int step = spans[3 * span + 2];
+            if (start < nbPoints && step > 0) {
+                visitor.points(coordinates, offset + 2 * start, count);
+            } else {
+                final double[] values = start < nbPoints ? coordinates : meridians;
+                int index = start < nbPoints ? offset + 2 * start : 2 * (start - nbPoints);
+                for (int i = 0; i < count; i++, index += 2 * step) {
+                    visitor.point(values[index], values[index + 1]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a visitor writing the points as GeoJSon positions.
+     *
+     * @param writer GeoJSon writer
+     * @return the visitor
+     */
+    static SpanVisitor<IOException> of(final GeoJsonWriter writer) {
+        return new SpanVisitor<IOException>() {
+            @Override
+            public void point(final double longitude, final double latitude)
+                    throws IOException {
+                writer.point(longitude, latitude);
+            }
+
+            @Override
+            public void points(final double[] coordinates, final int offset,
+                    final int nbPoints) throws IOException {
+                writer.points(coordinates, offset, nbPoints);
+            }
+        };
+    }
+
+    /**
+     * Returns a visitor writing the points of a WKB polygon.
+     *
+     * @param writer WKB writer
+     * @return the visitor
+     */
+    static SpanVisitor<RuntimeException> of(final WkbWriter writer) {
+        return new SpanVisitor<RuntimeException>() {
+            @Override
+            public void point(final double longitude, final double latitude) {
+                writer.point(longitude, latitude);
+            }
+
+            @Override
+            public void points(final double[] coordinates, final int offset,
+                    final int nbPoints) {
+                writer.points(coordinates, offset, nbPoints);
+            }
+        };
+    }
+
+    /**
+     * Visitor copying the points in an array.
+     */
+    final class Copy implements SpanVisitor<RuntimeException> {
+
+        /**
+         * Array receiving the interleaved longitudes and latitudes.
+         */
+        private double[] dest;
+
+        /**
+         * Index, in values, of the next longitude in dest.
+         */
+        private int position;
+
+        /**
+         * Starts a copy.
+         *
+         * @param dest array receiving the interleaved longitudes and latitudes
+         * @param destOffset index, in values, of the first longitude in dest
+         * @return this visitor
+         */
+        Copy to(final double[] dest, final int destOffset) {
+            this.dest = dest;
+            this.position = destOffset;
+            return this;
+        }
+
+        @Override
+        public void point(final double longitude, final double latitude) {
+            this.dest[this.position++] = longitude;
+            this.dest[this.position++] = latitude;
+        }
+
+        @Override
+        public void points(final double[] coordinates, final int offset, final int nbPoints) {
+            System.arraycopy(coordinates, offset, this.dest, this.position, 2 * nbPoints);
+            this.position += 2 * nbPoints;
+        }
+    }
+
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffers of the {@link SplitKernel}.
+ *
+ * <p>
+ * The buffers hold the scratch data of a split (crossing indexes, latitudes of the intersections
+ * with the anti-meridian, pairing of the crossings along the anti-meridian, bounding boxes of the
+ * fragments) and its result: the fragments stored one after the other as interleaved longitudes
+ * and latitudes, delimited by ring offsets. The arrays only grow, so once they are large enough,
+ * splitting with the same buffers allocates nothing. A buffer must not be shared between threads.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitBuffers {
+
+    /**
+     * Default capacity, in points.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Indexes of the points just after the anti-meridian.
+     */
+    int[] crossings;
+
+    /**
+     * Number of crossings.
+     */
+    int crossingCount;
+
+    /**
+     * Latitude of the intersection with the anti-meridian for each crossing.
+     */
+    double[] latitudes;
+
+    /**
+     * Orientation sum of the last polygon scanned, positive when it is clockwise.
+     */
+    double scanArea;
+
+    /**
+     * Bounding box [minLong, maxLong, minLat, maxLat] of the last polygon scanned.
+     */
+    final double[] scanBbox = new double[4];
+
+    /**
+     * Crossing numbers sorted by latitude along the anti-meridian.
+     */
+    int[] order;
+
+    /**
+     * Scratch array of the sort of the crossings.
+     */
+    int[] sortScratch;
+
+    /**
+     * For each crossing, the crossing at the other end of its interval of the anti-meridian
+     * inside the polygon.
+     */
+    int[] partners;
+
+    /**
+     * For each chain between two crossings, True when it is already in a fragment.
+     */
+    boolean[] assembled;
+
+    /**
+     * Points on the anti-meridian of each chain between two crossings, as [entry longitude,
+     * entry latitude, exit longitude, exit latitude].
+     */
+    double[] meridians;
+
+    /**
+     * Layout of the fragments as spans of (start, count, step). A span is made of the points
+     * start, start + step, ... (count points) of a virtual array where the indexes lower than
+     * the number of points of the polygon are its points and the index nbPoints + i is the
+     * point i of {@link #meridians}.
+     */
+    int[] spans;
+
+    /**
+     * Number of spans.
+     */
+    int spanCount;
+
+    /**
+     * Offsets of the fragments in spans. The ring r is made of the spans spanOffsets[r]
+     * (inclusive) to spanOffsets[r + 1] (exclusive).
+     */
+    int[] spanOffsets;
+
+    /**
+     * Orientation sum of the last fragment scanned, positive when it is clockwise.
+     */
+    double ringArea;
+
+    /**
+     * Fragments as interleaved longitudes and latitudes.
+     */
+    double[] coordinates;
+
+    /**
+     * Offsets, in points, of the fragments in coordinates. The ring r is made of the points
+     * ringOffsets[r] (inclusive) to ringOffsets[r + 1] (exclusive).
+     */
+    int[] ringOffsets;
+
+    /**
+     * Number of fragments.
+     */
+    int ringCount;
+
+    /**
+     * Bounding box [minLong, maxLong, minLat, maxLat] of each fragment.
+     */
+    double[] bboxes;
+
+    /**
+     * Counter-clockwise copy of a clockwise source polygon.
+     */
+    double[] source;
+
+    /**
+     * Visitor copying the fragments in coordinates.
+     */
+    final SpanVisitor.Copy ringCopy = new SpanVisitor.Copy();
+
+    /**
+     * Creates buffers with a default capacity.
+     */
+    public SplitBuffers() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates buffers for polygons of about capacity points.
+     *
+     * @param capacity expected number of points of the polygons to split
+     */
+    public SplitBuffers(final int capacity) {
+        final int points = Math.max(capacity, 4);
+        this.crossings = new int[4];
+        this.latitudes = new double[4];
+        this.order = new int[4];
+        this.sortScratch = new int[4];
+        this.partners = new int[4];
+        this.assembled = new boolean[4];
+        this.meridians = new double[16];
+        this.spans = new int[3 * 20];
+        this.spanOffsets = new int[4];
+        this.coordinates = new double[2 * points + 16];
+        this.ringOffsets = new int[4];
+        this.bboxes = new double[12];
+        this.source = new double[0];
+    }
+
+    /**
+     * Resets the buffers before a new split.
+     */
+    void clear() {
+        this.crossingCount = 0;
+        this.ringCount = 0;
+        this.ringOffsets[0] = 0;
+        this.spanCount = 0;
+        this.spanOffsets[0] = 0;
+    }
+
+    /**
+     * Adds a crossing.
+     *
+     * @param index index of the point just after the anti-meridian
+     * @param latitude latitude of the intersection with the anti-meridian
+     */
+    void addCrossing(final int index, final double latitude) {
+        if (this.crossingCount == this.crossings.length) {
+            this.crossings = Arrays.copyOf(this.crossings, 2 * this.crossingCount);
+            this.latitudes = Arrays.copyOf(this.latitudes, 2 * this.crossingCount);
+        }
+        this.latitudes[this.crossingCount] = latitude;
+        this.crossings[this.crossingCount++] = index;
+    }
+
+    /**
+     * Ensures the capacity of the crossing dependent buffers.
+     *
+     * @param nbCrossings number of crossings
+     */
+    void ensureCrossingCapacity(final int nbCrossings) {
+        if (this.order.length < nbCrossings) {
+            final int capacity = Math.max(nbCrossings, 2 * this.order.length);
+            this.order = new int[capacity];
+            this.sortScratch = new int[capacity];
+            this.partners = new int[capacity];
+            this.assembled = new boolean[capacity];
+            this.meridians = new double[4 * capacity];
+        }
+        if (this.spanOffsets.length < nbCrossings + 1) {
+            this.spanOffsets = Arrays.copyOf(this.spanOffsets,
+                    Math.max(nbCrossings + 1, 2 * this.spanOffsets.length));
+        }
+        if (this.ringOffsets.length < nbCrossings + 1) {
+            this.ringOffsets = Arrays.copyOf(this.ringOffsets,
+                    Math.max(nbCrossings + 1, 2 * this.ringOffsets.length));
+        }
+        if (this.bboxes.length < 4 * nbCrossings) {
+            this.bboxes = new double[Math.max(4 * nbCrossings, 2 * this.bboxes.length)];
+        }
+    }
+
+    /**
+     * Adds a span to the layout of the fragments.
+     *
+     * @param start first index of the span in the virtual array of the points
+     * @param count number of points
+     * @param step 1 to read the points forwards, -1 to read them backwards
+     */
+    void addSpan(final int start, final int count, final int step) {
+        if (3 * this.spanCount + 3 > this.spans.length) {
+            this.spans = Arrays.copyOf(this.spans, 2 * this.spans.length);
+        }
+        final int index = 3 * this.spanCount++;
+        this.spans[index] = start;
+        this.spans[index + 1] = count;
+        this.spans[index + 2] = step;
+    }
+
+    /**
+     * Ensures the capacity of the fragment coordinates, keeping the current values.
+     *
+     * @param nbValues number of values
+     */
+    void ensureCoordinateCapacity(final int nbValues) {
+        if (this.coordinates.length < nbValues) {
+            this.coordinates = Arrays.copyOf(this.coordinates,
+                    Math.max(nbValues, 2 * this.coordinates.length));
+        }
+    }
+
+    /**
+     * Ensures the capacity of the source copy, discarding the current values.
+     *
+     * @param nbValues number of values
+     */
+    void ensureSourceCapacity(final int nbValues) {
+        if (this.source.length < nbValues) {
+            this.source = new double[Math.max(nbValues, 2 * this.source.length)];
+        }
+    }
+
+    /**
+     * Returns the number of crossings with the anti-meridian found by the last split.
+     *
+     * @return the number of crossings
+     */
+    public int getCrossingCount() {
+        return this.crossingCount;
+    }
+
+    /**
+     * Returns the crossing indexes, valid up to {@link #getCrossingCount()}.
+     *
+     * <p>
+     * A crossing index is the index of the point just after the anti-meridian. A crossing
+     * between the last point and the first point has the index of the number of points.
+     * </p>
+     *
+     * @return the crossing indexes, not copied
+     */
+    public int[] getCrossings() {
+        return this.crossings;
+    }
+
+    /**
+     * Returns the latitudes of the intersections with the anti-meridian, valid up to
+     * {@link #getCrossingCount()}.
+     *
+     * @return the latitudes in decimal degree, not copied
+     */
+    public double[] getLatitudes() {
+        return this.latitudes;
+    }
+
+    /**
+     * Returns the number of fragments created by the last split.
+     *
+     * @return the number of fragments, 0 when the polygon is not split
+     */
+    public int getRingCount() {
+        return this.ringCount;
+    }
+
+    /**
+     * Returns the offsets, in points, of the fragments, valid up to
+     * {@link #getRingCount()} + 1.
+     *
+     * @return the ring offsets, not copied
+     */
+    public int[] getRingOffsets() {
+        return this.ringOffsets;
+    }
+
+    /**
+     * Returns the fragments as interleaved longitudes and latitudes.
+     *
+     * @return the fragment coordinates, not copied
+     */
+    public double[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the number of points of a fragment.
+     *
+     * @param ring fragment index
+     * @return the number of points
+     */
+    public int getRingSize(final int ring) {
+        return this.ringOffsets[ring + 1] - this.ringOffsets[ring];
+    }
+
+    /**
+     * Returns a copy of a fragment.
+     *
+     * @param ring fragment index
+     * @return the interleaved longitudes and latitudes of the fragment
+     */
+    public double[] copyRing(final int ring) {
+        return Arrays.copyOfRange(this.coordinates, 2 * this.ringOffsets[ring],
+                2 * this.ringOffsets[ring + 1]);
+    }
+
+}
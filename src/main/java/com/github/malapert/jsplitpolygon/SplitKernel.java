@@ -0,0 +1,923 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.metrics.Metrics;
+import com.github.malapert.jsplitpolygon.metrics.Phase;
+import com.github.malapert.jsplitpolygon.metrics.SplitMetricsListener;
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Split engine working on interleaved longitudes and latitudes.
+ *
+ * <p>
+ * The crossing indexes, the latitudes of the intersections with the anti-meridian and the
+ * fragments are written in a {@link SplitBuffers}. When the same buffers are reused, the split
+ * does not allocate once the buffers have reached the size of the largest polygon.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final SplitBuffers buffers = new SplitBuffers();
+ * final int nbRings = SplitKernel.split(coordinates, 0, coordinates.length / 2, buffers);
+ * for (int ring = 0; ring &lt; nbRings; ring++) {
+ *   final int start = buffers.getRingOffsets()[ring];
+ *   final int end = buffers.getRingOffsets()[ring + 1];
+ *   // points start to end - 1 of buffers.getCoordinates()
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitKernel {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(SplitKernel.class.getName());
+
+    /**
+     * Half longitude of the sphere.
+     */
+    private static final double HALF_LONGITUDE = 180;
+
+    /**
+     * Number of crossings up to which the crossings are sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * System property disabling the scan using the vector API when set to false.
+     */
+    public static final String VECTOR_PROPERTY = "jsplitpolygon.vector";
+
+    /**
+     * Scan using the vector API, only in the Java 17 part of the multi-release jar.
+     */
+    private static final String VECTOR_SCANNER = "com.github.malapert.jsplitpolygon.VectorScanner";
+
+    /**
+     * Scan of the polygons.
+     */
+    private static final PolygonScanner SCANNER = createScanner();
+
+    /**
+     * System property setting the number of points from which a polygon is processed in
+     * parallel, see {@link #setParallelThreshold(int)}.
+     */
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "jsplitpolygon.parallel.threshold";
+
+    /**
+     * Default number of points from which a polygon is processed in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 19;
+
+    /**
+     * Number of points from which a polygon is processed in parallel.
+     */
+    private static volatile int parallelThreshold = Math.max(2,
+            Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD));
+
+    /**
+     * Utility class.
+     */
+    private SplitKernel() {
+    }
+
+    /**
+     * Splits a polygon along the anti-meridian.
+     *
+     * <p>
+     * A clockwise polygon is handled in counter-clockwise order, as {@link Polygon} does. The
+     * source coordinates are never modified.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points of the polygon
+     * @param buffers reusable buffers receiving the result
+     * @return the number of fragments, 0 when the polygon does not cross the anti-meridian
+     */
+    public static int split(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        return split(coordinates, offset, nbPoints, buffers, true);
+    }
+
+    /**
+     * Splits a polygon along the anti-meridian without copying the points of the fragments.
+     *
+     * <p>
+     * Only the layout of the fragments is computed: their spans, ring offsets and bboxes. The
+     * spans refer to the points of the polygon when it is counter-clockwise, otherwise to its
+     * counter-clockwise copy in {@link SplitBuffers#source}; a fragment is read with a
+     * {@link RingView}.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points of the polygon
+     * @param buffers reusable buffers receiving the layout
+     * @return the number of fragments, 0 when the polygon does not cross the anti-meridian
+     */
+    static int layout(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        return split(coordinates, offset, nbPoints, buffers, false);
+    }
+
+    /**
+     * Splits a polygon already scanned along the anti-meridian without copying the points of
+     * the fragments.
+     *
+     * <p>
+     * The crossings and their latitudes come from a previous {@link #scan}, so the points of
+     * the polygon are not read again before the fragments are assembled; when there is no
+     * crossing, nothing is done.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes of a counter-clockwise polygon
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points of the polygon
+     * @param crossings crossing indexes of the polygon
+     * @param latitudes latitudes of the intersections with the anti-meridian
+     * @param buffers reusable buffers receiving the layout
+     * @return the number of fragments, 0 when the polygon does not cross the anti-meridian
+     */
+    static int layout(final double[] coordinates, final int offset, final int nbPoints,
+            final int[] crossings, final double[] latitudes, final SplitBuffers buffers) {
+        buffers.clear();
+        final SplitMetricsListener listener = Metrics.getListener();
+        int nbRings = 0;
+        if (crossings.length > 0) {
+            for (int i = 0; i < crossings.length; i++) {
+                buffers.addCrossing(crossings[i], latitudes[i]);
+            }
+            if (isSplittable(buffers)) {
+                final long time = listener != SplitMetricsListener.NONE ? System.nanoTime() : 0L;
+                nbRings = assemble(coordinates, offset, nbPoints, buffers, false, listener, time);
+            }
+        }
+        listener.splitCompleted(nbPoints, buffers.crossingCount, nbRings);
+        return nbRings;
+    }
+
+    /**
+     * Splits a polygon along the anti-meridian.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points of the polygon
+     * @param buffers reusable buffers receiving the result
+     * @param isCopied True to copy the points of the fragments in the buffers
+     * @return the number of fragments, 0 when the polygon does not cross the anti-meridian
+     */
+    private static int split(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers, final boolean isCopied) {
+        buffers.clear();
+        final SplitMetricsListener listener = Metrics.getListener();
+        final boolean isTimed = listener != SplitMetricsListener.NONE;
+        long time = isTimed ? System.nanoTime() : 0L;
+        int nbRings = 0;
+        if (nbPoints >= 2) {
+            scan(coordinates, offset, nbPoints, buffers);
+            if (isTimed) {
+                time = lap(listener, Phase.SCAN, time);
+            }
+            // quick reject: without crossing, the polygon is neither reversed nor read again
+            if (isSplittable(buffers)) {
+                double[] source = coordinates;
+                int sourceOffset = offset;
+                if (buffers.scanArea > 0.0) {
+                    buffers.ensureSourceCapacity(2 * nbPoints);
+                    copyReverse(coordinates, offset, nbPoints, buffers.source, 0);
+                    source = buffers.source;
+                    sourceOffset = 0;
+                    reverseCrossings(source, sourceOffset, nbPoints, buffers);
+                    if (isTimed) {
+                        time = lap(listener, Phase.CUT, time);
+                    }
+                }
+                nbRings = assemble(source, sourceOffset, nbPoints, buffers, isCopied, listener,
+                        time);
+            }
+        }
+        listener.splitCompleted(nbPoints, buffers.crossingCount, nbRings);
+        return nbRings;
+    }
+
+    /**
+     * Pairs the crossings and assembles the fragments.
+     *
+     * @param source interleaved longitudes and latitudes of the counter-clockwise polygon
+     * @param sourceOffset index, in values, of the first longitude
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the crossings and the latitudes, receiving the fragments
+     * @param isCopied True to copy the points of the fragments in the buffers
+     * @param listener metrics listener
+     * @param start start of the assembly in nanoseconds
+     * @return the number of fragments
+     */
+    private static int assemble(final double[] source, final int sourceOffset,
+            final int nbPoints, final SplitBuffers buffers, final boolean isCopied,
+            final SplitMetricsListener listener, final long start) {
+        final boolean isTimed = listener != SplitMetricsListener.NONE;
+        long time = start;
+        buffers.ensureCrossingCapacity(buffers.crossingCount);
+        pair(buffers);
+        if (isTimed) {
+            time = lap(listener, Phase.PAIR, time);
+        }
+        createPolygons(source, sourceOffset, nbPoints, buffers);
+        if (isCopied) {
+            copyRings(source, sourceOffset, nbPoints, buffers);
+        }
+        if (isTimed) {
+            lap(listener, Phase.ASSEMBLE, time);
+        }
+        return buffers.ringCount;
+    }
+
+    /**
+     * Notifies the duration of a phase.
+     *
+     * @param listener metrics listener
+     * @param phase completed phase
+     * @param start start of the phase in nanoseconds
+     * @return the end of the phase in nanoseconds
+     */
+    private static long lap(final SplitMetricsListener listener, final Phase phase,
+            final long start) {
+        final long end = System.nanoTime();
+        listener.phaseCompleted(phase, end - start);
+        return end;
+    }
+
+    /**
+     * Sets the number of points from which a polygon is processed in parallel.
+     *
+     * <p>
+     * Above this threshold, the scan of the polygon, its reversal and the assembly of the
+     * fragments are run on the common {@link java.util.concurrent.ForkJoinPool}, see
+     * {@link ParallelKernel}. The fragments are the same as the ones of the sequential split.
+     * </p>
+     *
+     * @param threshold number of points, {@link Integer#MAX_VALUE} to never run in parallel
+     * @throws IllegalArgumentException when threshold is lower than 2
+     */
+    public static void setParallelThreshold(final int threshold) {
+        if (threshold < 2) {
+            throw LOG.throwing(new IllegalArgumentException("threshold must be >= 2"));
+        }
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Returns the number of points from which a polygon is processed in parallel.
+     *
+     * @return the number of points
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Tests if a polygon is processed in parallel.
+     *
+     * @param nbPoints number of points of the polygon
+     * @return True when the polygon reaches the threshold
+     */
+    static boolean isParallel(final int nbPoints) {
+        return nbPoints >= parallelThreshold;
+    }
+
+    /**
+     * Test whether a polygon is clockwise.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @return True when the polygon is clockwise other False
+     */
+    static boolean isClockwised(final double[] coordinates, final int offset,
+            final int nbPoints) {
+        final int end = offset + 2 * nbPoints;
+        double sum = 0.0;
+        for (int i = offset; i < end; i += 2) {
+            final int next = i + 2 == end ? offset : i + 2;
+            sum += (coordinates[next] - coordinates[i])
+                    * (coordinates[next + 1] + coordinates[i + 1]);
+        }
+        return sum > 0.0;
+    }
+
+    /**
+     * Copies points in reverse order.
+     *
+     * @param src source interleaved coordinates
+     * @param srcOffset index, in values, of the first source longitude
+     * @param nbPoints number of points
+     * @param dest destination interleaved coordinates
+     * @param destOffset index, in values, of the first destination longitude
+     */
+    private static void copyReverse(final double[] src, final int srcOffset, final int nbPoints,
+            final double[] dest, final int destOffset) {
+        if (isParallel(nbPoints)) {
+            ParallelKernel.copyReverse(src, srcOffset, nbPoints, dest, destOffset);
+            return;
+        }
+        for (int i = 0; i < nbPoints; i++) {
+            final int from = srcOffset + 2 * (nbPoints - 1 - i);
+            dest[destOffset + 2 * i] = src[from];
+            dest[destOffset + 2 * i + 1] = src[from + 1];
+        }
+    }
+
+    /**
+     * Selects the scan of the polygons.
+     *
+     * <p>
+     * The scan using the vector API is selected when its class is found, that is when the
+     * multi-release jar runs on Java 17 or later, and when the jdk.incubator.vector module is
+     * resolved. Otherwise, the scalar scan is used.
+     * </p>
+     *
+     * @return the scan
+     */
+    private static PolygonScanner createScanner() {
+        PolygonScanner scanner = SplitKernel::scanScalar;
+        if (Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) {
+            try {
+                Class.forName("jdk.incubator.vector.DoubleVector");
+                scanner = (PolygonScanner) Class.forName(VECTOR_SCANNER)
+                        .getDeclaredConstructor().newInstance();
+                LOG.debug("scan using the vector API");
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                LOG.debug("scalar scan");
+            }
+        }
+        return scanner;
+    }
+
+    /**
+     * Tests if the scan using the vector API is used.
+     *
+     * @return True when the scan uses the vector API
+     */
+    static boolean isVectorized() {
+        return VECTOR_SCANNER.equals(SCANNER.getClass().getName());
+    }
+
+    /**
+     * Scans a polygon in one pass: orientation, bbox, crossings of the anti-meridian and
+     * latitudes of the intersections.
+     *
+     * <p>
+     * The orientation sum is the one of {@link #isClockwised(double[], int, int)}; it is
+     * stored in {@link SplitBuffers#scanArea} and the bbox in {@link SplitBuffers#scanBbox}. The
+     * crossings and their latitudes are computed in the order of the points, see
+     * {@link #reverseCrossings} when the polygon is then reversed.
+     * </p>
+     *
+     * <p>
+     * The scan uses the vector API when it is available, see {@link PolygonScanner}; the
+     * orientation sum is then added in another order, so only its sign is the one of the scalar
+     * scan. A polygon reaching the parallel threshold is scanned by chunks in parallel, see
+     * {@link ParallelKernel#scan}.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers receiving the scan
+     */
+    static void scan(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        if (nbPoints >= 2 && isParallel(nbPoints)) {
+            ParallelKernel.scan(coordinates, offset, nbPoints, buffers);
+        } else {
+            SCANNER.scan(coordinates, offset, nbPoints, buffers);
+        }
+    }
+
+    /**
+     * Scans a polygon in the calling thread, see {@link #scan}.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers receiving the scan
+     */
+    static void scanSequential(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        SCANNER.scan(coordinates, offset, nbPoints, buffers);
+    }
+
+    /**
+     * Scans a polygon with scalar operations, see {@link #scan}.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers receiving the scan
+     */
+    static void scanScalar(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        buffers.crossingCount = 0;
+        double minLongitude = 181;
+        double maxLongitude = -181;
+        double minLatitude = 91;
+        double maxLatitude = -91;
+        double sum = 0.0;
+        if (nbPoints > 0) {
+            final int end = offset + 2 * nbPoints;
+            double longitude1 = coordinates[offset];
+            double latitude1 = coordinates[offset + 1];
+            minLongitude = Math.min(minLongitude, longitude1);
+            maxLongitude = Math.max(maxLongitude, longitude1);
+            minLatitude = Math.min(minLatitude, latitude1);
+            maxLatitude = Math.max(maxLatitude, latitude1);
+            for (int i = offset + 2; i < end; i += 2) {
+                final double longitude2 = coordinates[i];
+                final double latitude2 = coordinates[i + 1];
+                sum += (longitude2 - longitude1) * (latitude2 + latitude1);
+                minLongitude = Math.min(minLongitude, longitude2);
+                maxLongitude = Math.max(maxLongitude, longitude2);
+                minLatitude = Math.min(minLatitude, latitude2);
+                maxLatitude = Math.max(maxLatitude, latitude2);
+                if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+                    buffers.addCrossing((i - offset) / 2, computeLatitudeAntiMeridian(
+                            longitude1, latitude1, longitude2, latitude2));
+                }
+                longitude1 = longitude2;
+                latitude1 = latitude2;
+            }
+            final double longitude2 = coordinates[offset];
+            final double latitude2 = coordinates[offset + 1];
+            sum += (longitude2 - longitude1) * (latitude2 + latitude1);
+            if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+                buffers.addCrossing(nbPoints, computeLatitudeAntiMeridian(
+                        longitude1, latitude1, longitude2, latitude2));
+            }
+        }
+        buffers.scanArea = sum;
+        buffers.scanBbox[0] = minLongitude;
+        buffers.scanBbox[1] = maxLongitude;
+        buffers.scanBbox[2] = minLatitude;
+        buffers.scanBbox[3] = maxLatitude;
+    }
+
+    /**
+     * Tests if the scanned polygon can be split: it must cross the anti-meridian an even
+     * number of times.
+     *
+     * @param buffers buffers with the crossings
+     * @return True when the polygon crosses the anti-meridian an even number of times
+     */
+    static boolean isSplittable(final SplitBuffers buffers) {
+        final boolean isOdd = (buffers.crossingCount & 1) == 1;
+        if (isOdd) {
+            LOG.warn("The meridian is crossed an odd number of times ({}) !!! "
+                    + "Does not cross the meridian. The source polygon is returned",
+                    buffers.crossingCount);
+        }
+        return buffers.crossingCount > 0 && !isOdd;
+    }
+
+    /**
+     * Maps the crossings found by {@link #scan} to the polygon in reverse order and computes
+     * their latitudes on it.
+     *
+     * <p>
+     * The edge ending at the point i, with 0 &lt; i &lt; n, ends at the point n - i once
+     * reversed; the closing edge stays the closing edge. The latitudes are computed again with
+     * the points in the new order, so they are the ones of a polygon given counter-clockwise.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes of the reversed polygon
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers with the crossings of the polygon before it is reversed
+     */
+    static void reverseCrossings(final double[] coordinates, final int offset,
+            final int nbPoints, final SplitBuffers buffers) {
+        final int[] crossings = buffers.crossings;
+        final int nbCrossings = buffers.crossingCount;
+        final int nbInside = nbCrossings > 0 && crossings[nbCrossings - 1] == nbPoints
+                ? nbCrossings - 1 : nbCrossings;
+        for (int i = 0, j = nbInside - 1; i <= j; i++, j--) {
+            final int crossing = crossings[i];
+            crossings[i] = nbPoints - crossings[j];
+            crossings[j] = nbPoints - crossing;
+        }
+        cut(coordinates, offset, nbPoints, buffers);
+    }
+
+    /**
+     * Computes the latitude of the intersection with the anti-meridian of each crossing.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers with the crossing indexes, receiving the latitudes
+     */
+    private static void cut(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        for (int j = 0; j < buffers.crossingCount; j++) {
+            final int index = buffers.crossings[j];
+            final int index1 = offset + 2 * (index - 1);
+            final int index2 = offset + 2 * (index % nbPoints);
+            buffers.latitudes[j] = computeLatitudeAntiMeridian(
+                    coordinates[index1], coordinates[index1 + 1],
+                    coordinates[index2], coordinates[index2 + 1]);
+        }
+    }
+
+    /**
+     * Computes the latitude where the line between two points crosses the anti-meridian.
+     *
+     * <p>
+     * The longitudes are shifted in [0, 360] and the latitude is given by y = ax + b at
+     * x = 180.
+     * </p>
+     *
+     * @param longitude1 longitude of the first point
+     * @param latitude1 latitude of the first point
+     * @param longitude2 longitude of the second point
+     * @param latitude2 latitude of the second point
+     * @return the latitude of the intersection
+     */
+    static double computeLatitudeAntiMeridian(final double longitude1, final double latitude1,
+            final double longitude2, final double latitude2) {
+        final double long1 = longitude1 > 0 ? longitude1 : longitude1 + 360;
+        final double long2 = longitude2 > 0 ? longitude2 : longitude2 + 360;
+        final double a = (latitude2 - latitude1) / (long2 - long1);
+        final double b = latitude1 - a * long1;
+        return a * HALF_LONGITUDE + b;
+    }
+
+    /**
+     * Returns the meridian either longitude = 180 or longitude = -180 on the side of a point.
+     *
+     * @param longitude longitude of the point
+     * @return the longitude of the meridian
+     */
+    static double getRightSide(final double longitude) {
+        return HALF_LONGITUDE * Math.signum(longitude);
+    }
+
+    /**
+     * Sorts the crossings by latitude along the anti-meridian and pairs them.
+     *
+     * <p>
+     * Walking along the anti-meridian, the inside and the outside of the polygon alternate at
+     * each crossing: the intervals inside the polygon are between the crossings of rank 2i and
+     * 2i + 1 in latitude order. Each crossing is paired with the other end of its interval,
+     * whatever the number of crossings and the nesting of the fragments.
+     * </p>
+     *
+     * @param buffers buffers with the latitudes, receiving the order and the partners
+     */
+    private static void pair(final SplitBuffers buffers) {
+        final int nbCrossings = buffers.crossingCount;
+        final int[] order = buffers.order;
+        final int[] partners = buffers.partners;
+        for (int i = 0; i < nbCrossings; i++) {
+            order[i] = i;
+        }
+        sortByLatitude(buffers.latitudes, order, buffers.sortScratch, nbCrossings);
+        for (int rank = 0; rank < nbCrossings; rank += 2) {
+            partners[order[rank]] = order[rank + 1];
+            partners[order[rank + 1]] = order[rank];
+        }
+    }
+
+    /**
+     * Sorts crossing numbers by increasing latitude. The sort is stable so that crossings at
+     * the same latitude keep the polygon order.
+     *
+     * @param latitudes latitudes of the crossings
+     * @param order crossing numbers to sort
+     * @param scratch scratch array of at least nbCrossings elements
+     * @param nbCrossings number of crossings
+     */
+    static void sortByLatitude(final double[] latitudes, final int[] order, final int[] scratch,
+            final int nbCrossings) {
+        if (nbCrossings <= INSERTION_SORT_THRESHOLD) {
+            for (int i = 1; i < nbCrossings; i++) {
+                final int crossing = order[i];
+                final double latitude = latitudes[crossing];
+                int j = i - 1;
+                while (j >= 0 && latitudes[order[j]] > latitude) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = crossing;
+            }
+            return;
+        }
+        int[] src = order;
+        int[] dest = scratch;
+        for (int width = 1; width < nbCrossings; width *= 2) {
+            for (int low = 0; low < nbCrossings; low += 2 * width) {
+                final int middle = Math.min(low + width, nbCrossings);
+                final int high = Math.min(low + 2 * width, nbCrossings);
+                int i = low;
+                int j = middle;
+                for (int k = low; k < high; k++) {
+                    if (i < middle && (j >= high || latitudes[src[i]] <= latitudes[src[j]])) {
+                        dest[k] = src[i++];
+                    } else {
+                        dest[k] = src[j++];
+                    }
+                }
+            }
+            final int[] swap = src;
+            src = dest;
+            dest = swap;
+        }
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, nbCrossings);
+        }
+    }
+
+    /**
+     * Creates the layout of the fragments from the chains of the polygon between two crossings.
+     *
+     * <p>
+     * The chain c goes from the crossing c to the crossing c + 1, the last chain wraps around
+     * the end of the polygon. The chains alternate from one side of the anti-meridian to the
+     * other one. On each side, the chains and the intervals of the anti-meridian inside the
+     * polygon join the crossings two by two, so they form closed rings: a fragment is built by
+     * following a chain, then the interval from its last crossing to the partner crossing, then
+     * the chain of the same side starting or ending there, until the first chain is reached
+     * again. Nested fragments are therefore joined in a single ring in O(n + k) once the
+     * crossings are paired.
+     * </p>
+     *
+     * <p>
+     * No point is copied: a fragment is described by spans over the points of the polygon and
+     * over the points on the anti-meridian, see {@link SplitBuffers#spans}. Its orientation and
+     * its bbox are computed on these spans.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @param buffers buffers with the crossings, the latitudes and the partners, receiving the
+     * layout of the fragments
+     */
+    private static void createPolygons(final double[] coordinates, final int offset,
+            final int nbPoints, final SplitBuffers buffers) {
+        final int nbCrossings = buffers.crossingCount;
+        final boolean[] assembled = buffers.assembled;
+        final double[] meridians = buffers.meridians;
+        for (int chain = 0; chain < nbCrossings; chain++) {
+            final int exit = (chain + 1) % nbCrossings;
+            final int start = buffers.crossings[chain];
+            final int end = buffers.crossings[exit] + (exit == 0 ? nbPoints : 0);
+            // each point on the anti-meridian is on the side of its neighbour in the chain
+            meridians[4 * chain] = getRightSide(coordinates[offset + 2 * (start % nbPoints)]);
+            meridians[4 * chain + 1] = buffers.latitudes[chain];
+            meridians[4 * chain + 2] = getRightSide(
+                    coordinates[offset + 2 * ((end - 1) % nbPoints)]);
+            meridians[4 * chain + 3] = buffers.latitudes[exit];
+            assembled[chain] = false;
+        }
+        for (int chain = 0; chain < nbCrossings; chain++) {
+            if (!assembled[chain]) {
+                addRing(coordinates, offset, nbPoints, buffers, chain);
+            }
+        }
+    }
+
+    /**
+     * Adds the layout of the fragment starting with a chain. The fragment is closed on its
+     * first point and set counter-clockwise; its bbox is computed.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers receiving the fragment
+     * @param first first chain of the fragment
+     */
+    private static void addRing(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers, final int first) {
+        final int nbCrossings = buffers.crossingCount;
+        final int[] partners = buffers.partners;
+        final int firstSpan = buffers.spanCount;
+        int chain = first;
+        boolean isForward = true;
+        do {
+            buffers.assembled[chain] = true;
+            addChain(nbPoints, buffers, chain, isForward);
+            final int partner = partners[isForward ? (chain + 1) % nbCrossings : chain];
+            // the chains of a side have the parity of the first chain
+            isForward = ((partner - first) & 1) == 0;
+            chain = isForward ? partner : (partner + nbCrossings - 1) % nbCrossings;
+        } while (chain != first);
+        buffers.addSpan(buffers.spans[3 * firstSpan], 1, 1);
+
+        final int ring = buffers.ringCount;
+        final int size = isParallel(nbPoints)
+                ? ParallelKernel.scanRing(coordinates, offset, nbPoints, buffers, firstSpan,
+                        buffers.bboxes, 4 * ring)
+                : scanRing(coordinates, offset, nbPoints, buffers, firstSpan, buffers.bboxes,
+                        4 * ring);
+        if (buffers.ringArea > 0.0) {
+            reverseSpans(buffers.spans, firstSpan, buffers.spanCount);
+        }
+        buffers.ringCount++;
+        buffers.ringOffsets[ring + 1] = buffers.ringOffsets[ring] + size;
+        buffers.spanOffsets[ring + 1] = buffers.spanCount;
+    }
+
+    /**
+     * Adds the spans of a chain between its two points on the anti-meridian.
+     *
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the crossings, receiving the spans
+     * @param chain chain number
+     * @param isForward True to add the chain in the polygon order, False in reverse order
+     */
+    private static void addChain(final int nbPoints, final SplitBuffers buffers, final int chain,
+            final boolean isForward) {
+        final int exit = (chain + 1) % buffers.crossingCount;
+        final int start = buffers.crossings[chain];
+        final int end = buffers.crossings[exit] + (exit == 0 ? nbPoints : 0);
+        final int length1 = Math.min(end, nbPoints) - start;
+        final int length2 = end - start - length1;
+        final int entryPoint = nbPoints + 2 * chain;
+        if (isForward) {
+            buffers.addSpan(entryPoint, 1, 1);
+            if (length1 > 0) {
+                buffers.addSpan(start, length1, 1);
+            }
+            if (length2 > 0) {
+                buffers.addSpan(0, length2, 1);
+            }
+            buffers.addSpan(entryPoint + 1, 1, 1);
+        } else {
+            buffers.addSpan(entryPoint + 1, 1, 1);
+            if (length2 > 0) {
+                buffers.addSpan(length2 - 1, length2, -1);
+            }
+            if (length1 > 0) {
+                buffers.addSpan(start + length1 - 1, length1, -1);
+            }
+            buffers.addSpan(entryPoint, 1, 1);
+        }
+    }
+
+    /**
+     * Computes the orientation and the bbox of a fragment from its spans.
+     *
+     * <p>
+     * The points are visited in the order of the spans, so the sum is the one of
+     * {@link #isClockwised(double[], int, int)} on the copied fragment. It is stored in
+     * {@link SplitBuffers#ringArea}: the fragment is clockwise when it is positive.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the spans of the fragment
+     * @param firstSpan first span of the fragment
+     * @param bbox array receiving the bbox as [minLong, maxLong, minLat, maxLat]
+     * @param bboxOffset index of minLong in bbox
+     * @return the number of points of the fragment
+     */
+    static int scanRing(final double[] coordinates, final int offset,
+            final int nbPoints, final SplitBuffers buffers, final int firstSpan,
+            final double[] bbox, final int bboxOffset) {
+        final int[] spans = buffers.spans;
+        double minLongitude = 181;
+        double maxLongitude = -181;
+        double minLatitude = 91;
+        double maxLatitude = -91;
+        double sum = 0.0;
+        double firstLongitude = 0.0;
+        double firstLatitude = 0.0;
+        double previousLongitude = 0.0;
+        double previousLatitude = 0.0;
+        int size = 0;
+        for (int span = firstSpan; span < buffers.spanCount; span++) {
+            final int start = spans[3 * span];
+            final int count = spans[3 * span + 1];
+            final int step = 2 * spans[3 * span + 2];
+            final double[] values = start < nbPoints ? coordinates : buffers.meridians;
+            int index = start < nbPoints ? offset + 2 * start : 2 * (start - nbPoints);
+            for (int i = 0; i < count; i++, index += step) {
+                final double longitude = values[index];
+                final double latitude = values[index + 1];
+                if (size == 0) {
+                    firstLongitude = longitude;
+                    firstLatitude = latitude;
+                } else {
+                    sum += (longitude - previousLongitude) * (latitude + previousLatitude);
+                }
+                previousLongitude = longitude;
+                previousLatitude = latitude;
+                size++;
+                minLongitude = Math.min(minLongitude, longitude);
+                maxLongitude = Math.max(maxLongitude, longitude);
+                minLatitude = Math.min(minLatitude, latitude);
+                maxLatitude = Math.max(maxLatitude, latitude);
+            }
+        }
+        sum += (firstLongitude - previousLongitude) * (firstLatitude + previousLatitude);
+        buffers.ringArea = sum;
+        bbox[bboxOffset] = minLongitude;
+        bbox[bboxOffset + 1] = maxLongitude;
+        bbox[bboxOffset + 2] = minLatitude;
+        bbox[bboxOffset + 3] = maxLatitude;
+        return size;
+    }
+
+    /**
+     * Reverses in place a range of spans: the spans are taken in reverse order and each span
+     * is read backwards.
+     *
+     * @param spans spans as (start, count, step)
+     * @param start first span (inclusive)
+     * @param end last span (exclusive)
+     */
+    static void reverseSpans(final int[] spans, final int start, final int end) {
+        for (int i = start, j = end - 1; i <= j; i++, j--) {
+            final int startI = spans[3 * i] + (spans[3 * i + 1] - 1) * spans[3 * i + 2];
+            final int countI = spans[3 * i + 1];
+            final int stepI = -spans[3 * i + 2];
+            spans[3 * i] = spans[3 * j] + (spans[3 * j + 1] - 1) * spans[3 * j + 2];
+            spans[3 * i + 1] = spans[3 * j + 1];
+            spans[3 * i + 2] = -spans[3 * j + 2];
+            spans[3 * j] = startI;
+            spans[3 * j + 1] = countI;
+            spans[3 * j + 2] = stepI;
+        }
+    }
+
+    /**
+     * Copies the points of the fragments in the buffer coordinates following their spans.
+     *
+     * @param coordinates interleaved longitudes and latitudes of the polygon
+     * @param offset index, in values, of the first longitude of the polygon
+     * @param nbPoints number of points of the polygon
+     * @param buffers buffers with the layout of the fragments, receiving their points
+     */
+    static void copyRings(final double[] coordinates, final int offset,
+            final int nbPoints, final SplitBuffers buffers) {
+        buffers.ensureCoordinateCapacity(2 * buffers.ringOffsets[buffers.ringCount]);
+        if (isParallel(nbPoints)) {
+            ParallelKernel.copyRings(coordinates, offset, nbPoints, buffers);
+            return;
+        }
+        SpanVisitor.walk(coordinates, offset, nbPoints, buffers.meridians, buffers.spans, 0,
+                buffers.spanCount, buffers.ringCopy.to(buffers.coordinates, 0));
+    }
+
+    /**
+     * Computes the bbox of a range of points.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param start index, in points, of the first point
+     * @param end index, in points, after the last point
+     * @param bbox array receiving the bbox as [minLong, maxLong, minLat, maxLat]
+     * @param bboxOffset index of minLong in bbox
+     */
+    static void computeBbox(final double[] coordinates, final int start, final int end,
+            final double[] bbox, final int bboxOffset) {
+        double minLongitude = 181;
+        double maxLongitude = -181;
+        double minLatitude = 91;
+        double maxLatitude = -91;
+        for (int i = 2 * start; i < 2 * end; i += 2) {
+            final double longitude = coordinates[i];
+            final double latitude = coordinates[i + 1];
+            minLongitude = Math.min(minLongitude, longitude);
+            maxLongitude = Math.max(maxLongitude, longitude);
+            minLatitude = Math.min(minLatitude, latitude);
+            maxLatitude = Math.max(maxLatitude, latitude);
+        }
+        bbox[bboxOffset] = minLongitude;
+        bbox[bboxOffset + 1] = maxLongitude;
+        bbox[bboxOffset + 2] = minLatitude;
+        bbox[bboxOffset + 3] = maxLatitude;
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of the split of one polygon of a batch.
+ *
+ * <p>
+ * An outcome either holds the resulting polygons (the fragments when the polygon crosses the
+ * anti-meridian, the source polygon otherwise) or the error raised by this polygon.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitOutcome {
+
+    /**
+     * Index of the polygon in the batch.
+     */
+    private final int index;
+
+    /**
+     * Resulting polygons, null on failure.
+     */
+    private final List<Polygon> polygons;
+
+    /**
+     * True when the polygon crosses the anti-meridian.
+     */
+    private final boolean isSplit;
+
+    /**
+     * Error raised by the polygon, null on success.
+     */
+    private final RuntimeException error;
+
+    /**
+     * Creates an outcome.
+     *
+     * @param index index of the polygon in the batch
+     * @param polygons resulting polygons
+     * @param isSplit true when the polygon crosses the anti-meridian
+     * @param error error, null on success
+     */
+    private SplitOutcome(final int index, final List<Polygon> polygons, final boolean isSplit,
+            final RuntimeException error) {
+        this.index = index;
+        this.polygons = polygons;
+        this.isSplit = isSplit;
+        this.error = error;
+    }
+
+    /**
+     * Creates a successful outcome.
+     *
+     * @param index index of the polygon in the batch
+     * @param polygons resulting polygons
+     * @param isSplit true when the polygon crosses the anti-meridian
+     * @return the outcome
+     */
+    static SplitOutcome success(final int index, final List<Polygon> polygons,
+            final boolean isSplit) {
+        return new SplitOutcome(index, Collections.unmodifiableList(polygons), isSplit, null);
+    }
+
+    /**
+     * Creates a failed outcome.
+     *
+     * @param index index of the polygon in the batch
+     * @param error error raised by the polygon
+     * @return the outcome
+     */
+    static SplitOutcome failure(final int index, final RuntimeException error) {
+        return new SplitOutcome(index, null, false, error);
+    }
+
+    /**
+     * Returns the index of the polygon in the batch.
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Tests if the polygon has been processed without error.
+     *
+     * @return True when the polygon has been processed otherwise False
+     */
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+    /**
+     * Tests if the polygon crosses the anti-meridian and is split.
+     *
+     * @return True when the polygon is split otherwise False
+     */
+    public boolean isSplit() {
+        return this.isSplit;
+    }
+
+    /**
+     * Returns the resulting polygons.
+     *
+     * @return the fragments or the source polygon, as an unmodifiable list
+     * @throws IllegalStateException when the polygon has failed
+     */
+    public List<Polygon> getPolygons() {
+        if (this.error != null) {
+            throw new IllegalStateException("polygon " + this.index + " has failed", this.error);
+        }
+        return this.polygons;
+    }
+
+    /**
+     * Returns the GeoJson of the result: a multi-polygon when the polygon is split otherwise
+     * the polygon.
+     *
+     * @return the GeoJson
+     * @throws IllegalStateException when the polygon has failed
+     */
+    public GeoJson getGeoJson() {
+        final List<Polygon> result = getPolygons();
+        return this.isSplit ? new MultiPolygons(result) : result.get(0);
+    }
+
+    /**
+     * Returns the WKB geometry of the result: a multi-polygon when the polygon is split
+     * otherwise the polygon.
+     *
+     * @return the WKB geometry
+     * @throws IllegalStateException when the polygon has failed
+     */
+    public Wkb getWkb() {
+        final List<Polygon> result = getPolygons();
+        return this.isSplit ? new MultiPolygons(result) : result.get(0);
+    }
+
+    /**
+     * Returns the error raised by the polygon.
+     *
+     * @return the error, null on success
+     */
+    public RuntimeException getError() {
+        return this.error;
+    }
+
+}
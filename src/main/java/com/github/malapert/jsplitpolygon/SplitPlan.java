@@ -0,0 +1,395 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Where to cut a polygon along the anti-meridian, expressed with the point indexes of the caller.
+ *
+ * <p>
+ * A plan is computed by the split engine from a packed array or a {@link CoordinateAccessor}
+ * and holds no point of the polygon, so the caller applies the cut in its own structures:
+ * </p>
+ * <ul>
+ * <li>the crossings: the index of the point just after the anti-meridian, n for the closing
+ * edge, and the latitude of the intersection, in the order of the points;</li>
+ * <li>the fragments: each one is a list of spans. A span is either a range of points of the
+ * polygon, read forwards (step 1) or backwards (step -1), or one point on the anti-meridian.
+ * The last span of a fragment closes it on its first point.</li>
+ * </ul>
+ * <p>
+ * The fragments are counter-clockwise, whatever the orientation of the polygon. A polygon that
+ * does not cross the anti-meridian, or crosses it an odd number of times, has no fragment.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final SplitPlan plan = SplitPlan.of(coordinates, 0, coordinates.length / 2);
+ * for (int fragment = 0; fragment &lt; plan.getFragmentCount(); fragment++) {
+ *   for (int span = plan.getFirstSpan(fragment); span &lt; plan.getFirstSpan(fragment + 1); span++) {
+ *     if (plan.isMeridianSpan(span)) {
+ *       add(plan.getMeridianLongitude(span), plan.getMeridianLatitude(span));
+ *     } else {
+ *       for (int i = 0, point = plan.getSpanStart(span); i &lt; plan.getSpanLength(span);
+ *           i++, point += plan.getSpanStep(span)) {
+ *         add(coordinates[2 * point], coordinates[2 * point + 1]);
+ *       }
+ *     }
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * A plan is immutable.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitPlan {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(SplitPlan.class.getName());
+
+    /**
+     * Buffers of the split engine of each thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = ThreadLocal.withInitial(
+            SplitBuffers::new);
+
+    /**
+     * Number of points of the polygon.
+     */
+    private final int nbPoints;
+
+    /**
+     * Crossing indexes in the order of the points.
+     */
+    private final int[] crossings;
+
+    /**
+     * Latitudes of the intersections with the anti-meridian.
+     */
+    private final double[] latitudes;
+
+    /**
+     * Spans as (start, count, step); a point on the anti-meridian m has the start nbPoints + m.
+     */
+    private final int[] spans;
+
+    /**
+     * Points on the anti-meridian as interleaved longitudes and latitudes.
+     */
+    private final double[] meridians;
+
+    /**
+     * Index of the first span of each fragment, followed by the number of spans.
+     */
+    private final int[] fragmentOffsets;
+
+    /**
+     * Creates a plan.
+     *
+     * @param nbPoints number of points of the polygon
+     * @param crossings crossing indexes, not copied
+     * @param latitudes latitudes of the intersections, not copied
+     * @param spans spans, not copied
+     * @param meridians points on the anti-meridian, not copied
+     * @param fragmentOffsets index of the first span of each fragment, not copied
+     */
+    private SplitPlan(final int nbPoints, final int[] crossings, final double[] latitudes,
+            final int[] spans, final double[] meridians, final int[] fragmentOffsets) {
+        this.nbPoints = nbPoints;
+        this.crossings = crossings;
+        this.latitudes = latitudes;
+        this.spans = spans;
+        this.meridians = meridians;
+        this.fragmentOffsets = fragmentOffsets;
+    }
+
+    /**
+     * Computes the plan of a polygon given as interleaved longitudes and latitudes. The
+     * coordinates are not modified.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @return the plan
+     * @throws IllegalArgumentException when the coordinates are null or the range is out of the
+     * array
+     */
+    public static SplitPlan of(final double[] coordinates, final int offset, final int nbPoints) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        if (offset < 0 || nbPoints < 0 || offset + 2L * nbPoints > coordinates.length) {
+            throw LOG.throwing(new IllegalArgumentException("offset " + offset + " and "
+                    + nbPoints + " points are out of the coordinates"));
+        }
+        return compute(coordinates, offset, nbPoints);
+    }
+
+    /**
+     * Computes the plan of a polygon read through an accessor. The points are read once, in a
+     * packed array.
+     *
+     * @param accessor accessor of the points
+     * @return the plan
+     * @throws IllegalArgumentException when the accessor is null
+     */
+    public static SplitPlan of(final CoordinateAccessor accessor) {
+        if (accessor == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        final int nbPoints = accessor.size();
+        final double[] coordinates = new double[2 * nbPoints];
+        for (int i = 0; i < nbPoints; i++) {
+            coordinates[2 * i] = accessor.getLongitude(i);
+            coordinates[2 * i + 1] = accessor.getLatitude(i);
+        }
+        return compute(coordinates, 0, nbPoints);
+    }
+
+    /**
+     * Computes the plan of a polygon.
+     *
+     * <p>
+     * The split engine works on a counter-clockwise polygon: a clockwise polygon is reversed in
+     * a copy and the crossings and the spans are mapped back to the points of the caller, the
+     * point i of the copy being the point n - 1 - i of the polygon.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @return the plan
+     */
+    private static SplitPlan compute(final double[] coordinates, final int offset,
+            final int nbPoints) {
+        final SplitBuffers buffers = BUFFERS.get();
+        SplitKernel.scan(coordinates, offset, nbPoints, buffers);
+        final int nbCrossings = buffers.crossingCount;
+        final int[] crossings = Arrays.copyOf(buffers.crossings, nbCrossings);
+        final boolean isReversed = buffers.scanArea > 0.0;
+        final double[] points;
+        final int pointsOffset;
+        if (isReversed) {
+            points = new double[2 * nbPoints];
+            for (int i = 0; i < nbPoints; i++) {
+                final int from = offset + 2 * (nbPoints - 1 - i);
+                points[2 * i] = coordinates[from];
+                points[2 * i + 1] = coordinates[from + 1];
+            }
+            pointsOffset = 0;
+            SplitKernel.reverseCrossings(points, 0, nbPoints, buffers);
+        } else {
+            points = coordinates;
+            pointsOffset = offset;
+        }
+        final int[] layoutCrossings = Arrays.copyOf(buffers.crossings, nbCrossings);
+        final double[] layoutLatitudes = Arrays.copyOf(buffers.latitudes, nbCrossings);
+        final int nbRings = SplitKernel.layout(points, pointsOffset, nbPoints, layoutCrossings,
+                layoutLatitudes, buffers);
+
+        // latitudes of the split engine, in the order of the points of the caller
+        final double[] latitudes = new double[nbCrossings];
+        final boolean isClosing = nbCrossings > 0 && crossings[nbCrossings - 1] == nbPoints;
+        for (int k = 0; k < nbCrossings; k++) {
+            final int index;
+            if (!isReversed || crossings[k] == nbPoints) {
+                index = isReversed ? nbCrossings - 1 : k;
+            } else {
+                index = nbCrossings - 1 - (isClosing ? 1 : 0) - k;
+            }
+            latitudes[k] = layoutLatitudes[index];
+        }
+
+        final int nbSpans = nbRings == 0 ? 0 : buffers.spanOffsets[nbRings];
+        final int[] spans = new int[3 * nbSpans];
+        final double[] meridians = new double[2 * nbSpans];
+        int nbMeridians = 0;
+        for (int span = 0; span < nbSpans; span++) {
+            final int start = buffers.spans[3 * span];
+            final int count = buffers.spans[3 * span + 1];
+            final int step = buffers.spans[3 * span + 2];
+            if (start >= nbPoints) {
+                meridians[2 * nbMeridians] = buffers.meridians[2 * (start - nbPoints)];
+                meridians[2 * nbMeridians + 1] = buffers.meridians[2 * (start - nbPoints) + 1];
+                spans[3 * span] = nbPoints + nbMeridians++;
+                spans[3 * span + 1] = count;
+                spans[3 * span + 2] = 1;
+            } else {
+                spans[3 * span] = isReversed ? nbPoints - 1 - start : start;
+                spans[3 * span + 1] = count;
+                spans[3 * span + 2] = isReversed ? -step : step;
+            }
+        }
+        final int[] fragmentOffsets = Arrays.copyOf(buffers.spanOffsets, nbRings + 1);
+        return new SplitPlan(nbPoints, crossings, latitudes, spans,
+                Arrays.copyOf(meridians, 2 * nbMeridians), fragmentOffsets);
+    }
+
+    /**
+     * Returns the number of points of the polygon.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return this.nbPoints;
+    }
+
+    /**
+     * Returns the number of crossings of the anti-meridian.
+     *
+     * @return the number of crossings
+     */
+    public int getCrossingCount() {
+        return this.crossings.length;
+    }
+
+    /**
+     * Returns the index of the point just after a crossing: the crossing edge goes from the
+     * point index - 1 to the point index, the closing edge has the index n.
+     *
+     * @param crossing crossing index, in the order of the points
+     * @return the index of the point after the anti-meridian
+     */
+    public int getCrossingIndex(final int crossing) {
+        return this.crossings[crossing];
+    }
+
+    /**
+     * Returns the latitude of the intersection of a crossing edge with the anti-meridian.
+     *
+     * @param crossing crossing index, in the order of the points
+     * @return the latitude in decimal degree
+     */
+    public double getCrossingLatitude(final int crossing) {
+        return this.latitudes[crossing];
+    }
+
+    /**
+     * Tests if the polygon is split.
+     *
+     * @return True when the polygon crosses the anti-meridian an even number of times
+     */
+    public boolean isSplit() {
+        return this.fragmentOffsets.length > 1;
+    }
+
+    /**
+     * Returns the number of fragments.
+     *
+     * @return the number of fragments, 0 when the polygon is not split
+     */
+    public int getFragmentCount() {
+        return this.fragmentOffsets.length - 1;
+    }
+
+    /**
+     * Returns the index of the first span of a fragment.
+     *
+     * @param fragment fragment index, from 0 to {@link #getFragmentCount()}: the last one gives
+     * the number of spans
+     * @return the index of the first span
+     */
+    public int getFirstSpan(final int fragment) {
+        return this.fragmentOffsets[fragment];
+    }
+
+    /**
+     * Returns the number of points of a fragment, its closing point included.
+     *
+     * @param fragment fragment index
+     * @return the number of points
+     */
+    public int getFragmentSize(final int fragment) {
+        int size = 0;
+        for (int span = this.fragmentOffsets[fragment]; span < this.fragmentOffsets[fragment + 1];
+                span++) {
+            size += this.spans[3 * span + 1];
+        }
+        return size;
+    }
+
+    /**
+     * Tests if a span is a point on the anti-meridian.
+     *
+     * @param span span index
+     * @return True when the span is a point on the anti-meridian
+     */
+    public boolean isMeridianSpan(final int span) {
+        return this.spans[3 * span] >= this.nbPoints;
+    }
+
+    /**
+     * Returns the index of the first point of a span of points of the polygon.
+     *
+     * @param span span index
+     * @return the point index
+     */
+    public int getSpanStart(final int span) {
+        return this.spans[3 * span];
+    }
+
+    /**
+     * Returns the number of points of a span.
+     *
+     * @param span span index
+     * @return the number of points, 1 for a point on the anti-meridian
+     */
+    public int getSpanLength(final int span) {
+        return this.spans[3 * span + 1];
+    }
+
+    /**
+     * Returns the direction of a span.
+     *
+     * @param span span index
+     * @return 1 when the points are read forwards, -1 when they are read backwards
+     */
+    public int getSpanStep(final int span) {
+        return this.spans[3 * span + 2];
+    }
+
+    /**
+     * Returns the longitude of a point on the anti-meridian.
+     *
+     * @param span index of a span on the anti-meridian
+     * @return -180 or 180, on the side of the points it joins
+     */
+    public double getMeridianLongitude(final int span) {
+        return this.meridians[2 * (this.spans[3 * span] - this.nbPoints)];
+    }
+
+    /**
+     * Returns the latitude of a point on the anti-meridian.
+     *
+     * @param span index of a span on the anti-meridian
+     * @return the latitude in decimal degree
+     */
+    public double getMeridianLatitude(final int span) {
+        return this.meridians[2 * (this.spans[3 * span] - this.nbPoints) + 1];
+    }
+
+}
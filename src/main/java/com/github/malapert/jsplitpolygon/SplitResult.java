@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of the split of a polygon by {@link AntimeridianSplitter}.
+ *
+ * <p>
+ * The fragments are {@link RingView} over a counter-clockwise copy of the source polygon owned by
+ * the result: the fragments of the split when the polygon crosses the anti-meridian, the source
+ * polygon otherwise. A result can be shared between threads without synchronization.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitResult implements GeoJson, Wkb {
+
+    /**
+     * Fragments.
+     */
+    private final List<RingView> fragments;
+
+    /**
+     * Bounding boxes of the fragments, 4 values per fragment.
+     */
+    private final double[] bboxes;
+
+    /**
+     * Number of crossings of the anti-meridian.
+     */
+    private final int crossingCount;
+
+    /**
+     * True when the polygon is split.
+     */
+    private final boolean wasSplit;
+
+    /**
+     * Creates a result.
+     *
+     * @param fragments fragments, not copied
+     * @param bboxes bounding boxes of the fragments as [minLong, maxLong, minLat, maxLat], not
+     * copied
+     * @param crossingCount number of crossings of the anti-meridian
+     * @param wasSplit true when the polygon is split
+     */
+    SplitResult(final RingView[] fragments, final double[] bboxes, final int crossingCount,
+            final boolean wasSplit) {
+        this.fragments = Collections.unmodifiableList(Arrays.asList(fragments));
+        this.bboxes = bboxes;
+        this.crossingCount = crossingCount;
+        this.wasSplit = wasSplit;
+    }
+
+    /**
+     * Returns the fragments.
+     *
+     * @return the fragments of the split or the source polygon, as an unmodifiable list
+     */
+    public List<RingView> getFragments() {
+        return this.fragments;
+    }
+
+    /**
+     * Returns the bounding box of a fragment.
+     *
+     * @param fragment fragment index
+     * @return a copy of the bounding box as [minLong, maxLong, minLat, maxLat]
+     * @throws IndexOutOfBoundsException when the fragment does not exist
+     */
+    public double[] getBbox(final int fragment) {
+        if (fragment < 0 || fragment >= this.fragments.size()) {
+            throw new IndexOutOfBoundsException("Index: " + fragment + ", Size: "
+                    + this.fragments.size());
+        }
+        return Arrays.copyOfRange(this.bboxes, 4 * fragment, 4 * fragment + 4);
+    }
+
+    /**
+     * Returns the number of crossings of the anti-meridian.
+     *
+     * @return the number of crossings
+     */
+    public int getCrossingCount() {
+        return this.crossingCount;
+    }
+
+    /**
+     * Tests if the polygon crosses the anti-meridian and is split.
+     *
+     * <p>
+     * A polygon crossing the anti-meridian an odd number of times is not split.
+     * </p>
+     *
+     * @return True when the polygon is split otherwise False
+     */
+    public boolean wasSplit() {
+        return this.wasSplit;
+    }
+
+    /**
+     * Returns the fragments as new polygons.
+     *
+     * <p>
+     * The polygons are created on each call and share the points of the result, which are
+     * never modified by a polygon.
+     * </p>
+     *
+     * @return the fragments of the split or the source polygon
+     */
+    public List<Polygon> toPolygons() {
+        final List<Polygon> polygons = new ArrayList<>(this.fragments.size());
+        for (int fragment = 0; fragment < this.fragments.size(); fragment++) {
+            polygons.add(new Polygon(this.fragments.get(fragment), getBbox(fragment)));
+        }
+        return polygons;
+    }
+
+    /**
+     * Returns the fragments as a multi-polygon. The GeoJSon and the WKB of the result are this
+     * multi-polygon when the polygon is split, otherwise the polygon.
+     *
+     * @return the multi-polygon
+     */
+    private MultiPolygons toMultiPolygons() {
+        return new MultiPolygons(toPolygons());
+    }
+
+    @Override
+    public String toGeoJson() {
+        return this.wasSplit ? toMultiPolygons().toGeoJson() : toPolygons().get(0).toGeoJson();
+    }
+
+    @Override
+    public String toGeoJson(final int indent) {
+        return this.wasSplit ? toMultiPolygons().toGeoJson(indent)
+                : toPolygons().get(0).toGeoJson(indent);
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        if (this.wasSplit) {
+            toMultiPolygons().writeTo(out);
+        } else {
+            toPolygons().get(0).writeTo(out);
+        }
+    }
+
+    @Override
+    public void writeWkb(final WkbWriter writer) {
+        if (this.wasSplit) {
+            toMultiPolygons().writeWkb(writer);
+        } else {
+            toPolygons().get(0).writeWkb(writer);
+        }
+    }
+
+}
@@ -0,0 +1,450 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the results of an {@link AntimeridianSplitter}, for polygons submitted again and
+ * again.
+ *
+ * <p>
+ * The polygons are identified by a 64-bit hash of their interleaved coordinates; the
+ * coordinates are kept in the cache and compared on each hit, so two polygons with the same
+ * hash are never mixed up. The cache is divided in stripes selected by the hash, each one with
+ * its own lock, its own LRU order and its share of the maximum number of cached vertices, so
+ * concurrent callers only wait for each other on the same stripe. The split and the
+ * serialization are done outside of the locks: two callers missing the same polygon at the same
+ * time both compute it.
+ * </p>
+ *
+ * <p>
+ * An entry holds the {@link SplitResult} and, once requested, its GeoJSon encoded in UTF-8.
+ * A polygon larger than the share of a stripe is split without being cached.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final SplitResultCache cache = new SplitResultCache(new AntimeridianSplitter(), 10_000_000);
+ * final ByteBuffer json = cache.splitToGeoJson(coordinates);
+ * channel.write(json);
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitResultCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(SplitResultCache.class.getName());
+
+    /**
+     * Default number of stripes.
+     */
+    public static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * Seed of the hash.
+     */
+    private static final long SEED = 0x27D4EB2F165667C5L;
+
+    /**
+     * First prime of the hash.
+     */
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+
+    /**
+     * Second prime of the hash.
+     */
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+
+    /**
+     * Shift of the hash bits selecting the stripe; the low bits are used by the maps.
+     */
+    private static final int STRIPE_SHIFT = 40;
+
+    /**
+     * Splitter computing the missing results.
+     */
+    private final AntimeridianSplitter splitter;
+
+    /**
+     * Stripes of the cache.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Number of hits.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of misses.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of evicted entries.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache with {@link #DEFAULT_STRIPES} stripes.
+     *
+     * @param splitter splitter computing the missing results
+     * @param maxVertices maximum number of vertices of the cached polygons
+     * @throws IllegalArgumentException when splitter is null or maxVertices is not strictly
+     * positive
+     */
+    public SplitResultCache(final AntimeridianSplitter splitter, final long maxVertices) {
+        this(splitter, maxVertices, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param splitter splitter computing the missing results
+     * @param maxVertices maximum number of vertices of the cached polygons, shared equally by
+     * the stripes
+     * @param nbStripes number of stripes, a power of two
+     * @throws IllegalArgumentException when splitter is null, maxVertices is not strictly
+     * positive or nbStripes is not a power of two
+     */
+    public SplitResultCache(final AntimeridianSplitter splitter, final long maxVertices,
+            final int nbStripes) {
+        if (splitter == null) {
+            throw LOG.throwing(new IllegalArgumentException("splitter cannot be null"));
+        }
+        if (maxVertices < 1) {
+            throw LOG.throwing(new IllegalArgumentException("maxVertices must be > 0"));
+        }
+        if (nbStripes < 1 || Integer.bitCount(nbStripes) != 1
+                || nbStripes > 1 << (Long.SIZE - STRIPE_SHIFT)) {
+            throw LOG.throwing(new IllegalArgumentException(
+                    "nbStripes must be a power of two <= " + (1 << (Long.SIZE - STRIPE_SHIFT))));
+        }
+        this.splitter = splitter;
+        this.stripes = new Stripe[nbStripes];
+        final long capacity = Math.max(1, maxVertices / nbStripes);
+        for (int i = 0; i < nbStripes; i++) {
+            this.stripes[i] = new Stripe(capacity);
+        }
+    }
+
+    /**
+     * Computes the 64-bit hash of interleaved coordinates.
+     *
+     * <p>
+     * Each value is mixed as the 8-byte steps of xxHash64 and the hash is finalized by the
+     * avalanche of MurmurHash3, so both the low bits, used by the maps, and the high bits,
+     * selecting the stripe, are well distributed. Two arrays equal for
+     * {@link Arrays#equals(double[], double[])} have the same hash.
+     * </p>
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @return the hash
+     */
+    static long hash(final double[] coordinates) {
+        long hash = SEED + coordinates.length;
+        for (final double value : coordinates) {
+            hash ^= Long.rotateLeft(Double.doubleToLongBits(value) * PRIME2, 31) * PRIME1;
+            hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME2;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Splits a polygon or returns the cached result.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not modified
+     * @return the result
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public SplitResult split(final double[] coordinates) {
+        return getEntry(coordinates).result;
+    }
+
+    /**
+     * Splits a polygon and serializes the result to GeoJSon, or returns the cached GeoJSon.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not modified
+     * @return a read-only buffer of the GeoJSon encoded in UTF-8, see
+     * {@link SplitResult#toGeoJson()}
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public ByteBuffer splitToGeoJson(final double[] coordinates) {
+        final Entry entry = getEntry(coordinates);
+        byte[] geoJson = entry.geoJson;
+        if (geoJson == null) {
+            geoJson = entry.result.toGeoJson().getBytes(StandardCharsets.UTF_8);
+            entry.geoJson = geoJson;
+        }
+        return ByteBuffer.wrap(geoJson).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the cached entry of a polygon, creating it on a miss.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @return the entry
+     */
+    private Entry getEntry(final double[] coordinates) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        final long hash = hash(coordinates);
+        final Stripe stripe = this.stripes[(int) (hash >>> STRIPE_SHIFT)
+                & (this.stripes.length - 1)];
+        final Entry cached = stripe.get(new Key(hash, coordinates));
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        this.misses.increment();
+        final Entry entry = new Entry(this.splitter.split(coordinates));
+        final int nbVertices = coordinates.length / 2;
+        if (nbVertices <= stripe.capacity) {
+            return stripe.putIfAbsent(new Key(hash, Arrays.copyOf(coordinates,
+                    coordinates.length)), entry, nbVertices);
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the number of hits.
+     *
+     * @return the number of calls finding the polygon in the cache
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of misses.
+     *
+     * @return the number of calls splitting the polygon
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of evicted entries.
+     *
+     * @return the number of entries removed to respect the maximum number of vertices
+     */
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the number of cached polygons.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of vertices of the cached polygons.
+     *
+     * @return the number of vertices
+     */
+    public long getVertexCount() {
+        long nbVertices = 0;
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                nbVertices += stripe.nbVertices;
+            }
+        }
+        return nbVertices;
+    }
+
+    /**
+     * Removes all the entries. The counters are kept.
+     */
+    public void clear() {
+        for (final Stripe stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.entries.clear();
+                stripe.nbVertices = 0;
+            }
+        }
+    }
+
+    /**
+     * Key of the cache: the coordinates of a polygon and their hash.
+     */
+    private static final class Key {
+
+        /**
+         * Hash of the coordinates.
+         */
+        private final long hash;
+
+        /**
+         * Interleaved longitudes and latitudes.
+         */
+        private final double[] coordinates;
+
+        /**
+         * Creates a key.
+         *
+         * @param hash hash of the coordinates
+         * @param coordinates interleaved longitudes and latitudes, not copied
+         */
+        Key(final long hash, final double[] coordinates) {
+            this.hash = hash;
+            this.coordinates = coordinates;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return this.hash == other.hash && Arrays.equals(this.coordinates, other.coordinates);
+        }
+    }
+
+    /**
+     * Entry of the cache.
+     */
+    private static final class Entry {
+
+        /**
+         * Result of the split.
+         */
+        private final SplitResult result;
+
+        /**
+         * GeoJSon of the result in UTF-8, null until requested. Two threads may both encode it,
+         * with the same bytes.
+         */
+        private volatile byte[] geoJson;
+
+        /**
+         * Creates an entry.
+         *
+         * @param result result of the split
+         */
+        Entry(final SplitResult result) {
+            this.result = result;
+        }
+    }
+
+    /**
+     * Stripe of the cache: entries in LRU order, guarded by the stripe.
+     */
+    private final class Stripe {
+
+        /**
+         * Maximum number of vertices of the stripe.
+         */
+        private final long capacity;
+
+        /**
+         * Entries from the least to the most recently used.
+         */
+        private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Number of vertices of the entries.
+         */
+        private long nbVertices;
+
+        /**
+         * Creates a stripe.
+         *
+         * @param capacity maximum number of vertices of the stripe
+         */
+        Stripe(final long capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Returns an entry and marks it as the most recently used.
+         *
+         * @param key key
+         * @return the entry or null
+         */
+        synchronized Entry get(final Key key) {
+            return this.entries.get(key);
+        }
+
+        /**
+         * Adds an entry unless another thread has added it, then evicts the least recently used
+         * entries until the stripe fits its capacity.
+         *
+         * @param key key owning a copy of the coordinates
+         * @param entry entry
+         * @param nbVertices number of vertices of the polygon
+         * @return the entry in the cache
+         */
+        synchronized Entry putIfAbsent(final Key key, final Entry entry, final int nbVertices) {
+            final Entry existing = this.entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            this.entries.put(key, entry);
+            this.nbVertices += nbVertices;
+            final Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+            while (this.nbVertices > this.capacity) {
+                final Key eldest = iterator.next().getKey();
+                iterator.remove();
+                this.nbVertices -= eldest.coordinates.length / 2;
+                evictions.increment();
+            }
+            return entry;
+        }
+    }
+
+}
@@ -0,0 +1,326 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Polygon split along the anti-meridian while it is serialized.
+ *
+ * <p>
+ * Each serialization computes the layout of the fragments, spans over the points of the polygon
+ * and the points on the anti-meridian, then writes the MultiPolygon straight to the output,
+ * inserting the points on the anti-meridian on the fly: no fragment is created and the points
+ * are not copied, except the counter-clockwise copy of a clockwise polygon made by the split
+ * engine. A polygon which is not split is written as a Polygon. The output is the one of
+ * {@link Polygon#split()} followed by {@link MultiPolygons} or {@link Polygon}.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * new SplitSerializer(coordinates).writeTo(out);
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * The points of the polygon are not copied and must not be modified while the serializer is
+ * used. The buffers of the split engine are per thread, so a serializer can be used
+ * concurrently.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitSerializer implements GeoJson, Wkb {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(SplitSerializer.class.getName());
+
+    /**
+     * Buffers of the split engine of each thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = ThreadLocal.withInitial(
+            SplitBuffers::new);
+
+    /**
+     * Interleaved longitudes and latitudes of the polygon.
+     */
+    private final double[] coordinates;
+
+    /**
+     * Index, in values, of the first longitude.
+     */
+    private final int offset;
+
+    /**
+     * Number of points.
+     */
+    private final int nbPoints;
+
+    /**
+     * Creates a serializer of a polygon.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not copied
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    public SplitSerializer(final double[] coordinates) {
+        this(coordinates, 0, sizeOf(coordinates));
+    }
+
+    /**
+     * Creates a serializer of a polygon stored in packed coordinates.
+     *
+     * @param coordinates interleaved longitudes and latitudes, not copied
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IllegalArgumentException when the range is out of the coordinates
+     */
+    public SplitSerializer(final double[] coordinates, final int offset, final int nbPoints) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        if (offset < 0 || nbPoints < 0 || offset + 2L * nbPoints > coordinates.length) {
+            throw LOG.throwing(new IllegalArgumentException("offset " + offset + " and "
+                    + nbPoints + " points are out of the coordinates"));
+        }
+        this.coordinates = coordinates;
+        this.offset = offset;
+        this.nbPoints = nbPoints;
+    }
+
+    /**
+     * Returns the number of points of a polygon.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @return the number of points
+     * @throws IllegalArgumentException when the coordinates are null or not pairs of longitude,
+     * latitude
+     */
+    private static int sizeOf(final double[] coordinates) {
+        if (coordinates == null) {
+            throw LOG.throwing(new IllegalArgumentException("polygon cannot be null"));
+        }
+        if (coordinates.length % 2 != 0) {
+            throw LOG.throwing(new IllegalArgumentException(
+                    "coordinates must contain pairs of longitude, latitude"));
+        }
+        return coordinates.length / 2;
+    }
+
+    /**
+     * Computes the layout of the fragments in the buffers of the thread.
+     *
+     * @param buffers buffers receiving the layout
+     * @return the number of fragments, 0 when the polygon is not split
+     */
+    private int layout(final SplitBuffers buffers) {
+        final int nbRings = SplitKernel.layout(this.coordinates, this.offset, this.nbPoints,
+                buffers);
+        if (nbRings > 0) {
+            LOG.debug("polygon crosses the antimeridian {} times", buffers.getCrossingCount());
+        }
+        return nbRings;
+    }
+
+    /**
+     * Tests if the polygon is clockwise, so that it is written in reverse order.
+     *
+     * @param buffers buffers of the last layout
+     * @return True when the polygon is clockwise
+     */
+    private boolean isReversed(final SplitBuffers buffers) {
+        return this.nbPoints >= 2 && buffers.scanArea > 0.0;
+    }
+
+    /**
+     * Gives the points of the polygon which is not split to a visitor, in reverse order when
+     * it is clockwise.
+     *
+     * @param <E> exception thrown by the visitor
+     * @param isReversed True to read the polygon backwards
+     * @param visitor receiver of the points
+     * @throws E when the visitor fails
+     */
+    private <E extends Exception> void walkPolygon(final boolean isReversed,
+            final SpanVisitor<E> visitor) throws E {
+        final int[] span = isReversed ? new int[]{this.nbPoints - 1, this.nbPoints, -1}
+                : new int[]{0, this.nbPoints, 1};
+        SpanVisitor.walk(this.coordinates, this.offset, this.nbPoints, null, span, 0, 1,
+                visitor);
+    }
+
+    /**
+     * Gives the points of a fragment to a visitor.
+     *
+     * @param <E> exception thrown by the visitor
+     * @param buffers buffers of the last layout
+     * @param fragment fragment index
+     * @param isClosed True to give the first point again at the end
+     * @param visitor receiver of the points
+     * @throws E when the visitor fails
+     */
+    private <E extends Exception> void walkFragment(final SplitBuffers buffers,
+            final int fragment, final boolean isClosed, final SpanVisitor<E> visitor)
+            throws E {
+        final double[] source = isReversed(buffers) ? buffers.source : this.coordinates;
+        final int sourceOffset = isReversed(buffers) ? 0 : this.offset;
+        final int firstSpan = buffers.spanOffsets[fragment];
+        SpanVisitor.walk(source, sourceOffset, this.nbPoints, buffers.meridians, buffers.spans,
+                firstSpan, buffers.spanOffsets[fragment + 1], visitor);
+        if (isClosed) {
+            final int[] first = {buffers.spans[3 * firstSpan], 1, 1};
+            SpanVisitor.walk(source, sourceOffset, this.nbPoints, buffers.meridians, first, 0,
+                    1, visitor);
+        }
+    }
+
+    @Override
+    public String toGeoJson() {
+        final StringBuilder json = new StringBuilder(64 + 24 * this.nbPoints);
+        try {
+            writeTo(json);
+        } catch (IOException | JSONException ex) {
+            LOG.error(ex);
+            throw LOG.throwing(new RuntimeException(ex));
+        }
+        return json.toString();
+    }
+
+    @Override
+    public String toGeoJson(final int indent) {
+        final SplitBuffers buffers = BUFFERS.get();
+        final int nbRings = layout(buffers);
+        try {
+            final JSONObject json = new JSONObject();
+            final JSONArray coords = new JSONArray();
+            if (nbRings == 0) {
+                final JSONArray ring = new JSONArray();
+                walkPolygon(isReversed(buffers), (longitude, latitude) -> ring.put(
+                        point(longitude, latitude)));
+                coords.put(ring);
+                json.put("type", "Polygon");
+            } else {
+                for (int fragment = 0; fragment < nbRings; fragment++) {
+                    final JSONArray ring = new JSONArray();
+                    walkFragment(buffers, fragment, true, (longitude, latitude) -> ring.put(
+                            point(longitude, latitude)));
+                    final JSONArray polygon = new JSONArray();
+                    polygon.put(ring);
+                    coords.put(polygon);
+                }
+                json.put("type", "MultiPolygon");
+            }
+            json.put("coordinates", coords);
+            return json.toString(indent);
+        } catch (JSONException ex) {
+            LOG.error(ex);
+            throw LOG.throwing(new RuntimeException(ex));
+        }
+    }
+
+    /**
+     * Creates a GeoJSon position.
+     *
+     * @param longitude longitude
+     * @param latitude latitude
+     * @return the position
+     * @throws JSONException when a value is not finite
+     */
+    private static JSONArray point(final double longitude, final double latitude) {
+        final JSONArray point = new JSONArray();
+        point.put(longitude);
+        point.put(latitude);
+        return point;
+    }
+
+    @Override
+    public void writeTo(final Appendable out) throws IOException {
+        final SplitBuffers buffers = BUFFERS.get();
+        final int nbRings = layout(buffers);
+        final GeoJsonWriter writer = new GeoJsonWriter(out);
+        writer.beginGeometry();
+        if (nbRings == 0) {
+            writer.beginArray();
+            walkPolygon(isReversed(buffers), SpanVisitor.of(writer));
+            writer.endArray();
+            writer.endGeometry("Polygon");
+            return;
+        }
+        for (int fragment = 0; fragment < nbRings; fragment++) {
+            writer.beginArray();
+            writer.beginArray();
+            // the ring is closed again on its first point, as MultiPolygons does
+            walkFragment(buffers, fragment, true, SpanVisitor.of(writer));
+            writer.endArray();
+            writer.endArray();
+        }
+        writer.endGeometry("MultiPolygon");
+    }
+
+    @Override
+    public void writeWkb(final WkbWriter writer) {
+        final SplitBuffers buffers = BUFFERS.get();
+        final int nbRings = layout(buffers);
+        if (nbRings == 0) {
+            if (isReversed(buffers)) {
+                writeReversed(writer);
+            } else {
+                writer.writePolygon(this.coordinates, this.offset, this.nbPoints);
+            }
+            return;
+        }
+        writer.beginMultiPolygon(nbRings);
+        for (int fragment = 0; fragment < nbRings; fragment++) {
+            final int size = buffers.ringOffsets[fragment + 1] - buffers.ringOffsets[fragment];
+            writer.beginPolygon(size);
+            walkFragment(buffers, fragment, false, SpanVisitor.of(writer));
+            writer.endPolygon();
+        }
+    }
+
+    /**
+     * Writes the clockwise polygon which is not split as a WKB polygon in reverse order, closed
+     * on its first point when it is not closed.
+     *
+     * @param writer WKB writer
+     */
+    private void writeReversed(final WkbWriter writer) {
+        final int first = this.offset;
+        final int last = this.offset + 2 * this.nbPoints - 2;
+        final boolean isClosed = this.coordinates[first] == this.coordinates[last]
+                && this.coordinates[first + 1] == this.coordinates[last + 1];
+        writer.beginPolygon(isClosed ? this.nbPoints : this.nbPoints + 1);
+        walkPolygon(true, SpanVisitor.of(writer));
+        if (!isClosed) {
+            writer.point(this.coordinates[last], this.coordinates[last + 1]);
+        }
+        writer.endPolygon();
+    }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Collects a polygon received point by point and splits it along the anti-meridian when it is
+ * closed.
+ *
+ * <p>
+ * This is not a streaming splitter: the points are kept until the sink is closed, then the
+ * polygon is split by {@link SplitKernel} and its fragments are sent to the listener. No fragment
+ * can be sent before, since the rest of the polygon can still cross the anti-meridian inside any
+ * interval of a fragment, and cut it again, without making the polygon not simple. The sink
+ * avoids the list of points of the caller, for instance when the points come from telemetry.
+ * </p>
+ *
+ * <p>
+ * The fragments are those of {@link Polygon#split()}: they are counter-clockwise whatever the
+ * orientation of the polygon. A polygon which does not cross the anti-meridian, or crosses it an
+ * odd number of times, is sent as its single fragment. A sink is not thread-safe.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (SplitSink sink = new SplitSink(fragment -&gt; writer.write(fragment))) {
+ *   while (telemetry.hasNext()) {
+ *     sink.push(telemetry.longitude(), telemetry.latitude());
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class SplitSink implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(SplitSink.class.getName());
+
+    /**
+     * Half longitude of the sphere.
+     */
+    private static final double HALF_LONGITUDE = 180;
+
+    /**
+     * Buffers of the split engine of each thread.
+     */
+    private static final ThreadLocal<SplitBuffers> BUFFERS = ThreadLocal.withInitial(
+            SplitBuffers::new);
+
+    /**
+     * Listener receiving the fragments.
+     */
+    private final FragmentListener listener;
+
+    /**
+     * Interleaved longitudes and latitudes of the received points, null once the sink is closed.
+     */
+    private double[] points = new double[64];
+
+    /**
+     * Number of points.
+     */
+    private int nbPoints;
+
+    /**
+     * Number of crossings.
+     */
+    private int nbCrossings;
+
+    /**
+     * Number of sent fragments.
+     */
+    private int nbFragments;
+
+    /**
+     * Creates a sink.
+     *
+     * @param listener listener receiving the fragments
+     * @throws IllegalArgumentException when listener is null
+     */
+    public SplitSink(final FragmentListener listener) {
+        if (listener == null) {
+            throw LOG.throwing(new IllegalArgumentException("listener cannot be null"));
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * Adds the next point of the polygon.
+     *
+     * @param longitude longitude
+     * @param latitude latitude
+     * @throws IllegalStateException when the sink is closed
+     */
+    public void push(final double longitude, final double latitude) {
+        if (this.points == null) {
+            throw LOG.throwing(new IllegalStateException("sink is closed"));
+        }
+        if (this.nbPoints > 0 && isCrossing(this.points[2 * this.nbPoints - 2], longitude)) {
+            this.nbCrossings++;
+        }
+        if (2 * this.nbPoints + 2 > this.points.length) {
+            this.points = Arrays.copyOf(this.points, 2 * this.points.length);
+        }
+        this.points[2 * this.nbPoints] = longitude;
+        this.points[2 * this.nbPoints + 1] = latitude;
+        this.nbPoints++;
+    }
+
+    /**
+     * Ends the polygon: the polygon is split and its fragments are sent. A last point repeating
+     * the first one is ignored.
+     */
+    @Override
+    public void close() {
+        if (this.points == null) {
+            return;
+        }
+        final double[] polygon = this.points;
+        this.points = null;
+        final int last = 2 * this.nbPoints - 2;
+        if (this.nbPoints > 3 && polygon[last] == polygon[0] && polygon[last + 1] == polygon[1]) {
+            // the edge to the repeated point is the closing edge
+            this.nbPoints--;
+        } else if (this.nbPoints >= 3 && isCrossing(polygon[last], polygon[0])) {
+            this.nbCrossings++;
+        }
+        if (this.nbPoints < 3) {
+            LOG.debug("polygon of {} points is ignored", this.nbPoints);
+            return;
+        }
+        final SplitBuffers buffers = BUFFERS.get();
+        final int nbRings = SplitKernel.split(polygon, 0, this.nbPoints, buffers);
+        if (nbRings == 0) {
+            // the polygon itself, counter-clockwise as the fragments
+            final double[] ring = Arrays.copyOf(polygon, 2 * this.nbPoints + 2);
+            ring[2 * this.nbPoints] = ring[0];
+            ring[2 * this.nbPoints + 1] = ring[1];
+            send(buffers.scanArea > 0.0 ? reverse(ring) : ring);
+        }
+        for (int ring = 0; ring < nbRings; ring++) {
+            send(buffers.copyRing(ring));
+        }
+    }
+
+    /**
+     * Tells whether an edge crosses the anti-meridian.
+     *
+     * @param longitude1 longitude of the first point
+     * @param longitude2 longitude of the second point
+     * @return True when the edge crosses the anti-meridian
+     */
+    private static boolean isCrossing(final double longitude1, final double longitude2) {
+        return Math.abs(longitude2 - longitude1) > HALF_LONGITUDE;
+    }
+
+    /**
+     * Sends a fragment to the listener.
+     *
+     * @param ring interleaved longitudes and latitudes of the closed fragment
+     */
+    private void send(final double[] ring) {
+        this.nbFragments++;
+        LOG.debug("fragment {} of {} points", this.nbFragments, ring.length / 2);
+        this.listener.fragmentCompleted(ring);
+    }
+
+    /**
+     * Reverses in place the order of the points.
+     *
+     * @param ring interleaved longitudes and latitudes
+     * @return the ring
+     */
+    private static double[] reverse(final double[] ring) {
+        for (int i = 0, j = ring.length - 2; i < j; i += 2, j -= 2) {
+            final double longitude = ring[i];
+            final double latitude = ring[i + 1];
+            ring[i] = ring[j];
+            ring[i + 1] = ring[j + 1];
+            ring[j] = longitude;
+            ring[j + 1] = latitude;
+        }
+        return ring;
+    }
+
+    /**
+     * Returns the number of points received.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return this.nbPoints;
+    }
+
+    /**
+     * Returns the number of crossings of the anti-meridian received.
+     *
+     * @return the number of crossings
+     */
+    public int getCrossingCount() {
+        return this.nbCrossings;
+    }
+
+    /**
+     * Returns the number of fragments sent to the listener.
+     *
+     * @return the number of fragments
+     */
+    public int getFragmentCount() {
+        return this.nbFragments;
+    }
+
+}
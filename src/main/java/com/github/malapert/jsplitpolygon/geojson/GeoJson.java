@@ -17,6 +17,15 @@
  */
 package com.github.malapert.jsplitpolygon.geojson;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Interface that handles GeoJson output.
  *
@@ -38,4 +47,46 @@ public interface GeoJson {
      */
     public String toGeoJson(int indent);
 
+    /**
+     * Streams the GeoJSon to a sink.
+     *
+     * <p>
+     * The written text is the one returned by {@link #toGeoJson()}, which is appended by
+     * default; the geometries of this library override it to write without building the string.
+     * </p>
+     *
+     * @param out sink
+     * @throws IOException when the sink fails
+     */
+    public default void writeTo(final Appendable out) throws IOException {
+        out.append(toGeoJson());
+    }
+
+    /**
+     * Streams the GeoJSon to an output stream encoded in UTF-8. The stream is flushed but not
+     * closed.
+     *
+     * @param out output stream, such as System.out
+     * @throws IOException when the stream fails
+     */
+    public default void writeUtf8(final OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeTo(writer);
+        writer.flush();
+    }
+
+    /**
+     * Streams the GeoJSon to a channel encoded in UTF-8. The channel is not closed.
+     *
+     * @param channel channel
+     * @throws IOException when the channel fails
+     */
+    public default void writeTo(final WritableByteChannel channel) throws IOException {
+        final Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(),
+                -1);
+        writeTo(writer);
+        writer.flush();
+    }
+
 }
@@ -0,0 +1,894 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.geojson;
+
+import com.github.malapert.jsplitpolygon.Polygon;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Streaming GeoJSon reader of polygons.
+ *
+ * <p>
+ * The reader pulls the features of a FeatureCollection one at a time; a single Feature or a bare
+ * geometry is read as a collection of one element. Only the Polygon and MultiPolygon geometries
+ * are returned, the other features are skipped. The coordinates of the current feature are
+ * parsed straight into packed buffers (interleaved longitudes and latitudes) delimited by ring
+ * and polygon offsets. The buffers are reused from one feature to the next one, so the memory
+ * is bounded by the largest feature and not by the size of the document. The members other than
+ * the geometry (properties, bbox, ...) are skipped without being materialised.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (GeoJsonReader reader = new GeoJsonReader(in)) {
+ *   while (reader.next()) {
+ *     for (int polygon = 0; polygon &lt; reader.getPolygonCount(); polygon++) {
+ *       final Polygon exterior = reader.createPolygon(polygon);
+ *     }
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GeoJsonReader implements Closeable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(GeoJsonReader.class.getName());
+
+    /**
+     * GeoJSon type of a polygon.
+     */
+    public static final String POLYGON = "Polygon";
+
+    /**
+     * GeoJSon type of a multi-polygon.
+     */
+    public static final String MULTI_POLYGON = "MultiPolygon";
+
+    /**
+     * Size of the character buffer.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * End of the stream.
+     */
+    private static final int EOF = -1;
+
+    /**
+     * Maximum number of significant digits parsed exactly without {@link Double#parseDouble}.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /**
+     * Exact powers of ten.
+     */
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Source.
+     */
+    private final Reader in;
+
+    /**
+     * Character buffer.
+     */
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    /**
+     * Position in the character buffer.
+     */
+    private int position;
+
+    /**
+     * Number of characters in the buffer.
+     */
+    private int limit;
+
+    /**
+     * Reusable text of the strings and numbers.
+     */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * True once the document has been opened.
+     */
+    private boolean isStarted;
+
+    /**
+     * True while the reader is inside the features array.
+     */
+    private boolean isInFeatures;
+
+    /**
+     * True when the document is a single feature or geometry already returned.
+     */
+    private boolean isFinished;
+
+    /**
+     * Index of the current feature in the document.
+     */
+    private int featureIndex = -1;
+
+    /**
+     * Type of the current geometry.
+     */
+    private String geometryType;
+
+    /**
+     * Interleaved longitudes and latitudes of the current feature.
+     */
+    private double[] coordinates = new double[256];
+
+    /**
+     * Number of points of the current feature.
+     */
+    private int pointCount;
+
+    /**
+     * Offsets, in points, of the rings. The ring r is made of the points ringOffsets[r]
+     * (inclusive) to ringOffsets[r + 1] (exclusive).
+     */
+    private int[] ringOffsets = new int[16];
+
+    /**
+     * Number of rings of the current feature.
+     */
+    private int ringCount;
+
+    /**
+     * Offsets, in rings, of the polygons. The first ring of a polygon is its exterior ring.
+     */
+    private int[] polygonOffsets = new int[16];
+
+    /**
+     * Number of polygons of the current feature.
+     */
+    private int polygonCount;
+
+    /**
+     * Depth of the coordinates found while parsing the current geometry.
+     */
+    private int coordinatesDepth;
+
+    /**
+     * Creates a reader.
+     *
+     * @param in source, preferably not buffered since the reader has its own buffer
+     */
+    public GeoJsonReader(final Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Moves to the next Polygon or MultiPolygon feature.
+     *
+     * @return True when a feature has been read otherwise False at the end of the document
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    public boolean next() throws IOException {
+        if (!this.isStarted) {
+            this.isStarted = true;
+            if (readDocumentStart()) {
+                return true;
+            }
+        }
+        while (this.isInFeatures) {
+            skipWhitespace();
+            int c = read();
+            if (c == ',') {
+                skipWhitespace();
+                c = read();
+            }
+            if (c == ']') {
+                this.isInFeatures = false;
+                break;
+            }
+            expect('{', c);
+            this.featureIndex++;
+            if (readObject()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the start of the document, up to the first feature of a collection or the whole
+     * single feature or geometry.
+     *
+     * @return True when the document is a single Polygon or MultiPolygon feature or geometry
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private boolean readDocumentStart() throws IOException {
+        skipWhitespace();
+        expect('{', read());
+        clearGeometry();
+        String type = null;
+        boolean isFirst = true;
+        while (true) {
+            if (!nextMember(isFirst)) {
+                break;
+            }
+            isFirst = false;
+            final String key = this.text.toString();
+            if ("features".equals(key)) {
+                skipWhitespace();
+                expect('[', read());
+                this.isInFeatures = true;
+                return false;
+            } else if ("type".equals(key)) {
+                type = readString();
+            } else if (!readGeometryMember(key)) {
+                skipValue();
+            }
+        }
+        this.isFinished = true;
+        this.featureIndex = 0;
+        return isPolygonal(type);
+    }
+
+    /**
+     * Reads a feature or a geometry object whose '{' has been consumed.
+     *
+     * @return True when the object is a Polygon or MultiPolygon feature or geometry
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private boolean readObject() throws IOException {
+        clearGeometry();
+        String type = null;
+        boolean isFirst = true;
+        while (nextMember(isFirst)) {
+            isFirst = false;
+            final String key = this.text.toString();
+            if ("type".equals(key)) {
+                type = readString();
+            } else if (!readGeometryMember(key)) {
+                skipValue();
+            }
+        }
+        return isPolygonal(type);
+    }
+
+    /**
+     * Reads a member of a feature or a geometry when it is the geometry or its coordinates.
+     *
+     * @param key name of the member
+     * @return True when the member has been read, False when it must be skipped
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private boolean readGeometryMember(final String key) throws IOException {
+        final boolean isRead;
+        if ("geometry".equals(key)) {
+            skipWhitespace();
+            if (peek() == '{') {
+                read();
+                readGeometry();
+            } else {
+                skipValue();
+            }
+            isRead = true;
+        } else if ("coordinates".equals(key)) {
+            this.coordinatesDepth = readCoordinates();
+            isRead = true;
+        } else {
+            isRead = false;
+        }
+        return isRead;
+    }
+
+    /**
+     * Reads the geometry object of a feature whose '{' has been consumed.
+     *
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private void readGeometry() throws IOException {
+        boolean isFirst = true;
+        while (nextMember(isFirst)) {
+            isFirst = false;
+            final String key = this.text.toString();
+            if ("type".equals(key)) {
+                this.geometryType = readString();
+            } else if ("coordinates".equals(key)) {
+                this.coordinatesDepth = readCoordinates();
+            } else {
+                skipValue();
+            }
+        }
+    }
+
+    /**
+     * Tests if the object just read is a Polygon or a MultiPolygon, or a feature holding one.
+     *
+     * @param type type of the object
+     * @return True when the object is polygonal
+     */
+    private boolean isPolygonal(final String type) {
+        if (this.geometryType == null) {
+            this.geometryType = type;
+        }
+        final boolean isPolygonal;
+        if (POLYGON.equals(this.geometryType)) {
+            isPolygonal = this.coordinatesDepth == 2;
+        } else if (MULTI_POLYGON.equals(this.geometryType)) {
+            isPolygonal = this.coordinatesDepth == 3
+                    || this.coordinatesDepth == 0 && this.polygonCount == 0;
+        } else {
+            isPolygonal = false;
+        }
+        if (!isPolygonal) {
+            LOG.debug("feature {} is skipped: {}", this.featureIndex, this.geometryType);
+        } else if (POLYGON.equals(this.geometryType)) {
+            endPolygon();
+        }
+        return isPolygonal;
+    }
+
+    /**
+     * Resets the buffers of the current geometry.
+     */
+    private void clearGeometry() {
+        this.geometryType = null;
+        this.pointCount = 0;
+        this.ringCount = 0;
+        this.polygonCount = 0;
+        this.coordinatesDepth = 0;
+        this.ringOffsets[0] = 0;
+        this.polygonOffsets[0] = 0;
+    }
+
+    /**
+     * Moves to the next member of an object and reads its name.
+     *
+     * @param isFirst true for the first member of the object
+     * @return True when a member name has been read in text, False at the end of the object
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private boolean nextMember(final boolean isFirst) throws IOException {
+        skipWhitespace();
+        int c = read();
+        if (c == '}') {
+            return false;
+        }
+        if (!isFirst) {
+            expect(',', c);
+            skipWhitespace();
+            c = read();
+        }
+        expect('"', c);
+        readStringContent();
+        skipWhitespace();
+        expect(':', read());
+        return true;
+    }
+
+    /**
+     * Reads the coordinates of a geometry into the packed buffers.
+     *
+     * @return the depth of the coordinates: 0 for a position, 1 for a ring, 2 for a polygon and
+     * 3 for a multi-polygon
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private int readCoordinates() throws IOException {
+        skipWhitespace();
+        expect('[', read());
+        skipWhitespace();
+        final int c = peek();
+        if (c == '-' || c >= '0' && c <= '9') {
+            readPosition();
+            return 0;
+        }
+        int depth = 0;
+        boolean isFirst = true;
+        while (true) {
+            skipWhitespace();
+            int next = read();
+            if (next == ']') {
+                break;
+            }
+            if (!isFirst) {
+                expect(',', next);
+                skipWhitespace();
+                next = read();
+            }
+            isFirst = false;
+            if (next != '[') {
+                throw error("'[' expected");
+            }
+            this.position--;
+            depth = readCoordinates() + 1;
+            if (depth == 1) {
+                continue;
+            }
+            if (depth == 2) {
+                endRing();
+            } else if (depth == 3) {
+                endPolygon();
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Reads a position whose '[' has been consumed; the values after the latitude are ignored.
+     *
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private void readPosition() throws IOException {
+        final double longitude = readNumber();
+        skipWhitespace();
+        expect(',', read());
+        final double latitude = readNumber();
+        skipWhitespace();
+        int c = read();
+        while (c == ',') {
+            readNumber();
+            skipWhitespace();
+            c = read();
+        }
+        expect(']', c);
+        if (2 * this.pointCount + 2 > this.coordinates.length) {
+            this.coordinates = Arrays.copyOf(this.coordinates, 2 * this.coordinates.length);
+        }
+        this.coordinates[2 * this.pointCount] = longitude;
+        this.coordinates[2 * this.pointCount + 1] = latitude;
+        this.pointCount++;
+    }
+
+    /**
+     * Ends the current ring.
+     */
+    private void endRing() {
+        if (this.ringCount + 2 > this.ringOffsets.length) {
+            this.ringOffsets = Arrays.copyOf(this.ringOffsets, 2 * this.ringOffsets.length);
+        }
+        this.ringCount++;
+        this.ringOffsets[this.ringCount] = this.pointCount;
+    }
+
+    /**
+     * Ends the current polygon.
+     */
+    private void endPolygon() {
+        if (this.polygonCount + 2 > this.polygonOffsets.length) {
+            this.polygonOffsets = Arrays.copyOf(this.polygonOffsets,
+                    2 * this.polygonOffsets.length);
+        }
+        this.polygonCount++;
+        this.polygonOffsets[this.polygonCount] = this.ringCount;
+    }
+
+    /**
+     * Reads a number.
+     *
+     * <p>
+     * Numbers of at most 15 significant digits with a small exponent are computed exactly from
+     * their digits; the other ones are given to {@link Double#parseDouble(String)}.
+     * </p>
+     *
+     * @return the number
+     * @throws IOException when the source fails or the number is not valid
+     */
+    private double readNumber() throws IOException {
+        skipWhitespace();
+        this.text.setLength(0);
+        boolean isNegative = false;
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean isExact = true;
+        int c = read();
+        if (c == '-') {
+            isNegative = true;
+            this.text.append('-');
+            c = read();
+        }
+        boolean isFraction = false;
+        boolean hasDigit = false;
+        while (c >= '0' && c <= '9' || c == '.' && !isFraction) {
+            this.text.append((char) c);
+            if (c == '.') {
+                isFraction = true;
+            } else {
+                hasDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits <= MAX_EXACT_DIGITS) {
+                    mantissa = 10 * mantissa + (c - '0');
+                    if (isFraction) {
+                        exponent--;
+                    }
+                } else {
+                    isExact = false;
+                }
+            }
+            c = read();
+        }
+        if (!hasDigit) {
+            throw error("number expected");
+        }
+        if (c == 'e' || c == 'E') {
+            this.text.append((char) c);
+            c = read();
+            boolean isNegativeExponent = false;
+            if (c == '-' || c == '+') {
+                this.text.append((char) c);
+                isNegativeExponent = c == '-';
+                c = read();
+            }
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                this.text.append((char) c);
+                value = Math.min(10 * value + (c - '0'), 100000);
+                c = read();
+            }
+            exponent += isNegativeExponent ? -value : value;
+        }
+        if (c != EOF) {
+            this.position--;
+        }
+        final double value;
+        if (isExact && exponent >= -22 && exponent <= 22) {
+            final double exact = exponent < 0 ? mantissa / POW10[-exponent]
+                    : mantissa * POW10[exponent];
+            value = isNegative ? -exact : exact;
+        } else {
+            try {
+                value = Double.parseDouble(this.text.toString());
+            } catch (NumberFormatException ex) {
+                throw error("invalid number " + this.text);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @return the string, null for a null value
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private String readString() throws IOException {
+        skipWhitespace();
+        final int c = read();
+        final String value;
+        if (c == 'n') {
+            this.position--;
+            skipValue();
+            value = null;
+        } else {
+            expect('"', c);
+            readStringContent();
+            value = this.text.toString();
+        }
+        return value;
+    }
+
+    /**
+     * Reads the content of a string whose '"' has been consumed into text.
+     *
+     * @throws IOException when the source fails, the string is not terminated or an escape is
+     * invalid
+     */
+    private void readStringContent() throws IOException {
+        this.text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == EOF) {
+                throw error("unterminated string");
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            final int digit = Character.digit(read(), 16);
+                            if (digit == -1) {
+                                throw error("invalid \\u escape");
+                            }
+                            code = 16 * code + digit;
+                        }
+                        c = code;
+                        break;
+                    default:
+                        break;
+                }
+            }
+            this.text.append((char) c);
+        }
+    }
+
+    /**
+     * Skips a value without materialising it.
+     *
+     * @throws IOException when the source fails or the document is not valid GeoJSon
+     */
+    private void skipValue() throws IOException {
+        skipWhitespace();
+        int depth = 0;
+        do {
+            final int c = read();
+            switch (c) {
+                case EOF:
+                    throw error("unexpected end of document");
+                case '"':
+                    skipStringContent();
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0) {
+                        this.position--;
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (depth < 0) {
+                // end of the enclosing object or array
+                this.position--;
+                return;
+            }
+            if (depth == 0 && isValueEnd()) {
+                return;
+            }
+        } while (true);
+    }
+
+    /**
+     * Tests, after a character of a skipped value at depth 0, if the value is complete.
+     *
+     * @return True when the next character ends the value
+     * @throws IOException when the source fails
+     */
+    private boolean isValueEnd() throws IOException {
+        skipWhitespace();
+        final int c = peek();
+        return c == ',' || c == '}' || c == ']' || c == EOF;
+    }
+
+    /**
+     * Skips the content of a string whose '"' has been consumed.
+     *
+     * @throws IOException when the source fails or the string is not terminated
+     */
+    private void skipStringContent() throws IOException {
+        while (true) {
+            final int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == EOF) {
+                throw error("unterminated string");
+            }
+            if (c == '\\') {
+                read();
+            }
+        }
+    }
+
+    /**
+     * Checks a character.
+     *
+     * @param expected expected character
+     * @param c read character
+     * @throws IOException when the character is not the expected one
+     */
+    private void expect(final char expected, final int c) throws IOException {
+        if (c != expected) {
+            throw error("'" + expected + "' expected");
+        }
+    }
+
+    /**
+     * Creates a parsing error.
+     *
+     * @param message message
+     * @return the error
+     */
+    private IOException error(final String message) {
+        return new IOException("Invalid GeoJSon, " + message + " in feature " + this.featureIndex);
+    }
+
+    /**
+     * Skips the whitespaces.
+     *
+     * @throws IOException when the source fails
+     */
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            final int c = peek();
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                this.position++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return the next character or EOF
+     * @throws IOException when the source fails
+     */
+    private int peek() throws IOException {
+        if (this.position == this.limit && !fill()) {
+            return EOF;
+        }
+        return this.buffer[this.position];
+    }
+
+    /**
+     * Consumes the next character.
+     *
+     * @return the next character or EOF
+     * @throws IOException when the source fails
+     */
+    private int read() throws IOException {
+        if (this.position == this.limit && !fill()) {
+            return EOF;
+        }
+        return this.buffer[this.position++];
+    }
+
+    /**
+     * Fills the buffer.
+     *
+     * @return True when characters have been read
+     * @throws IOException when the source fails
+     */
+    private boolean fill() throws IOException {
+        final int count = this.in.read(this.buffer, 0, this.buffer.length);
+        this.position = 0;
+        this.limit = Math.max(count, 0);
+        return count > 0;
+    }
+
+    /**
+     * Returns the index of the current feature in the document, including the skipped ones.
+     *
+     * @return the feature index
+     */
+    public int getFeatureIndex() {
+        return this.featureIndex;
+    }
+
+    /**
+     * Returns the type of the current geometry.
+     *
+     * @return {@link #POLYGON} or {@link #MULTI_POLYGON}
+     */
+    public String getGeometryType() {
+        return this.geometryType;
+    }
+
+    /**
+     * Returns the points of the current feature as interleaved longitudes and latitudes, valid
+     * up to twice {@link #getPointCount()}.
+     *
+     * @return the coordinates, not copied and overwritten by the next feature
+     */
+    public double[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the number of points of the current feature.
+     *
+     * @return the number of points
+     */
+    public int getPointCount() {
+        return this.pointCount;
+    }
+
+    /**
+     * Returns the offsets, in points, of the rings, valid up to {@link #getRingCount()} + 1.
+     *
+     * @return the ring offsets, not copied and overwritten by the next feature
+     */
+    public int[] getRingOffsets() {
+        return this.ringOffsets;
+    }
+
+    /**
+     * Returns the number of rings of the current feature.
+     *
+     * @return the number of rings
+     */
+    public int getRingCount() {
+        return this.ringCount;
+    }
+
+    /**
+     * Returns the offsets, in rings, of the polygons, valid up to {@link #getPolygonCount()} + 1.
+     * The first ring of a polygon is its exterior ring, the next ones are its holes.
+     *
+     * @return the polygon offsets, not copied and overwritten by the next feature
+     */
+    public int[] getPolygonOffsets() {
+        return this.polygonOffsets;
+    }
+
+    /**
+     * Returns the number of polygons of the current feature.
+     *
+     * @return 1 for a Polygon, the number of polygons for a MultiPolygon
+     */
+    public int getPolygonCount() {
+        return this.polygonCount;
+    }
+
+    /**
+     * Creates a polygon from the exterior ring of a polygon of the current feature.
+     *
+     * @param polygon polygon index in the current feature
+     * @return the polygon
+     */
+    public Polygon createPolygon(final int polygon) {
+        final int ring = this.polygonOffsets[polygon];
+        final int start = this.ringOffsets[ring];
+        final int end = this.ringOffsets[ring + 1];
+        return new Polygon(Arrays.copyOfRange(this.coordinates, 2 * start, 2 * end));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+
+}
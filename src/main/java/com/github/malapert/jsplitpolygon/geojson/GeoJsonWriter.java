@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.geojson;
+
+import java.io.IOException;
+import org.json.JSONException;
+
+/**
+ * Streaming GeoJSon writer.
+ *
+ * <p>
+ * The writer appends the geometry to the sink while walking the points, without building any
+ * intermediate JSON tree. The output is the one of the org.json library used by
+ * {@link GeoJson#toGeoJson()}: the "coordinates" member comes before the "type" member and the
+ * numbers are written as {@link Double#toString(double)} without trailing zeros.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final GeoJsonWriter writer = new GeoJsonWriter(out);
+ * writer.beginGeometry();
+ * writer.beginArray();
+ * writer.points(coordinates, 0, nbPoints);
+ * writer.endArray();
+ * writer.endGeometry("Polygon");
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class GeoJsonWriter {
+
+    /**
+     * Maximum nesting of the coordinate arrays.
+     */
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Sink.
+     */
+    private final Appendable out;
+
+    /**
+     * For each nesting level, true when the array has no element yet.
+     */
+    private final boolean[] isEmpty = new boolean[MAX_DEPTH];
+
+    /**
+     * Current nesting level of the coordinate arrays.
+     */
+    private int depth;
+
+    /**
+     * Creates a writer.
+     *
+     * @param out sink
+     */
+    public GeoJsonWriter(final Appendable out) {
+        this.out = out;
+        this.depth = -1;
+    }
+
+    /**
+     * Starts a geometry and its coordinates array.
+     *
+     * @throws IOException when the sink fails
+     */
+    public void beginGeometry() throws IOException {
+        this.out.append("{\"coordinates\":");
+        this.depth = -1;
+        beginArray();
+    }
+
+    /**
+     * Ends the coordinates array and the geometry.
+     *
+     * @param type GeoJSon type of the geometry
+     * @throws IOException when the sink fails
+     */
+    public void endGeometry(final String type) throws IOException {
+        endArray();
+        this.out.append(",\"type\":\"").append(type).append("\"}");
+    }
+
+    /**
+     * Starts a nested array.
+     *
+     * @throws IOException when the sink fails
+     */
+    public void beginArray() throws IOException {
+        separator();
+        this.depth++;
+        this.isEmpty[this.depth] = true;
+        this.out.append('[');
+    }
+
+    /**
+     * Ends a nested array.
+     *
+     * @throws IOException when the sink fails
+     */
+    public void endArray() throws IOException {
+        this.depth--;
+        this.out.append(']');
+    }
+
+    /**
+     * Writes a point.
+     *
+     * @param longitude longitude in decimal degree
+     * @param latitude latitude in decimal degree
+     * @throws IOException when the sink fails
+     * @throws JSONException when a value is not finite
+     */
+    public void point(final double longitude, final double latitude) throws IOException {
+        separator();
+        this.out.append('[');
+        appendNumber(this.out, longitude);
+        this.out.append(',');
+        appendNumber(this.out, latitude);
+        this.out.append(']');
+    }
+
+    /**
+     * Writes a range of interleaved points.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IOException when the sink fails
+     * @throws JSONException when a value is not finite
+     */
+    public void points(final double[] coordinates, final int offset, final int nbPoints)
+            throws IOException {
+        final int end = offset + 2 * nbPoints;
+        for (int i = offset; i < end; i += 2) {
+            point(coordinates[i], coordinates[i + 1]);
+        }
+    }
+
+    /**
+     * Writes the separator before a new element of the current array.
+     *
+     * @throws IOException when the sink fails
+     */
+    private void separator() throws IOException {
+        if (this.depth >= 0) {
+            if (this.isEmpty[this.depth]) {
+                this.isEmpty[this.depth] = false;
+            } else {
+                this.out.append(',');
+            }
+        }
+    }
+
+    /**
+     * Appends a number as org.json does: {@link Double#toString(double)} without the trailing
+     * zeros and decimal point.
+     *
+     * @param out sink
+     * @param value value
+     * @throws IOException when the sink fails
+     * @throws JSONException when the value is not finite
+     */
+    public static void appendNumber(final Appendable out, final double value) throws IOException {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new JSONException("JSON does not allow non-finite numbers.");
+        }
+        final String number = Double.toString(value);
+        int end = number.length();
+        if (number.indexOf('.') > 0 && number.indexOf('E') < 0) {
+            while (number.charAt(end - 1) == '0') {
+                end--;
+            }
+            if (number.charAt(end - 1) == '.') {
+                end--;
+            }
+        }
+        out.append(number, 0, end);
+    }
+
+}
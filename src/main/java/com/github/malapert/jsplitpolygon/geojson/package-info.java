@@ -16,6 +16,7 @@
  * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
  */
 /**
- * This packages provides the interface to convert a shape to GeoJson.
+ * This packages provides the interface to convert a shape to GeoJson and the streaming
+ * GeoJson writer and reader.
  */
 package com.github.malapert.jsplitpolygon.geojson;
@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary format of a batch of polygons.
+ *
+ * <p>
+ * All the values are little-endian. A file is made of a fixed header, the coordinates and two
+ * index sections written after the coordinates, so that a batch can be written in one pass:
+ * </p>
+ *
+ * <pre>
+ * offset  size                      content
+ * 0       4                         magic "JSPB"
+ * 4       4                         int32 version, 1
+ * 8       8                         int64 number of records R
+ * 16      8                         int64 number of rings N
+ * 24      8                         int64 number of points P
+ * 32      8                         int64 position of the ring offsets
+ * 40      8                         int64 position of the record offsets
+ * 48      16 * P                    float64 longitude, float64 latitude of each point
+ * ...     8 * (N + 1)               int64 ring offsets, in points
+ * ...     8 * (R + 1)               int64 record offsets, in rings
+ * </pre>
+ *
+ * <p>
+ * The ring r is made of the points ringOffsets[r] (inclusive) to ringOffsets[r + 1] (exclusive)
+ * and the record i of the rings recordOffsets[i] (inclusive) to recordOffsets[i + 1]
+ * (exclusive), so that any record is read without reading the previous ones. A polygon to split
+ * is a record of one ring. A split polygon is a record of one ring per fragment and a polygon that
+ * cannot be split is a record without ring.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class BinaryBatchFormat {
+
+    /**
+     * Extension of the binary files.
+     */
+    public static final String EXTENSION = ".jspb";
+
+    /**
+     * Magic number, "JSPB" read as a little-endian int32.
+     */
+    public static final int MAGIC = 'J' | 'S' << 8 | 'P' << 16 | 'B' << 24;
+
+    /**
+     * Version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 48;
+
+    /**
+     * Size of a point in bytes.
+     */
+    public static final int POINT_SIZE = 2 * Double.BYTES;
+
+    /**
+     * Position of the number of records in the header.
+     */
+    static final int RECORD_COUNT = 8;
+
+    /**
+     * Position of the number of rings in the header.
+     */
+    static final int RING_COUNT = 16;
+
+    /**
+     * Position of the number of points in the header.
+     */
+    static final int POINT_COUNT = 24;
+
+    /**
+     * Position of the position of the ring offsets in the header.
+     */
+    static final int RING_OFFSETS = 32;
+
+    /**
+     * Position of the position of the record offsets in the header.
+     */
+    static final int RECORD_OFFSETS = 40;
+
+    /**
+     * Utility class.
+     */
+    private BinaryBatchFormat() {
+    }
+
+    /**
+     * Writes a header.
+     *
+     * @param header buffer of at least {@link #HEADER_SIZE} bytes, written from its position
+     * @param nbRecords number of records
+     * @param nbRings number of rings
+     * @param nbPoints number of points
+     */
+    static void writeHeader(final ByteBuffer header, final long nbRecords, final long nbRings,
+            final long nbPoints) {
+        final long ringOffsets = HEADER_SIZE + POINT_SIZE * nbPoints;
+        final ByteBuffer out = header.slice().order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).putLong(nbRecords).putLong(nbRings).putLong(nbPoints)
+                .putLong(ringOffsets).putLong(ringOffsets + Long.BYTES * (nbRings + 1));
+    }
+
+    /**
+     * Checks a header.
+     *
+     * @param header little-endian buffer whose position is the start of the header
+     * @throws IOException when the header is not a header of this format
+     */
+    static void checkHeader(final ByteBuffer header) throws IOException {
+        if (header.remaining() < HEADER_SIZE) {
+            throw new IOException("truncated header");
+        }
+        final int start = header.position();
+        if (header.getInt(start) != MAGIC) {
+            throw new IOException("not a " + EXTENSION + " batch");
+        }
+        final int version = header.getInt(start + 4);
+        if (version != VERSION) {
+            throw new IOException("unsupported version " + version);
+        }
+    }
+
+}
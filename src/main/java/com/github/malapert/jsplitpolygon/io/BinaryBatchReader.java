@@ -0,0 +1,353 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the records of a batch in the {@link BinaryBatchFormat binary format} in any order.
+ *
+ * <p>
+ * The batch is read either from a file channel, with positional reads so that the size of the
+ * file is not limited, or from a {@link ByteBuffer}, for instance a memory-mapped one. The
+ * coordinates and the ring offsets of a record are copied in arrays reused from one record to
+ * the next.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (BinaryBatchReader reader = BinaryBatchReader.open(path)) {
+ *   final int nbRings = reader.read(record);
+ *   final double[] coordinates = reader.getCoordinates();
+ *   final int[] ringOffsets = reader.getRingOffsets();
+ *   // ring r: points ringOffsets[r] to ringOffsets[r + 1] - 1 of coordinates
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class BinaryBatchReader implements Closeable {
+
+    /**
+     * Size of the buffer of the channel.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Input channel, null when the batch is read from a buffer.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Little-endian buffer holding the batch, null when the batch is read from a channel.
+     */
+    private final ByteBuffer source;
+
+    /**
+     * Position of the header in the source buffer.
+     */
+    private final int start;
+
+    /**
+     * Little-endian buffer receiving the bytes read from the channel.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Number of records.
+     */
+    private final long nbRecords;
+
+    /**
+     * Number of rings.
+     */
+    private final long nbRings;
+
+    /**
+     * Number of points.
+     */
+    private final long nbPoints;
+
+    /**
+     * Position of the ring offsets.
+     */
+    private final long ringOffsetsPosition;
+
+    /**
+     * Position of the record offsets.
+     */
+    private final long recordOffsetsPosition;
+
+    /**
+     * Offsets read from the batch.
+     */
+    private long[] offsets = new long[16];
+
+    /**
+     * Coordinates of the last record read.
+     */
+    private double[] coordinates = new double[256];
+
+    /**
+     * Ring offsets, in points, of the last record read.
+     */
+    private int[] ringOffsets = new int[16];
+
+    /**
+     * Reads a batch from a file channel.
+     *
+     * @param channel input, closed by {@link #close()}
+     * @throws IOException when the channel cannot be read or is not a batch
+     */
+    public BinaryBatchReader(final FileChannel channel) throws IOException {
+        this(channel, null);
+    }
+
+    /**
+     * Reads a batch from a buffer, the batch starting at the position of the buffer.
+     *
+     * @param source buffer holding the batch, not modified
+     * @throws IOException when the buffer is not a batch
+     */
+    public BinaryBatchReader(final ByteBuffer source) throws IOException {
+        this(null, source);
+    }
+
+    /**
+     * Reads a batch.
+     *
+     * @param channel input channel or null
+     * @param source input buffer or null
+     * @throws IOException when the batch cannot be read
+     */
+    private BinaryBatchReader(final FileChannel channel, final ByteBuffer source)
+            throws IOException {
+        this.channel = channel;
+        if (source == null) {
+            this.source = null;
+            this.start = 0;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            this.source = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            this.start = source.position();
+            this.buffer = null;
+        }
+        final ByteBuffer header = fetch(0, BinaryBatchFormat.HEADER_SIZE);
+        BinaryBatchFormat.checkHeader(header);
+        final int position = header.position();
+        this.nbRecords = header.getLong(position + BinaryBatchFormat.RECORD_COUNT);
+        this.nbRings = header.getLong(position + BinaryBatchFormat.RING_COUNT);
+        this.nbPoints = header.getLong(position + BinaryBatchFormat.POINT_COUNT);
+        this.ringOffsetsPosition = header.getLong(position + BinaryBatchFormat.RING_OFFSETS);
+        this.recordOffsetsPosition = header.getLong(position
+                + BinaryBatchFormat.RECORD_OFFSETS);
+    }
+
+    /**
+     * Opens a batch file.
+     *
+     * @param path binary file
+     * @return the reader
+     * @throws IOException when the file cannot be read or is not a batch
+     */
+    public static BinaryBatchReader open(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new BinaryBatchReader(channel);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return the number of records
+     */
+    public long getRecordCount() {
+        return this.nbRecords;
+    }
+
+    /**
+     * Returns the number of rings of the batch.
+     *
+     * @return the number of rings
+     */
+    public long getRingCount() {
+        return this.nbRings;
+    }
+
+    /**
+     * Returns the number of points of the batch.
+     *
+     * @return the number of points
+     */
+    public long getPointCount() {
+        return this.nbPoints;
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param record record index
+     * @return the number of rings of the record
+     * @throws IOException when the batch cannot be read
+     * @throws IndexOutOfBoundsException when the record does not exist
+     */
+    public int read(final long record) throws IOException {
+        if (record < 0 || record >= this.nbRecords) {
+            throw new IndexOutOfBoundsException("record " + record + " of " + this.nbRecords);
+        }
+        readLongs(this.recordOffsetsPosition + Long.BYTES * record, 2);
+        final long firstRing = this.offsets[0];
+        final int nbRecordRings = (int) (this.offsets[1] - firstRing);
+        if (this.offsets.length < nbRecordRings + 1) {
+            this.offsets = new long[Math.max(nbRecordRings + 1, 2 * this.offsets.length)];
+        }
+        if (this.ringOffsets.length < nbRecordRings + 1) {
+            this.ringOffsets = new int[this.offsets.length];
+        }
+        readLongs(this.ringOffsetsPosition + Long.BYTES * firstRing, nbRecordRings + 1);
+        final long firstPoint = this.offsets[0];
+        for (int ring = 0; ring <= nbRecordRings; ring++) {
+            this.ringOffsets[ring] = (int) (this.offsets[ring] - firstPoint);
+        }
+        final int nbRecordPoints = this.ringOffsets[nbRecordRings];
+        if (this.coordinates.length < 2 * nbRecordPoints) {
+            this.coordinates = new double[Math.max(2 * nbRecordPoints,
+                    2 * this.coordinates.length)];
+        }
+        readDoubles(BinaryBatchFormat.HEADER_SIZE + BinaryBatchFormat.POINT_SIZE * firstPoint,
+                2 * nbRecordPoints);
+        return nbRecordRings;
+    }
+
+    /**
+     * Returns the coordinates of the last record read, overwritten by the next read.
+     *
+     * @return the interleaved longitudes and latitudes, the array may be longer than the record
+     */
+    public double[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the ring offsets, in points, of the last record read, overwritten by the next
+     * read.
+     *
+     * @return the ring offsets: the ring r is made of the points ringOffsets[r] (inclusive) to
+     * ringOffsets[r + 1] (exclusive)
+     */
+    public int[] getRingOffsets() {
+        return this.ringOffsets;
+    }
+
+    /**
+     * Reads a ring of the last record read.
+     *
+     * @param ring ring index in the record
+     * @return a copy of the interleaved longitudes and latitudes of the ring
+     */
+    public double[] copyRing(final int ring) {
+        return Arrays.copyOfRange(this.coordinates, 2 * this.ringOffsets[ring],
+                2 * this.ringOffsets[ring + 1]);
+    }
+
+    /**
+     * Reads offsets in {@link #offsets}.
+     *
+     * @param position position of the first offset in the batch
+     * @param count number of offsets
+     * @throws IOException when the batch cannot be read
+     */
+    private void readLongs(final long position, final int count) throws IOException {
+        int done = 0;
+        while (done < count) {
+            final ByteBuffer chunk = fetch(position + (long) Long.BYTES * done,
+                    Long.BYTES * (count - done));
+            final int nb = chunk.remaining() / Long.BYTES;
+            chunk.asLongBuffer().get(this.offsets, done, nb);
+            done += nb;
+        }
+    }
+
+    /**
+     * Reads values in {@link #coordinates}.
+     *
+     * @param position position of the first value in the batch
+     * @param count number of values
+     * @throws IOException when the batch cannot be read
+     */
+    private void readDoubles(final long position, final int count) throws IOException {
+        int done = 0;
+        while (done < count) {
+            final ByteBuffer chunk = fetch(position + (long) Double.BYTES * done,
+                    Double.BYTES * (count - done));
+            final int nb = chunk.remaining() / Double.BYTES;
+            chunk.asDoubleBuffer().get(this.coordinates, done, nb);
+            done += nb;
+        }
+    }
+
+    /**
+     * Returns a little-endian buffer with bytes of the batch.
+     *
+     * @param position position in the batch
+     * @param length number of bytes, a multiple of 8
+     * @return a buffer with at least 8 and at most length bytes from position
+     * @throws IOException when the batch is truncated
+     */
+    private ByteBuffer fetch(final long position, final int length) throws IOException {
+        if (this.source != null) {
+            final long from = this.start + position;
+            if (from + length > this.source.limit()) {
+                throw new EOFException("truncated batch");
+            }
+            final ByteBuffer chunk = this.source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            chunk.limit((int) from + length).position((int) from);
+            return chunk;
+        }
+        this.buffer.clear();
+        this.buffer.limit(Math.min(length, this.buffer.capacity()));
+        while (this.buffer.hasRemaining()) {
+            if (this.channel.read(this.buffer, position + this.buffer.position()) < 0) {
+                throw new EOFException("truncated batch");
+            }
+        }
+        this.buffer.flip();
+        return this.buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+}
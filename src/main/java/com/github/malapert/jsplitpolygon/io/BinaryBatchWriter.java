@@ -0,0 +1,330 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a batch of polygons in the {@link BinaryBatchFormat binary format}.
+ *
+ * <p>
+ * The batch is written either to a seekable channel, through a direct buffer, or directly in a
+ * {@link ByteBuffer}, for instance a memory-mapped one. The coordinates are copied as
+ * little-endian doubles, without any text formatting. The offsets of the rings and of the
+ * records are kept in memory and written by {@link #close()}, which then writes the header.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (BinaryBatchWriter writer = BinaryBatchWriter.open(path)) {
+ *   writer.writePolygon(coordinates, 0, coordinates.length / 2);
+ *   // a record of several rings
+ *   writer.writeRing(ring1, 0, ring1.length / 2);
+ *   writer.writeRing(ring2, 0, ring2.length / 2);
+ *   writer.endRecord();
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class BinaryBatchWriter implements Closeable {
+
+    /**
+     * Size of the buffer of the channel.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Output channel, null when the batch is written in a buffer.
+     */
+    private final SeekableByteChannel channel;
+
+    /**
+     * Buffer receiving the batch, null when the batch is written to a channel.
+     */
+    private final ByteBuffer target;
+
+    /**
+     * Little-endian buffer where the bytes are encoded.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Position of the header in the buffer receiving the batch.
+     */
+    private final int start;
+
+    /**
+     * Ring offsets, in points.
+     */
+    private long[] ringOffsets = new long[64];
+
+    /**
+     * Number of rings.
+     */
+    private int nbRings;
+
+    /**
+     * Record offsets, in rings.
+     */
+    private long[] recordOffsets = new long[64];
+
+    /**
+     * Number of records.
+     */
+    private int nbRecords;
+
+    /**
+     * Number of points.
+     */
+    private long nbPoints;
+
+    /**
+     * True when the batch is closed.
+     */
+    private boolean isClosed;
+
+    /**
+     * Creates a writer to a channel, the batch starting at the position 0.
+     *
+     * @param channel output, closed by {@link #close()}
+     * @throws IOException when the channel cannot be written
+     */
+    public BinaryBatchWriter(final SeekableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.target = null;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        this.start = 0;
+        this.channel.position(0);
+        this.buffer.put(new byte[BinaryBatchFormat.HEADER_SIZE]);
+    }
+
+    /**
+     * Creates a writer in a buffer, the batch starting at the position of the buffer.
+     *
+     * <p>
+     * {@link #close()} moves the position of the buffer after the batch. A
+     * {@link BufferOverflowException} is thrown when the buffer is full.
+     * </p>
+     *
+     * @param target buffer receiving the batch
+     */
+    public BinaryBatchWriter(final ByteBuffer target) {
+        this.channel = null;
+        this.target = target;
+        this.buffer = target.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.start = target.position();
+        this.buffer.position(this.start + BinaryBatchFormat.HEADER_SIZE);
+    }
+
+    /**
+     * Creates or truncates a file and opens a writer on it.
+     *
+     * @param path binary file
+     * @return the writer
+     * @throws IOException when the file cannot be opened
+     */
+    public static BinaryBatchWriter open(final Path path) throws IOException {
+        return new BinaryBatchWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Writes a record made of one ring.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IOException when the channel cannot be written
+     */
+    public void writePolygon(final double[] coordinates, final int offset, final int nbPoints)
+            throws IOException {
+        writeRing(coordinates, offset, nbPoints);
+        endRecord();
+    }
+
+    /**
+     * Writes a record made of several rings stored in one array.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offsets ring offsets in points: the ring r is made of the points offsets[r]
+     * (inclusive) to offsets[r + 1] (exclusive)
+     * @param nbRings number of rings, 0 for an empty record
+     * @throws IOException when the channel cannot be written
+     */
+    public void writeRecord(final double[] coordinates, final int[] offsets, final int nbRings)
+            throws IOException {
+        for (int ring = 0; ring < nbRings; ring++) {
+            writeRing(coordinates, 2 * offsets[ring], offsets[ring + 1] - offsets[ring]);
+        }
+        endRecord();
+    }
+
+    /**
+     * Adds a ring to the current record.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IOException when the channel cannot be written
+     */
+    public void writeRing(final double[] coordinates, final int offset, final int nbPoints)
+            throws IOException {
+        checkOpen();
+        int written = 0;
+        final int nbValues = 2 * nbPoints;
+        while (written < nbValues) {
+            if (this.buffer.remaining() < Double.BYTES) {
+                flush();
+            }
+            final int count = Math.min(nbValues - written, this.buffer.remaining() / Double.BYTES);
+            this.buffer.asDoubleBuffer().put(coordinates, offset + written, count);
+            this.buffer.position(this.buffer.position() + count * Double.BYTES);
+            written += count;
+        }
+        this.nbPoints += nbPoints;
+        if (this.nbRings + 2 > this.ringOffsets.length) {
+            this.ringOffsets = Arrays.copyOf(this.ringOffsets, 2 * this.ringOffsets.length);
+        }
+        this.ringOffsets[++this.nbRings] = this.nbPoints;
+    }
+
+    /**
+     * Ends the current record, made of the rings written since the previous record.
+     */
+    public void endRecord() {
+        checkOpen();
+        if (this.nbRecords + 2 > this.recordOffsets.length) {
+            this.recordOffsets = Arrays.copyOf(this.recordOffsets, 2 * this.recordOffsets.length);
+        }
+        this.recordOffsets[++this.nbRecords] = this.nbRings;
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return the number of records
+     */
+    public int getRecordCount() {
+        return this.nbRecords;
+    }
+
+    /**
+     * Checks that the writer is open.
+     *
+     * @throws IllegalStateException when the writer is closed
+     */
+    private void checkOpen() {
+        if (this.isClosed) {
+            throw new IllegalStateException("batch is closed");
+        }
+    }
+
+    /**
+     * Writes offsets.
+     *
+     * @param offsets offsets
+     * @param count number of offsets
+     * @throws IOException when the channel cannot be written
+     */
+    private void writeOffsets(final long[] offsets, final int count) throws IOException {
+        int written = 0;
+        while (written < count) {
+            if (this.buffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            final int nb = Math.min(count - written, this.buffer.remaining() / Long.BYTES);
+            this.buffer.asLongBuffer().put(offsets, written, nb);
+            this.buffer.position(this.buffer.position() + nb * Long.BYTES);
+            written += nb;
+        }
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     *
+     * @throws IOException when the channel cannot be written
+     * @throws BufferOverflowException when the buffer receiving the batch is full
+     */
+    private void flush() throws IOException {
+        if (this.channel == null) {
+            throw new BufferOverflowException();
+        }
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes the offsets and the header, then closes the channel.
+     *
+     * <p>
+     * A record with rings written after the last {@link #endRecord()} is ended.
+     * </p>
+     *
+     * @throws IOException when the channel cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.isClosed) {
+            return;
+        }
+        try {
+            if (this.recordOffsets[this.nbRecords] != this.nbRings) {
+                endRecord();
+            }
+            this.isClosed = true;
+            writeOffsets(this.ringOffsets, this.nbRings + 1);
+            writeOffsets(this.recordOffsets, this.nbRecords + 1);
+            if (this.channel == null) {
+                final ByteBuffer header = this.buffer.duplicate();
+                header.position(this.start);
+                BinaryBatchFormat.writeHeader(header, this.nbRecords, this.nbRings,
+                        this.nbPoints);
+                this.target.position(this.buffer.position());
+            } else {
+                flush();
+                BinaryBatchFormat.writeHeader(this.buffer, this.nbRecords, this.nbRings,
+                        this.nbPoints);
+                this.buffer.limit(BinaryBatchFormat.HEADER_SIZE);
+                this.channel.position(0);
+                while (this.buffer.hasRemaining()) {
+                    this.channel.write(this.buffer);
+                }
+            }
+        } finally {
+            this.isClosed = true;
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes polygons in the data format, one "longitude latitude" point per line, to a channel.
+ *
+ * <p>
+ * The lines are encoded in a direct buffer written to the channel when it is full, so that the
+ * size of the output is not limited. The numbers are written as {@link Double#toString(double)}
+ * and the polygons are separated by a separator line, as read by {@link MappedDataReader}.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (DataChannelWriter writer = DataChannelWriter.open(path)) {
+ *   writer.writePolygon(coordinates, 0, coordinates.length / 2);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class DataChannelWriter implements Closeable, Flushable {
+
+    /**
+     * Size of the buffer.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Maximum length of a number.
+     */
+    private static final int MAX_NUMBER_LENGTH = 32;
+
+    /**
+     * Output.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Line separating the polygons.
+     */
+    private final String separator;
+
+    /**
+     * Encoded bytes not yet written.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Number of written polygons.
+     */
+    private long polygonCount;
+
+    /**
+     * Creates a writer separating the polygons by an empty line.
+     *
+     * @param channel output
+     */
+    public DataChannelWriter(final WritableByteChannel channel) {
+        this(channel, "");
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param channel output
+     * @param separator line separating the polygons, ASCII characters
+     */
+    public DataChannelWriter(final WritableByteChannel channel, final String separator) {
+        this.channel = channel;
+        this.separator = separator;
+    }
+
+    /**
+     * Creates or truncates a file and opens a writer on it.
+     *
+     * @param path data file
+     * @return the writer
+     * @throws IOException when the file cannot be opened
+     */
+    public static DataChannelWriter open(final Path path) throws IOException {
+        return new DataChannelWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Writes a polygon, preceded by the separator when it is not the first one.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IOException when the channel cannot be written
+     */
+    public void writePolygon(final double[] coordinates, final int offset, final int nbPoints)
+            throws IOException {
+        if (this.polygonCount > 0) {
+            ensureRemaining(this.separator.length() + 1);
+            writeAscii(this.separator);
+            this.buffer.put((byte) '\n');
+        }
+        final int end = offset + 2 * nbPoints;
+        for (int i = offset; i < end; i += 2) {
+            ensureRemaining(2 * MAX_NUMBER_LENGTH + 2);
+            writeAscii(Double.toString(coordinates[i]));
+            this.buffer.put((byte) ' ');
+            writeAscii(Double.toString(coordinates[i + 1]));
+            this.buffer.put((byte) '\n');
+        }
+        this.polygonCount++;
+    }
+
+    /**
+     * Encodes ASCII characters in the buffer.
+     *
+     * @param text ASCII characters
+     */
+    private void writeAscii(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            this.buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the buffer when it has not enough remaining bytes.
+     *
+     * @param length number of bytes to encode
+     * @throws IOException when the channel cannot be written
+     */
+    private void ensureRemaining(final int length) throws IOException {
+        if (this.buffer.remaining() < length) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     *
+     * @throws IOException when the channel cannot be written
+     */
+    private void flushBuffer() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Returns the number of written polygons.
+     *
+     * @return the number of written polygons
+     */
+    public long getPolygonCount() {
+        return this.polygonCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+}
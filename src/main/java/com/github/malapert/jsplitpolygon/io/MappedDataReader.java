@@ -0,0 +1,482 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads the polygons of a data file having one "longitude latitude" point per line from a
+ * memory-mapped file.
+ *
+ * <p>
+ * The ASCII numbers are parsed directly from the mapped bytes into a packed coordinate buffer
+ * that is reused from one record to the next, so that no object is created per vertex. The file
+ * is mapped by windows of at most {@link #DEFAULT_WINDOW_SIZE} bytes, which allows files larger
+ * than 2 GB.
+ * </p>
+ *
+ * <p>
+ * As {@link com.github.malapert.jsplitpolygon.DataRecordReader}, a file may contain several
+ * polygons separated by a separator line, an empty line by default. With a null separator, all
+ * the points of the file make one polygon. The values after the latitude on a line are ignored.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (MappedDataReader reader = new MappedDataReader(path)) {
+ *   int nbPoints;
+ *   while ((nbPoints = reader.next()) &gt; 0) {
+ *     final double[] coordinates = reader.getCoordinates();
+ *     // values 0 to 2 * nbPoints - 1, overwritten by the next call
+ *   }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class MappedDataReader implements Closeable {
+
+    /**
+     * Default size of the mapped windows.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    /**
+     * Maximum length of a line.
+     */
+    public static final int MAX_LINE_LENGTH = 4096;
+
+    /**
+     * Maximum number of significant digits accumulated in a long.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * Largest mantissa exactly represented by a double.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Exact powers of ten.
+     */
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Mapped file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Size of the file.
+     */
+    private final long size;
+
+    /**
+     * Size of the mapped windows.
+     */
+    private final int windowSize;
+
+    /**
+     * Separator of the records as ASCII bytes, null when the file is one record.
+     */
+    private final byte[] separator;
+
+    /**
+     * Current window.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * Position in the file of the first byte of the window.
+     */
+    private long windowStart;
+
+    /**
+     * Position in the window.
+     */
+    private int position;
+
+    /**
+     * Number of bytes of the window.
+     */
+    private int limit;
+
+    /**
+     * Number of the line being read, starting at 1.
+     */
+    private long lineNumber;
+
+    /**
+     * Coordinates of the record being read.
+     */
+    private double[] coordinates = new double[256];
+
+    /**
+     * Bytes of a number parsed by {@link Double#parseDouble(String)}.
+     */
+    private final byte[] number = new byte[MAX_LINE_LENGTH];
+
+    /**
+     * Opens a file whose records are separated by empty lines.
+     *
+     * @param path data file
+     * @throws IOException when the file cannot be opened
+     */
+    public MappedDataReader(final Path path) throws IOException {
+        this(path, "", DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a file.
+     *
+     * @param path data file
+     * @param separator line separating the records, null when the file is one record
+     * @param windowSize size of the mapped windows, greater than {@link #MAX_LINE_LENGTH}
+     * @throws IOException when the file cannot be opened
+     * @throws IllegalArgumentException when the window size is too small
+     */
+    public MappedDataReader(final Path path, final String separator, final int windowSize)
+            throws IOException {
+        if (windowSize <= MAX_LINE_LENGTH) {
+            throw new IllegalArgumentException("window size must be greater than "
+                    + MAX_LINE_LENGTH);
+        }
+        this.separator = separator == null ? null
+                : separator.trim().getBytes(StandardCharsets.US_ASCII);
+        this.windowSize = windowSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = this.channel.size();
+        map(0);
+    }
+
+    /**
+     * Reads all the points of a file as one polygon.
+     *
+     * @param path data file
+     * @return the interleaved longitudes and latitudes
+     * @throws IOException when the file cannot be read or a line is not a point
+     */
+    public static double[] readPolygon(final Path path) throws IOException {
+        try (MappedDataReader reader = new MappedDataReader(path, null, DEFAULT_WINDOW_SIZE)) {
+            final int nbPoints = reader.next();
+            return Arrays.copyOf(reader.coordinates, 2 * nbPoints);
+        }
+    }
+
+    /**
+     * Maps the window starting at a position of the file.
+     *
+     * @param start position in the file
+     * @throws IOException when the file cannot be mapped
+     */
+    private void map(final long start) throws IOException {
+        final long length = Math.min(this.windowSize, this.size - start);
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        this.windowStart = start;
+        this.position = 0;
+        this.limit = (int) length;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the number of points of the record, 0 at the end of the file
+     * @throws IOException when the file cannot be read or a line is not a point
+     */
+    public int next() throws IOException {
+        int count = 0;
+        while (true) {
+            if (this.limit - this.position < MAX_LINE_LENGTH
+                    && this.windowStart + this.limit < this.size) {
+                map(this.windowStart + this.position);
+            }
+            if (this.position == this.limit) {
+                break;
+            }
+            this.lineNumber++;
+            skipBlanks();
+            if (isLineEnd()) {
+                skipLine();
+                if (count > 0 && this.separator != null && this.separator.length == 0) {
+                    break;
+                }
+                continue;
+            }
+            if (isSeparator()) {
+                skipLine();
+                if (count > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (count + 2 > this.coordinates.length) {
+                this.coordinates = Arrays.copyOf(this.coordinates, 2 * this.coordinates.length);
+            }
+            this.coordinates[count] = readNumber();
+            skipBlanks();
+            this.coordinates[count + 1] = readNumber();
+            count += 2;
+            skipLine();
+        }
+        return count / 2;
+    }
+
+    /**
+     * Returns the coordinates of the last record, overwritten by the next call to
+     * {@link #next()}.
+     *
+     * @return the interleaved longitudes and latitudes, the array may be longer than the record
+     */
+    public double[] getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Returns the number of lines read.
+     *
+     * @return the number of lines read
+     */
+    public long getLineNumber() {
+        return this.lineNumber;
+    }
+
+    /**
+     * Skips the spaces and tabulations.
+     */
+    private void skipBlanks() {
+        while (this.position < this.limit) {
+            final byte c = this.window.get(this.position);
+            if (c != ' ' && c != '\t') {
+                break;
+            }
+            this.position++;
+        }
+    }
+
+    /**
+     * Tests whether the position is at the end of a line.
+     *
+     * @return True at the end of a line or of the file
+     */
+    private boolean isLineEnd() {
+        if (this.position == this.limit) {
+            return true;
+        }
+        final byte c = this.window.get(this.position);
+        return c == '\n' || c == '\r';
+    }
+
+    /**
+     * Tests whether the line, from the position, is the separator.
+     *
+     * @return True when the line is the separator
+     */
+    private boolean isSeparator() {
+        if (this.separator == null || this.separator.length == 0
+                || this.limit - this.position < this.separator.length) {
+            return false;
+        }
+        for (int i = 0; i < this.separator.length; i++) {
+            if (this.window.get(this.position + i) != this.separator[i]) {
+                return false;
+            }
+        }
+        final int end = this.position;
+        this.position += this.separator.length;
+        skipBlanks();
+        final boolean isSeparator = isLineEnd();
+        this.position = end;
+        return isSeparator;
+    }
+
+    /**
+     * Moves the position after the end of the line.
+     *
+     * @throws IOException when the line is longer than {@link #MAX_LINE_LENGTH}
+     */
+    private void skipLine() throws IOException {
+        while (this.position < this.limit) {
+            if (this.window.get(this.position++) == '\n') {
+                return;
+            }
+        }
+        checkEndOfFile();
+    }
+
+    /**
+     * Checks that the end of the window is the end of the file.
+     *
+     * @throws IOException when the line is longer than {@link #MAX_LINE_LENGTH}
+     */
+    private void checkEndOfFile() throws IOException {
+        if (this.windowStart + this.limit < this.size) {
+            throw error("line longer than " + MAX_LINE_LENGTH + " bytes");
+        }
+    }
+
+    /**
+     * Parses a number.
+     *
+     * <p>
+     * Numbers whose significant digits make an integer of at most 2<sup>53</sup> with a small
+     * exponent are computed exactly from their digits; the other ones are given to
+     * {@link Double#parseDouble(String)}.
+     * </p>
+     *
+     * @return the number
+     * @throws IOException when the line is not a number
+     */
+    private double readNumber() throws IOException {
+        final int start = this.position;
+        boolean isNegative = false;
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean isExact = true;
+        int c = read();
+        if (c == '-' || c == '+') {
+            isNegative = c == '-';
+            c = read();
+        }
+        boolean isFraction = false;
+        boolean hasDigit = false;
+        while (c >= '0' && c <= '9' || c == '.' && !isFraction) {
+            if (c == '.') {
+                isFraction = true;
+            } else {
+                hasDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    digits++;
+                }
+                if (digits <= MAX_DIGITS) {
+                    mantissa = 10 * mantissa + (c - '0');
+                    if (isFraction) {
+                        exponent--;
+                    }
+                } else {
+                    isExact = false;
+                }
+            }
+            c = read();
+        }
+        if (c == 'e' || c == 'E') {
+            c = read();
+            boolean isNegativeExponent = false;
+            if (c == '-' || c == '+') {
+                isNegativeExponent = c == '-';
+                c = read();
+            }
+            int value = 0;
+            while (c >= '0' && c <= '9') {
+                value = Math.min(10 * value + (c - '0'), 100000);
+                c = read();
+            }
+            exponent += isNegativeExponent ? -value : value;
+        }
+        if (c == -1) {
+            checkEndOfFile();
+        } else {
+            this.position--;
+        }
+        if (!hasDigit || c != -1 && c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+            return parseDouble(start);
+        }
+        if (isExact && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            final double exact = exponent < 0 ? mantissa / POW10[-exponent]
+                    : mantissa * POW10[exponent];
+            return isNegative ? -exact : exact;
+        }
+        return parseDouble(start);
+    }
+
+    /**
+     * Parses with {@link Double#parseDouble(String)} the token starting at a position, for the
+     * numbers that are not computed exactly and the special values (NaN, Infinity).
+     *
+     * @param start position of the token in the window
+     * @return the number
+     * @throws IOException when the token is not a number or is longer than
+     * {@link #MAX_LINE_LENGTH}
+     */
+    private double parseDouble(final int start) throws IOException {
+        this.position = start;
+        int length = 0;
+        while (this.position < this.limit) {
+            final byte c = this.window.get(this.position);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                break;
+            }
+            if (length == MAX_LINE_LENGTH) {
+                throw error("number longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+            this.number[length++] = c;
+            this.position++;
+        }
+        if (this.position == this.limit) {
+            checkEndOfFile();
+        }
+        final String token = new String(this.number, 0, length, StandardCharsets.US_ASCII);
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException ex) {
+            throw error("invalid number '" + token + "'");
+        }
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @return the byte or -1 at the end of the window
+     */
+    private int read() {
+        return this.position < this.limit ? this.window.get(this.position++) : -1;
+    }
+
+    /**
+     * Creates an error on the current line.
+     *
+     * @param message message
+     * @return the error
+     */
+    private IOException error(final String message) {
+        return new IOException("line " + this.lineNumber + ": " + message);
+    }
+
+    /**
+     * Closes the file. The windows are unmapped when they are garbage-collected.
+     *
+     * @throws IOException when the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.window = null;
+        this.channel.close();
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.jts;
+
+import com.github.malapert.jsplitpolygon.CoordinateAccessor;
+import org.locationtech.jts.geom.CoordinateSequence;
+
+/**
+ * Access to the points of a JTS ring through its {@link CoordinateSequence}.
+ *
+ * <p>
+ * The ordinates are read with {@link CoordinateSequence#getX(int)} and
+ * {@link CoordinateSequence#getY(int)}, so no {@link org.locationtech.jts.geom.Coordinate} is
+ * created, whatever the implementation of the sequence (array, packed). The last point of a
+ * closed ring, equal to the first one, is not seen.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class CoordinateSequenceAccessor implements CoordinateAccessor {
+
+    /**
+     * Points of the ring.
+     */
+    private final CoordinateSequence sequence;
+
+    /**
+     * Number of points, without the closing point.
+     */
+    private final int size;
+
+    /**
+     * Creates an accessor.
+     *
+     * @param sequence points of the ring, read in place
+     */
+    public CoordinateSequenceAccessor(final CoordinateSequence sequence) {
+        this.sequence = sequence;
+        final int last = sequence.size() - 1;
+        final boolean isClosed = last > 0 && sequence.getX(0) == sequence.getX(last)
+                && sequence.getY(0) == sequence.getY(last);
+        this.size = isClosed ? last : sequence.size();
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public double getLongitude(final int index) {
+        return this.sequence.getX(index);
+    }
+
+    @Override
+    public double getLatitude(final int index) {
+        return this.sequence.getY(index);
+    }
+
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.jts;
+
+import com.github.malapert.jsplitpolygon.SplitPlan;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.locationtech.jts.algorithm.RayCrossingCounter;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Splits JTS geometries along the anti-meridian.
+ *
+ * <p>
+ * The rings are read through their {@link CoordinateSequence} by a
+ * {@link CoordinateSequenceAccessor} and cut following a {@link SplitPlan}; the fragments are
+ * created by the factory of the input geometry, so they keep its SRID, its precision model and
+ * its kind of sequences (packed sequences included). The ordinates other than x and y are copied
+ * for the points of the input and are NaN for the points on the anti-meridian.
+ * </p>
+ *
+ * <p>
+ * The shell of a polygon gives the fragments. A hole which does not cross the anti-meridian is
+ * given to the fragment containing it. A hole crossing the anti-meridian is split too and its
+ * fragments are removed from the fragments of the shell with the JTS overlay.
+ * </p>
+ *
+ * <p>
+ * A splitter holds no state and can be shared between threads.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class JtsSplitter {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOG = LogManager.getLogger(JtsSplitter.class.getName());
+
+    /**
+     * Creates a splitter.
+     */
+    public JtsSplitter() {
+    }
+
+    /**
+     * Splits a polygon.
+     *
+     * @param polygon polygon, not modified
+     * @return a multi-polygon of the fragments, or the polygon itself when it does not cross the
+     * anti-meridian
+     */
+    public Geometry split(final Polygon polygon) {
+        if (polygon.isEmpty()) {
+            return polygon;
+        }
+        final GeometryFactory factory = polygon.getFactory();
+        final LinearRing[] shells = split(polygon.getExteriorRing());
+        if (shells.length == 1) {
+            return polygon;
+        }
+        final List<List<LinearRing>> holes = new ArrayList<>(shells.length);
+        for (int fragment = 0; fragment < shells.length; fragment++) {
+            holes.add(new ArrayList<>());
+        }
+        final List<Polygon> crossingHoles = new ArrayList<>();
+        for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+            final LinearRing hole = polygon.getInteriorRingN(i);
+            final LinearRing[] pieces = split(hole);
+            if (pieces.length > 1) {
+                for (LinearRing piece : pieces) {
+                    crossingHoles.add(factory.createPolygon(piece));
+                }
+            } else {
+                final int fragment = locate(hole, shells);
+                if (fragment < 0) {
+                    LOG.debug("hole {} is outside of the shell, it is ignored", i);
+                } else {
+                    holes.get(fragment).add((LinearRing) hole.copy());
+                }
+            }
+        }
+        final List<Polygon> parts = new ArrayList<>(shells.length);
+        for (int fragment = 0; fragment < shells.length; fragment++) {
+            final List<LinearRing> fragmentHoles = holes.get(fragment);
+            Geometry part = factory.createPolygon(shells[fragment],
+                    fragmentHoles.toArray(new LinearRing[fragmentHoles.size()]));
+            for (Polygon crossingHole : crossingHoles) {
+                if (part.intersects(crossingHole)) {
+                    part = part.difference(crossingHole);
+                }
+            }
+            addPolygons(part, parts);
+        }
+        return factory.createMultiPolygon(parts.toArray(new Polygon[parts.size()]));
+    }
+
+    /**
+     * Splits the polygons of a multi-polygon.
+     *
+     * @param multiPolygon multi-polygon, not modified
+     * @return a multi-polygon of the fragments and of the polygons which are not split, or the
+     * multi-polygon itself when no polygon crosses the anti-meridian
+     */
+    public Geometry split(final MultiPolygon multiPolygon) {
+        final List<Polygon> parts = new ArrayList<>(multiPolygon.getNumGeometries());
+        boolean isSplit = false;
+        for (int i = 0; i < multiPolygon.getNumGeometries(); i++) {
+            final Polygon polygon = (Polygon) multiPolygon.getGeometryN(i);
+            final Geometry result = split(polygon);
+            isSplit |= result != polygon;
+            addPolygons(result, parts);
+        }
+        return isSplit ? multiPolygon.getFactory().createMultiPolygon(
+                parts.toArray(new Polygon[parts.size()])) : multiPolygon;
+    }
+
+    /**
+     * Splits a ring.
+     *
+     * @param ring ring, not modified
+     * @return the counter-clockwise closed fragments, or the ring itself when it does not cross
+     * the anti-meridian
+     */
+    public LinearRing[] split(final LinearRing ring) {
+        final CoordinateSequence sequence = ring.getCoordinateSequence();
+        final SplitPlan plan = SplitPlan.of(new CoordinateSequenceAccessor(sequence));
+        if (!plan.isSplit()) {
+            return new LinearRing[]{ring};
+        }
+        final GeometryFactory factory = ring.getFactory();
+        final LinearRing[] fragments = new LinearRing[plan.getFragmentCount()];
+        for (int fragment = 0; fragment < fragments.length; fragment++) {
+            fragments[fragment] = factory.createLinearRing(createSequence(plan, fragment,
+                    sequence, factory));
+        }
+        return fragments;
+    }
+
+    /**
+     * Creates the points of a fragment.
+     *
+     * @param plan plan of the ring
+     * @param fragment fragment index
+     * @param sequence points of the ring
+     * @param factory factory of the output
+     * @return the points of the fragment
+     */
+    private static CoordinateSequence createSequence(final SplitPlan plan, final int fragment,
+            final CoordinateSequence sequence, final GeometryFactory factory) {
+        final int dimension = sequence.getDimension();
+        final CoordinateSequence points = factory.getCoordinateSequenceFactory().create(
+                plan.getFragmentSize(fragment), dimension, sequence.getMeasures());
+        int position = 0;
+        for (int span = plan.getFirstSpan(fragment); span < plan.getFirstSpan(fragment + 1);
+                span++) {
+            if (plan.isMeridianSpan(span)) {
+                points.setOrdinate(position, CoordinateSequence.X,
+                        plan.getMeridianLongitude(span));
+                points.setOrdinate(position, CoordinateSequence.Y,
+                        plan.getMeridianLatitude(span));
+                for (int ordinate = 2; ordinate < dimension; ordinate++) {
+                    points.setOrdinate(position, ordinate, Double.NaN);
+                }
+                position++;
+            } else {
+                final int step = plan.getSpanStep(span);
+                int point = plan.getSpanStart(span);
+                for (int i = 0; i < plan.getSpanLength(span); i++, point += step) {
+                    for (int ordinate = 0; ordinate < dimension; ordinate++) {
+                        points.setOrdinate(position, ordinate,
+                                sequence.getOrdinate(point, ordinate));
+                    }
+                    position++;
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Finds the fragment of the shell containing a hole.
+     *
+     * @param hole hole which does not cross the anti-meridian
+     * @param shells fragments of the shell
+     * @return the fragment index, -1 when no fragment contains the hole
+     */
+    private static int locate(final LinearRing hole, final LinearRing[] shells) {
+        final CoordinateSequence points = hole.getCoordinateSequence();
+        for (int fragment = 0; fragment < shells.length; fragment++) {
+            final CoordinateSequence shell = shells[fragment].getCoordinateSequence();
+            // a point of the hole may lie on the cut: the first interior one decides
+            for (int i = 0; i < points.size(); i++) {
+                final int location = RayCrossingCounter.locatePointInRing(
+                        points.getCoordinate(i), shell);
+                if (location != Location.BOUNDARY) {
+                    if (location == Location.INTERIOR) {
+                        return fragment;
+                    }
+                    break;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the polygons of a geometry.
+     *
+     * @param geometry polygon or multi-polygon
+     * @param parts list receiving the polygons
+     */
+    private static void addPolygons(final Geometry geometry, final List<Polygon> parts) {
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            final Geometry part = geometry.getGeometryN(i);
+            if (part instanceof Polygon && !part.isEmpty()) {
+                parts.add((Polygon) part);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations in nanoseconds.
+ *
+ * <p>
+ * The bucket i counts the durations from 2<sup>i-1</sup> to 2<sup>i</sup>-1 nanoseconds, the
+ * bucket 0 counts the null durations. A percentile is therefore given as the upper bound of its
+ * bucket.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets.
+     */
+    public static final int NB_BUCKETS = 64;
+
+    /**
+     * Number of durations per bucket.
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(NB_BUCKETS);
+
+    /**
+     * Number of durations.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of the durations.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Longest duration.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos duration in nanoseconds, a negative duration is recorded as 0
+     */
+    public void record(final long nanos) {
+        final long duration = Math.max(0L, nanos);
+        this.buckets.incrementAndGet(bucket(duration));
+        this.count.increment();
+        this.total.add(duration);
+        long current = this.max.get();
+        while (duration > current && !this.max.compareAndSet(current, duration)) {
+            current = this.max.get();
+        }
+    }
+
+    /**
+     * Returns the bucket of a duration.
+     *
+     * @param nanos duration in nanoseconds
+     * @return the bucket index
+     */
+    static int bucket(final long nanos) {
+        return Math.min(NB_BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the number of durations.
+     *
+     * @return the number of durations
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Returns the sum of the durations.
+     *
+     * @return the sum of the durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.total.sum();
+    }
+
+    /**
+     * Returns the mean duration.
+     *
+     * @return the mean duration in nanoseconds, 0 when no duration is recorded
+     */
+    public double getMeanNanos() {
+        final long nb = getCount();
+        return nb == 0 ? 0 : (double) getTotalNanos() / nb;
+    }
+
+    /**
+     * Returns the longest duration.
+     *
+     * @return the longest duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns a percentile of the durations.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return the upper bound, in nanoseconds, of the bucket of the percentile capped by the
+     * longest duration, 0 when no duration is recorded
+     * @throws IllegalArgumentException when the percentile is not between 0 and 100
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100");
+        }
+        final long[] snapshot = getBuckets();
+        long nb = 0;
+        for (long value : snapshot) {
+            nb += value;
+        }
+        final long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * nb));
+        long cumulated = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            cumulated += snapshot[i];
+            if (cumulated >= rank) {
+                return i == 0 ? 0 : Math.min((1L << i) - 1, getMaxNanos());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a copy of the buckets.
+     *
+     * @return the number of durations per bucket
+     */
+    public long[] getBuckets() {
+        final long[] snapshot = new long[NB_BUCKETS];
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            snapshot[i] = this.buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clears the histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.total.reset();
+        this.max.set(0);
+    }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Registry of the listeners notified by the split engine.
+ *
+ * <p>
+ * The split engine reads one volatile field per split. When no listener is added, the phases are
+ * not timed.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class Metrics {
+
+    /**
+     * Registered listeners.
+     */
+    private static SplitMetricsListener[] listeners = new SplitMetricsListener[0];
+
+    /**
+     * Listener notified by the split engine.
+     */
+    private static volatile SplitMetricsListener listener = SplitMetricsListener.NONE;
+
+    /**
+     * Utility class.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Returns the listener to notify, {@link SplitMetricsListener#NONE} when no listener is
+     * registered.
+     *
+     * @return the listener
+     */
+    public static SplitMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Adds a listener.
+     *
+     * @param added listener
+     * @throws IllegalArgumentException when the listener is null
+     */
+    public static synchronized void addListener(final SplitMetricsListener added) {
+        if (added == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = added;
+        update();
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param removed listener
+     * @return True when the listener was registered otherwise False
+     */
+    public static synchronized boolean removeListener(final SplitMetricsListener removed) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == removed) {
+                final SplitMetricsListener[] remaining
+                        = new SplitMetricsListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                update();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Updates the listener notified by the split engine.
+     */
+    private static void update() {
+        switch (listeners.length) {
+            case 0:
+                listener = SplitMetricsListener.NONE;
+                break;
+            case 1:
+                listener = listeners[0];
+                break;
+            default:
+                listener = new Composite(listeners);
+        }
+    }
+
+    /**
+     * Listener forwarding the notifications to several listeners.
+     */
+    private static final class Composite implements SplitMetricsListener {
+
+        /**
+         * Listeners.
+         */
+        private final SplitMetricsListener[] listeners;
+
+        /**
+         * Creates a listener forwarding the notifications to several listeners.
+         *
+         * @param listeners listeners, not copied
+         */
+        Composite(final SplitMetricsListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override
+        public void splitCompleted(final int nbPoints, final int nbCrossings,
+                final int nbFragments) {
+            for (SplitMetricsListener each : this.listeners) {
+                each.splitCompleted(nbPoints, nbCrossings, nbFragments);
+            }
+        }
+
+        @Override
+        public void phaseCompleted(final Phase phase, final long nanos) {
+            for (SplitMetricsListener each : this.listeners) {
+                each.phaseCompleted(phase, nanos);
+            }
+        }
+    }
+
+}
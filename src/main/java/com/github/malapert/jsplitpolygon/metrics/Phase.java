@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+/**
+ * Phases of the split of a polygon.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public enum Phase {
+    /**
+     * Single pass over the points: orientation, bbox, crossings of the anti-meridian and
+     * latitudes of the intersections. A {@link com.github.malapert.jsplitpolygon.Polygon} is
+     * scanned when it is created, so this phase is not reported when it is split.
+     */
+    SCAN,
+    /**
+     * Computation of the latitudes of the intersections again, once a clockwise polygon is
+     * reversed.
+     */
+    CUT,
+    /**
+     * Sort of the intersections by latitude and pairing along the anti-meridian.
+     */
+    PAIR,
+    /**
+     * Construction of the fragments.
+     */
+    ASSEMBLE
+}
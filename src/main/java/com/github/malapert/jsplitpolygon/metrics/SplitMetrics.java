@@ -0,0 +1,202 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Split metrics: counters and latency histograms per phase.
+ *
+ * <p>
+ * The metrics are collected once the instance is added to {@link Metrics}, either directly or by
+ * {@link #register()}, which also exposes them in the platform MBean server.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public class SplitMetrics implements SplitMetricsListener, SplitMetricsMXBean {
+
+    /**
+     * Name of the MBean.
+     */
+    public static final String OBJECT_NAME = "com.github.malapert.jsplitpolygon:type=SplitMetrics";
+
+    /**
+     * Number of splits.
+     */
+    private final LongAdder splits = new LongAdder();
+
+    /**
+     * Number of processed vertices.
+     */
+    private final LongAdder vertices = new LongAdder();
+
+    /**
+     * Number of crossings.
+     */
+    private final LongAdder crossings = new LongAdder();
+
+    /**
+     * Number of fragments.
+     */
+    private final LongAdder fragments = new LongAdder();
+
+    /**
+     * Latency histograms by phase ordinal.
+     */
+    private final LatencyHistogram[] histograms;
+
+    /**
+     * Creates empty metrics.
+     */
+    public SplitMetrics() {
+        this.histograms = new LatencyHistogram[Phase.values().length];
+        for (int i = 0; i < this.histograms.length; i++) {
+            this.histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Registers the MBean in the platform MBean server and adds the metrics to the listeners of
+     * the split engine.
+     *
+     * @throws JMException when the MBean cannot be registered
+     */
+    public void register() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        Metrics.addListener(this);
+    }
+
+    /**
+     * Removes the metrics from the listeners of the split engine and unregisters the MBean.
+     *
+     * @throws JMException when the MBean cannot be unregistered
+     */
+    public void unregister() throws JMException {
+        Metrics.removeListener(this);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.unregisterMBean(new ObjectName(OBJECT_NAME));
+    }
+
+    @Override
+    public void splitCompleted(final int nbPoints, final int nbCrossings,
+            final int nbFragments) {
+        this.splits.increment();
+        this.vertices.add(nbPoints);
+        this.crossings.add(nbCrossings);
+        this.fragments.add(nbFragments);
+    }
+
+    @Override
+    public void phaseCompleted(final Phase phase, final long nanos) {
+        this.histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the latency histogram of a phase.
+     *
+     * @param phase phase
+     * @return the latency histogram
+     */
+    public LatencyHistogram getHistogram(final Phase phase) {
+        return this.histograms[phase.ordinal()];
+    }
+
+    /**
+     * Returns the latency histogram of a phase.
+     *
+     * @param phase name of the phase
+     * @return the latency histogram
+     * @throws IllegalArgumentException when the phase does not exist
+     */
+    private LatencyHistogram getHistogram(final String phase) {
+        return getHistogram(Phase.valueOf(phase));
+    }
+
+    @Override
+    public long getSplitCount() {
+        return this.splits.sum();
+    }
+
+    @Override
+    public long getVertexCount() {
+        return this.vertices.sum();
+    }
+
+    @Override
+    public long getCrossingCount() {
+        return this.crossings.sum();
+    }
+
+    @Override
+    public long getFragmentCount() {
+        return this.fragments.sum();
+    }
+
+    @Override
+    public String[] getPhases() {
+        final Phase[] phases = Phase.values();
+        final String[] names = new String[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            names[i] = phases[i].name();
+        }
+        return names;
+    }
+
+    @Override
+    public long getPhaseCount(final String phase) {
+        return getHistogram(phase).getCount();
+    }
+
+    @Override
+    public double getPhaseMeanNanos(final String phase) {
+        return getHistogram(phase).getMeanNanos();
+    }
+
+    @Override
+    public long getPhaseMaxNanos(final String phase) {
+        return getHistogram(phase).getMaxNanos();
+    }
+
+    @Override
+    public long getPhasePercentileNanos(final String phase, final double percentile) {
+        return getHistogram(phase).getPercentileNanos(percentile);
+    }
+
+    @Override
+    public long[] getPhaseHistogram(final String phase) {
+        return getHistogram(phase).getBuckets();
+    }
+
+    @Override
+    public void reset() {
+        this.splits.reset();
+        this.vertices.reset();
+        this.crossings.reset();
+        this.fragments.reset();
+        for (LatencyHistogram histogram : this.histograms) {
+            histogram.reset();
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+/**
+ * Listener notified by the split engine.
+ *
+ * <p>
+ * The listener is called by the threads performing the splits, so that an implementation must be
+ * thread-safe and should not block.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ * @see Metrics#addListener(SplitMetricsListener)
+ */
+public interface SplitMetricsListener {
+
+    /**
+     * Listener doing nothing, used when no listener is registered.
+     */
+    SplitMetricsListener NONE = new SplitMetricsListener() {
+        @Override
+        public void splitCompleted(final int nbPoints, final int nbCrossings,
+                final int nbFragments) {
+        }
+
+        @Override
+        public void phaseCompleted(final Phase phase, final long nanos) {
+        }
+    };
+
+    /**
+     * Notifies a split.
+     *
+     * @param nbPoints number of vertices of the polygon
+     * @param nbCrossings number of crossings of the anti-meridian
+     * @param nbFragments number of fragments, 0 when the polygon is not split
+     */
+    void splitCompleted(int nbPoints, int nbCrossings, int nbFragments);
+
+    /**
+     * Notifies the duration of a phase of a split.
+     *
+     * @param phase phase
+     * @param nanos duration in nanoseconds
+     */
+    void phaseCompleted(Phase phase, long nanos);
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+/**
+ * Management interface of the split metrics.
+ *
+ * <p>
+ * The phase names are the names of the {@link Phase} constants.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface SplitMetricsMXBean {
+
+    /**
+     * Returns the number of splits.
+     *
+     * @return the number of splits
+     */
+    long getSplitCount();
+
+    /**
+     * Returns the number of processed vertices.
+     *
+     * @return the number of processed vertices
+     */
+    long getVertexCount();
+
+    /**
+     * Returns the number of crossings of the anti-meridian.
+     *
+     * @return the number of crossings
+     */
+    long getCrossingCount();
+
+    /**
+     * Returns the number of fragments.
+     *
+     * @return the number of fragments
+     */
+    long getFragmentCount();
+
+    /**
+     * Returns the names of the phases.
+     *
+     * @return the names of the phases
+     */
+    String[] getPhases();
+
+    /**
+     * Returns the number of executions of a phase.
+     *
+     * @param phase name of the phase
+     * @return the number of executions
+     */
+    long getPhaseCount(String phase);
+
+    /**
+     * Returns the mean duration of a phase.
+     *
+     * @param phase name of the phase
+     * @return the mean duration in nanoseconds
+     */
+    double getPhaseMeanNanos(String phase);
+
+    /**
+     * Returns the longest duration of a phase.
+     *
+     * @param phase name of the phase
+     * @return the longest duration in nanoseconds
+     */
+    long getPhaseMaxNanos(String phase);
+
+    /**
+     * Returns a percentile of the durations of a phase.
+     *
+     * @param phase name of the phase
+     * @param percentile percentile between 0 and 100
+     * @return the percentile in nanoseconds
+     * @see LatencyHistogram#getPercentileNanos(double)
+     */
+    long getPhasePercentileNanos(String phase, double percentile);
+
+    /**
+     * Returns the latency histogram of a phase.
+     *
+     * @param phase name of the phase
+     * @return the number of durations per bucket
+     * @see LatencyHistogram
+     */
+    long[] getPhaseHistogram(String phase);
+
+    /**
+     * Clears the metrics.
+     */
+    void reset();
+
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * This packages provides the metrics of the split: the listener notified by the split engine,
+ * the latency histograms and the JMX MBean.
+ *
+ * <pre>
+ * <code>
+ * final SplitMetrics metrics = new SplitMetrics();
+ * metrics.register();
+ * // splits
+ * final long splits = metrics.getSplitCount();
+ * final long p99 = metrics.getPhasePercentileNanos("CUT", 99);
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * No metric is computed while no listener is added to {@link Metrics}.
+ * </p>
+ */
+package com.github.malapert.jsplitpolygon.metrics;
@@ -33,5 +33,19 @@
  * final String result = geojson.toGeoJson();
  * </code>
  * </pre>
+ *
+ * <p>
+ * A {@link com.github.malapert.jsplitpolygon.Polygon} holds the result of its split. To share the
+ * split between threads, the stateless
+ * {@link com.github.malapert.jsplitpolygon.AntimeridianSplitter} returns an immutable
+ * {@link com.github.malapert.jsplitpolygon.SplitResult}:
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final SplitResult split = new AntimeridianSplitter().split(coordinates);
+ * final String result = split.toGeoJson();
+ * </code>
+ * </pre>
  */
 package com.github.malapert.jsplitpolygon;
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.wkb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Interface that handles WKB (Well-Known Binary) output.
+ *
+ * @author Jean-Christophe Malapert
+ */
+public interface Wkb {
+
+    /**
+     * Encodes the geometry.
+     *
+     * @param writer writer receiving the geometry
+     */
+    public void writeWkb(WkbWriter writer);
+
+    /**
+     * Converts to ISO WKB in little-endian.
+     *
+     * @return the WKB bytes
+     */
+    public default byte[] toWkb() {
+        final WkbWriter writer = new WkbWriter();
+        writeWkb(writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes the geometry as ISO WKB, in the byte order of the buffer, from the position of
+     * the buffer.
+     *
+     * @param target buffer receiving the geometry
+     * @throws java.nio.BufferOverflowException when the buffer is full
+     */
+    public default void writeWkb(final ByteBuffer target) {
+        final WkbWriter writer = new WkbWriter(target, 0);
+        writeWkb(writer);
+    }
+
+    /**
+     * Writes the geometry as ISO WKB in little-endian to an output stream. The stream is not
+     * closed.
+     *
+     * @param out output stream
+     * @throws IOException when the stream fails
+     */
+    public default void writeWkb(final OutputStream out) throws IOException {
+        final WkbWriter writer = new WkbWriter();
+        writeWkb(writer);
+        writer.writeTo(out);
+    }
+
+}
@@ -0,0 +1,452 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.wkb;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Encodes polygons, multi-polygons, line strings and multi-line strings as ISO WKB or, with a
+ * SRID, as PostGIS EWKB.
+ *
+ * <p>
+ * The geometries are appended one after the other either in an internal buffer, growing as
+ * needed, or in a buffer given by the caller. A writer can therefore encode a batch of
+ * geometries in one reusable buffer: the start of each geometry is given by
+ * {@link #getGeometryOffsets()} and {@link #clear()} empties the buffer for the next batch.
+ * </p>
+ *
+ * <p>
+ * A ring that does not end on its first point is closed, as required by WKB.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * final WkbWriter writer = new WkbWriter(ByteOrder.LITTLE_ENDIAN, 4326);
+ * for (Polygon polygon : polygons) {
+ *   polygon.writeWkb(writer);
+ * }
+ * writer.writeTo(out);
+ * writer.clear();
+ * </code>
+ * </pre>
+ *
+ * @author Jean-Christophe Malapert
+ */
+public final class WkbWriter {
+
+    /**
+     * WKB type of a line string.
+     */
+    public static final int LINE_STRING = 2;
+
+    /**
+     * WKB type of a polygon.
+     */
+    public static final int POLYGON = 3;
+
+    /**
+     * WKB type of a multi-line string.
+     */
+    public static final int MULTI_LINE_STRING = 5;
+
+    /**
+     * WKB type of a multi-polygon.
+     */
+    public static final int MULTI_POLYGON = 6;
+
+    /**
+     * EWKB flag of a geometry having a SRID.
+     */
+    public static final int SRID_FLAG = 0x20000000;
+
+    /**
+     * Byte marking a big-endian geometry.
+     */
+    private static final byte BIG_ENDIAN = 0;
+
+    /**
+     * Byte marking a little-endian geometry.
+     */
+    private static final byte LITTLE_ENDIAN = 1;
+
+    /**
+     * Initial size of the internal buffer.
+     */
+    private static final int INITIAL_SIZE = 1024;
+
+    /**
+     * Buffer receiving the geometries.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * True when the buffer is internal and grows as needed.
+     */
+    private final boolean isGrowable;
+
+    /**
+     * Position of the buffer when the writer is created or cleared.
+     */
+    private final int start;
+
+    /**
+     * SRID of the geometries, 0 for ISO WKB.
+     */
+    private final int srid;
+
+    /**
+     * Start of the geometries in the buffer.
+     */
+    private int[] offsets = new int[16];
+
+    /**
+     * Number of geometries.
+     */
+    private int nbGeometries;
+
+    /**
+     * Number of members still expected in the current multi-polygon or multi-line string.
+     */
+    private int nbMembers;
+
+    /**
+     * Number of points still expected in the polygon begun by {@link #beginPolygon(int)}.
+     */
+    private int nbPending;
+
+    /**
+     * Creates a writer of little-endian ISO WKB in an internal buffer.
+     */
+    public WkbWriter() {
+        this(ByteOrder.LITTLE_ENDIAN, 0);
+    }
+
+    /**
+     * Creates a writer in an internal buffer.
+     *
+     * @param order byte order of the geometries
+     * @param srid SRID written in EWKB, 0 for ISO WKB
+     */
+    public WkbWriter(final ByteOrder order, final int srid) {
+        this.buffer = ByteBuffer.allocate(INITIAL_SIZE).order(order);
+        this.isGrowable = true;
+        this.start = 0;
+        this.srid = srid;
+    }
+
+    /**
+     * Creates a writer appending the geometries to a buffer, from its position and in its byte
+     * order. A {@link BufferOverflowException} is thrown when the buffer is full.
+     *
+     * @param target buffer receiving the geometries
+     * @param srid SRID written in EWKB, 0 for ISO WKB
+     */
+    public WkbWriter(final ByteBuffer target, final int srid) {
+        this.buffer = target;
+        this.isGrowable = false;
+        this.start = target.position();
+        this.srid = srid;
+    }
+
+    /**
+     * Writes a polygon made of one ring, either a geometry or a member of the current
+     * multi-polygon.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points, 0 for an empty polygon
+     */
+    public void writePolygon(final double[] coordinates, final int offset, final int nbPoints) {
+        final boolean isClosed = nbPoints > 0
+                && coordinates[offset] == coordinates[offset + 2 * nbPoints - 2]
+                && coordinates[offset + 1] == coordinates[offset + 2 * nbPoints - 1];
+        final int nbWritten = isClosed || nbPoints == 0 ? nbPoints : nbPoints + 1;
+        final boolean isMember = this.nbMembers > 0;
+        ensureRemaining(headerSize(isMember) + Integer.BYTES * 2 + 2 * Double.BYTES * nbWritten);
+        writeHeader(POLYGON, isMember);
+        if (nbPoints == 0) {
+            this.buffer.putInt(0);
+        } else {
+            this.buffer.putInt(1);
+            this.buffer.putInt(nbWritten);
+            final int nbValues = 2 * nbPoints;
+            this.buffer.asDoubleBuffer().put(coordinates, offset, nbValues);
+            this.buffer.position(this.buffer.position() + Double.BYTES * nbValues);
+            if (nbWritten > nbPoints) {
+                this.buffer.putDouble(coordinates[offset]);
+                this.buffer.putDouble(coordinates[offset + 1]);
+            }
+        }
+        if (isMember) {
+            this.nbMembers--;
+        }
+    }
+
+    /**
+     * Begins a polygon made of one closed ring whose points are then written by
+     * {@link #point(double, double)} and {@link #points(double[], int, int)}. The room for the
+     * whole polygon is reserved here.
+     *
+     * @param nbPoints number of points of the ring, its last point being its first one
+     */
+    public void beginPolygon(final int nbPoints) {
+        final boolean isMember = this.nbMembers > 0;
+        ensureRemaining(headerSize(isMember) + Integer.BYTES * 2 + 2 * Double.BYTES * nbPoints);
+        writeHeader(POLYGON, isMember);
+        if (nbPoints == 0) {
+            this.buffer.putInt(0);
+        } else {
+            this.buffer.putInt(1);
+            this.buffer.putInt(nbPoints);
+        }
+        this.nbPending = nbPoints;
+    }
+
+    /**
+     * Writes a point of the polygon begun by {@link #beginPolygon(int)}.
+     *
+     * @param longitude longitude
+     * @param latitude latitude
+     * @throws IllegalStateException when all the points are already written
+     */
+    public void point(final double longitude, final double latitude) {
+        if (this.nbPending == 0) {
+            throw new IllegalStateException("no point is expected");
+        }
+        this.buffer.putDouble(longitude);
+        this.buffer.putDouble(latitude);
+        this.nbPending--;
+    }
+
+    /**
+     * Writes points of the polygon begun by {@link #beginPolygon(int)}.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     * @throws IllegalStateException when more points than expected are written
+     */
+    public void points(final double[] coordinates, final int offset, final int nbPoints) {
+        if (nbPoints > this.nbPending) {
+            throw new IllegalStateException(this.nbPending + " points are expected");
+        }
+        this.buffer.asDoubleBuffer().put(coordinates, offset, 2 * nbPoints);
+        this.buffer.position(this.buffer.position() + 2 * Double.BYTES * nbPoints);
+        this.nbPending -= nbPoints;
+    }
+
+    /**
+     * Ends the polygon begun by {@link #beginPolygon(int)}.
+     *
+     * @throws IllegalStateException when points are missing
+     */
+    public void endPolygon() {
+        if (this.nbPending > 0) {
+            throw new IllegalStateException(this.nbPending + " points are missing");
+        }
+        if (this.nbMembers > 0) {
+            this.nbMembers--;
+        }
+    }
+
+    /**
+     * Begins a multi-polygon. The next polygons written are its members.
+     *
+     * @param nbPolygons number of polygons of the multi-polygon
+     * @throws IllegalStateException when a multi-polygon is not complete
+     */
+    public void beginMultiPolygon(final int nbPolygons) {
+        if (this.nbMembers > 0) {
+            throw new IllegalStateException(this.nbMembers + " polygons are missing");
+        }
+        ensureRemaining(headerSize(false) + Integer.BYTES);
+        writeHeader(MULTI_POLYGON, false);
+        this.buffer.putInt(nbPolygons);
+        this.nbMembers = nbPolygons;
+    }
+
+    /**
+     * Writes a line string, either a geometry or a member of the current multi-line string.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param nbPoints number of points
+     */
+    public void writeLineString(final double[] coordinates, final int offset,
+            final int nbPoints) {
+        final boolean isMember = this.nbMembers > 0;
+        ensureRemaining(headerSize(isMember) + Integer.BYTES + 2 * Double.BYTES * nbPoints);
+        writeHeader(LINE_STRING, isMember);
+        this.buffer.putInt(nbPoints);
+        final int nbValues = 2 * nbPoints;
+        this.buffer.asDoubleBuffer().put(coordinates, offset, nbValues);
+        this.buffer.position(this.buffer.position() + Double.BYTES * nbValues);
+        if (isMember) {
+            this.nbMembers--;
+        }
+    }
+
+    /**
+     * Begins a multi-line string. The next line strings written are its members.
+     *
+     * @param nbLines number of line strings of the multi-line string
+     * @throws IllegalStateException when a multi-geometry is not complete
+     */
+    public void beginMultiLineString(final int nbLines) {
+        if (this.nbMembers > 0) {
+            throw new IllegalStateException(this.nbMembers + " members are missing");
+        }
+        ensureRemaining(headerSize(false) + Integer.BYTES);
+        writeHeader(MULTI_LINE_STRING, false);
+        this.buffer.putInt(nbLines);
+        this.nbMembers = nbLines;
+    }
+
+    /**
+     * Returns the size of the header of a geometry.
+     *
+     * @param isMember true for a member of a multi-geometry
+     * @return the size in bytes
+     */
+    private int headerSize(final boolean isMember) {
+        return 1 + Integer.BYTES + (this.srid == 0 || isMember ? 0 : Integer.BYTES);
+    }
+
+    /**
+     * Writes the byte order, the type and the SRID of a geometry.
+     *
+     * @param type WKB type
+     * @param isMember true for a member of a multi-geometry, written without SRID
+     */
+    private void writeHeader(final int type, final boolean isMember) {
+        if (!isMember) {
+            if (this.nbGeometries == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, 2 * this.offsets.length);
+            }
+            this.offsets[this.nbGeometries++] = this.buffer.position() - this.start;
+        }
+        this.buffer.put(this.buffer.order() == ByteOrder.BIG_ENDIAN ? BIG_ENDIAN
+                : LITTLE_ENDIAN);
+        if (this.srid == 0 || isMember) {
+            this.buffer.putInt(type);
+        } else {
+            this.buffer.putInt(type | SRID_FLAG);
+            this.buffer.putInt(this.srid);
+        }
+    }
+
+    /**
+     * Grows the internal buffer when it has not enough remaining bytes.
+     *
+     * @param length number of bytes to write
+     * @throws BufferOverflowException when the buffer of the caller is full
+     */
+    private void ensureRemaining(final int length) {
+        if (this.buffer.remaining() >= length) {
+            return;
+        }
+        if (!this.isGrowable) {
+            throw new BufferOverflowException();
+        }
+        final int size = Math.max(2 * this.buffer.capacity(), this.buffer.position() + length);
+        final ByteBuffer grown = ByteBuffer.allocate(size).order(this.buffer.order());
+        this.buffer.flip();
+        grown.put(this.buffer);
+        this.buffer = grown;
+    }
+
+    /**
+     * Returns the number of written geometries.
+     *
+     * @return the number of geometries
+     */
+    public int getGeometryCount() {
+        return this.nbGeometries;
+    }
+
+    /**
+     * Returns the start, in bytes from the first geometry, of each geometry.
+     *
+     * @return a copy of the offsets of the geometries
+     */
+    public int[] getGeometryOffsets() {
+        return Arrays.copyOf(this.offsets, this.nbGeometries);
+    }
+
+    /**
+     * Returns the number of written bytes.
+     *
+     * @return the number of bytes
+     */
+    public int size() {
+        return this.buffer.position() - this.start;
+    }
+
+    /**
+     * Returns the written bytes without copy.
+     *
+     * @return a read-only buffer of the written bytes
+     */
+    public ByteBuffer getBuffer() {
+        final ByteBuffer written = this.buffer.asReadOnlyBuffer();
+        written.flip();
+        written.position(this.start);
+        return written;
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     *
+     * @return the written bytes
+     */
+    public byte[] toByteArray() {
+        final byte[] bytes = new byte[size()];
+        getBuffer().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes the written bytes to an output stream. The stream is not closed.
+     *
+     * @param out output stream
+     * @throws IOException when the stream fails
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        if (this.buffer.hasArray()) {
+            out.write(this.buffer.array(), this.buffer.arrayOffset() + this.start, size());
+        } else {
+            out.write(toByteArray());
+        }
+    }
+
+    /**
+     * Forgets the written geometries, keeping the buffer for the next ones.
+     */
+    public void clear() {
+        this.buffer.position(this.start);
+        this.nbGeometries = 0;
+        this.nbMembers = 0;
+        this.nbPending = 0;
+    }
+
+}
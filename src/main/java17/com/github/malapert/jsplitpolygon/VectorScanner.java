@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scan of a polygon using the vector API (Java 17 part of the multi-release jar).
+ *
+ * <p>
+ * A vector holds consecutive points as interleaved longitudes and latitudes. The edges are
+ * obtained from two vectors shifted by one point: the longitude lanes give the crossing test and
+ * the orientation products, the bbox is the lane-wise min/max of the points. The crossings are
+ * rare, so when a vector contains one, its edges are tested again with scalar operations to
+ * record the crossings and their latitudes in the order of the points. The remaining points and
+ * the closing edge are scanned with scalar operations.
+ * </p>
+ *
+ * <p>
+ * The crossings, their latitudes and the bbox are the ones of {@link SplitKernel#scanScalar};
+ * the orientation sum is added in another order, so only its sign is the same.
+ * </p>
+ *
+ * @author Jean-Christophe Malapert
+ */
+final class VectorScanner implements PolygonScanner {
+
+    /**
+     * Species of the vectors.
+     */
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    /**
+     * Number of points in a vector.
+     */
+    private static final int POINTS_PER_VECTOR = SPECIES.length() / 2;
+
+    /**
+     * Number of points under which the scalar scan is used.
+     */
+    private static final int MIN_POINTS = 16;
+
+    /**
+     * Half longitude of the sphere.
+     */
+    private static final double HALF_LONGITUDE = 180;
+
+    /**
+     * Lanes of the longitudes.
+     */
+    private static final VectorMask<Double> LONGITUDES = VectorMask.fromLong(SPECIES,
+            0x5555555555555555L);
+
+    /**
+     * Lanes of the latitudes.
+     */
+    private static final VectorMask<Double> LATITUDES = LONGITUDES.not();
+
+    /**
+     * Swaps the longitude and the latitude of each point.
+     */
+    private static final VectorShuffle<Double> SWAP = VectorShuffle.fromOp(SPECIES, i -> i ^ 1);
+
+    /**
+     * Initial minimum of the bbox.
+     */
+    private static final DoubleVector MIN = DoubleVector.broadcast(SPECIES, 181)
+            .blend(91, LATITUDES);
+
+    /**
+     * Initial maximum of the bbox.
+     */
+    private static final DoubleVector MAX = DoubleVector.broadcast(SPECIES, -181)
+            .blend(-91, LATITUDES);
+
+    /**
+     * Creates the scan, see {@link SplitKernel}.
+     */
+    VectorScanner() {
+    }
+
+    @Override
+    public void scan(final double[] coordinates, final int offset, final int nbPoints,
+            final SplitBuffers buffers) {
+        if (POINTS_PER_VECTOR == 0 || nbPoints < MIN_POINTS) {
+            SplitKernel.scanScalar(coordinates, offset, nbPoints, buffers);
+            return;
+        }
+        buffers.crossingCount = 0;
+        DoubleVector min = MIN.min(DoubleVector.fromArray(SPECIES, coordinates, offset));
+        DoubleVector max = MAX.max(DoubleVector.fromArray(SPECIES, coordinates, offset));
+        DoubleVector products = DoubleVector.zero(SPECIES);
+        // edges from the points first to first + POINTS_PER_VECTOR - 1
+        int first = 0;
+        for (; first + POINTS_PER_VECTOR < nbPoints; first += POINTS_PER_VECTOR) {
+            final DoubleVector from = DoubleVector.fromArray(SPECIES, coordinates,
+                    offset + 2 * first);
+            final DoubleVector to = DoubleVector.fromArray(SPECIES, coordinates,
+                    offset + 2 * first + 2);
+            final DoubleVector delta = to.sub(from);
+            products = products.add(delta.mul(to.add(from).rearrange(SWAP)));
+            min = min.min(to);
+            max = max.max(to);
+            if (delta.abs().compare(VectorOperators.GT, HALF_LONGITUDE, LONGITUDES).anyTrue()) {
+                addCrossings(coordinates, offset, first, buffers);
+            }
+        }
+        double sum = products.reduceLanes(VectorOperators.ADD, LONGITUDES);
+        double minLongitude = min.reduceLanes(VectorOperators.MIN, LONGITUDES);
+        double maxLongitude = max.reduceLanes(VectorOperators.MAX, LONGITUDES);
+        double minLatitude = min.reduceLanes(VectorOperators.MIN, LATITUDES);
+        double maxLatitude = max.reduceLanes(VectorOperators.MAX, LATITUDES);
+
+        final int end = offset + 2 * nbPoints;
+        double longitude1 = coordinates[offset + 2 * first];
+        double latitude1 = coordinates[offset + 2 * first + 1];
+        for (int i = offset + 2 * first + 2; i < end; i += 2) {
+            final double longitude2 = coordinates[i];
+            final double latitude2 = coordinates[i + 1];
+            sum += (longitude2 - longitude1) * (latitude2 + latitude1);
+            minLongitude = Math.min(minLongitude, longitude2);
+            maxLongitude = Math.max(maxLongitude, longitude2);
+            minLatitude = Math.min(minLatitude, latitude2);
+            maxLatitude = Math.max(maxLatitude, latitude2);
+            if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+                buffers.addCrossing((i - offset) / 2, SplitKernel.computeLatitudeAntiMeridian(
+                        longitude1, latitude1, longitude2, latitude2));
+            }
+            longitude1 = longitude2;
+            latitude1 = latitude2;
+        }
+        final double longitude2 = coordinates[offset];
+        final double latitude2 = coordinates[offset + 1];
+        sum += (longitude2 - longitude1) * (latitude2 + latitude1);
+        if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+            buffers.addCrossing(nbPoints, SplitKernel.computeLatitudeAntiMeridian(
+                    longitude1, latitude1, longitude2, latitude2));
+        }
+        buffers.scanArea = sum;
+        buffers.scanBbox[0] = minLongitude;
+        buffers.scanBbox[1] = maxLongitude;
+        buffers.scanBbox[2] = minLatitude;
+        buffers.scanBbox[3] = maxLatitude;
+    }
+
+    /**
+     * Records the crossings of the edges of a vector.
+     *
+     * @param coordinates interleaved longitudes and latitudes
+     * @param offset index, in values, of the first longitude
+     * @param first index of the point starting the first edge of the vector
+     * @param buffers buffers receiving the crossings
+     */
+    private static void addCrossings(final double[] coordinates, final int offset,
+            final int first, final SplitBuffers buffers) {
+        for (int point = first; point < first + POINTS_PER_VECTOR; point++) {
+            final int i = offset + 2 * point;
+            final double longitude1 = coordinates[i];
+            final double longitude2 = coordinates[i + 2];
+            if (Math.abs(longitude2 - longitude1) > HALF_LONGITUDE) {
+                buffers.addCrossing(point + 1, SplitKernel.computeLatitudeAntiMeridian(
+                        longitude1, coordinates[i + 1], longitude2, coordinates[i + 3]));
+            }
+        }
+    }
+
+}
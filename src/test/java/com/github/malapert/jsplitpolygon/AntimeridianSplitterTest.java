@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class AntimeridianSplitterTest {
+
+    private static final AntimeridianSplitter SPLITTER = new AntimeridianSplitter();
+
+    public AntimeridianSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Test of split method on the test corpus, of class AntimeridianSplitter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplit() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coords = Corpus.readPolygon(i);
+            double[] input = Arrays.copyOf(coords, coords.length);
+            SplitResult result = SPLITTER.split(coords);
+            assertTrue(Arrays.equals(input, coords));
+            assertEquals(Corpus.readResult(i), result.toGeoJson());
+
+            Polygon polygon = new Polygon(input);
+            boolean isSplit = polygon.split();
+            assertEquals(isSplit, result.wasSplit());
+            assertEquals(isSplit, result.getCrossingCount() > 0
+                    && result.getCrossingCount() % 2 == 0);
+            List<Polygon> expected = isSplit ? polygon.getPolygons() : Arrays.asList(polygon);
+            assertEquals(expected.size(), result.getFragments().size());
+            for (int fragment = 0; fragment < expected.size(); fragment++) {
+                assertTrue(Arrays.equals(expected.get(fragment).toArray(),
+                        result.getFragments().get(fragment).toArray()));
+                assertTrue(Arrays.equals(expected.get(fragment).bbox(),
+                        result.getBbox(fragment)));
+            }
+            assertTrue(Arrays.equals(expected.size() == 1 ? polygon.toWkb()
+                    : new MultiPolygons(expected).toWkb(), result.toWkb()));
+        }
+    }
+
+    /**
+     * Test of split method with a polygon crossing the anti-meridian once, of class
+     * AntimeridianSplitter.
+     */
+    @Test
+    public void testSplitOddCrossings() {
+        SplitResult result = SPLITTER.split(new double[]{170, 0, -170, 0, -170, 10, 170, 10});
+        assertEquals(2, result.getCrossingCount());
+        assertTrue(result.wasSplit());
+        assertEquals(2, result.getFragments().size());
+        // the edge from -170 to 10 does not cross the anti-meridian
+        result = SPLITTER.split(new double[]{170, 0, -170, 0, 10, 10});
+        assertEquals(1, result.getCrossingCount());
+        assertFalse(result.wasSplit());
+        assertEquals(1, result.getFragments().size());
+    }
+
+    /**
+     * Test of the immutability of the result, of class AntimeridianSplitter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitResultImmutable() throws IOException {
+        SplitResult result = SPLITTER.split(Corpus.readPolygon(0));
+        assertTrue(result.wasSplit());
+        String json = result.toGeoJson();
+        try {
+            result.getFragments().clear();
+            fail("the fragments must be unmodifiable");
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+        result.getBbox(0)[0] = 1000;
+        List<Polygon> polygons = result.toPolygons();
+        polygons.get(0).remove(polygons.get(1));
+        polygons.get(0).split();
+        assertEquals(json, result.toGeoJson());
+        assertNotEquals(1000, result.getBbox(0)[0], 0);
+    }
+
+    /**
+     * Test of split method with invalid polygons, of class AntimeridianSplitter.
+     */
+    @Test
+    public void testSplitInvalid() {
+        try {
+            SPLITTER.split((double[]) null);
+            fail("null must be rejected");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+        try {
+            SPLITTER.split(new double[]{0, 0, 10});
+            fail("odd number of values must be rejected");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of split method called concurrently with one splitter, of class
+     * AntimeridianSplitter.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testSplitConcurrently() throws Exception {
+        final List<double[]> corpus = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            corpus.add(Corpus.readPolygon(i));
+            expected.add(Corpus.readResult(i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int task = 0; task < 32; task++) {
+                final int first = task;
+                futures.add(executor.submit(() -> {
+                    boolean isSame = true;
+                    for (int copy = 0; copy < 20; copy++) {
+                        final int i = (first + copy) % corpus.size();
+                        isSame &= expected.get(i).equals(SPLITTER.split(corpus.get(i))
+                                .toGeoJson());
+                    }
+                    return isSame;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.io.BinaryBatchFormat;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchReader;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchWriter;
+import com.github.malapert.jsplitpolygon.io.MappedDataReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class BatchProcessorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public BatchProcessorTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private String readResource(String name) throws IOException {
+        try (InputStream is = BatchProcessorTest.class.getResourceAsStream(name);
+                Scanner scanner = new Scanner(is, StandardCharsets.UTF_8.name())) {
+            return scanner.useDelimiter("\\A").next();
+        }
+    }
+
+    /**
+     * Test of the records of DataRecordReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRecords() throws IOException {
+        String data = "0 0\n10 0\n10 10\n--\n\n--\n1.5  2.5\n3 4\n--\n";
+        try (DataRecordReader reader = new DataRecordReader(new StringReader(data), "--")) {
+            assertTrue(Arrays.equals(new double[]{0, 0, 10, 0, 10, 10}, reader.next()));
+            assertTrue(Arrays.equals(new double[]{1.5, 2.5, 3, 4}, reader.next()));
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Test of a malformed line of DataRecordReader.
+     * @throws java.io.IOException
+     */
+    @Test(expected = IOException.class)
+    public void testMalformedRecord() throws IOException {
+        try (DataRecordReader reader = new DataRecordReader(new StringReader("0 0\n10 x\n"))) {
+            reader.next();
+        }
+    }
+
+    /**
+     * Test of process method, of class BatchProcessor.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testProcess() throws IOException {
+        StringBuilder multi = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            multi.append(readResource("/test" + i + ".data").trim()).append("\n\n");
+            expected.append(Corpus.readResult(i).trim()).append('\n');
+        }
+        multi.append("NaN 0\n1 1\n2 0\n");
+        expected.append("null\n");
+        Files.write(folder.newFile("all.data").toPath(),
+                multi.toString().getBytes(StandardCharsets.UTF_8));
+        folder.newFile("ignored.txt");
+        List<Path> inputs = BatchProcessor.resolveInputs(folder.getRoot().toString());
+        assertEquals(1, inputs.size());
+        for (int nbThreads : new int[]{1, 3}) {
+            BatchProcessor processor = new BatchProcessor(nbThreads, 2);
+            StringWriter out = new StringWriter();
+            assertEquals(21, processor.process(inputs, DataRecordReader.DEFAULT_SEPARATOR, out));
+            assertEquals(expected.toString(), out.toString());
+            assertEquals(1, processor.getFailureCount());
+        }
+    }
+
+    /**
+     * Test of process method with binary input and output, of class BatchProcessor.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testProcessBinary() throws IOException {
+        Path input = folder.newFile("input" + BinaryBatchFormat.EXTENSION).toPath();
+        List<double[]> polygons = new ArrayList<>();
+        try (BinaryBatchWriter writer = BinaryBatchWriter.open(input)) {
+            for (int i = 0; i < Corpus.SIZE; i++) {
+                try (InputStream is = Corpus.open("/test" + i + ".data")) {
+                    Path data = folder.newFile("test" + i + ".data").toPath();
+                    Files.copy(is, data, StandardCopyOption.REPLACE_EXISTING);
+                    double[] coordinates = MappedDataReader.readPolygon(data);
+                    polygons.add(coordinates);
+                    writer.writePolygon(coordinates, 0, coordinates.length / 2);
+                }
+            }
+        }
+        Path output = folder.newFile("output" + BinaryBatchFormat.EXTENSION).toPath();
+        BatchProcessor processor = new BatchProcessor(3, 2);
+        try (BinaryBatchWriter writer = BinaryBatchWriter.open(output)) {
+            assertEquals(20, processor.process(BatchProcessor.resolveInputs(input.toString()),
+                    DataRecordReader.DEFAULT_SEPARATOR, writer));
+        }
+        assertEquals(0, processor.getFailureCount());
+        try (BinaryBatchReader reader = BinaryBatchReader.open(output)) {
+            assertEquals(Corpus.SIZE, reader.getRecordCount());
+            for (int i = 0; i < Corpus.SIZE; i++) {
+                Polygon polygon = new Polygon(polygons.get(i));
+                List<Polygon> expected = polygon.split() ? polygon.getPolygons()
+                        : Collections.singletonList(polygon);
+                assertEquals(expected.size(), reader.read(i));
+                for (int ring = 0; ring < expected.size(); ring++) {
+                    assertTrue(Arrays.equals(expected.get(ring).toArray(),
+                            reader.copyRing(ring)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of resolveInputs method with a glob, of class BatchProcessor.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testResolveGlob() throws IOException {
+        folder.newFile("b.data");
+        folder.newFile("a.data");
+        folder.newFile("c.txt");
+        List<Path> inputs = BatchProcessor.resolveInputs(
+                folder.getRoot().toPath().resolve("*.data").toString());
+        assertEquals(2, inputs.size());
+        assertEquals("a.data", inputs.get(0).getFileName().toString());
+        assertEquals("b.data", inputs.get(1).getFileName().toString());
+    }
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Scanner;
+
+/**
+ * Test corpus: the polygons of the resources /test{i}.data, one "longitude latitude" point per
+ * line, and their expected GeoJSon in /test{i}_result.data.
+ *
+ * @author malapert
+ */
+public final class Corpus {
+
+    /**
+     * Number of polygons.
+     */
+    public static final int SIZE = 20;
+
+    private Corpus() {
+    }
+
+    /**
+     * Reads a polygon of the corpus.
+     *
+     * @param test index of the polygon, from 0 to {@link #SIZE} - 1
+     * @return the interleaved longitudes and latitudes
+     * @throws IOException when the resource cannot be read
+     */
+    public static double[] readPolygon(int test) throws IOException {
+        double[] coordinates = new double[64];
+        int size = 0;
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                open("/test" + test + ".data"), StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(" ");
+                if (size + 2 > coordinates.length) {
+                    coordinates = Arrays.copyOf(coordinates, 2 * coordinates.length);
+                }
+                coordinates[size++] = Double.parseDouble(values[0]);
+                coordinates[size++] = Double.parseDouble(values[1]);
+            }
+        }
+        return Arrays.copyOf(coordinates, size);
+    }
+
+    /**
+     * Reads the expected GeoJSon of a polygon of the corpus.
+     *
+     * @param test index of the polygon, from 0 to {@link #SIZE} - 1
+     * @return the GeoJSon
+     * @throws IOException when the resource cannot be read
+     */
+    public static String readResult(int test) throws IOException {
+        try (Scanner s = new Scanner(open("/test" + test + "_result.data"),
+                StandardCharsets.UTF_8.name())) {
+            s.useDelimiter("\\A");
+            return s.hasNext() ? s.next() : "";
+        }
+    }
+
+    /**
+     * Opens a resource of the corpus.
+     *
+     * @param name name of the resource
+     * @return the stream
+     * @throws IOException when the resource does not exist
+     */
+    public static InputStream open(String name) throws IOException {
+        InputStream is = Corpus.class.getResourceAsStream(name);
+        if (is == null) {
+            throw new IOException("resource not found: " + name);
+        }
+        return is;
+    }
+
+}
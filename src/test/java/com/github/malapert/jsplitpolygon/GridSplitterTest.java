@@ -0,0 +1,306 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class GridSplitterTest {
+
+    public GridSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private static double area(double[] ring, int nbPoints) {
+        double area = 0;
+        for (int i = 0; i < nbPoints; i++) {
+            int j = (i + 1) % nbPoints;
+            area += ring[2 * i] * ring[2 * j + 1] - ring[2 * j] * ring[2 * i + 1];
+        }
+        return area / 2;
+    }
+
+    private static double totalArea(GridSplit split) {
+        double area = 0;
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            double[] fragment = split.getFragment(f);
+            double fragmentArea = area(fragment, fragment.length / 2);
+            assertTrue("fragment " + f + " must be counter-clockwise", fragmentArea > 0);
+            area += fragmentArea;
+        }
+        return area;
+    }
+
+    private static void assertInCells(GridSplit split, double[] meridians, double[] parallels) {
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            double[] fragment = split.getFragment(f);
+            int column = split.getColumn(f);
+            int row = split.getRow(f);
+            double west = column == 0 ? -180 : meridians[column - 1];
+            double east = column == meridians.length ? 180 : meridians[column];
+            double south = row == 0 ? -90 : parallels[row - 1];
+            double north = row == parallels.length ? 90 : parallels[row];
+            assertEquals(fragment[0], fragment[fragment.length - 2], 0);
+            assertEquals(fragment[1], fragment[fragment.length - 1], 0);
+            for (int i = 0; i < fragment.length; i += 2) {
+                assertTrue(fragment[i] >= west - 1e-9 && fragment[i] <= east + 1e-9);
+                assertTrue(fragment[i + 1] >= south - 1e-9 && fragment[i + 1] <= north + 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Area of the polygon in a cell, by clipping it with each side of the cell.
+     */
+    private static double clippedArea(double[] polygon, double west, double east, double south,
+            double north) {
+        double[] clipped = polygon;
+        double[][] sides = {{0, west, 1}, {0, east, -1}, {1, south, 1}, {1, north, -1}};
+        for (double[] side : sides) {
+            int axis = (int) side[0];
+            int nbPoints = clipped.length / 2;
+            double[] result = new double[4 * nbPoints + 2];
+            int size = 0;
+            for (int i = 0; i < nbPoints; i++) {
+                int j = (i + 1) % nbPoints;
+                double d1 = side[2] * (clipped[2 * i + axis] - side[1]);
+                double d2 = side[2] * (clipped[2 * j + axis] - side[1]);
+                if (d1 >= 0) {
+                    result[size++] = clipped[2 * i];
+                    result[size++] = clipped[2 * i + 1];
+                }
+                if (d1 >= 0 != d2 >= 0) {
+                    double t = d1 / (d1 - d2);
+                    result[size++] = clipped[2 * i] + t * (clipped[2 * j] - clipped[2 * i]);
+                    result[size++] = clipped[2 * i + 1]
+                            + t * (clipped[2 * j + 1] - clipped[2 * i + 1]);
+                }
+            }
+            clipped = Arrays.copyOf(result, size);
+        }
+        return area(clipped, clipped.length / 2);
+    }
+
+    /**
+     * Checks the fragments of a polygon not crossing the anti-meridian against the clipping of
+     * the polygon by each cell, and checks that no fragment goes back on its way.
+     */
+    private static void assertCells(GridSplit split, double[] polygon, double[] meridians,
+            double[] parallels) {
+        assertInCells(split, meridians, parallels);
+        double[][] areas = new double[meridians.length + 1][parallels.length + 1];
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            double[] fragment = split.getFragment(f);
+            int nbPoints = fragment.length / 2 - 1;
+            double fragmentArea = area(fragment, nbPoints);
+            assertTrue("fragment " + f + " must be counter-clockwise", fragmentArea > 0);
+            areas[split.getColumn(f)][split.getRow(f)] += fragmentArea;
+            for (int i = 0; i < nbPoints; i++) {
+                int previous = (i + nbPoints - 1) % nbPoints;
+                int next = (i + 1) % nbPoints;
+                for (int axis = 0; axis < 2; axis++) {
+                    boolean isAligned = fragment[2 * previous + axis] == fragment[2 * i + axis]
+                            && fragment[2 * i + axis] == fragment[2 * next + axis];
+                    double way = (fragment[2 * i + 1 - axis] - fragment[2 * previous + 1 - axis])
+                            * (fragment[2 * next + 1 - axis] - fragment[2 * i + 1 - axis]);
+                    assertFalse("fragment " + f + " goes back at " + i, isAligned && way < 0);
+                }
+            }
+        }
+        for (int column = 0; column <= meridians.length; column++) {
+            for (int row = 0; row <= parallels.length; row++) {
+                double west = column == 0 ? -180 : meridians[column - 1];
+                double east = column == meridians.length ? 180 : meridians[column];
+                double south = row == 0 ? -90 : parallels[row - 1];
+                double north = row == parallels.length ? 90 : parallels[row];
+                assertEquals("cell " + column + "/" + row,
+                        clippedArea(polygon, west, east, south, north), areas[column][row],
+                        1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testSquare() {
+        double[] square = {-50, -10, 50, -10, 50, 10, -50, 10};
+        GridSplitter splitter = GridSplitter.ofSteps(30, 0);
+        GridSplit split = splitter.split(square);
+        assertEquals(4, split.getFragmentCount());
+        assertEquals(area(square, 4), totalArea(split), 1e-9);
+        double[] meridians = {-150, -120, -90, -60, -30, 0, 30, 60, 90, 120, 150};
+        assertInCells(split, meridians, new double[0]);
+        boolean[] columns = new boolean[12];
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            columns[split.getColumn(f)] = true;
+            assertEquals(0, split.getRow(f));
+        }
+        assertTrue(columns[4] && columns[5] && columns[6] && columns[7]);
+    }
+
+    @Test
+    public void testConcave() {
+        // U shape opened to the north, cut at 0 and 10 by the parallel 5
+        double[] u = {-10, 0, 10, 0, 10, 10, 5, 10, 5, 2, -5, 2, -5, 10, -10, 10};
+        double[] meridians = {0};
+        double[] parallels = {5};
+        GridSplit split = new GridSplitter(meridians, parallels).split(u);
+        assertEquals(area(u, 8), totalArea(split), 1e-9);
+        assertInCells(split, meridians, parallels);
+        assertEquals(4, split.getFragmentCount());
+        assertEquals(4, split.toPolygons().size());
+        // both arms of the U in the north row, one per column
+        int north = 0;
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            north += split.getRow(f);
+        }
+        assertEquals(2, north);
+    }
+
+    @Test
+    public void testNotCut() {
+        double[] triangle = {1, 1, 9, 1, 5, 8};
+        GridSplit split = GridSplitter.ofSteps(10, 10).split(triangle);
+        assertEquals(1, split.getFragmentCount());
+        assertEquals(18, split.getColumn(0));
+        assertEquals(9, split.getRow(0));
+        assertEquals(4, split.getFragmentSize(0));
+    }
+
+    @Test
+    public void testAntimeridian() {
+        // from 150 to -150 across the anti-meridian
+        double[] polygon = {150, -20, -150, -20, -150, 20, 150, 20};
+        double[] meridians = {-170, 170};
+        GridSplit split = new GridSplitter(meridians).split(polygon);
+        assertEquals(4, split.getFragmentCount());
+        assertInCells(split, meridians, new double[0]);
+        assertEquals(60 * 40, totalArea(split), 1e-9);
+    }
+
+    @Test
+    public void testEdgeOnMeridian() {
+        // the edge from (30, 10) to (30, 20) runs along the meridian 30
+        double[] polygon = {0, 0, 60, 0, 60, 10, 30, 10, 30, 20, 0, 20};
+        double[] meridians = {30};
+        GridSplit split = new GridSplitter(meridians).split(polygon);
+        assertEquals(2, split.getFragmentCount());
+        assertCells(split, polygon, meridians, new double[0]);
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            assertEquals(5, split.getFragmentSize(f));
+        }
+    }
+
+    @Test
+    public void testVertexOnMeridians() {
+        // the vertices at 160, 170 and 175 are on meridians, across the anti-meridian
+        double[] polygon = {170, -5, 175, -10, 160, -10, 160, -15, -175, -10};
+        double[] meridians = {-170, 150, 160, 170, 175, 179};
+        GridSplit split = new GridSplitter(meridians).split(polygon);
+        assertInCells(split, meridians, new double[0]);
+        double[] unwrapped = polygon.clone();
+        unwrapped[8] += 360;
+        assertEquals(area(unwrapped, 5), totalArea(split), 1e-9);
+        int[] nbFragments = new int[meridians.length + 1];
+        for (int f = 0; f < split.getFragmentCount(); f++) {
+            nbFragments[split.getColumn(f)]++;
+        }
+        // the strip from 170 to 175 is pinched at (175, -10)
+        assertArrayEquals(new int[]{1, 0, 0, 1, 2, 1, 1}, nbFragments);
+    }
+
+    @Test
+    public void testVerticesOnGrid() {
+        // diamond with its vertices on the meridian 0 and on the parallel 0
+        double[] diamond = {0, -10, 10, 0, 0, 10, -10, 0};
+        double[] lines = {0};
+        GridSplit split = new GridSplitter(lines, lines).split(diamond);
+        assertEquals(4, split.getFragmentCount());
+        assertCells(split, diamond, lines, lines);
+        // square on the lines of the grid
+        double[] square = {0, 0, 30, 0, 30, 30, 0, 30};
+        split = GridSplitter.ofSteps(30, 30).split(square);
+        assertEquals(1, split.getFragmentCount());
+        assertEquals(6, split.getColumn(0));
+        assertEquals(3, split.getRow(0));
+        assertEquals(5, split.getFragmentSize(0));
+    }
+
+    @Test
+    public void testRandomOnGrid() {
+        // staircases and mountains on integer coordinates, cut every 5 degrees
+        Random random = new Random(7);
+        double[] meridians = new double[71];
+        for (int i = 0; i < meridians.length; i++) {
+            meridians[i] = -175 + 5 * i;
+        }
+        double[] parallels = new double[35];
+        for (int i = 0; i < parallels.length; i++) {
+            parallels[i] = -85 + 5 * i;
+        }
+        GridSplitter splitter = new GridSplitter(meridians, parallels);
+        for (int polygon = 0; polygon < 200; polygon++) {
+            boolean isStaircase = polygon % 2 == 0;
+            int nbSteps = 2 + random.nextInt(10);
+            int x = -10 + random.nextInt(10);
+            int bottom = -10 + random.nextInt(10);
+            double[] coordinates = new double[2 * (2 * nbSteps + 2)];
+            int size = 0;
+            coordinates[size++] = x;
+            coordinates[size++] = bottom;
+            int[] xs = new int[nbSteps + 1];
+            xs[0] = x;
+            for (int i = 1; i <= nbSteps; i++) {
+                xs[i] = xs[i - 1] + 1 + random.nextInt(6);
+            }
+            coordinates[size++] = xs[nbSteps];
+            coordinates[size++] = bottom;
+            for (int i = nbSteps; i > 0; i--) {
+                int top = bottom + 1 + random.nextInt(12);
+                coordinates[size++] = xs[i];
+                coordinates[size++] = top;
+                if (isStaircase) {
+                    coordinates[size++] = xs[i - 1];
+                    coordinates[size++] = top;
+                }
+            }
+            coordinates = Arrays.copyOf(coordinates, size);
+            assertCells(splitter.split(coordinates), coordinates, meridians, parallels);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMeridian() {
+        new GridSplitter(new double[]{180});
+    }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class LineStringSplitterTest {
+
+    /**
+     * Track crossing the anti-meridian eastward, then westward.
+     */
+    private static final double[] TRACK = {160, 0, 175, 5, -175, 15, -175, 20, 175, 30, 170, 40};
+
+    public LineStringSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Collects the parts sent by a splitter.
+     */
+    private static final class Lines implements LineStringHandler {
+
+        private final List<double[]> lines = new ArrayList<>();
+
+        private double[] line;
+
+        private int size;
+
+        @Override
+        public void beginLine() {
+            assertNull(this.line);
+            this.line = new double[16];
+            this.size = 0;
+        }
+
+        @Override
+        public void point(double longitude, double latitude) {
+            if (this.size == this.line.length) {
+                this.line = Arrays.copyOf(this.line, 2 * this.size);
+            }
+            this.line[this.size++] = longitude;
+            this.line[this.size++] = latitude;
+        }
+
+        @Override
+        public void endLine() {
+            this.lines.add(Arrays.copyOf(this.line, this.size));
+            this.line = null;
+        }
+    }
+
+    private static Lines stream(double[] coordinates) {
+        Lines lines = new Lines();
+        try (LineStringSplitter splitter = new LineStringSplitter(lines)) {
+            for (int i = 0; i < coordinates.length; i += 2) {
+                splitter.push(coordinates[i], coordinates[i + 1]);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Test of the split of a track crossing twice.
+     */
+    @Test
+    public void testSplit() {
+        MultiLineString result = LineStringSplitter.split(TRACK);
+        assertTrue(result.wasSplit());
+        assertEquals(2, result.getCrossingCount());
+        assertEquals(3, result.getLineCount());
+        assertTrue(Arrays.equals(new double[]{160, 0, 175, 5, 180, 10}, result.getLine(0)));
+        assertTrue(Arrays.equals(new double[]{-180, 10, -175, 15, -175, 20, -180, 25},
+                result.getLine(1)));
+        assertTrue(Arrays.equals(new double[]{180, 25, 175, 30, 170, 40}, result.getLine(2)));
+        assertEquals(TRACK.length / 2 + 4, result.getLineSize(0) + result.getLineSize(1)
+                + result.getLineSize(2));
+    }
+
+    /**
+     * Test of a track which does not cross the anti-meridian.
+     */
+    @Test
+    public void testNoCrossing() {
+        double[] track = {0, 0, 10, 10, 20, 0};
+        MultiLineString result = LineStringSplitter.split(track);
+        assertFalse(result.wasSplit());
+        assertEquals(1, result.getLineCount());
+        assertTrue(Arrays.equals(track, result.getLine(0)));
+        assertEquals(0, LineStringSplitter.split(new double[0]).getLineCount());
+        assertTrue(stream(new double[0]).lines.isEmpty());
+    }
+
+    /**
+     * Test that the streaming split sends the parts of the bulk split.
+     */
+    @Test
+    public void testStreaming() {
+        double[] track = new double[2 * 10000];
+        double longitude = 0;
+        for (int i = 0; i < track.length; i += 2) {
+            longitude += 7.3;
+            if (longitude > 180) {
+                longitude -= 360;
+            }
+            track[i] = longitude;
+            track[i + 1] = 60 * Math.sin(i / 500.0);
+        }
+        MultiLineString bulk = LineStringSplitter.split(track);
+        List<double[]> streamed = stream(track).lines;
+        assertEquals(bulk.getLineCount(), streamed.size());
+        assertEquals(bulk.getCrossingCount() + 1, bulk.getLineCount());
+        for (int line = 0; line < streamed.size(); line++) {
+            assertTrue(Arrays.equals(bulk.getLine(line), streamed.get(line)));
+        }
+    }
+
+    /**
+     * Test of the split of a range of packed coordinates.
+     */
+    @Test
+    public void testRange() {
+        double[] packed = new double[TRACK.length + 4];
+        System.arraycopy(TRACK, 0, packed, 2, TRACK.length);
+        MultiLineString result = LineStringSplitter.split(packed, 2, TRACK.length / 2);
+        assertEquals(LineStringSplitter.split(TRACK).toGeoJson(), result.toGeoJson());
+        try {
+            LineStringSplitter.split(packed, 6, TRACK.length / 2);
+            fail("the range is out of the coordinates");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of the GeoJSon of the parts.
+     */
+    @Test
+    public void testToGeoJson() {
+        MultiLineString result = LineStringSplitter.split(TRACK);
+        JSONObject compact = new JSONObject(result.toGeoJson());
+        JSONObject indented = new JSONObject(result.toGeoJson(2));
+        assertEquals("MultiLineString", compact.getString("type"));
+        JSONArray lines = compact.getJSONArray("coordinates");
+        assertEquals(3, lines.length());
+        assertEquals(4, lines.getJSONArray(1).length());
+        assertEquals(-180, lines.getJSONArray(1).getJSONArray(0).getDouble(0), 0);
+        assertTrue(compact.similar(indented));
+    }
+
+    /**
+     * Test that a closed splitter rejects the points.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testClosed() {
+        LineStringSplitter splitter = new LineStringSplitter(new Lines());
+        splitter.push(0, 0);
+        splitter.close();
+        splitter.push(1, 1);
+    }
+
+}
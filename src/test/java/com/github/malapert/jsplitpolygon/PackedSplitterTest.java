@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.io.BinaryBatchReader;
+import com.github.malapert.jsplitpolygon.io.BinaryBatchWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class PackedSplitterTest {
+
+    public PackedSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Packs polygons in one array.
+     */
+    private static double[] pack(List<double[]> polygons, int[] ringOffsets) {
+        int nbValues = 0;
+        for (int i = 0; i < polygons.size(); i++) {
+            ringOffsets[i] = nbValues / 2;
+            nbValues += polygons.get(i).length;
+        }
+        ringOffsets[polygons.size()] = nbValues / 2;
+        double[] coordinates = new double[nbValues];
+        for (int i = 0; i < polygons.size(); i++) {
+            System.arraycopy(polygons.get(i), 0, coordinates, 2 * ringOffsets[i],
+                    polygons.get(i).length);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Test that the parts are the polygons of the split of each polygon.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testCorpus() throws IOException {
+        List<double[]> polygons = new ArrayList<>();
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            polygons.add(Corpus.readPolygon(i));
+        }
+        polygons.add(new double[]{170, 10, -170, 10, -170, -10, 170, -10});
+        polygons.add(new double[]{0, 10, 10, 10, 10, 0, 0, 0});
+        polygons.add(new double[0]);
+        int[] ringOffsets = new int[polygons.size() + 1];
+        double[] coordinates = pack(polygons, ringOffsets);
+        double[] copy = coordinates.clone();
+        PackedPolygons result = new PackedSplitter().split(coordinates, ringOffsets);
+        assertTrue(Arrays.equals(copy, coordinates));
+        assertEquals(polygons.size(), result.getPartCount());
+        int[] parts = result.getPartOffsets();
+        for (int i = 0; i < polygons.size(); i++) {
+            Polygon polygon = new Polygon(polygons.get(i));
+            boolean isSplit = polygon.split();
+            List<Polygon> expected = isSplit ? polygon.getPolygons() : Arrays.asList(polygon);
+            assertEquals(isSplit, result.wasSplit(i));
+            assertEquals(expected.size(), parts[i + 1] - parts[i]);
+            for (int ring = parts[i]; ring < parts[i + 1]; ring++) {
+                assertTrue("polygon " + i, Arrays.equals(expected.get(ring - parts[i]).toArray(),
+                        result.copyRing(ring)));
+            }
+        }
+        assertEquals(result.getPointCount(), result.getRingOffsets()[result.getRingCount()]);
+    }
+
+    /**
+     * Test of a large batch of small footprints, half of them crossing the anti-meridian.
+     */
+    @Test
+    public void testFootprints() {
+        int nbPolygons = 10000;
+        double[] coordinates = new double[8 * nbPolygons];
+        int[] ringOffsets = new int[nbPolygons + 1];
+        for (int i = 0; i < nbPolygons; i++) {
+            double west = i % 2 == 0 ? 179.5 : (i % 350) - 175;
+            double east = west + 1 > 180 ? west + 1 - 360 : west + 1;
+            double south = (i % 170) - 85;
+            double[] footprint = {west, south, east, south, east, south + 1, west, south + 1};
+            System.arraycopy(footprint, 0, coordinates, 8 * i, 8);
+            ringOffsets[i + 1] = 4 * (i + 1);
+        }
+        PackedPolygons result = new PackedSplitter().split(coordinates, ringOffsets);
+        assertEquals(nbPolygons, result.getPartCount());
+        assertEquals(nbPolygons + nbPolygons / 2, result.getRingCount());
+        for (int i = 0; i < nbPolygons; i++) {
+            assertEquals(i % 2 == 0, result.wasSplit(i));
+        }
+        for (int ring = result.getPartOffsets()[0]; ring < result.getPartOffsets()[1]; ring++) {
+            double[] fragment = result.copyRing(ring);
+            double side = Math.signum(fragment[0]);
+            for (int i = 0; i < fragment.length; i += 2) {
+                assertTrue(Math.abs(fragment[i]) >= 179.5 && Math.signum(fragment[i]) == side);
+            }
+        }
+    }
+
+    /**
+     * Test of the binary records of the parts.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        double[] coordinates = {170, -10, -170, -10, -170, 10, 170, 10, 0, 0, 1, 0, 0, 1};
+        PackedPolygons result = new PackedSplitter().split(coordinates, new int[]{0, 4, 7});
+        ByteBuffer target = ByteBuffer.allocate(4096);
+        try (BinaryBatchWriter writer = new BinaryBatchWriter(target)) {
+            result.writeTo(writer);
+        }
+        target.flip();
+        try (BinaryBatchReader reader = new BinaryBatchReader(target)) {
+            assertEquals(2, reader.getRecordCount());
+            assertEquals(result.getRingCount(), reader.getRingCount());
+            assertEquals(2, reader.read(0));
+            assertTrue(Arrays.equals(result.copyRing(1), reader.copyRing(1)));
+            assertEquals(1, reader.read(1));
+            assertTrue(Arrays.equals(result.copyRing(2), reader.copyRing(0)));
+        }
+    }
+
+    /**
+     * Test of decreasing ring offsets.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingOffsets() {
+        new PackedSplitter().split(new double[8], new int[]{0, 3, 2, 4});
+    }
+
+    /**
+     * Test of ring offsets out of the coordinates.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOutOfRange() {
+        new PackedSplitter().split(new double[8], new int[]{0, 5});
+    }
+
+}
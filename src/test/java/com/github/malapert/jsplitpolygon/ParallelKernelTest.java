@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class ParallelKernelTest {
+
+    private static final int NB_POINTS = 3 * ParallelKernel.CHUNK_SIZE + 17;
+
+    public ParallelKernelTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    @After
+    public void tearDown() {
+        SplitKernel.setParallelThreshold(SplitKernel.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Large counter-clockwise polygon around the anti-meridian, crossing it many times.
+     */
+    private static double[] createPolygon() {
+        double[] coordinates = new double[2 * NB_POINTS];
+        for (int i = 0; i < NB_POINTS; i++) {
+            double t = 2 * Math.PI * i / NB_POINTS;
+            double longitude = 170 + 20 * Math.cos(t) + 5 * Math.sin(40 * t);
+            coordinates[2 * i] = longitude >= 180 ? longitude - 360 : longitude;
+            coordinates[2 * i + 1] = 40 * Math.sin(t);
+        }
+        return coordinates;
+    }
+
+    private static double[] reverse(double[] coordinates) {
+        double[] reversed = new double[coordinates.length];
+        for (int i = 0; i < coordinates.length; i += 2) {
+            reversed[coordinates.length - 2 - i] = coordinates[i];
+            reversed[coordinates.length - 1 - i] = coordinates[i + 1];
+        }
+        return reversed;
+    }
+
+    @Test
+    public void testScan() {
+        double[] coordinates = createPolygon();
+        SplitBuffers expected = new SplitBuffers();
+        SplitKernel.scanSequential(coordinates, 0, NB_POINTS, expected);
+        SplitBuffers result = new SplitBuffers();
+        ParallelKernel.scan(coordinates, 0, NB_POINTS, result);
+        assertTrue(expected.crossingCount > 4);
+        assertEquals(expected.crossingCount, result.crossingCount);
+        for (int i = 0; i < expected.crossingCount; i++) {
+            assertEquals(expected.crossings[i], result.crossings[i]);
+            assertEquals(expected.latitudes[i], result.latitudes[i], 0);
+        }
+        assertArrayEquals(expected.scanBbox, result.scanBbox, 0);
+        assertEquals(expected.scanArea, result.scanArea, 1e-9 * Math.abs(expected.scanArea));
+    }
+
+    @Test
+    public void testPolygonSplit() {
+        for (double[] coordinates : new double[][]{createPolygon(), reverse(createPolygon())}) {
+            SplitKernel.setParallelThreshold(Integer.MAX_VALUE);
+            Polygon expected = new Polygon(coordinates.clone());
+            assertTrue(expected.split());
+            SplitKernel.setParallelThreshold(1000);
+            Polygon result = new Polygon(coordinates.clone());
+            assertTrue(result.split());
+            assertArrayEquals(expected.bbox(), result.bbox(), 0);
+            List<Polygon> expectedFragments = expected.getPolygons();
+            List<Polygon> fragments = result.getPolygons();
+            assertEquals(expectedFragments.size(), fragments.size());
+            for (int i = 0; i < fragments.size(); i++) {
+                assertArrayEquals(expectedFragments.get(i).toArray(), fragments.get(i).toArray(),
+                        0);
+                assertArrayEquals(expectedFragments.get(i).bbox(), fragments.get(i).bbox(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testKernelSplit() {
+        double[] coordinates = reverse(createPolygon());
+        SplitKernel.setParallelThreshold(Integer.MAX_VALUE);
+        SplitBuffers expected = new SplitBuffers();
+        int nbRings = SplitKernel.split(coordinates, 0, NB_POINTS, expected);
+        SplitKernel.setParallelThreshold(1000);
+        SplitBuffers result = new SplitBuffers();
+        assertEquals(nbRings, SplitKernel.split(coordinates, 0, NB_POINTS, result));
+        for (int ring = 0; ring < nbRings; ring++) {
+            assertArrayEquals(expected.copyRing(ring), result.copyRing(ring), 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        SplitKernel.setParallelThreshold(1);
+    }
+
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class PolygonSplitterTest {
+
+    private static ForkJoinPool pool;
+
+    public PolygonSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        pool.shutdown();
+    }
+
+    /**
+     * Test of splitAll method on the replicated test corpus, of class PolygonSplitter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitAll() throws IOException {
+        List<double[]> corpus = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            corpus.add(Corpus.readPolygon(i));
+            expected.add(Corpus.readResult(i));
+        }
+        List<double[]> polygons = new ArrayList<>();
+        for (int copy = 0; copy < 50; copy++) {
+            polygons.addAll(corpus);
+        }
+        List<SplitOutcome> outcomes = new PolygonSplitter(pool, 8).splitAll(polygons);
+        assertEquals(polygons.size(), outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            SplitOutcome outcome = outcomes.get(i);
+            assertEquals(i, outcome.getIndex());
+            assertTrue(outcome.isSuccess());
+            assertEquals(expected.get(i % corpus.size()), outcome.getGeoJson().toGeoJson());
+        }
+    }
+
+    /**
+     * Test of splitAll method with invalid polygons, of class PolygonSplitter.
+     */
+    @Test
+    public void testSplitAllFailures() {
+        double[] square = new double[]{0, 0, 10, 0, 10, 10, 0, 10, 0, 0};
+        List<double[]> polygons = Arrays.asList(square, null, new double[]{0, 0, 10}, square);
+        List<SplitOutcome> outcomes = new PolygonSplitter(pool, 1).splitAll(polygons);
+        assertTrue(outcomes.get(0).isSuccess());
+        assertFalse(outcomes.get(0).isSplit());
+        assertFalse(outcomes.get(1).isSuccess());
+        assertFalse(outcomes.get(2).isSuccess());
+        assertTrue(outcomes.get(2).getError() instanceof IllegalArgumentException);
+        assertTrue(outcomes.get(3).isSuccess());
+    }
+
+    /**
+     * Test of splitAllAsync method, of class PolygonSplitter.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testSplitAllAsync() throws Exception {
+        List<double[]> polygons = new ArrayList<>();
+        polygons.add(Corpus.readPolygon(0));
+        List<SplitOutcome> outcomes = new PolygonSplitter(pool).splitAllAsync(polygons).get();
+        assertEquals(1, outcomes.size());
+        assertTrue(outcomes.get(0).isSplit());
+        assertEquals(Corpus.readResult(0), outcomes.get(0).getGeoJson().toGeoJson());
+    }
+
+}
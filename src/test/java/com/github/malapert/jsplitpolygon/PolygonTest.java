@@ -22,6 +22,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.DoubleBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -200,4 +201,39 @@ public class PolygonTest {
         assertEquals(expResult, result);
     }
 
+    /**
+     * Test of the packed constructors, of class Polygon.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testPackedCoordinates() throws IOException {
+        InputStream is = PolygonTest.class.getResourceAsStream("/test0.data");
+        List<Coordinate> vertices = parseCoordinates(is);
+        double[] packed = new double[vertices.size() * 2];
+        for (int i = 0; i < vertices.size(); i++) {
+            packed[2 * i] = vertices.get(i).getLongitude();
+            packed[2 * i + 1] = vertices.get(i).getLatitude();
+        }
+        Polygon expected = new Polygon(vertices);
+        Polygon fromArray = new Polygon(packed);
+        Polygon fromBuffer = new Polygon(DoubleBuffer.wrap(packed));
+        assertEquals(expected.getCoordinates(), fromArray.getCoordinates());
+        assertEquals(expected.getCoordinates(), fromBuffer.getCoordinates());
+        assertEquals(vertices.size(), fromArray.size());
+        assertTrue(Arrays.equals(expected.toArray(), fromBuffer.toArray()));
+        assertEquals(expected.getLatitude(3), fromArray.getLatitude(3), 1e-10);
+        expected.split();
+        fromArray.split();
+        assertEquals(new MultiPolygons(expected.getPolygons()).toGeoJson(),
+                new MultiPolygons(fromArray.getPolygons()).toGeoJson());
+    }
+
+    /**
+     * Test of the packed constructor with an odd number of values, of class Polygon.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackedCoordinatesOdd() {
+        new Polygon(new double[]{0, 0, 10, 0, 10});
+    }
+
 }
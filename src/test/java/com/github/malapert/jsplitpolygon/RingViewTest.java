@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJsonWriter;
+import com.github.malapert.jsplitpolygon.wkb.WkbWriter;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class RingViewTest {
+
+    public RingViewTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Test of the fragments of Polygon, views over the split polygon.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testFragments() throws Exception {
+        SplitBuffers buffers = new SplitBuffers();
+        for (int test : new int[]{0, 7, 14, 19}) {
+            double[] coords = Corpus.readPolygon(test);
+            Polygon polygon = new Polygon(coords);
+            assertTrue(polygon.split());
+            int nbRings = SplitKernel.split(coords, 0, coords.length / 2, buffers);
+            assertEquals(nbRings, polygon.getPolygons().size());
+            for (int ring = 0; ring < nbRings; ring++) {
+                Polygon fragment = polygon.getPolygons().get(ring);
+                double[] expected = buffers.copyRing(ring);
+                assertEquals(expected.length / 2, fragment.size());
+                assertEquals(expected.length / 2, fragment.getCoordinates().size());
+                for (int i = 0; i < fragment.size(); i++) {
+                    assertEquals(expected[2 * i], fragment.getLongitude(i), 0);
+                    assertEquals(expected[2 * i + 1], fragment.getLatitude(i), 0);
+                    assertEquals(expected[2 * i + 1],
+                            fragment.getCoordinates().get(i).getLatitude(), 0);
+                }
+                assertTrue(Arrays.equals(expected, fragment.toArray()));
+                assertEquals(new Polygon(expected).toGeoJson(), fragment.toGeoJson());
+                WkbWriter writer = new WkbWriter();
+                writer.writePolygon(expected, 0, expected.length / 2);
+                assertTrue(Arrays.equals(writer.toByteArray(), fragment.toWkb()));
+            }
+        }
+    }
+
+    /**
+     * Test of a view with backward and meridian spans.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testBackwardSpans() throws IOException {
+        double[] parent = new double[]{-1, -1, 0, 0, 170, 0, 170, 10, 175, 10, 175, 0};
+        double[] meridians = new double[]{180, 0, 180, 10};
+        // parent offset 4: points 170 0, 170 10, 175 10, 175 0 then the meridian points 4 and 5
+        RingView view = new RingView(parent, 4, 4, meridians,
+                new int[]{4, 1, 1, 0, 2, 1, 5, 1, 1, 3, 2, -1, 4, 1, 1});
+        double[] expected = new double[]{180, 0, 170, 0, 170, 10, 180, 10, 175, 0, 175, 10,
+            180, 0};
+        assertEquals(7, view.size());
+        assertEquals(5, view.getSpanCount());
+        assertTrue(Arrays.equals(expected, view.toArray()));
+        assertEquals(175, view.getLongitude(5), 0);
+        assertEquals(10, view.getLatitude(5), 0);
+        StringBuilder json = new StringBuilder();
+        GeoJsonWriter writer = new GeoJsonWriter(json);
+        writer.beginArray();
+        view.writePoints(writer);
+        writer.endArray();
+        StringBuilder expectedJson = new StringBuilder();
+        writer = new GeoJsonWriter(expectedJson);
+        writer.beginArray();
+        writer.points(expected, 0, 7);
+        writer.endArray();
+        assertEquals(expectedJson.toString(), json.toString());
+        try {
+            view.getLongitude(7);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            assertEquals("Index: 7, Size: 7", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test of reverseSpans method, of class SplitKernel.
+     */
+    @Test
+    public void testReverseSpans() {
+        int[] spans = new int[]{9, 1, 1, 2, 3, 1, 8, 1, 1};
+        SplitKernel.reverseSpans(spans, 0, 3);
+        assertTrue(Arrays.equals(new int[]{8, 1, -1, 4, 3, -1, 9, 1, -1}, spans));
+    }
+
+}
@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitKernelTest {
+
+    public SplitKernelTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Test of split method with reused buffers, of class SplitKernel.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitReusedBuffers() throws IOException {
+        SplitBuffers buffers = new SplitBuffers(4);
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coords = Corpus.readPolygon(i);
+            Polygon polygon = new Polygon(coords);
+            int nbRings = SplitKernel.split(coords, 0, coords.length / 2, buffers);
+            if (polygon.split()) {
+                List<Polygon> polygons = polygon.getPolygons();
+                assertEquals(polygons.size(), nbRings);
+                for (int ring = 0; ring < nbRings; ring++) {
+                    assertTrue(Arrays.equals(polygons.get(ring).toArray(),
+                            buffers.copyRing(ring)));
+                }
+            } else {
+                assertEquals(0, nbRings);
+            }
+        }
+    }
+
+    /**
+     * Test of the crossings of split method, of class SplitKernel.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitCrossings() throws IOException {
+        double[] coords = Corpus.readPolygon(0);
+        SplitBuffers buffers = new SplitBuffers();
+        int nbRings = SplitKernel.split(coords, 0, coords.length / 2, buffers);
+        assertEquals(2, nbRings);
+        assertEquals(2, buffers.getCrossingCount());
+        assertEquals(81.3345138931485, buffers.getLatitudes()[0], 1e-10);
+        assertEquals(80.87296097172441, buffers.getLatitudes()[1], 1e-10);
+        assertEquals(buffers.getRingOffsets()[2], buffers.getRingSize(0) + buffers.getRingSize(1));
+    }
+
+    /**
+     * Test of split method with a polygon that does not cross the anti-meridian, of class
+     * SplitKernel.
+     */
+    @Test
+    public void testSplitNoCrossing() {
+        double[] coords = new double[]{0, 0, 10, 0, 10, 10, 0, 10, 0, 0};
+        SplitBuffers buffers = new SplitBuffers();
+        assertEquals(0, SplitKernel.split(coords, 0, 5, buffers));
+        assertEquals(0, buffers.getCrossingCount());
+    }
+
+
+    /**
+     * Creates a comb whose base is east of the anti-meridian and whose teeth cross it.
+     *
+     * @param nbTeeth number of teeth
+     * @return the interleaved coordinates of the counter-clockwise comb
+     */
+    private double[] createComb(int nbTeeth) {
+        double[] coords = new double[2 * (4 * nbTeeth)];
+        int size = 0;
+        double[] points = new double[]{170, 0, -175, 0};
+        System.arraycopy(points, 0, coords, size, points.length);
+        size += points.length;
+        for (int i = 0; i < nbTeeth - 1; i++) {
+            points = new double[]{-175, 2 * i + 1, 175, 2 * i + 1, 175, 2 * i + 2, -175, 2 * i + 2};
+            System.arraycopy(points, 0, coords, size, points.length);
+            size += points.length;
+        }
+        points = new double[]{-175, 2 * nbTeeth - 1, 170, 2 * nbTeeth - 1};
+        System.arraycopy(points, 0, coords, size, points.length);
+        return coords;
+    }
+
+    /**
+     * Computes the area of a ring lying on one side of the anti-meridian.
+     *
+     * @param coords interleaved coordinates
+     * @param start first point
+     * @param end point after the last point
+     * @return the signed area, positive when counter-clockwise
+     */
+    private double area(double[] coords, int start, int end) {
+        double sum = 0;
+        for (int i = start; i < end; i++) {
+            int next = i + 1 == end ? start : i + 1;
+            sum += coords[2 * i] * coords[2 * next + 1] - coords[2 * next] * coords[2 * i + 1];
+        }
+        return sum / 2;
+    }
+
+    /**
+     * Test of split method with many crossings and nested fragments, of class SplitKernel.
+     */
+    @Test
+    public void testSplitComb() {
+        SplitBuffers buffers = new SplitBuffers();
+        for (int nbTeeth : new int[]{2, 3, 8, 100, 1000}) {
+            double[] coords = createComb(nbTeeth);
+            int nbRings = SplitKernel.split(coords, 0, coords.length / 2, buffers);
+            assertEquals(2 * nbTeeth, buffers.getCrossingCount());
+            // the base with the roots of the teeth, then the tips of the teeth
+            assertEquals(nbTeeth + 1, nbRings);
+            double total = 0;
+            for (int ring = 0; ring < nbRings; ring++) {
+                int start = buffers.getRingOffsets()[ring];
+                int end = buffers.getRingOffsets()[ring + 1];
+                double[] ringCoords = buffers.getCoordinates();
+                double side = Math.signum(ringCoords[2 * start]);
+                for (int i = start; i < end; i++) {
+                    assertEquals(side, Math.signum(ringCoords[2 * i]), 0);
+                }
+                assertEquals(ringCoords[2 * start], ringCoords[2 * (end - 1)], 0);
+                assertEquals(ringCoords[2 * start + 1], ringCoords[2 * end - 1], 0);
+                double area = area(ringCoords, start, end);
+                assertTrue(area > 0);
+                total += area;
+            }
+            assertEquals(5 * (2 * nbTeeth - 1) + 10 * nbTeeth, total, 1e-6);
+            // a tip, then the base made of the nbTeeth chains east of the anti-meridian
+            assertEquals(5, buffers.getRingSize(0));
+            assertEquals(4 * nbTeeth + 1, buffers.getRingSize(1));
+        }
+    }
+
+    /**
+     * Test of split method with a polygon crossing the anti-meridian an odd number of times,
+     * of class SplitKernel.
+     */
+    @Test
+    public void testSplitOddCrossings() {
+        double[] coords = new double[]{0, 80, 170, 80, -170, 81, 170, 82, -170, 83, -90, 80};
+        SplitBuffers buffers = new SplitBuffers();
+        assertEquals(0, SplitKernel.split(coords, 0, coords.length / 2, buffers));
+        assertEquals(3, buffers.getCrossingCount());
+    }
+
+    /**
+     * Test of sortByLatitude method, of class SplitKernel.
+     */
+    @Test
+    public void testSortByLatitude() {
+        java.util.Random random = new java.util.Random(42);
+        for (int nbCrossings : new int[]{2, 16, 17, 1001}) {
+            double[] latitudes = new double[nbCrossings];
+            int[] order = new int[nbCrossings];
+            for (int i = 0; i < nbCrossings; i++) {
+                latitudes[i] = random.nextInt(90);
+                order[i] = i;
+            }
+            SplitKernel.sortByLatitude(latitudes, order, new int[nbCrossings], nbCrossings);
+            for (int i = 1; i < nbCrossings; i++) {
+                double previous = latitudes[order[i - 1]];
+                assertTrue(previous < latitudes[order[i]]
+                        || previous == latitudes[order[i]] && order[i - 1] < order[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Test of scan and reverseCrossings methods, of class SplitKernel.
+     */
+    @Test
+    public void testScanReversed() {
+        // crossing on the closing edge
+        double[] coords = new double[]{-170, 10, -170, -10, 170, -10, 170, 10, 175, 20};
+        SplitBuffers buffers = new SplitBuffers();
+        SplitKernel.scan(coords, 0, 5, buffers);
+        assertTrue(buffers.scanArea < 0);
+        assertTrue(Arrays.equals(new double[]{-170, 175, -10, 20}, buffers.scanBbox));
+        assertEquals(2, buffers.getCrossingCount());
+        assertEquals(2, buffers.getCrossings()[0]);
+        assertEquals(5, buffers.getCrossings()[1]);
+
+        double[] reversed = new double[coords.length];
+        for (int i = 0; i < 5; i++) {
+            reversed[2 * i] = coords[2 * (4 - i)];
+            reversed[2 * i + 1] = coords[2 * (4 - i) + 1];
+        }
+        SplitKernel.reverseCrossings(reversed, 0, 5, buffers);
+        int[] crossings = Arrays.copyOf(buffers.getCrossings(), 2);
+        double[] latitudes = Arrays.copyOf(buffers.getLatitudes(), 2);
+        SplitKernel.scan(reversed, 0, 5, buffers);
+        assertTrue(buffers.scanArea > 0);
+        assertTrue(Arrays.equals(Arrays.copyOf(buffers.getCrossings(), 2), crossings));
+        assertTrue(Arrays.equals(Arrays.copyOf(buffers.getLatitudes(), 2), latitudes));
+    }
+
+    private void assertSameScan(double[] coords, int offset, int nbPoints) {
+        SplitBuffers expected = new SplitBuffers();
+        SplitKernel.scanScalar(coords, offset, nbPoints, expected);
+        SplitBuffers buffers = new SplitBuffers();
+        SplitKernel.scan(coords, offset, nbPoints, buffers);
+        assertEquals(Math.signum(expected.scanArea), Math.signum(buffers.scanArea), 0);
+        assertEquals(expected.scanArea, buffers.scanArea, 1e-9 * Math.abs(expected.scanArea));
+        assertTrue(Arrays.equals(expected.scanBbox, buffers.scanBbox));
+        assertEquals(expected.getCrossingCount(), buffers.getCrossingCount());
+        for (int i = 0; i < expected.getCrossingCount(); i++) {
+            assertEquals(expected.getCrossings()[i], buffers.getCrossings()[i]);
+            assertEquals(expected.getLatitudes()[i], buffers.getLatitudes()[i], 0);
+        }
+    }
+
+    /**
+     * Test of scan method against the scalar scan, of class SplitKernel. On Java 17 with the
+     * jdk.incubator.vector module, the scan uses the vector API.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testScanVectorized() throws IOException {
+        try {
+            Class.forName("jdk.incubator.vector.DoubleVector");
+            Class.forName("com.github.malapert.jsplitpolygon.VectorScanner");
+            assertTrue(SplitKernel.isVectorized());
+        } catch (ClassNotFoundException ex) {
+            assertFalse(SplitKernel.isVectorized());
+        }
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coords = Corpus.readPolygon(i);
+            assertSameScan(coords, 0, coords.length / 2);
+        }
+        for (int nbTeeth : new int[]{2, 3, 8, 100, 1000}) {
+            double[] comb = createComb(nbTeeth);
+            assertSameScan(comb, 0, comb.length / 2);
+            // every position of the crossings in the vectors
+            for (int offset = 2; offset <= 16; offset += 2) {
+                assertSameScan(comb, offset, comb.length / 2 - offset / 2);
+            }
+        }
+    }
+
+}
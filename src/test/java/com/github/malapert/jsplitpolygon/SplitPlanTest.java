@@ -0,0 +1,171 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitPlanTest {
+
+    public SplitPlanTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private double[] reverse(double[] coords) {
+        double[] reversed = new double[coords.length];
+        for (int i = 0; i < coords.length; i += 2) {
+            reversed[i] = coords[coords.length - 2 - i];
+            reversed[i + 1] = coords[coords.length - 1 - i];
+        }
+        return reversed;
+    }
+
+    private double[] applyPlan(SplitPlan plan, double[] coords, int offset, int fragment) {
+        double[] points = new double[2 * plan.getFragmentSize(fragment)];
+        int position = 0;
+        for (int span = plan.getFirstSpan(fragment); span < plan.getFirstSpan(fragment + 1);
+                span++) {
+            if (plan.isMeridianSpan(span)) {
+                points[position++] = plan.getMeridianLongitude(span);
+                points[position++] = plan.getMeridianLatitude(span);
+            } else {
+                int point = plan.getSpanStart(span);
+                for (int i = 0; i < plan.getSpanLength(span); i++) {
+                    points[position++] = coords[offset + 2 * point];
+                    points[position++] = coords[offset + 2 * point + 1];
+                    point += plan.getSpanStep(span);
+                }
+            }
+        }
+        assertEquals(points.length, position);
+        return points;
+    }
+
+    private void assertPlan(double[] coords) {
+        SplitPlan plan = SplitPlan.of(coords, 0, coords.length / 2);
+        SplitResult result = new AntimeridianSplitter().split(coords);
+        assertEquals(coords.length / 2, plan.getPointCount());
+        assertEquals(result.getCrossingCount(), plan.getCrossingCount());
+        assertEquals(result.wasSplit(), plan.isSplit());
+
+        SplitBuffers buffers = new SplitBuffers();
+        SplitKernel.scanScalar(coords, 0, coords.length / 2, buffers);
+        for (int k = 0; k < plan.getCrossingCount(); k++) {
+            assertEquals(buffers.getCrossings()[k], plan.getCrossingIndex(k));
+            assertEquals(buffers.getLatitudes()[k], plan.getCrossingLatitude(k), 1e-9);
+        }
+        if (plan.isSplit()) {
+            assertEquals(result.getFragments().size(), plan.getFragmentCount());
+            for (int fragment = 0; fragment < plan.getFragmentCount(); fragment++) {
+                assertTrue(Arrays.equals(result.getFragments().get(fragment).toArray(),
+                        applyPlan(plan, coords, 0, fragment)));
+            }
+        } else {
+            assertEquals(0, plan.getFragmentCount());
+        }
+    }
+
+    /**
+     * Test of of method on the test corpus in both orientations, of class SplitPlan.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testPlan() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coords = Corpus.readPolygon(i);
+            assertPlan(coords);
+            assertPlan(reverse(coords));
+        }
+    }
+
+    /**
+     * Test of of method with an offset and with an accessor, of class SplitPlan.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testPlanAccessor() throws IOException {
+        final double[] coords = Corpus.readPolygon(0);
+        final double[] shifted = new double[coords.length + 4];
+        System.arraycopy(coords, 0, shifted, 2, coords.length);
+        SplitPlan expected = SplitPlan.of(coords, 0, coords.length / 2);
+        SplitPlan plan = SplitPlan.of(shifted, 2, coords.length / 2);
+        SplitPlan accessed = SplitPlan.of(new CoordinateAccessor() {
+            @Override
+            public int size() {
+                return coords.length / 2;
+            }
+
+            @Override
+            public double getLongitude(int index) {
+                return coords[2 * index];
+            }
+
+            @Override
+            public double getLatitude(int index) {
+                return coords[2 * index + 1];
+            }
+        });
+        assertTrue(expected.isSplit());
+        for (SplitPlan other : new SplitPlan[]{plan, accessed}) {
+            assertEquals(expected.getCrossingCount(), other.getCrossingCount());
+            assertEquals(expected.getFragmentCount(), other.getFragmentCount());
+            for (int fragment = 0; fragment < expected.getFragmentCount(); fragment++) {
+                assertTrue(Arrays.equals(applyPlan(expected, coords, 0, fragment),
+                        applyPlan(other, other == plan ? shifted : coords,
+                                other == plan ? 2 : 0, fragment)));
+            }
+        }
+    }
+
+    /**
+     * Test of of method with a polygon that does not cross the anti-meridian, of class
+     * SplitPlan.
+     */
+    @Test
+    public void testPlanNoCrossing() {
+        SplitPlan plan = SplitPlan.of(new double[]{0, 0, 10, 0, 10, 10, 0, 10}, 0, 4);
+        assertFalse(plan.isSplit());
+        assertEquals(0, plan.getCrossingCount());
+        assertEquals(0, plan.getFragmentCount());
+        assertEquals(0, plan.getFirstSpan(0));
+    }
+
+    /**
+     * Test of of method with a range out of the array, of class SplitPlan.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlanOutOfRange() {
+        SplitPlan.of(new double[]{0, 0, 10, 0, 10, 10}, 2, 3);
+    }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitResultCacheTest {
+
+    public SplitResultCacheTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private String decode(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test of hash method, of class SplitResultCache.
+     */
+    @Test
+    public void testHash() {
+        double[] square = new double[]{0, 0, 10, 0, 10, 10, 0, 10};
+        assertEquals(SplitResultCache.hash(square), SplitResultCache.hash(square.clone()));
+        assertNotEquals(SplitResultCache.hash(square),
+                SplitResultCache.hash(new double[]{0, 0, 0, 10, 10, 10, 10, 0}));
+        assertNotEquals(SplitResultCache.hash(new double[]{0, 0}),
+                SplitResultCache.hash(new double[]{0, 0, 0, 0}));
+    }
+
+    /**
+     * Test of split and splitToGeoJson methods, of class SplitResultCache.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitToGeoJson() throws IOException {
+        SplitResultCache cache = new SplitResultCache(new AntimeridianSplitter(), 1_000_000);
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < Corpus.SIZE; i++) {
+                double[] coords = Corpus.readPolygon(i);
+                assertEquals(Corpus.readResult(i), decode(cache.splitToGeoJson(coords)));
+                assertEquals(Corpus.readResult(i), cache.split(coords).toGeoJson());
+            }
+        }
+        assertEquals(20, cache.getMissCount());
+        assertEquals(60, cache.getHitCount());
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals(20, cache.size());
+        ByteBuffer json = cache.splitToGeoJson(Corpus.readPolygon(0));
+        assertTrue(json.isReadOnly());
+        assertSame(cache.split(Corpus.readPolygon(0)), cache.split(Corpus.readPolygon(0)));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getVertexCount());
+    }
+
+    /**
+     * Test of the eviction of the least recently used polygons, of class SplitResultCache.
+     */
+    @Test
+    public void testEviction() {
+        SplitResultCache cache = new SplitResultCache(new AntimeridianSplitter(), 12, 1);
+        double[] square1 = new double[]{0, 0, 10, 0, 10, 10, 0, 10};
+        double[] square2 = new double[]{20, 0, 30, 0, 30, 10, 20, 10};
+        double[] square3 = new double[]{40, 0, 50, 0, 50, 10, 40, 10};
+        cache.split(square1);
+        cache.split(square2);
+        cache.split(square3);
+        assertEquals(3, cache.size());
+        assertEquals(12, cache.getVertexCount());
+        // square1 becomes the most recently used, square2 is evicted
+        cache.split(square1);
+        cache.split(new double[]{60, 0, 70, 0, 70, 10, 60, 10});
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(12, cache.getVertexCount());
+        long misses = cache.getMissCount();
+        cache.split(square1);
+        cache.split(square3);
+        assertEquals(misses, cache.getMissCount());
+        cache.split(square2);
+        assertEquals(misses + 1, cache.getMissCount());
+        // larger than the cache: not cached
+        cache.split(new double[]{0, 0, 5, 0, 10, 0, 10, 5, 10, 10, 5, 10, 0, 10, 0, 5, 1, 1,
+            2, 2, 3, 3, 4, 4, 5, 5});
+        assertEquals(12, cache.getVertexCount());
+    }
+
+    /**
+     * Test of the constructor with invalid parameters, of class SplitResultCache.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidStripes() {
+        new SplitResultCache(new AntimeridianSplitter(), 100, 3);
+    }
+
+    /**
+     * Test of split method called concurrently, of class SplitResultCache.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testSplitConcurrently() throws Exception {
+        final SplitResultCache cache = new SplitResultCache(new AntimeridianSplitter(), 100_000,
+                4);
+        final List<double[]> corpus = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            corpus.add(Corpus.readPolygon(i));
+            expected.add(Corpus.readResult(i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int task = 0; task < 32; task++) {
+                final int first = task;
+                futures.add(executor.submit(() -> {
+                    boolean isSame = true;
+                    for (int copy = 0; copy < 40; copy++) {
+                        final int i = (first + copy) % corpus.size();
+                        isSame &= expected.get(i).equals(decode(cache.splitToGeoJson(
+                                corpus.get(i))));
+                    }
+                    return isSame;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(32 * 40, cache.getHitCount() + cache.getMissCount());
+        assertTrue(cache.getMissCount() >= 20);
+    }
+
+}
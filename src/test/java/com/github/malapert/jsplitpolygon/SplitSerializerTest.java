@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import com.github.malapert.jsplitpolygon.geojson.GeoJson;
+import com.github.malapert.jsplitpolygon.wkb.Wkb;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitSerializerTest {
+
+    public SplitSerializerTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Splits a polygon and returns its fragments, or the polygon when it is not split.
+     */
+    private static Object expected(double[] coordinates) {
+        Polygon polygon = new Polygon(coordinates);
+        return polygon.split() ? new MultiPolygons(polygon.getPolygons()) : polygon;
+    }
+
+    private static void assertSameOutput(Object expected, SplitSerializer serializer) {
+        assertEquals(((GeoJson) expected).toGeoJson(), serializer.toGeoJson());
+        assertTrue(Arrays.equals(((Wkb) expected).toWkb(), serializer.toWkb()));
+        assertTrue(new JSONObject(((GeoJson) expected).toGeoJson(1)).similar(
+                new JSONObject(serializer.toGeoJson(1))));
+    }
+
+    /**
+     * Test that the output is the one of the split followed by the serialization of the
+     * fragments.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testCorpus() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coordinates = Corpus.readPolygon(i);
+            double[] copy = coordinates.clone();
+            assertSameOutput(expected(coordinates), new SplitSerializer(coordinates));
+            assertTrue(Arrays.equals(copy, coordinates));
+        }
+    }
+
+    /**
+     * Test of clockwise polygons, split or not.
+     */
+    @Test
+    public void testClockwise() {
+        double[] crossing = {170, 10, -170, 10, -170, -10, 170, -10};
+        double[] inside = {0, 10, 10, 10, 10, 0, 0, 0};
+        assertSameOutput(expected(crossing), new SplitSerializer(crossing));
+        assertSameOutput(expected(inside), new SplitSerializer(inside));
+        assertEquals("MultiPolygon",
+                new JSONObject(new SplitSerializer(crossing).toGeoJson()).getString("type"));
+        assertEquals("Polygon",
+                new JSONObject(new SplitSerializer(inside).toGeoJson()).getString("type"));
+    }
+
+    /**
+     * Test of a polygon stored in packed coordinates.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRange() throws IOException {
+        double[] coordinates = Corpus.readPolygon(3);
+        double[] packed = new double[coordinates.length + 6];
+        System.arraycopy(coordinates, 0, packed, 4, coordinates.length);
+        SplitSerializer serializer = new SplitSerializer(packed, 4, coordinates.length / 2);
+        assertSameOutput(expected(coordinates), serializer);
+        try {
+            new SplitSerializer(packed, 8, coordinates.length / 2);
+            fail("the range is out of the coordinates");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    /**
+     * Test of invalid coordinates.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOdd() {
+        new SplitSerializer(new double[]{0, 0, 1});
+    }
+
+}
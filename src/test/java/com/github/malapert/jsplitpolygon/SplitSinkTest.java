@@ -0,0 +1,279 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitSinkTest {
+
+    public SplitSinkTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Ring without its closing point, starting at its lowest point.
+     */
+    private static double[] normalize(double[] ring) {
+        int nbPoints = ring.length / 2 - 1;
+        int first = 0;
+        for (int i = 1; i < nbPoints; i++) {
+            if (ring[2 * i] < ring[2 * first]
+                    || ring[2 * i] == ring[2 * first] && ring[2 * i + 1] < ring[2 * first + 1]) {
+                first = i;
+            }
+        }
+        double[] normalized = new double[2 * nbPoints];
+        for (int i = 0; i < nbPoints; i++) {
+            normalized[2 * i] = ring[2 * ((first + i) % nbPoints)];
+            normalized[2 * i + 1] = ring[2 * ((first + i) % nbPoints) + 1];
+        }
+        return normalized;
+    }
+
+    private static void sort(List<double[]> rings) {
+        rings.sort(Comparator.comparingDouble((double[] ring) -> ring[0])
+                .thenComparingDouble(ring -> ring[1]).thenComparingInt(ring -> ring.length));
+    }
+
+    /**
+     * Checks that the sink sends the fragments of Polygon#split, and returns them.
+     */
+    private static List<double[]> assertSplit(String message, double[] coordinates) {
+        double[] open = coordinates;
+        if (open[0] == open[open.length - 2] && open[1] == open[open.length - 1]) {
+            open = Arrays.copyOf(open, open.length - 2);
+        }
+        Polygon polygon = new Polygon(open.clone());
+        List<double[]> expected = new ArrayList<>();
+        for (Polygon fragment : polygon.split() ? polygon.getPolygons()
+                : Arrays.asList(polygon)) {
+            double[] ring = fragment.toArray();
+            if (fragment == polygon) {
+                ring = Arrays.copyOf(ring, ring.length + 2);
+                ring[ring.length - 2] = ring[0];
+                ring[ring.length - 1] = ring[1];
+            }
+            expected.add(normalize(ring));
+        }
+        List<double[]> fragments = new ArrayList<>();
+        try (SplitSink sink = new SplitSink(ring -> fragments.add(normalize(ring)))) {
+            for (int j = 0; j < coordinates.length; j += 2) {
+                sink.push(coordinates[j], coordinates[j + 1]);
+            }
+        }
+        sort(expected);
+        sort(fragments);
+        assertEquals(message, expected.size(), fragments.size());
+        for (int j = 0; j < expected.size(); j++) {
+            assertArrayEquals(message, expected.get(j), fragments.get(j), 0);
+        }
+        return fragments;
+    }
+
+    /**
+     * Wraps the longitudes beyond 180.
+     */
+    private static double[] wrap(double... coordinates) {
+        double[] wrapped = coordinates.clone();
+        for (int i = 0; i < wrapped.length; i += 2) {
+            if (wrapped[i] > 180) {
+                wrapped[i] -= 360;
+            }
+        }
+        return wrapped;
+    }
+
+    @Test
+    public void testCorpus() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            assertSplit("test" + i, Corpus.readPolygon(i));
+        }
+    }
+
+    @Test
+    public void testComb() {
+        List<double[]> fragments = new ArrayList<>();
+        SplitSink sink = new SplitSink(fragments::add);
+        // comb going north, with teeth across the anti-meridian
+        List<Double> coordinates = new ArrayList<>();
+        coordinates.add(170.0);
+        coordinates.add(-60.0);
+        for (int tooth = 0; tooth < 50; tooth++) {
+            double latitude = -50 + tooth;
+            for (int i = 0; i <= 1000; i++) {
+                coordinates.add(-179 + 10 * Math.sin(Math.PI * i / 1000));
+                coordinates.add(latitude + 0.5 * i / 1000);
+            }
+            coordinates.add(175.0);
+            coordinates.add(latitude + 0.75);
+        }
+        coordinates.add(170.0);
+        coordinates.add(60.0);
+        double[] comb = new double[coordinates.size()];
+        for (int i = 0; i < comb.length; i++) {
+            comb[i] = coordinates.get(i);
+        }
+        for (int i = 0; i < comb.length; i += 2) {
+            sink.push(comb[i], comb[i + 1]);
+        }
+        // a later point could still cut the teeth
+        assertTrue(fragments.isEmpty());
+        assertEquals(50 * 1002 + 2, sink.getPointCount());
+        sink.close();
+        assertEquals(51, fragments.size());
+        assertEquals(100, sink.getCrossingCount());
+        assertEquals(50 * 1002 + 2, sink.getPointCount());
+        assertEquals(51, assertSplit("comb", comb).size());
+    }
+
+    @Test
+    public void testCombTeeth() {
+        // spine on the west side, three teeth on the east side
+        double[] comb = wrap(172, 0, 190, 0, 190, 2, 174, 2, 174, 4, 190, 4, 190, 6, 174, 6,
+                174, 8, 190, 8, 190, 10, 172, 10);
+        assertEquals(4, assertSplit("comb", comb).size());
+    }
+
+    @Test
+    public void testSShape() {
+        // S band: bottom, middle and top bars across the anti-meridian, joined on the east side
+        // then on the west side
+        double[] shape = wrap(170, 0, 190, 0, 190, 6, 175, 6, 175, 8, 190, 8, 190, 10, 170, 10,
+                170, 4, 185, 4, 185, 2, 170, 2);
+        List<double[]> fragments = assertSplit("S", shape);
+        assertEquals(4, fragments.size());
+        // a nested fragment made of two chains on each side
+        int nbLarge = 0;
+        for (double[] fragment : fragments) {
+            nbLarge += fragment.length / 2 > 6 ? 1 : 0;
+        }
+        assertEquals(2, nbLarge);
+        // the same shape reversed
+        double[] reversed = new double[shape.length];
+        for (int i = 0; i < shape.length; i += 2) {
+            reversed[i] = shape[shape.length - 2 - i];
+            reversed[i + 1] = shape[shape.length - 1 - i];
+        }
+        assertEquals(4, assertSplit("S reversed", reversed).size());
+    }
+
+    @Test
+    public void testFingers() {
+        // the west part is closed before the crossings of its southern fingers
+        int nbPoints = 4000;
+        double[] coordinates = new double[2 * nbPoints];
+        for (int i = 0; i < nbPoints; i++) {
+            double t = 2 * Math.PI * i / nbPoints;
+            coordinates[2 * i] = 170 + 20 * Math.cos(t) + 5 * Math.sin(40 * t);
+            coordinates[2 * i + 1] = 40 * Math.sin(t);
+        }
+        assertTrue(assertSplit("fingers", wrap(coordinates)).size() >= 3);
+    }
+
+    @Test
+    public void testRandomStars() {
+        Random random = new Random(42);
+        int nbMultiple = 0;
+        for (int polygon = 0; polygon < 500; polygon++) {
+            int nbPoints = 10 + random.nextInt(50);
+            double[] angles = new double[nbPoints];
+            for (int i = 0; i < nbPoints; i++) {
+                angles[i] = 2 * Math.PI * random.nextDouble();
+            }
+            Arrays.sort(angles);
+            double centerLongitude = 173 + 4 * random.nextDouble();
+            double centerLatitude = 60 * random.nextDouble() - 30;
+            double[] star = new double[2 * nbPoints];
+            for (int i = 0; i < nbPoints; i++) {
+                double radius = 1 + 11 * random.nextDouble();
+                star[2 * i] = centerLongitude + radius * Math.cos(angles[i]);
+                star[2 * i + 1] = centerLatitude + radius * Math.sin(angles[i]);
+            }
+            if (assertSplit("star " + polygon, wrap(star)).size() >= 3) {
+                nbMultiple++;
+            }
+        }
+        assertTrue(nbMultiple > 50);
+    }
+
+    @Test
+    public void testClockwise() {
+        List<double[]> fragments = new ArrayList<>();
+        try (SplitSink sink = new SplitSink(fragments::add)) {
+            sink.push(170, -10);
+            sink.push(170, 10);
+            sink.push(-170, 10);
+            sink.push(-170, -10);
+        }
+        assertEquals(2, fragments.size());
+        for (double[] fragment : fragments) {
+            assertFalse(Polygon.isClockwisedPolygon(Arrays.copyOf(fragment,
+                    fragment.length - 2)));
+        }
+    }
+
+    @Test
+    public void testNotCrossing() {
+        List<double[]> fragments = new ArrayList<>();
+        try (SplitSink sink = new SplitSink(fragments::add)) {
+            sink.push(0, 0);
+            sink.push(0, 10);
+            sink.push(10, 0);
+            sink.push(0, 0);
+        }
+        assertEquals(1, fragments.size());
+        assertArrayEquals(new double[]{0, 0, 10, 0, 0, 10, 0, 0}, fragments.get(0), 0);
+    }
+
+    @Test
+    public void testOddCrossings() {
+        // crosses the anti-meridian once: the polygon itself, as Polygon#split keeps it
+        double[] triangle = {0, 10, -170, 0, 170, 0};
+        List<double[]> fragments = assertSplit("odd", triangle);
+        assertEquals(1, fragments.size());
+        assertArrayEquals(new double[]{-170, 0, 170, 0, 0, 10}, fragments.get(0), 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPushAfterClose() {
+        SplitSink sink = new SplitSink(ring -> { });
+        sink.close();
+        sink.push(0, 0);
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.geojson;
+
+import com.github.malapert.jsplitpolygon.Corpus;
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class GeoJsonReaderTest {
+
+    private static final String COLLECTION = "{\"type\": \"FeatureCollection\", \"name\": \"a \\\"b\\\" [c]\",\n"
+            + " \"features\": [\n"
+            + "  {\"type\": \"Feature\", \"properties\": {\"id\": 1, \"tags\": [\"x\", {\"y\": null}]},\n"
+            + "   \"geometry\": {\"type\": \"Polygon\", \"coordinates\": [[[170, 10], [-170, 10.5], [-170, 20, 3], [170, 20], [170, 10]]]}},\n"
+            + "  {\"type\": \"Feature\", \"properties\": null, \"geometry\": {\"type\": \"Point\", \"coordinates\": [1, 2]}},\n"
+            + "  {\"type\": \"Feature\", \"geometry\": null, \"properties\": {}},\n"
+            + "  {\"geometry\": {\"coordinates\": [[[[0, 0], [1e1, 0], [10, 10], [0, 0]], [[1, 1], [2, 1], [2, 2], [1, 1]]],"
+            + " [[[-1.25E-3, -5], [-3, -5], [-3, -6], [-1.25E-3, -5]]]], \"type\": \"MultiPolygon\"}, \"type\": \"Feature\"}\n"
+            + " ], \"bbox\": [-180, -90, 180, 90]}";
+
+    public GeoJsonReaderTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Reader returning a few characters at a time.
+     */
+    private static class SlowReader extends FilterReader {
+
+        SlowReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 7));
+        }
+    }
+
+    /**
+     * Test of next method on a FeatureCollection, of class GeoJsonReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testNextFeatureCollection() throws IOException {
+        try (GeoJsonReader reader = new GeoJsonReader(new SlowReader(new StringReader(COLLECTION)))) {
+            assertTrue(reader.next());
+            assertEquals(0, reader.getFeatureIndex());
+            assertEquals(GeoJsonReader.POLYGON, reader.getGeometryType());
+            assertEquals(1, reader.getPolygonCount());
+            assertEquals(1, reader.getRingCount());
+            assertEquals(5, reader.getPointCount());
+            assertEquals(-170, reader.getCoordinates()[2], 0);
+            assertEquals(10.5, reader.getCoordinates()[3], 0);
+            Polygon polygon = reader.createPolygon(0);
+            assertTrue(polygon.split());
+
+            assertTrue(reader.next());
+            assertEquals(3, reader.getFeatureIndex());
+            assertEquals(GeoJsonReader.MULTI_POLYGON, reader.getGeometryType());
+            assertEquals(2, reader.getPolygonCount());
+            assertEquals(3, reader.getRingCount());
+            assertEquals(12, reader.getPointCount());
+            assertArrayEquals(new int[]{0, 2, 3}, Arrays.copyOf(reader.getPolygonOffsets(), 3));
+            assertArrayEquals(new int[]{0, 4, 8, 12}, Arrays.copyOf(reader.getRingOffsets(), 4));
+            assertEquals(10, reader.getCoordinates()[2], 0);
+            assertEquals(-1.25E-3, reader.getCoordinates()[16], 0);
+            assertEquals(4, reader.createPolygon(1).size());
+
+            assertFalse(reader.next());
+            assertFalse(reader.next());
+        }
+    }
+
+    /**
+     * Test of next method on the reference geometries, of class GeoJsonReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testNextGeometry() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            String text = Corpus.readResult(i);
+            JSONObject expected = new JSONObject(text);
+            JSONArray polygons = expected.getJSONArray("coordinates");
+            if ("Polygon".equals(expected.getString("type"))) {
+                polygons = new JSONArray().put(polygons);
+            }
+            try (GeoJsonReader reader = new GeoJsonReader(new StringReader(text))) {
+                assertTrue(reader.next());
+                assertEquals(expected.getString("type"), reader.getGeometryType());
+                assertEquals(polygons.length(), reader.getPolygonCount());
+                int point = 0;
+                for (int p = 0; p < polygons.length(); p++) {
+                    JSONArray ring = polygons.getJSONArray(p).getJSONArray(0);
+                    for (int j = 0; j < ring.length(); j++) {
+                        assertEquals(ring.getJSONArray(j).getDouble(0), reader.getCoordinates()[2 * point], 0);
+                        assertEquals(ring.getJSONArray(j).getDouble(1), reader.getCoordinates()[2 * point + 1], 0);
+                        point++;
+                    }
+                }
+                assertEquals(point, reader.getPointCount());
+                assertFalse(reader.next());
+            }
+        }
+    }
+
+    /**
+     * Test of next method on an invalid document, of class GeoJsonReader.
+     * @throws java.io.IOException
+     */
+    @Test(expected = IOException.class)
+    public void testNextInvalid() throws IOException {
+        try (GeoJsonReader reader = new GeoJsonReader(new StringReader(
+                "{\"type\": \"FeatureCollection\", \"features\": [{\"type\": \"Feature\", \"geometry\": {\"type\": \"Polygon\", \"coordinates\": [[[1, 2], [3, x]]]}}]}"))) {
+            reader.next();
+        }
+    }
+
+    /**
+     * Test of the unicode escapes of the strings, of class GeoJsonReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testUnicodeEscape() throws IOException {
+        try (GeoJsonReader reader = new GeoJsonReader(new StringReader(
+                "{\"ty\\u0070e\": \"Pol\\u0079gon\", \"coordinates\": [[[1, 2], [3, 4], [5, 6]]]}"))) {
+            assertTrue(reader.next());
+            assertEquals("Polygon", reader.getGeometryType());
+        }
+        try (GeoJsonReader reader = new GeoJsonReader(new StringReader(
+                "{\"type\": \"Pol\\u00zzgon\", \"coordinates\": [[[1, 2], [3, 4], [5, 6]]]}"))) {
+            reader.next();
+            fail("invalid escape");
+        } catch (IOException ex) {
+            assertTrue(ex.getMessage().contains("invalid \\u escape"));
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.geojson;
+
+import com.github.malapert.jsplitpolygon.MultiPolygons;
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class GeoJsonWriterTest {
+
+    public GeoJsonWriterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Test of appendNumber method against org.json, of class GeoJsonWriter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testAppendNumber() throws IOException {
+        double[] values = new double[]{0, -0.0, 180, -180, 1.5, 81.3345138931485, 1e-5,
+            -2.5e-7, 1e21, 123456789.125, 100, 0.1 + 0.2};
+        for (double value : values) {
+            StringBuilder result = new StringBuilder();
+            GeoJsonWriter.appendNumber(result, value);
+            JSONArray expected = new JSONArray();
+            expected.put(value);
+            assertEquals("[" + result + "]", expected.toString());
+        }
+    }
+
+    /**
+     * Test of appendNumber method with a non-finite value, of class GeoJsonWriter.
+     * @throws java.io.IOException
+     */
+    @Test(expected = JSONException.class)
+    public void testAppendNumberNotFinite() throws IOException {
+        GeoJsonWriter.appendNumber(new StringBuilder(), Double.NaN);
+    }
+
+    /**
+     * Test of writeTo methods, of interface GeoJson.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        Polygon polygon = new Polygon(new double[]{170, 10, -170, 10, -170, 20, 170, 20, 170, 10});
+        assertTrue(polygon.split());
+        GeoJson[] geojsons = new GeoJson[]{polygon, new MultiPolygons(polygon.getPolygons())};
+        for (GeoJson geojson : geojsons) {
+            String expected = geojson.toGeoJson();
+            StringBuilder sb = new StringBuilder();
+            geojson.writeTo(sb);
+            assertEquals(expected, sb.toString());
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            geojson.writeUtf8(stream);
+            assertEquals(expected, new String(stream.toByteArray(), StandardCharsets.UTF_8));
+            ByteArrayOutputStream channel = new ByteArrayOutputStream();
+            geojson.writeTo(Channels.newChannel(channel));
+            assertEquals(expected, new String(channel.toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Test of the default writeTo methods, of interface GeoJson.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testDefaultWriteTo() throws IOException {
+        GeoJson geojson = new GeoJson() {
+            @Override
+            public String toGeoJson() {
+                return "{\"type\":\"Point\",\"coordinates\":[1.0,2.0]}";
+            }
+
+            @Override
+            public String toGeoJson(int indent) {
+                return toGeoJson();
+            }
+        };
+        StringBuilder sb = new StringBuilder();
+        geojson.writeTo(sb);
+        assertEquals(geojson.toGeoJson(), sb.toString());
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        geojson.writeUtf8(stream);
+        assertEquals(geojson.toGeoJson(), new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test of a polygon written by the writer against org.json, of class GeoJsonWriter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testWritePolygon() throws IOException {
+        double[] coordinates = new double[]{0, 0, 10.5, 0, 10.5, 10.25, 0, 10.25, 0, 0};
+        StringBuilder result = new StringBuilder();
+        GeoJsonWriter writer = new GeoJsonWriter(result);
+        writer.beginGeometry();
+        writer.beginArray();
+        writer.points(coordinates, 0, coordinates.length / 2);
+        writer.endArray();
+        writer.endGeometry("Polygon");
+
+        JSONArray ring = new JSONArray();
+        for (int i = 0; i < coordinates.length; i += 2) {
+            ring.put(new JSONArray(Arrays.asList(coordinates[i], coordinates[i + 1])));
+        }
+        JSONObject expected = new JSONObject();
+        expected.put("type", "Polygon");
+        expected.put("coordinates", new JSONArray().put(ring));
+        assertEquals(expected.toString(), result.toString());
+    }
+
+}
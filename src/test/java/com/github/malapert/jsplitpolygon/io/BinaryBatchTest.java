@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class BinaryBatchTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static double[][] rings;
+
+    public BinaryBatchTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+        Random random = new Random(7);
+        rings = new double[5][];
+        int[] sizes = {3, 10000, 0, 1, 7};
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new double[2 * sizes[i]];
+            for (int j = 0; j < rings[i].length; j++) {
+                rings[i][j] = (random.nextDouble() - 0.5) * 360;
+            }
+        }
+    }
+
+    private void write(BinaryBatchWriter writer) throws IOException {
+        writer.writePolygon(rings[0], 0, 3);
+        writer.writeRing(rings[1], 0, 10000);
+        writer.writeRing(rings[2], 0, 0);
+        writer.writeRing(rings[3], 0, 1);
+        writer.endRecord();
+        writer.endRecord();
+        double[] packed = new double[2 * 11];
+        System.arraycopy(rings[0], 0, packed, 0, 6);
+        System.arraycopy(rings[4], 0, packed, 6, 14);
+        writer.writeRecord(packed, new int[]{0, 3, 10}, 2);
+        writer.writeRing(rings[3], 0, 1);
+    }
+
+    private void check(BinaryBatchReader reader) throws IOException {
+        assertEquals(5, reader.getRecordCount());
+        assertEquals(7, reader.getRingCount());
+        assertEquals(3 + 10000 + 1 + 3 + 7 + 1, reader.getPointCount());
+        assertEquals(2, reader.read(3));
+        assertTrue(Arrays.equals(rings[0], reader.copyRing(0)));
+        assertTrue(Arrays.equals(rings[4], reader.copyRing(1)));
+        assertEquals(3, reader.read(1));
+        assertTrue(Arrays.equals(rings[1], reader.copyRing(0)));
+        assertEquals(0, reader.getRingOffsets()[2] - reader.getRingOffsets()[1]);
+        assertTrue(Arrays.equals(rings[3], reader.copyRing(2)));
+        assertEquals(0, reader.read(2));
+        assertEquals(1, reader.read(0));
+        assertTrue(Arrays.equals(rings[0], reader.copyRing(0)));
+        assertEquals(1, reader.read(4));
+        assertTrue(Arrays.equals(rings[3], reader.copyRing(0)));
+    }
+
+    /**
+     * Test of a batch written to a file and read from the file channel and a mapped buffer.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testFile() throws IOException {
+        Path path = folder.newFile("batch" + BinaryBatchFormat.EXTENSION).toPath();
+        try (BinaryBatchWriter writer = BinaryBatchWriter.open(path)) {
+            write(writer);
+        }
+        try (BinaryBatchReader reader = BinaryBatchReader.open(path)) {
+            check(reader);
+        }
+        try (FileChannel channel = FileChannel.open(path)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            check(new BinaryBatchReader(mapped));
+        }
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(path))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals('J', header.get(0));
+        assertEquals('B', header.get(3));
+        assertEquals(BinaryBatchFormat.VERSION, header.getInt(4));
+    }
+
+    /**
+     * Test of a batch written in a buffer after other data.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testBuffer() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        buffer.position(5);
+        BinaryBatchWriter writer = new BinaryBatchWriter(buffer);
+        write(writer);
+        writer.close();
+        int end = buffer.position();
+        buffer.flip();
+        buffer.position(5);
+        BinaryBatchReader reader = new BinaryBatchReader(buffer.slice());
+        check(reader);
+        assertEquals(5 + BinaryBatchFormat.HEADER_SIZE + 16 * reader.getPointCount()
+                + 8 * (reader.getRingCount() + 1) + 8 * (reader.getRecordCount() + 1), end);
+    }
+
+    /**
+     * Test of invalid batches.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        try {
+            new BinaryBatchReader(ByteBuffer.wrap("this is not a batch, this is only a text of more than 48 bytes"
+                    .getBytes("US-ASCII")));
+            fail("not a batch");
+        } catch (IOException ex) {
+            assertEquals("not a .jspb batch", ex.getMessage());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        BinaryBatchWriter writer = new BinaryBatchWriter(buffer);
+        write(writer);
+        writer.close();
+        buffer.flip();
+        buffer.limit(buffer.limit() - 8);
+        BinaryBatchReader reader = new BinaryBatchReader(buffer);
+        try {
+            reader.read(4);
+            fail("truncated");
+        } catch (IOException ex) {
+            assertEquals("truncated batch", ex.getMessage());
+        }
+    }
+
+}
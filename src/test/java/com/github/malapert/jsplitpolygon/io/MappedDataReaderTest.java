@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.io;
+
+import com.github.malapert.jsplitpolygon.Corpus;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class MappedDataReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public MappedDataReaderTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path path = folder.newFile(name).toPath();
+        Files.write(path, content.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    /**
+     * Test of readPolygon method on the test data, of class MappedDataReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testReadPolygon() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            Path path = folder.newFile("test" + i + ".data").toPath();
+            try (InputStream is = Corpus.open("/test" + i + ".data")) {
+                Files.copy(is, path, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+            assertTrue("test" + i, Arrays.equals(Corpus.readPolygon(i),
+                    MappedDataReader.readPolygon(path)));
+        }
+    }
+
+    /**
+     * Test of the exactness of the parsed numbers across windows, of class MappedDataReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testWindows() throws IOException {
+        Random random = new Random(42);
+        double[] expected = new double[20000];
+        for (int i = 0; i < expected.length; i += 2) {
+            expected[i] = (random.nextDouble() - 0.5) * 360;
+            expected[i + 1] = i % 10 == 0 ? Math.round(expected[i] * 100) / 100.0
+                    : (random.nextDouble() - 0.5) * 1e-7;
+        }
+        Path path = folder.newFile("random.data").toPath();
+        try (DataChannelWriter writer = DataChannelWriter.open(path)) {
+            writer.writePolygon(expected, 0, expected.length / 4);
+            writer.writePolygon(expected, expected.length / 2, expected.length / 4);
+            assertEquals(2, writer.getPolygonCount());
+        }
+        try (MappedDataReader reader = new MappedDataReader(path, "",
+                MappedDataReader.MAX_LINE_LENGTH + 1000)) {
+            assertEquals(expected.length / 4, reader.next());
+            assertTrue(Arrays.equals(Arrays.copyOf(expected, expected.length / 2),
+                    Arrays.copyOf(reader.getCoordinates(), expected.length / 2)));
+            assertEquals(expected.length / 4, reader.next());
+            assertTrue(Arrays.equals(Arrays.copyOfRange(expected, expected.length / 2,
+                    expected.length), Arrays.copyOf(reader.getCoordinates(),
+                            expected.length / 2)));
+            assertEquals(0, reader.next());
+        }
+    }
+
+    /**
+     * Test of the records of MappedDataReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testRecords() throws IOException {
+        Path path = write("records.data", "0 0\r\n10 0 extra\n\t10   10\n--\n\n--\n"
+                + "-1.5e1 +2.5E-1\nNaN -0\n--");
+        try (MappedDataReader reader = new MappedDataReader(path, "--",
+                MappedDataReader.DEFAULT_WINDOW_SIZE)) {
+            assertEquals(3, reader.next());
+            assertTrue(Arrays.equals(new double[]{0, 0, 10, 0, 10, 10},
+                    Arrays.copyOf(reader.getCoordinates(), 6)));
+            assertEquals(2, reader.next());
+            assertTrue(Arrays.equals(new double[]{-15, 0.25, Double.NaN, -0.0},
+                    Arrays.copyOf(reader.getCoordinates(), 4)));
+            assertEquals(0, reader.next());
+        }
+        assertEquals(5, MappedDataReader.readPolygon(write("one.data", "0 0\n\n1 1\n2 2\n\n3 3\n"
+                + "4 4")).length / 2);
+        assertEquals(0, MappedDataReader.readPolygon(write("empty.data", "")).length);
+    }
+
+    /**
+     * Test of an invalid line of MappedDataReader.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testInvalidLine() throws IOException {
+        Path path = write("invalid.data", "0 0\n10 1x\n");
+        try {
+            MappedDataReader.readPolygon(path);
+            fail("invalid number");
+        } catch (IOException ex) {
+            assertEquals("line 2: invalid number '1x'", ex.getMessage());
+        }
+    }
+
+    /**
+     * Test of a number longer than the maximum length of a line.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testLongNumber() throws IOException {
+        StringBuilder number = new StringBuilder("1.");
+        for (int i = 0; i < MappedDataReader.MAX_LINE_LENGTH; i++) {
+            number.append('1');
+        }
+        Path path = write("long.data", "0 0\n10 " + number + "x\n");
+        try {
+            MappedDataReader.readPolygon(path);
+            fail("number too long");
+        } catch (IOException ex) {
+            assertEquals("line 2: number longer than " + MappedDataReader.MAX_LINE_LENGTH
+                    + " bytes", ex.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,181 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.jts;
+
+import com.github.malapert.jsplitpolygon.AntimeridianSplitter;
+import com.github.malapert.jsplitpolygon.Corpus;
+import com.github.malapert.jsplitpolygon.SplitResult;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequenceFactory;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class JtsSplitterTest {
+
+    private static final GeometryFactory FACTORY = new GeometryFactory();
+
+    private static final JtsSplitter SPLITTER = new JtsSplitter();
+
+    public JtsSplitterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private Coordinate[] toCoordinates(double... coords) {
+        Coordinate[] points = new Coordinate[coords.length / 2];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Coordinate(coords[2 * i], coords[2 * i + 1]);
+        }
+        return points;
+    }
+
+    private double[] toArray(LinearRing ring) {
+        CoordinateSequence sequence = ring.getCoordinateSequence();
+        double[] coords = new double[2 * sequence.size()];
+        for (int i = 0; i < sequence.size(); i++) {
+            coords[2 * i] = sequence.getX(i);
+            coords[2 * i + 1] = sequence.getY(i);
+        }
+        return coords;
+    }
+
+    /**
+     * Test of split method on the test corpus, of class JtsSplitter.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testSplitPolygon() throws IOException {
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            double[] coords = Corpus.readPolygon(i);
+            Polygon polygon = FACTORY.createPolygon(toCoordinates(coords));
+            Geometry result = SPLITTER.split(polygon);
+            // the closing point of the ring is not given to the split engine
+            SplitResult expected = new AntimeridianSplitter().split(
+                    Arrays.copyOf(coords, coords.length - 2));
+            if (expected.wasSplit()) {
+                assertTrue(result instanceof MultiPolygon);
+                assertEquals(expected.getFragments().size(), result.getNumGeometries());
+                for (int fragment = 0; fragment < result.getNumGeometries(); fragment++) {
+                    Polygon part = (Polygon) result.getGeometryN(fragment);
+                    assertTrue(Arrays.equals(expected.getFragments().get(fragment).toArray(),
+                            toArray(part.getExteriorRing())));
+                    assertTrue(part.isValid());
+                }
+            } else {
+                assertSame(polygon, result);
+            }
+        }
+    }
+
+    /**
+     * Test of split method with a packed sequence with z, of class JtsSplitter.
+     */
+    @Test
+    public void testSplitPackedSequence() {
+        GeometryFactory factory = new GeometryFactory(
+                PackedCoordinateSequenceFactory.DOUBLE_FACTORY);
+        CoordinateSequence sequence = PackedCoordinateSequenceFactory.DOUBLE_FACTORY.create(
+                new double[]{170, -10, 1, -170, -10, 2, -170, 10, 3, 170, 10, 4, 170, -10, 1}, 3);
+        Geometry result = SPLITTER.split(factory.createPolygon(sequence));
+        assertEquals(2, result.getNumGeometries());
+        for (int fragment = 0; fragment < 2; fragment++) {
+            CoordinateSequence points = ((Polygon) result.getGeometryN(fragment))
+                    .getExteriorRing().getCoordinateSequence();
+            assertTrue(points instanceof PackedCoordinateSequence.Double);
+            assertEquals(3, points.getDimension());
+            for (int i = 0; i < points.size(); i++) {
+                if (Math.abs(points.getX(i)) == 180) {
+                    assertTrue(Double.isNaN(points.getZ(i)));
+                } else {
+                    assertFalse(Double.isNaN(points.getZ(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of split method with holes, of class JtsSplitter.
+     */
+    @Test
+    public void testSplitHoles() {
+        LinearRing shell = FACTORY.createLinearRing(toCoordinates(
+                170, -10, -170, -10, -170, 10, 170, 10, 170, -10));
+        LinearRing hole = FACTORY.createLinearRing(toCoordinates(
+                172, 6, 172, 9, 177, 9, 177, 6, 172, 6));
+        LinearRing crossingHole = FACTORY.createLinearRing(toCoordinates(
+                175, -5, 175, 5, -175, 5, -175, -5, 175, -5));
+        Polygon polygon = FACTORY.createPolygon(shell, new LinearRing[]{hole, crossingHole});
+        Geometry result = SPLITTER.split(polygon);
+        assertTrue(result instanceof MultiPolygon);
+        assertEquals(2, result.getNumGeometries());
+        assertTrue(result.isValid());
+        // 20 x 20 minus 5 x 3 and 10 x 10
+        assertEquals(400 - 15 - 100, result.getArea(), 1e-9);
+        int nbHoles = 0;
+        for (int i = 0; i < result.getNumGeometries(); i++) {
+            Polygon part = (Polygon) result.getGeometryN(i);
+            nbHoles += part.getNumInteriorRing();
+            assertTrue(part.getEnvelopeInternal().getMinX() >= -180);
+            assertTrue(part.getEnvelopeInternal().getMaxX() <= 180);
+        }
+        assertEquals(1, nbHoles);
+    }
+
+    /**
+     * Test of split method with a multi-polygon and a ring, of class JtsSplitter.
+     */
+    @Test
+    public void testSplitMultiPolygon() {
+        Polygon crossing = FACTORY.createPolygon(toCoordinates(
+                170, -10, -170, -10, -170, 10, 170, 10, 170, -10));
+        Polygon square = FACTORY.createPolygon(toCoordinates(0, 0, 10, 0, 10, 10, 0, 10, 0, 0));
+        MultiPolygon multi = FACTORY.createMultiPolygon(new Polygon[]{crossing, square});
+        Geometry result = SPLITTER.split(multi);
+        assertEquals(3, result.getNumGeometries());
+        assertTrue(result.getGeometryN(2).equalsExact(square));
+        MultiPolygon squares = FACTORY.createMultiPolygon(new Polygon[]{square});
+        assertSame(squares, SPLITTER.split(squares));
+
+        assertEquals(2, SPLITTER.split(crossing.getExteriorRing()).length);
+        LinearRing ring = square.getExteriorRing();
+        assertSame(ring, SPLITTER.split(ring)[0]);
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.metrics;
+
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.SplitBuffers;
+import com.github.malapert.jsplitpolygon.SplitKernel;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class SplitMetricsTest {
+
+    private static final double[] CROSSING = {170, -10, -170, -10, -170, 10, 170, 10};
+
+    public SplitMetricsTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    /**
+     * Test of the notifications of the split engine.
+     */
+    @Test
+    public void testListener() {
+        final List<String> events = new ArrayList<>();
+        final SplitMetricsListener listener = new SplitMetricsListener() {
+            @Override
+            public void splitCompleted(int nbPoints, int nbCrossings, int nbFragments) {
+                events.add(nbPoints + "/" + nbCrossings + "/" + nbFragments);
+            }
+
+            @Override
+            public void phaseCompleted(Phase phase, long nanos) {
+                assertTrue(nanos >= 0);
+                events.add(phase.name());
+            }
+        };
+        Metrics.addListener(listener);
+        try {
+            // the polygon is scanned when it is created
+            assertTrue(new Polygon(CROSSING).split());
+            assertFalse(new Polygon(new double[]{0, 0, 10, 0, 10, 10}).split());
+            // CROSSING is clockwise: the latitudes are computed again once it is reversed
+            assertEquals(2, SplitKernel.split(CROSSING, 0, 4, new SplitBuffers()));
+            assertEquals(2, SplitKernel.split(new double[]{170, 10, -170, 10, -170, -10, 170, -10},
+                    0, 4, new SplitBuffers()));
+            assertEquals(0, SplitKernel.split(new double[]{0, 0, 10, 0, 10, 10}, 0, 3,
+                    new SplitBuffers()));
+        } finally {
+            assertTrue(Metrics.removeListener(listener));
+        }
+        assertSame(SplitMetricsListener.NONE, Metrics.getListener());
+        assertEquals("[PAIR, ASSEMBLE, 4/2/2, 3/0/0, SCAN, CUT, PAIR, ASSEMBLE, 4/2/2, "
+                + "SCAN, PAIR, ASSEMBLE, 4/2/2, SCAN, 3/0/0]", events.toString());
+    }
+
+    /**
+     * Test of the MBean.
+     * @throws javax.management.JMException
+     */
+    @Test
+    public void testMBean() throws JMException {
+        final SplitMetrics metrics = new SplitMetrics();
+        metrics.register();
+        try {
+            for (int i = 0; i < 10; i++) {
+                new Polygon(CROSSING).split();
+            }
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(SplitMetrics.OBJECT_NAME);
+            assertEquals(10L, server.getAttribute(name, "SplitCount"));
+            assertEquals(40L, server.getAttribute(name, "VertexCount"));
+            assertEquals(20L, server.getAttribute(name, "CrossingCount"));
+            assertEquals(20L, server.getAttribute(name, "FragmentCount"));
+            assertEquals(10L, server.invoke(name, "getPhaseCount", new Object[]{"PAIR"},
+                    new String[]{String.class.getName()}));
+            assertEquals(10L, metrics.getHistogram(Phase.ASSEMBLE).getCount());
+            metrics.reset();
+            assertEquals(0L, metrics.getSplitCount());
+        } finally {
+            metrics.unregister();
+        }
+    }
+
+    /**
+     * Test of the percentiles of LatencyHistogram.
+     */
+    @Test
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(50));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(505.0, histogram.getMeanNanos(), 1e-9);
+        assertEquals(1000, histogram.getMaxNanos());
+        assertEquals(511, histogram.getPercentileNanos(50));
+        assertEquals(1000, histogram.getPercentileNanos(99));
+        assertEquals(15, histogram.getPercentileNanos(0));
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(1, LatencyHistogram.bucket(1));
+        assertEquals(2, LatencyHistogram.bucket(3));
+        assertEquals(3, LatencyHistogram.bucket(4));
+    }
+
+}
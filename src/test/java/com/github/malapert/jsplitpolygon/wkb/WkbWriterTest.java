@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2019 - Jean-Christophe Malapert.
+ *
+ * This file is part of JSplitPolygon.
+ * JSplitPolygon is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JSplitPolygon is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JSplitPolygon.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.github.malapert.jsplitpolygon.wkb;
+
+import com.github.malapert.jsplitpolygon.LineStringSplitter;
+import com.github.malapert.jsplitpolygon.MultiLineString;
+import com.github.malapert.jsplitpolygon.MultiPolygons;
+import com.github.malapert.jsplitpolygon.Polygon;
+import com.github.malapert.jsplitpolygon.UnitTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.junit.experimental.categories.Category;
+
+/**
+ *
+ * @author malapert
+ */
+@Category(UnitTest.class)
+public class WkbWriterTest {
+
+    private static final double[] CROSSING = {170, -10, -170, -10, -170, 10, 170, 10};
+
+    public WkbWriterTest() {
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        Configurator.setRootLevel(Level.OFF);
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02X", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Reads the rings of a WKB polygon.
+     */
+    private static double[] readPolygon(ByteBuffer wkb, boolean hasSrid) {
+        wkb.order(wkb.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        assertEquals(WkbWriter.POLYGON | (hasSrid ? WkbWriter.SRID_FLAG : 0), wkb.getInt());
+        if (hasSrid) {
+            assertEquals(4326, wkb.getInt());
+        }
+        assertEquals(1, wkb.getInt());
+        double[] ring = new double[2 * wkb.getInt()];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = wkb.getDouble();
+        }
+        return ring;
+    }
+
+    private static double[] closed(double[] ring) {
+        double[] closed = Arrays.copyOf(ring, ring.length + 2);
+        closed[ring.length] = ring[0];
+        closed[ring.length + 1] = ring[1];
+        return closed;
+    }
+
+    /**
+     * Test of the ISO WKB of a polygon.
+     */
+    @Test
+    public void testPolygon() {
+        Polygon polygon = new Polygon(new double[]{0, 0, 1, 0, 0, 1});
+        assertEquals("01" + "03000000" + "01000000" + "04000000"
+                + "0000000000000000" + "0000000000000000"
+                + "000000000000F03F" + "0000000000000000"
+                + "0000000000000000" + "000000000000F03F"
+                + "0000000000000000" + "0000000000000000", hex(polygon.toWkb()));
+    }
+
+    /**
+     * Test of the EWKB of a polygon.
+     */
+    @Test
+    public void testExtended() {
+        Polygon polygon = new Polygon(new double[]{0, 0, 1, 0, 0, 1, 0, 0});
+        WkbWriter writer = new WkbWriter(ByteOrder.BIG_ENDIAN, 4326);
+        polygon.writeWkb(writer);
+        assertTrue(hex(writer.toByteArray()).startsWith("00" + "20000003" + "000010E6"
+                + "00000001" + "00000004"));
+        assertTrue(Arrays.equals(polygon.toArray(), readPolygon(writer.getBuffer(), true)));
+    }
+
+    /**
+     * Test of the WKB of a split polygon.
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testMultiPolygon() throws IOException {
+        Polygon polygon = new Polygon(CROSSING);
+        assertTrue(polygon.split());
+        List<Polygon> polygons = polygon.getPolygons();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MultiPolygons(polygons).writeWkb(out);
+        ByteBuffer wkb = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(1, wkb.get());
+        assertEquals(WkbWriter.MULTI_POLYGON, wkb.getInt());
+        assertEquals(polygons.size(), wkb.getInt());
+        for (Polygon fragment : polygons) {
+            assertTrue(Arrays.equals(fragment.toArray(), readPolygon(wkb, false)));
+        }
+        assertFalse(wkb.hasRemaining());
+    }
+
+    /**
+     * Test of the WKB of a split line string.
+     */
+    @Test
+    public void testMultiLineString() {
+        MultiLineString lines = LineStringSplitter.split(new double[]{170, 0, -170, 10, -160, 10});
+        ByteBuffer wkb = ByteBuffer.wrap(lines.toWkb()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(1, wkb.get());
+        assertEquals(WkbWriter.MULTI_LINE_STRING, wkb.getInt());
+        assertEquals(2, wkb.getInt());
+        for (int line = 0; line < 2; line++) {
+            assertEquals(1, wkb.get());
+            assertEquals(WkbWriter.LINE_STRING, wkb.getInt());
+            double[] points = new double[2 * wkb.getInt()];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = wkb.getDouble();
+            }
+            assertTrue(Arrays.equals(lines.getLine(line), points));
+        }
+        assertFalse(wkb.hasRemaining());
+    }
+
+    /**
+     * Test of a batch of geometries in one reused buffer.
+     */
+    @Test
+    public void testBatch() {
+        ByteBuffer target = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        target.position(3);
+        WkbWriter writer = new WkbWriter(target, 4326);
+        for (int pass = 0; pass < 2; pass++) {
+            writer.clear();
+            for (int i = 0; i < 10; i++) {
+                double[] coordinates = {i, 0, i + 1, 0, i, 1};
+                new Polygon(coordinates).writeWkb(writer);
+            }
+            assertEquals(10, writer.getGeometryCount());
+            int[] offsets = writer.getGeometryOffsets();
+            ByteBuffer written = writer.getBuffer();
+            assertEquals(writer.size(), written.remaining());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i * offsets[1], offsets[i]);
+                written.position(3 + offsets[i]);
+                assertTrue(Arrays.equals(closed(new double[]{i, 0, i + 1, 0, i, 1}),
+                        readPolygon(written, true)));
+            }
+        }
+        try {
+            new Polygon(CROSSING).writeWkb(ByteBuffer.allocate(16));
+            fail("the buffer is too small");
+        } catch (BufferOverflowException ex) {
+            // expected
+        }
+    }
+
+}